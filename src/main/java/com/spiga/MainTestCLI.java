@@ -3,11 +3,12 @@ package com.spiga;
 import com.spiga.core.*;
 import com.spiga.management.*;
 import com.spiga.environment.*;
-import javafx.application.Platform;
 
 import java.util.Scanner;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * MainTestCLI - Interface Console SPIGA
@@ -29,15 +30,18 @@ public class MainTestCLI {
     /** Gestionnaire d'essaim centralise pour la gestion de la flotte. */
     private static GestionnaireEssaim gestionnaire;
 
-    /** Service de simulation gerant la boucle de mise a jour et la physique. */
-    private static SimulationService service;
+    /** Moteur de simulation headless gerant la boucle de mise a jour et la physique. */
+    private static SimulationEngine engine;
+
+    /** Abonnement aux evenements du moteur (alertes affichees avec les logs). */
+    private static SimEventBus.Subscription alertes;
+
+    /** Echelle de temps appliquee par la boucle console (1.0 = temps reel). */
+    private static double timeScale = 1.0;
 
     /** Scanner pour la lecture des entrees utilisateur en console. */
     private static Scanner scanner;
 
-    /** Indicateur d'initialisation du toolkit JavaFX. */
-    private static boolean isJavaFxInitialized = false;
-
     /** Liste de toutes les missions creees pour la gestion interactive. */
     private static List<Mission> allMissions = new ArrayList<>();
 
@@ -49,12 +53,17 @@ public class MainTestCLI {
 
     /**
      * Point d'entree principal de l'application CLI SPIGA.
-     * Initialise le toolkit JavaFX, les services de simulation,
+     * Initialise le moteur de simulation headless (sans JavaFX),
      * puis demarre la boucle interactive du menu principal.
      *
-     * @param args Arguments de ligne de commande (non utilises)
+     * @param args {@code --batch <instances> [graine]} pour un lot Monte Carlo
+     *             non interactif ; sinon non utilises
      */
     public static void main(String[] args) {
+        if (args.length >= 2 && args[0].equals("--batch")) {
+            lancerLotMonteCarlo(Integer.parseInt(args[1]), args.length > 2 ? Long.parseLong(args[2]) : 42);
+            return;
+        }
         System.out.println("=========================================================");
         System.out.println("   SPIGA - Systeme de Pilotage Intelligent");
         System.out.println("          et Gestion d'Actifs Mobiles");
@@ -62,24 +71,13 @@ public class MainTestCLI {
         System.out.println("=========================================================");
         System.out.println("\nInitialisation du systeme...");
 
-        // 1. Init JavaFX Toolkit (necessaire pour AnimationTimer de SimulationService)
-        try {
-            Platform.startup(() -> {
-            });
-            isJavaFxInitialized = true;
-            System.out.println("[OK] JavaFX initialise");
-        } catch (IllegalStateException e) {
-            isJavaFxInitialized = true;
-            System.out.println("[OK] JavaFX deja initialise");
-        } catch (Throwable e) {
-            System.err.println("[ATTENTION] JavaFX non disponible - Mode degrade");
-        }
-
-        // 2. Setup Services
+        // 1. Setup Services (moteur headless, aucun toolkit JavaFX requis)
         try {
             gestionnaire = new GestionnaireEssaim();
-            service = new SimulationService(gestionnaire);
-            service.setTimeScale(1.0);
+            engine = new SimulationEngine(gestionnaire);
+            SimOutputs.attachConfigured(engine);
+            alertes = engine.getEvents().subscribe();
+            timeScale = 1.0;
             System.out.println("[OK] Services de simulation initialises");
         } catch (Exception e) {
             System.err.println("[ERREUR FATALE] Impossible d'initier la simulation.");
@@ -90,7 +88,7 @@ public class MainTestCLI {
         scanner = new Scanner(System.in);
         System.out.println("\nSysteme pret. Entrez un numero pour naviguer.\n");
 
-        // 3. Boucle principale
+        // 2. Boucle principale
         boolean running = true;
         while (running) {
             afficherMenuPrincipal();
@@ -130,8 +128,6 @@ public class MainTestCLI {
             }
         }
 
-        if (isJavaFxInitialized)
-            Platform.exit();
         System.exit(0);
     }
 
@@ -349,7 +345,7 @@ public class MainTestCLI {
 
         ActifMobile actif = trouverActif(id);
         if (actif != null) {
-            gestionnaire.supprimerActif(id);
+            gestionnaire.supprimerActif(actif.getId());
             System.out.println("[OK] Actif '" + id + "' supprime.");
         } else {
             System.out.println("[ERREUR] Actif non trouve: " + id);
@@ -639,7 +635,7 @@ public class MainTestCLI {
         if (idx >= 0 && idx < allMissions.size()) {
             Mission mission = allMissions.get(idx);
             if (mission.getStatut() == Mission.StatutMission.PLANIFIEE) {
-                mission.start(System.currentTimeMillis() / 1000);
+                mission.start(engine.getClock().currentTimeSeconds());
                 System.out.println("[OK] Mission '" + mission.getTitre() + "' demarree.");
             } else {
                 System.out.println("[INFO] Statut actuel: " + mission.getStatut());
@@ -676,7 +672,7 @@ public class MainTestCLI {
         int idx = (int) lireDouble(1) - 1;
 
         if (idx >= 0 && idx < allMissions.size()) {
-            allMissions.get(idx).resume(System.currentTimeMillis() / 1000);
+            allMissions.get(idx).resume(engine.getClock().currentTimeSeconds());
             System.out.println("[OK] Mission reprise.");
         } else {
             System.out.println("[ERREUR] Mission invalide.");
@@ -926,7 +922,7 @@ public class MainTestCLI {
      */
     private static void afficherMeteoActuelle() {
         System.out.println("\n=== METEO ACTUELLE ===");
-        Weather w = service.getWeather();
+        Weather w = engine.getWeather();
         System.out.println("Vent: " + String.format("%.0f%%", w.getWindIntensity() * 100));
         System.out.println("Pluie: " + String.format("%.0f%%", w.getRainIntensity() * 100));
         System.out.println("Vagues: " + String.format("%.0f%%", w.getWaveIntensity() * 100));
@@ -937,7 +933,7 @@ public class MainTestCLI {
      */
     private static void afficherZonesInterdites() {
         System.out.println("\n=== ZONES INTERDITES ===");
-        List<RestrictedZone> zones = service.getRestrictedZones();
+        List<RestrictedZone> zones = engine.getRestrictedZones();
         if (zones.isEmpty()) {
             System.out.println("[INFO] Aucune zone.");
             return;
@@ -953,7 +949,7 @@ public class MainTestCLI {
      */
     private static void afficherObstacles() {
         System.out.println("\n=== OBSTACLES ===");
-        List<Obstacle> obstacles = service.getObstacles();
+        List<Obstacle> obstacles = engine.getObstacles();
         if (obstacles.isEmpty()) {
             System.out.println("[INFO] Aucun obstacle.");
             return;
@@ -991,7 +987,7 @@ public class MainTestCLI {
                         break;
                     case 2:
                         System.out.print("> Echelle (1.0 = temps reel) : ");
-                        service.setTimeScale(lireDouble(1.0));
+                        timeScale = lireDouble(1.0);
                         System.out.println("[OK] Echelle modifiee.");
                         break;
                     case 3:
@@ -1032,7 +1028,6 @@ public class MainTestCLI {
     private static void resetSimulationComplete() {
         gestionnaire.getFlotte().clear();
         allMissions.clear();
-        service.reset();
         assetCounter = 1;
         missionCounter = 1;
     }
@@ -1060,7 +1055,7 @@ public class MainTestCLI {
             System.out.print("> Choix : ");
 
             String input = scanner.nextLine().trim();
-            Weather w = service.getWeather();
+            Weather w = engine.getWeather();
             try {
                 int choix = Integer.parseInt(input);
                 switch (choix) {
@@ -1123,6 +1118,7 @@ public class MainTestCLI {
             System.out.println("  3. Contraintes physiques (Z)");
             System.out.println("  4. Zones interdites");
             System.out.println("  5. Impact Meteo");
+            System.out.println("  6. Lot Monte Carlo (tous les scenarios, tous les coeurs)");
             System.out.println("  0. Retour");
             System.out.println("-----------------------------------");
             System.out.print("> Choix : ");
@@ -1138,6 +1134,12 @@ public class MainTestCLI {
                     case 5:
                         lancerScenario(choix);
                         break;
+                    case 6:
+                        System.out.print("> Nombre d'instances [1000] : ");
+                        int instances = (int) lireDouble(1000);
+                        System.out.print("> Graine [42] : ");
+                        lancerLotMonteCarlo(instances, (long) lireDouble(42));
+                        break;
                     case 0:
                         continuer = false;
                         break;
@@ -1191,6 +1193,10 @@ public class MainTestCLI {
      * @return L'actif trouve ou null si inexistant
      */
     private static ActifMobile trouverActif(String id) {
+        ActifMobile exact = gestionnaire.trouverActif(id);
+        if (exact != null) {
+            return exact;
+        }
         for (ActifMobile actif : gestionnaire.getFlotte()) {
             if (actif.getId().equalsIgnoreCase(id)) {
                 return actif;
@@ -1229,12 +1235,11 @@ public class MainTestCLI {
      */
     private static void resetSimulation() {
         gestionnaire.getFlotte().clear();
-        service.reset();
-        service.getRestrictedZones().clear();
+        engine.getRestrictedZones().clear();
         ActifMobile.KNOWN_ZONES.clear();
-        service.getWeather().setWindSpeed(0);
-        service.getWeather().setRainIntensity(0);
-        service.getWeather().setWaveIntensity(0);
+        engine.getWeather().setWindSpeed(0);
+        engine.getWeather().setRainIntensity(0);
+        engine.getWeather().setWaveIntensity(0);
         System.out.println(">> Simulation Reset (Flotte vide, Météo reset).");
     }
 
@@ -1247,9 +1252,9 @@ public class MainTestCLI {
          * Exécuté à chaque pas de temps de la simulation.
          *
          * @param time    Le temps écoulé en secondes depuis le début du scénario.
-         * @param service Le service de simulation actif.
+         * @param engine Le moteur de simulation actif.
          */
-        void tick(double time, SimulationService service);
+        void tick(double time, SimulationEngine engine);
     }
 
     /**
@@ -1301,6 +1306,42 @@ public class MainTestCLI {
         scanner.nextLine();
     }
 
+    /**
+     * Exécute un lot Monte Carlo des cinq scénarios (mondes isolés, positions,
+     * météo et missions tirées au hasard) et affiche les résultats cumulés au
+     * fil de l'eau.
+     *
+     * @param instances Nombre de mondes simulés.
+     * @param seed      Graine du lot (un même lot donne les mêmes résultats).
+     */
+    private static void lancerLotMonteCarlo(int instances, long seed) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        System.out.println("\n--- LOT MONTE CARLO : " + instances + " instances sur " + threads + " threads ---\n");
+        boolean logs = SimLog.isEnabled();
+        SimLog.setEnabled(false); // Des milliers de mondes : journal coupé
+        MonteCarloRunner.Summary summary = new MonteCarloRunner.Summary();
+        int every = Math.max(1, instances / 10);
+        long start = System.nanoTime();
+        try {
+            new MonteCarloRunner(threads, seed).run(instances, o -> {
+                summary.add(o);
+                if (summary.getRuns() % every == 0) {
+                    System.out.println(summary);
+                }
+            });
+        } finally {
+            SimLog.setEnabled(logs);
+        }
+        System.out.println("\n--- RÉSULTATS PAR SCÉNARIO ---");
+        for (MonteCarloRunner.Scenario scenario : MonteCarloRunner.Scenario.values()) {
+            MonteCarloRunner.Summary s = summary.of(scenario);
+            if (s != null) {
+                System.out.printf("%-22s %s%n", scenario, s);
+            }
+        }
+        System.out.printf("%nTotal : %s (%.1f s)%n", summary, (System.nanoTime() - start) / 1e9);
+    }
+
     /**
      * Exécute la boucle de simulation principale pour une durée donnée.
      *
@@ -1310,19 +1351,20 @@ public class MainTestCLI {
      *                           console.
      */
     private static void executerBoucle(long dureeSimuSeconds, SimHook hook, int logIntervalSeconds) {
-        long nanoTime = 0;
-        long stepNano = 16_666_667; // ~16ms (60 FPS)
-        double dtSeconds = stepNano / 1e9;
-        long totalSteps = (dureeSimuSeconds * 1_000_000_000L) / stepNano;
+        double dtSeconds = SimulationEngine.FIXED_STEP; // ~16ms (60 FPS)
+        long totalSteps = (long) (dureeSimuSeconds / dtSeconds);
         long stepsPerLog = (long) (logIntervalSeconds / dtSeconds);
-
-        service.handle(nanoTime); // Init
+        double accumulator = 0;
 
         for (long i = 0; i <= totalSteps; i++) {
-            nanoTime += stepNano;
-            service.handle(nanoTime);
+            // Pas fixes du moteur, sans attente : la console va aussi vite que le CPU
+            accumulator += dtSeconds * timeScale;
+            while (accumulator >= SimulationEngine.FIXED_STEP) {
+                engine.step();
+                accumulator -= SimulationEngine.FIXED_STEP;
+            }
 
-            hook.tick(i * dtSeconds, service);
+            hook.tick(i * dtSeconds, engine);
 
             if (i % stepsPerLog == 0) {
                 afficherLogsFlotte(i * dtSeconds);
@@ -1349,12 +1391,17 @@ public class MainTestCLI {
                 etat += " (M:" + a.getCurrentMission().getStatut() + ")";
             }
             sb.append(etat);
-
-            if (a.getCollisionWarning() != null) {
-                sb.append(" | ⚠️ ").append(a.getCollisionWarning());
-            }
             System.out.println(sb.toString());
         }
+
+        // Alertes publiees depuis le dernier affichage (une par actif et par type)
+        Set<Long> vues = new HashSet<>();
+        engine.getEvents().drain(alertes, e -> {
+            boolean toujours = e.getAsset() == null || e.getType() == SimEvent.Type.MISSION_STATE;
+            if (toujours || vues.add((long) e.getAsset().getSerial() << 8 | e.getType().ordinal())) {
+                System.out.println(msgTime + " | ⚠️ " + e.describe());
+            }
+        });
     }
 
     // ==================================================================================
@@ -1383,7 +1430,7 @@ public class MainTestCLI {
         d1.assignMission(mission);
 
         System.out.println(">> [S1] ACTION: Lancement de la mission...");
-        mission.start(System.currentTimeMillis() / 1000);
+        mission.start(engine.getClock().currentTimeSeconds());
 
         // State wrapper to allow modification inside lambda
         class ScenarioState {
@@ -1416,7 +1463,7 @@ public class MainTestCLI {
                     // Cas classique (Pause ou autre)
                     d1.assignMission(mission);
                     if (mission.getStatut() == Mission.StatutMission.PAUSED) {
-                        mission.resume(System.currentTimeMillis() / 1000);
+                        mission.resume(engine.getClock().currentTimeSeconds());
                     }
                 }
             }
@@ -1572,7 +1619,7 @@ public class MainTestCLI {
 
         // Creation Zone à (1000, 1000) rayon 200
         RestrictedZone zone = new RestrictedZone("Zone-Test", 1000, 1000, 200, 0, 500);
-        service.getRestrictedZones().add(zone);
+        engine.getRestrictedZones().add(zone);
         ActifMobile.KNOWN_ZONES.add(zone);
 
         // 1. Recon (Autorisé)
@@ -1744,7 +1791,7 @@ public class MainTestCLI {
 
         // Apply Weather - Normalize 0-1 except WindSpeed
         // Update EXISTING weather object
-        com.spiga.environment.Weather w = service.getWeather();
+        com.spiga.environment.Weather w = engine.getWeather();
         // Use normalized setters directly
         w.setWindIntensity(windOn.equalsIgnoreCase("o") ? windInt : 0.0);
         w.setRainIntensity(rainOn.equalsIgnoreCase("o") ? rainInt : 0.0);
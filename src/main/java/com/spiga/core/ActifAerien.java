@@ -110,10 +110,10 @@ public abstract class ActifAerien extends ActifMobile {
      */
     @Override
     protected void clampPosition() {
-        if (z < 1)
-            z = 1;
-        if (z > 150)
-            z = 150;
+        if (getZ() < 1)
+            setZ(1);
+        if (getZ() > 150)
+            setZ(150);
     }
 
     /**
@@ -130,14 +130,15 @@ public abstract class ActifAerien extends ActifMobile {
     public void setTarget(double x, double y, double z) {
         double clampedZ = z;
         if (clampedZ < 1) {
-            System.out.println("⚠️ " + id + ": Rejet cible Z=" + clampedZ + " (Sous l'eau/Sol). Force à 1m.");
+            SimLog.log(SimLog.Category.COMMAND, "⚠️ {}: Rejet cible Z={} (Sous l'eau/Sol). Force à 1m.", id, clampedZ);
             clampedZ = 1;
         }
         if (clampedZ > 150) {
-            System.out.println("⚠️ " + id + ": Rejet cible Z=" + clampedZ + " (Trop haut). Force à 150m.");
+            SimLog.log(SimLog.Category.COMMAND, "⚠️ {}: Rejet cible Z={} (Trop haut). Force à 150m.", id, clampedZ);
             clampedZ = 150;
             // Visible Alert for Log Status
             setCollisionWarning("PLAFOND ATTEINT (150m)");
+            emit(SimEvent.Type.ALTITUDE_LIMIT, null, null, z);
         }
         super.setTarget(x, y, clampedZ);
     }
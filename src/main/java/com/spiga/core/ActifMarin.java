@@ -61,7 +61,7 @@ public abstract class ActifMarin extends ActifMobile {
         double efficiency = super.getSpeedEfficiency(w);
 
         // Recover some wind penalty if underwater (simplified model)
-        if (z < -5) {
+        if (getZ() < -5) {
             efficiency += 0.05; // Less wind drag underwater
         }
 
@@ -1,12 +1,9 @@
 package com.spiga.core;
 
-import com.spiga.environment.RestrictedZone;
 import com.spiga.management.Mission;
-import java.util.ArrayList;
+import com.spiga.management.MissionRegistry;
 import java.util.LinkedList;
-import java.util.List;
 import java.util.Queue;
-import java.util.logging.Logger;
 
 /**
  * Classe abstraite représentant un actif mobile générique dans la simulation.
@@ -66,8 +63,6 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
         IDLE, MOVING_TO_TARGET, EXECUTING_MISSION, RETURNING_LEVEL, RETURNING_TO_BASE, LOW_BATTERY, RECHARGING, STOPPED
     }
 
-    private static final Logger logger = Logger.getLogger(ActifMobile.class.getName());
-
     // --- ENCAPSULATION ---
     /**
      * Mode de navigation actuel (Normal ou Evitement).
@@ -81,55 +76,67 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
     /** Identifiant unique de l'actif. */
     protected String id;
 
-    /** Position X en mètres (Convention : Est/Ouest). */
-    protected double x;
-    /** Position Y en mètres (Convention : Nord/Sud). */
-    protected double y;
-    /** Position range Z en mètres (Altitude positive, Profondeur négative). */
-    protected double z;
+    /** Compteur global des numéros de série. */
+    private static final java.util.concurrent.atomic.AtomicInteger NEXT_SERIAL = new java.util.concurrent.atomic.AtomicInteger();
+    /**
+     * Numéro de série interne, unique et stable pendant toute la vie de
+     * l'objet (clé primitive des tables par paire).
+     */
+    private final int serial = NEXT_SERIAL.getAndIncrement();
+
+    /**
+     * Stockage des composants (position, vitesse, cible, force d'évitement,
+     * batterie, états) et indice de l'actif dans ce stockage. L'objet n'est
+     * qu'une vue : position X (Est/Ouest), Y (Nord/Sud) et Z (Altitude
+     * positive, Profondeur négative) en mètres sont lues via {@link #getX()},
+     * {@link #getY()}, {@link #getZ()}.
+     */
+    private FleetStore store;
+    private int slot;
+    // Poignée dans le registre de la flotte (-1 hors flotte)
+    private long handle = -1;
 
     /** Vitesse maximale théorique en m/s. */
     protected double vitesseMax;
     /** Autonomie maximale en heures. */
     protected double autonomieMax;
 
-    /** Mode de navigation courant. */
-    protected NavigationMode navigationMode = NavigationMode.NORMAL;
-
     /** Cible temporaire utilisée lors de l'évitement d'obstacles. */
     protected double tempTargetX, tempTargetY, tempTargetZ;
 
-    /** Heure système (ms) de fin de la procédure d'évitement. */
-    protected long avoidanceEndTime = 0;
-
     /**
      * Indique si l'actif est détourné de sa trajectoire nominale (ex:
      * contournement).
      */
     protected boolean isDiverted = false;
 
-    // Potential Field Vectors
-    /** Composante X de la force de répulsion. */
-    protected double avoidForceX = 0;
-    /** Composante Y de la force de répulsion. */
-    protected double avoidForceY = 0;
-    /** Composante Z de la force de répulsion. */
-    protected double avoidForceZ = 0;
+    /** File d'attente des missions assignées. */
+    protected Queue<Mission> missionQueue = new LinkedList<>();
 
+    // Environment Awareness
     /**
-     * Biais de direction pour contourner les obstacles (-1.0 Droite, 1.0 Gauche).
+     * Liste partagée des zones restreintes connues, utilisée par défaut par les
+     * actifs qui ne sont rattachés à aucun moteur.
      */
-    protected double steeringBias = 0.0;
+    public static final ZoneIndex KNOWN_ZONES = new ZoneIndex();
 
-    /** File d'attente des missions assignées. */
-    protected Queue<Mission> missionQueue = new LinkedList<>();
+    /**
+     * Zones interdites (indexées) consultées par la validation de trajet.
+     * Injectées par le gestionnaire de flotte, comme l'horloge.
+     */
+    protected ZoneIndex zones = KNOWN_ZONES;
 
-    // Environment Awareness
     /**
-     * Liste partagée des zones restreintes connues (statique pour simplifier la
-     * simulation).
+     * Flux d'événements du moteur (injecté par le gestionnaire de flotte) ;
+     * {@code null} hors moteur.
      */
-    public static List<RestrictedZone> KNOWN_ZONES = new ArrayList<>();
+    protected SimEventBus events;
+
+    /**
+     * Registre des missions en cours du moteur (injecté par le gestionnaire
+     * de flotte) ; {@code null} hors moteur.
+     */
+    protected MissionRegistry missions;
 
     // Waypoint Chaining (for Obstacle/Zone Avoidance)
     /**
@@ -144,7 +151,7 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * @return Le mode (NORMAL ou AVOIDING).
      */
     public NavigationMode getNavigationMode() {
-        return navigationMode;
+        return FleetStore.NAV_MODES[store.navMode[slot]];
     }
 
     /**
@@ -153,25 +160,25 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * @param mode Le nouveau mode.
      */
     public void setNavigationMode(NavigationMode mode) {
-        this.navigationMode = mode;
+        store.navMode[slot] = (byte) mode.ordinal();
     }
 
     /**
      * Retourne l'heure de fin de l'évitement.
      * 
-     * @return Timestamp en millisecondes.
+     * @return Timestamp en millisecondes (horloge de simulation).
      */
     public long getAvoidanceEndTime() {
-        return avoidanceEndTime;
+        return store.avoidanceEndTime[slot];
     }
 
     /**
      * Définit l'heure de fin de l'évitement.
      * 
-     * @param time Timestamp en millisecondes.
+     * @param time Timestamp en millisecondes (horloge de simulation).
      */
     public void setAvoidanceEndTime(long time) {
-        this.avoidanceEndTime = time;
+        store.avoidanceEndTime[slot] = time;
     }
 
     /**
@@ -194,7 +201,7 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * @return Valeur entre -1.0 et 1.0.
      */
     public double getSteeringBias() {
-        return steeringBias;
+        return store.steeringBias[slot];
     }
 
     /**
@@ -203,7 +210,7 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * @param bias Valeur entre -1.0 (droite) et 1.0 (gauche).
      */
     public void setSteeringBias(double bias) {
-        this.steeringBias = bias;
+        store.steeringBias[slot] = bias;
     }
 
     // Temp target getters
@@ -219,43 +226,30 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
         return tempTargetZ;
     }
 
-    /** Autonomie restante en heures. */
-    protected double autonomieActuelle;
-    /** État opérationnel global. */
-    protected EtatOperationnel etat;
-
-    // NOUVEAUX ATTRIBUTS
-    /** Vélocité instantanée sur X. */
-    protected double velocityX;
-    /** Vélocité instantanée sur Y. */
-    protected double velocityY;
-    /** Vélocité instantanée sur Z. */
-    protected double velocityZ;
-
-    /** Cible principale active X. */
-    protected double targetX;
-    /** Cible principale active Y. */
-    protected double targetY;
-    /** Cible principale active Z. */
-    protected double targetZ;
-
-    /** État FSM courant. */
-    protected AssetState state;
     /** Mission actuellement en cours d'exécution. */
     protected Mission currentMission;
     /** Indique si l'actif est sélectionné dans l'interface utilisateur. */
     protected boolean selected;
 
-    /** Modificateur de vitesse global (0.0 à 1.0). */
-    protected double speedModifier = 1.0;
-    /** Modificateur de vitesse lié à la météo. */
-    protected double weatherSpeedModifier = 1.0;
-    /** Message d'avertissement de collision pour l'UI. */
+    /**
+     * Libellé du dernier avertissement, affiché sur l'actif. Les alertes
+     * elles-mêmes sont publiées sur {@link #events}.
+     */
     protected String collisionWarning = null;
 
+    /**
+     * Horloge de simulation (injectée par le gestionnaire de flotte). Par
+     * défaut, l'horloge murale pour les actifs utilisés hors moteur.
+     */
+    protected SimClock clock = SimClock.SYSTEM;
+
+    /** Contraintes du type concret (constante de classe, lue par la boucle). */
+    private final ConstraintProfile profile;
+
     // Dynamic Validation Constants & State - use SimConfig
-    protected long lastSeaAlertTime = 0;
     protected static final long SEA_ALERT_COOLDOWN = 5000; // 5 seconds
+    // Jamais alerté : la première alerte passe même à t=0 (horloge simulée)
+    protected long lastSeaAlertTime = -SEA_ALERT_COOLDOWN - 1;
 
     /**
      * Constructeur parent appelé par les sous-classes.
@@ -271,62 +265,110 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      */
     public ActifMobile(String id, double x, double y, double z, double vitesseMax, double autonomieMax) {
         this.id = id;
-        this.x = x;
-        this.y = y;
-        this.z = z;
+        // Actif isolé : stockage propre, remplacé par celui de la flotte à l'ajout
+        this.store = new FleetStore(1);
+        this.slot = store.allocate(this);
+        store.px[slot] = x;
+        store.py[slot] = y;
+        store.pz[slot] = z;
         this.vitesseMax = vitesseMax;
         this.autonomieMax = autonomieMax;
-        this.autonomieActuelle = autonomieMax;
-        this.etat = EtatOperationnel.AU_SOL;
-        this.state = AssetState.IDLE; // Initialisation de l'état
-
-        this.velocityX = 0;
-        this.velocityY = 0;
-        this.velocityZ = 0;
-        this.targetX = x;
-        this.targetY = y;
-        this.targetZ = z;
+        store.battery[slot] = autonomieMax;
+        setEtat(EtatOperationnel.AU_SOL);
+        setState(AssetState.IDLE); // Initialisation de l'état
+
+        store.tx[slot] = x;
+        store.ty[slot] = y;
+        store.tz[slot] = z;
         this.currentMission = null;
         this.selected = false;
+        this.profile = typeProfile();
+    }
+
+    /**
+     * Retourne le profil de contraintes du type de véhicule.
+     * <p>
+     * Les types concernés le redéfinissent pour retourner leur constante de
+     * classe. Appelé une seule fois, à la construction : ne doit dépendre
+     * d'aucun état de l'instance.
+     * </p>
+     *
+     * @return Le profil du type ({@link ConstraintProfile#DEFAULT} par défaut).
+     */
+    protected ConstraintProfile typeProfile() {
+        return ConstraintProfile.DEFAULT;
+    }
+
+    public final ConstraintProfile getProfile() {
+        return profile;
     }
 
     /**
      * Met à jour l'état de l'actif pour un pas de temps donné.
      * Cette méthode orchestre le mouvement, la gestion de l'énergie et les timers.
+     * <p>
+     * Le {@link SimulationEngine} enchaîne les mêmes étapes en trois passes sur
+     * toute la flotte : {@link #planStep()}, les systèmes de
+     * {@link MotionSystem}, puis {@link #finishStep()}.
+     * </p>
      *
      * @param dt      Delta temps en secondes depuis la dernière update.
      * @param weather Conditions météo actuelles (influence la vitesse et la conso).
      */
     public void update(double dt, com.spiga.environment.Weather weather) {
-        if (weather != null) {
-            weatherSpeedModifier = getSpeedMultiplier(weather);
-        } else {
-            weatherSpeedModifier = 1.0;
-        }
+        store.refreshWeather(weather);
+        planStep();
+        MotionSystem.step(store, slot, dt);
+        finishStep();
+    }
+
+    /**
+     * Décide des commandes du pas : fin d'évitement, choix du cap, règles du
+     * profil et arrivées. Le déplacement et la consommation sont appliqués
+     * ensuite par {@link MotionSystem}.
+     */
+    void planStep() {
+        byte motion = 0;
 
         // Check Avoidance Expiry
-        if (navigationMode == NavigationMode.AVOIDING) {
-            long now = System.currentTimeMillis();
-            if (now > avoidanceEndTime) {
-                navigationMode = NavigationMode.NORMAL;
+        if (getNavigationMode() == NavigationMode.AVOIDING) {
+            long now = clock.currentTimeMillis();
+            if (now > store.avoidanceEndTime[slot]) {
+                setNavigationMode(NavigationMode.NORMAL);
                 isDiverted = false; // Reset diversion
                 setCollisionWarning(null); // Clear warning
             }
         }
 
-        if (state == AssetState.MOVING_TO_TARGET || state == AssetState.EXECUTING_MISSION
-                || state == AssetState.RETURNING_TO_BASE || navigationMode == NavigationMode.AVOIDING) {
+        if (getState() == AssetState.MOVING_TO_TARGET || getState() == AssetState.EXECUTING_MISSION
+                || getState() == AssetState.RETURNING_TO_BASE || getNavigationMode() == NavigationMode.AVOIDING) {
 
             // TARGET SELECTION LOGIC
             // If Diverted (Collision), use tempTarget.
             // If just Avoiding (Obstacle Force), use REAL target (forces will steer us).
-            double effectiveTargetX = (isDiverted) ? tempTargetX : targetX;
-            double effectiveTargetY = (isDiverted) ? tempTargetY : targetY;
-            double effectiveTargetZ = (isDiverted) ? tempTargetZ : targetZ;
+            double effectiveTargetX = (isDiverted) ? tempTargetX : store.tx[slot];
+            double effectiveTargetY = (isDiverted) ? tempTargetY : store.ty[slot];
+            double effectiveTargetZ = (isDiverted) ? tempTargetZ : store.tz[slot];
 
-            moveTowards(effectiveTargetX, effectiveTargetY, effectiveTargetZ, dt, weather); // Pass weather for drag
-            updateBattery(dt, weather);
+            motion = FleetStore.MOTION_ACTIVE;
+            if (steer(effectiveTargetX, effectiveTargetY, effectiveTargetZ)) {
+                motion |= FleetStore.MOTION_STEER;
+            }
+            if (getState() == AssetState.EXECUTING_MISSION || getState() == AssetState.MOVING_TO_TARGET
+                    || getState() == AssetState.RETURNING_TO_BASE) {
+                motion |= FleetStore.MOTION_DRAIN;
+                store.drainRate[slot] = getConsommation() / 3600.0;
+            }
+            store.maxSpeed[slot] = vitesseMax;
         }
+        store.motion[slot] = motion;
+    }
+
+    /**
+     * Termine le pas après les systèmes : contraintes du type et état de la
+     * batterie.
+     */
+    void finishStep() {
         clampPosition(); // Force constraints every frame
         checkBatteryState();
     }
@@ -349,41 +391,43 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * @param durationSeconds Durée de la manœuvre d'évitement.
      */
     public void engageAvoidance(double tx, double ty, double tz, double durationSeconds) {
-        this.navigationMode = NavigationMode.AVOIDING;
+        setNavigationMode(NavigationMode.AVOIDING);
         this.isDiverted = true; // Use tempTarget
-        this.state = AssetState.MOVING_TO_TARGET; // Force state to Active
+        setState(AssetState.MOVING_TO_TARGET); // Force state to Active
         this.tempTargetX = tx;
         this.tempTargetY = ty;
         this.tempTargetZ = tz;
-        this.avoidanceEndTime = System.currentTimeMillis() + (long) (durationSeconds * 1000);
+        store.avoidanceEndTime[slot] = clock.currentTimeMillis() + (long) (durationSeconds * 1000);
         this.setCollisionWarning("EVITEMENT TEMPORAIRE");
+        emit(SimEvent.Type.AVOIDANCE, null, null, 0);
     }
 
     /**
-     * Calcule et applique le déplacement vers, une cible.
-     * Intègre les champs de potentiel (répulsion des obstacles) et l'inertie.
+     * Fixe le cap du pas vers une cible, après les règles d'approche de la mer
+     * et les contraintes de profondeur du profil. Une cible atteinte (moins
+     * d'un mètre) est traitée ici : maintien en évitement, passage au point
+     * final d'un contournement ou arrivée.
      *
      * @param tx         Coordonnée X cible.
      * @param ty         Coordonnée Y cible.
      * @param tz_desired Coordonnée Z souhaitée.
-     * @param dt         Pas de temps.
-     * @param weather    Conditions météo.
+     * @return {@code true} s'il reste un déplacement à intégrer vers le cap.
      */
-    public void moveTowards(double tx, double ty, double tz_desired, double dt,
-            com.spiga.environment.Weather weather) {
+    private boolean steer(double tx, double ty, double tz_desired) {
 
         // 1. Dynamic Validation / Sea Constraint Logic
         // Determine "Safe" Z to aim for based on physics/type, not just user wish.
         double safeTargetZ = tz_desired;
 
         // SEA RULE for Drones (specifically Logistics or just Aerial)
-        if (this instanceof com.spiga.core.DroneLogistique || this instanceof com.spiga.core.DroneReconnaissance) {
+        if (profile.hasSeaApproachRule()) {
             // Check if approaching sea (when current Z is low AND we are asked to go lower
             // or stay low)
-            if (z < SimConfig.SEA_APPROACH_THRESHOLD && tz_desired < SimConfig.MIN_HOVER_ALTITUDE) {
-                long now = System.currentTimeMillis();
+            if (store.pz[slot] < SimConfig.SEA_APPROACH_THRESHOLD && tz_desired < SimConfig.MIN_HOVER_ALTITUDE) {
+                long now = clock.currentTimeMillis();
                 if (now - lastSeaAlertTime > SEA_ALERT_COOLDOWN) {
                     setCollisionWarning("⚠️ APPROCHE MER! Maintien Altitude.");
+                    emit(SimEvent.Type.SEA_APPROACH, null, null, store.pz[slot]);
                     lastSeaAlertTime = now;
                 }
                 // Clamp Target Z to Hover
@@ -392,46 +436,40 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
 
             // Hard Stop / Hover if too low
             // If we are already near water, force hover target
-            if (z <= SimConfig.MIN_HOVER_ALTITUDE + 1.0) {
+            if (store.pz[slot] <= SimConfig.MIN_HOVER_ALTITUDE + 1.0) {
                 if (safeTargetZ < SimConfig.MIN_HOVER_ALTITUDE) {
                     safeTargetZ = SimConfig.MIN_HOVER_ALTITUDE;
                 }
                 // If we are moving down, stop vertical velocity
-                if (velocityZ < 0) {
-                    velocityZ = 0;
+                if (store.vz[slot] < 0) {
+                    store.vz[slot] = 0;
                 }
                 // Float up if below
-                if (z < SimConfig.MIN_HOVER_ALTITUDE) {
-                    velocityZ = Math.max(velocityZ, 0.5); // Buoyancy/Anti-crash
+                if (store.pz[slot] < SimConfig.MIN_HOVER_ALTITUDE) {
+                    store.vz[slot] = Math.max(store.vz[slot], 0.5); // Buoyancy/Anti-crash
                 }
             }
         }
 
-        // GENERIC Constraints
-        if (this instanceof com.spiga.core.VehiculeSurface) {
-            safeTargetZ = 0; // Boat stays at 0
-        }
-        if (this instanceof com.spiga.core.VehiculeSousMarin) {
-            if (safeTargetZ > 0)
-                safeTargetZ = -1; // Sub stays submerged
-        }
+        // GENERIC Constraints (Boat stays at 0, Sub stays submerged)
+        safeTargetZ = profile.constrainTargetZ(safeTargetZ);
 
-        double dx = tx - x;
-        double dy = ty - y;
-        double dz = safeTargetZ - z; // Use safe target
+        double dx = tx - store.px[slot];
+        double dy = ty - store.py[slot];
+        double dz = safeTargetZ - store.pz[slot]; // Use safe target
         double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
 
         if (distance < 1.0) {
             // Target reached
-            if (navigationMode == NavigationMode.AVOIDING) {
+            if (getNavigationMode() == NavigationMode.AVOIDING) {
                 // Done avoiding early? Stay here until timer expiry or maintain?
                 // For now, just drift/hold.
-                velocityX = 0;
-                velocityY = 0;
-                velocityZ = 0;
+                store.vx[slot] = 0;
+                store.vy[slot] = 0;
+                store.vz[slot] = 0;
             } else if (finalTargetX != null) {
                 // Waypoint Reached -> Proceed to Final Target
-                logger.info("🚩 " + id + ": Waypoint contournement atteint. Cap sur final.");
+                SimLog.log(SimLog.Category.ZONE, "🚩 {}: Waypoint contournement atteint. Cap sur final.", id);
 
                 // Save and Clear Pending (Critical Order)
                 double nextX = finalTargetX;
@@ -446,119 +484,41 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
                 this.setTarget(nextX, nextY, nextZ);
             } else {
                 // Truly Reached
-                x = tx;
-                y = ty;
-                z = safeTargetZ;
-                velocityX = 0;
-                velocityY = 0;
-                velocityZ = 0;
-
-                if (state == AssetState.RETURNING_TO_BASE) {
-                    state = AssetState.RECHARGING;
+                store.px[slot] = tx;
+                store.py[slot] = ty;
+                store.pz[slot] = safeTargetZ;
+                store.notifyMoved(slot);
+                store.vx[slot] = 0;
+                store.vy[slot] = 0;
+                store.vz[slot] = 0;
+
+                if (getState() == AssetState.RETURNING_TO_BASE) {
+                    setState(AssetState.RECHARGING);
                     recharger();
-                } else if (state == AssetState.EXECUTING_MISSION && currentMission != null) {
+                } else if (getState() == AssetState.EXECUTING_MISSION && currentMission != null) {
                     currentMission.complete(); // Mission logic handles validation
-                    state = AssetState.IDLE;
+                    setState(AssetState.IDLE);
                 } else {
-                    state = AssetState.IDLE;
+                    setState(AssetState.IDLE);
                 }
             }
-        } else {
-            // --- POTENTIAL FIELD MOVEMENT LOGIC ---
-
-            // 1. Attraction Force (To Target)
-            double dirX = dx / distance;
-            double dirY = dy / distance;
-            double dirZ = dz / distance;
-
-            // 2. Repulsion Force (Avoidance) - Normalized and weighted
-            // We blend the desire to go to target (1.0) with the desire to avoid (Weight)
-
-            double finalDirX = dirX;
-            double finalDirY = dirY;
-            double finalDirZ = dirZ;
-
-            if (navigationMode == NavigationMode.AVOIDING
-                    || (Math.abs(avoidForceX) > 0.01 || Math.abs(avoidForceY) > 0.01)) {
-                // Avoidance Active
-                // CLAMP avoidance force magnitude to prevent violent jerks
-                double avoidMag = Math
-                        .sqrt(avoidForceX * avoidForceX + avoidForceY * avoidForceY + avoidForceZ * avoidForceZ);
-                double clampedAvoidX = avoidForceX;
-                double clampedAvoidY = avoidForceY;
-                double clampedAvoidZ = avoidForceZ;
-
-                if (avoidMag > SimConfig.AVOIDANCE_FORCE_CAP) {
-                    double scale = SimConfig.AVOIDANCE_FORCE_CAP / avoidMag;
-                    clampedAvoidX *= scale;
-                    clampedAvoidY *= scale;
-                    clampedAvoidZ *= scale;
-                }
-
-                // Blend target direction with avoidance (weighted sum)
-                // avoidance weight scales with proximity (force magnitude)
-                double avoidWeight = Math.min(avoidMag / SimConfig.AVOIDANCE_FORCE_CAP, 1.0) * 0.5;
-                finalDirX = dirX * (1.0 - avoidWeight) + clampedAvoidX * avoidWeight;
-                finalDirY = dirY * (1.0 - avoidWeight) + clampedAvoidY * avoidWeight;
-                finalDirZ = dirZ * (1.0 - avoidWeight) + clampedAvoidZ * avoidWeight;
-
-                // Renormalize
-                double finalLen = Math.sqrt(finalDirX * finalDirX + finalDirY * finalDirY + finalDirZ * finalDirZ);
-                if (finalLen > 0.001) {
-                    finalDirX /= finalLen;
-                    finalDirY /= finalLen;
-                    finalDirZ /= finalLen;
-                }
-            }
-
-            // Apply Weather Drag
-            double effectiveSpeed = vitesseMax;
-            effectiveSpeed *= weatherSpeedModifier; // Use cached modifier
-            effectiveSpeed *= speedModifier; // Apply Speed Modifier
-
-            // Calculate target velocity
-            double targetVelX = finalDirX * effectiveSpeed;
-            double targetVelY = finalDirY * effectiveSpeed;
-            double targetVelZ = finalDirZ * effectiveSpeed;
-
-            // SMOOTH VELOCITY CHANGE using linear interpolation (lerp)
-            // This prevents instant velocity changes that cause jerky motion
-            double smoothing = SimConfig.VELOCITY_SMOOTHING;
-            velocityX = velocityX + (targetVelX - velocityX) * smoothing;
-            velocityY = velocityY + (targetVelY - velocityY) * smoothing;
-            velocityZ = velocityZ + (targetVelZ - velocityZ) * smoothing;
-
-            // Safety Clamp for Velocity (Prevent NaN/Inf)
-            if (Double.isNaN(velocityX) || Double.isInfinite(velocityX))
-                velocityX = 0;
-            if (Double.isNaN(velocityY) || Double.isInfinite(velocityY))
-                velocityY = 0;
-            if (Double.isNaN(velocityZ) || Double.isInfinite(velocityZ))
-                velocityZ = 0;
-
-            x += velocityX * dt;
-            y += velocityY * dt;
-            z += velocityZ * dt;
-
-            // Safety Clamp for Position (Prevent escaping world bounds randomly)
-            if (Double.isNaN(x))
-                x = 0;
-            if (Double.isNaN(y))
-                y = 0;
-            if (Double.isNaN(z))
-                z = 0;
+            return false;
         }
+        store.gx[slot] = tx;
+        store.gy[slot] = ty;
+        store.gz[slot] = safeTargetZ;
+        return true;
     }
 
     /**
      * Réinitialise les forces d'évitement accumulées pour cette frame.
      */
     public void resetAvoidanceForce() {
-        this.avoidForceX = 0;
-        this.avoidForceY = 0;
-        this.avoidForceZ = 0;
+        store.ax[slot] = 0;
+        store.ay[slot] = 0;
+        store.az[slot] = 0;
         // Auto-reset mode if no force, unless manually set by collision logic
-        if (state != AssetState.STOPPED) {
+        if (getState() != AssetState.STOPPED) {
             // Keep AVOIDING state if set by collision timer, but allow physics calculation
         }
     }
@@ -572,39 +532,9 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * @param fz Force en Z.
      */
     public void addAvoidanceForce(double fx, double fy, double fz) {
-        this.avoidForceX += fx;
-        this.avoidForceY += fy;
-        this.avoidForceZ += fz;
-    }
-
-    /**
-     * Met à jour le niveau de batterie en fonction de l'activité et de la météo.
-     * 
-     * @param dt      Temps écoulé.
-     * @param weather Météo actuelle.
-     */
-    public void updateBattery(double dt, com.spiga.environment.Weather weather) {
-        if (state == AssetState.EXECUTING_MISSION || state == AssetState.MOVING_TO_TARGET
-                || state == AssetState.RETURNING_TO_BASE) {
-            // Base Consumption
-            double consumption = (getConsommation() / 3600.0) * dt;
-
-            // Speed Factor
-            double speed = Math.sqrt(velocityX * velocityX + velocityY * velocityY + velocityZ * velocityZ);
-            double speedFactor = 1.0 + (speed / vitesseMax);
-
-            // Weather Factor Integration (Delegated to subclasses)
-            double weatherFactor = 1.0;
-            if (weather != null) {
-                weatherFactor = getBatteryMultiplier(weather);
-            }
-
-            consumption *= speedFactor * weatherFactor;
-
-            autonomieActuelle -= consumption;
-            if (autonomieActuelle < 0)
-                autonomieActuelle = 0;
-        }
+        store.ax[slot] += fx;
+        store.ay[slot] += fy;
+        store.az[slot] += fz;
     }
 
     /**
@@ -612,24 +542,29 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * panne.
      */
     private void checkBatteryState() {
-        if (autonomieActuelle <= 0) {
-            state = AssetState.STOPPED;
-            etat = EtatOperationnel.EN_PANNE;
-            velocityX = 0;
-            velocityY = 0;
-            velocityZ = 0;
+        if (store.battery[slot] <= 0) {
+            if (getState() != AssetState.STOPPED) {
+                emit(SimEvent.Type.LOW_BATTERY, null, null, 0);
+            }
+            setState(AssetState.STOPPED);
+            setEtat(EtatOperationnel.EN_PANNE);
+            store.vx[slot] = 0;
+            store.vy[slot] = 0;
+            store.vz[slot] = 0;
             notifierEtatCritique("Battery depleted!");
         } else {
             // Smart Return Logic
+            double x = store.px[slot], y = store.py[slot], z = store.pz[slot];
             double distToBase = Math.sqrt(x * x + y * y + z * z); // Base at 0,0,0
             double timeToReturn = distToBase / vitesseMax; // Seconds
             double energyNeeded = (timeToReturn / 3600.0) * getConsommation(); // Hours
             double safetyMargin = autonomieMax * 0.10; // 10% buffer
 
-            if (autonomieActuelle < (energyNeeded + safetyMargin)) {
-                if (state != AssetState.RETURNING_TO_BASE && state != AssetState.STOPPED
-                        && state != AssetState.RECHARGING) {
+            if (store.battery[slot] < (energyNeeded + safetyMargin)) {
+                if (getState() != AssetState.RETURNING_TO_BASE && getState() != AssetState.STOPPED
+                        && getState() != AssetState.RECHARGING) {
                     returnToBase();
+                    emit(SimEvent.Type.LOW_BATTERY, null, null, getBatteryPercent() * 100);
                     notifierEtatCritique("Low battery (Smart Return) - Returning to base");
                 }
             }
@@ -641,7 +576,7 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      */
     public void returnToBase() {
         setTarget(0, 0, 0); // Base at origin
-        this.state = AssetState.RETURNING_TO_BASE;
+        setState(AssetState.RETURNING_TO_BASE);
     }
 
     /**
@@ -650,8 +585,8 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * @return true si distance < 1.0m.
      */
     public boolean hasReachedTarget() {
-        double dx = targetX - x;
-        double dy = targetY - y;
+        double dx = store.tx[slot] - store.px[slot];
+        double dy = store.ty[slot] - store.py[slot];
         return Math.sqrt(dx * dx + dy * dy) < 1.0;
     }
 
@@ -663,20 +598,24 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * @param mission La mission à assigner.
      */
     public void assignMission(Mission mission) {
+        mission.setClock(clock);
+        if (missions != null) {
+            mission.setRegistry(missions);
+        }
         if (this.currentMission == null || this.currentMission.isTerminated()) {
             // Immediate start
             this.currentMission = mission;
-            this.targetX = mission.getTargetX();
-            this.targetY = mission.getTargetY();
-            this.targetZ = mission.getTargetZ();
-            this.state = AssetState.EXECUTING_MISSION;
-            this.etat = EtatOperationnel.EN_MISSION;
-            logger.info("Actif " + id + ": Assigned immediate mission " + mission.getTitre());
+            store.tx[slot] = mission.getTargetX();
+            store.ty[slot] = mission.getTargetY();
+            store.tz[slot] = mission.getTargetZ();
+            setState(AssetState.EXECUTING_MISSION);
+            setEtat(EtatOperationnel.EN_MISSION);
+            SimLog.log(SimLog.Category.MISSION, "Actif {}: Assigned immediate mission {}", id, mission.getTitre());
         } else {
             // Queue it
             missionQueue.add(mission);
-            logger.info("Actif " + id + ": Queued mission " + mission.getTitre() + " (Queue size: "
-                    + missionQueue.size() + ")");
+            SimLog.log(SimLog.Category.MISSION, "Actif {}: Queued mission {} (Queue size: {})", id,
+                    mission.getTitre(), missionQueue.size());
         }
     }
 
@@ -690,7 +629,7 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
                 assignMission(next);
                 // Also auto-start if planned?
                 if (next.getStatut() == Mission.StatutMission.PLANIFIEE) {
-                    next.start(System.currentTimeMillis() / 1000);
+                    next.start(clock.currentTimeSeconds());
                 }
             }
         }
@@ -720,12 +659,12 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
 
             // Set new active (bypass assignMission queue check)
             this.currentMission = manualChoice;
-            this.targetX = manualChoice.getTargetX();
-            this.targetY = manualChoice.getTargetY();
-            this.targetZ = manualChoice.getTargetZ();
-            this.state = AssetState.EXECUTING_MISSION;
-            this.etat = EtatOperationnel.EN_MISSION; // Ensure state reflects mission
-            logger.info("Actif " + id + ": Promoted mission " + manualChoice.getTitre());
+            store.tx[slot] = manualChoice.getTargetX();
+            store.ty[slot] = manualChoice.getTargetY();
+            store.tz[slot] = manualChoice.getTargetZ();
+            setState(AssetState.EXECUTING_MISSION);
+            setEtat(EtatOperationnel.EN_MISSION); // Ensure state reflects mission
+            SimLog.log(SimLog.Category.MISSION, "Actif {}: Promoted mission {}", id, manualChoice.getTitre());
         }
     }
 
@@ -742,10 +681,10 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * @param z Cible Z.
      */
     public void setTarget(double x, double y, double z) {
-        this.targetX = x;
-        this.targetY = y;
-        this.targetZ = z;
-        this.state = AssetState.MOVING_TO_TARGET;
+        store.tx[slot] = x;
+        store.ty[slot] = y;
+        store.tz[slot] = z;
+        setState(AssetState.MOVING_TO_TARGET);
     }
 
     /**
@@ -754,7 +693,7 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * @return Ratio autonomieActuelle / autonomieMax.
      */
     public double getBatteryPercent() {
-        return autonomieActuelle / autonomieMax;
+        return store.battery[slot] / autonomieMax;
     }
 
     /**
@@ -787,8 +726,8 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
     }
 
     // Legacy method - can delegate to getSpeedMultiplier if preferred,
-    // or keep separate. For now, we use the NEW methods in
-    // moveTowards/updateBattery.
+    // or keep separate. For now, we use the NEW methods, cached by
+    // FleetStore.refreshWeather for the motion systems.
     protected double getSpeedEfficiency(com.spiga.environment.Weather w) {
         return getSpeedMultiplier(w);
     }
@@ -800,21 +739,24 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
 
     @Override
     public void calculerTrajet(double targetX, double targetY, double targetZ) {
-        double distance = Math.sqrt(Math.pow(targetX - x, 2) + Math.pow(targetY - y, 2) + Math.pow(targetZ - z, 2));
-        logger.info(id + " - Distance vers cible: " + (int) distance + "m");
+        double distance = Math.sqrt(Math.pow(targetX - getX(), 2) + Math.pow(targetY - getY(), 2)
+                + Math.pow(targetZ - getZ(), 2));
+        SimLog.log(SimLog.Category.ASSET, "{} - Distance vers cible: {}m", id, (int) distance);
     }
 
     @Override
     public void recharger() {
-        autonomieActuelle = autonomieMax;
+        store.battery[slot] = autonomieMax;
+        store.notifyGround(slot);
+        AssetState state = getState();
         if (state == AssetState.STOPPED || state == AssetState.RECHARGING || state == AssetState.LOW_BATTERY
                 || state == AssetState.RETURNING_TO_BASE) {
-            state = AssetState.IDLE;
+            setState(AssetState.IDLE);
         }
-        if (etat == EtatOperationnel.EN_PANNE) {
-            etat = EtatOperationnel.AU_SOL;
+        if (getEtat() == EtatOperationnel.EN_PANNE) {
+            setEtat(EtatOperationnel.AU_SOL);
         }
-        logger.info(id + " rechargé à 100%");
+        SimLog.log(SimLog.Category.ASSET, "{} rechargé à 100%", id);
     }
 
     @Override
@@ -824,53 +766,58 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
 
     @Override
     public void transmettreAlerte(String message, ActifMobile actifCible) {
-        logger.info(id + " → " + actifCible.getId() + ": " + message);
+        SimLog.log(SimLog.Category.ASSET, "{} → {}: {}", id, actifCible.getId(), message);
     }
 
     @Override
     public void demarrer() {
-        if (etat == EtatOperationnel.AU_SOL && autonomieActuelle > 0) {
-            etat = EtatOperationnel.EN_MISSION;
-            state = AssetState.IDLE;
-            logger.info(id + " démarré");
+        if (getEtat() == EtatOperationnel.AU_SOL && store.battery[slot] > 0) {
+            setEtat(EtatOperationnel.EN_MISSION);
+            setState(AssetState.IDLE);
+            SimLog.log(SimLog.Category.ASSET, "{} démarré", id);
         }
     }
 
     @Override
     public void eteindre() {
-        if (etat == EtatOperationnel.EN_MISSION) {
-            etat = EtatOperationnel.AU_SOL;
-            state = AssetState.IDLE;
-            velocityX = 0;
-            velocityY = 0;
-            logger.info(id + " éteint");
+        if (getEtat() == EtatOperationnel.EN_MISSION) {
+            setEtat(EtatOperationnel.AU_SOL);
+            setState(AssetState.IDLE);
+            store.vx[slot] = 0;
+            store.vy[slot] = 0;
+            SimLog.log(SimLog.Category.ASSET, "{} éteint", id);
         }
     }
 
     @Override
     public void notifierEtatCritique(String typeAlerte) {
-        logger.warning("⚠️ ALERTE " + id + ": " + typeAlerte);
+        SimLog.log(SimLog.Category.ASSET, "⚠️ ALERTE {}: {}", id, typeAlerte);
     }
 
     // Getters
     public double getCurrentSpeed() {
-        return Math.sqrt(velocityX * velocityX + velocityY * velocityY + velocityZ * velocityZ);
+        double vx = store.vx[slot], vy = store.vy[slot], vz = store.vz[slot];
+        return Math.sqrt(vx * vx + vy * vy + vz * vz);
     }
 
     public String getId() {
         return id;
     }
 
+    public int getSerial() {
+        return serial;
+    }
+
     public double getX() {
-        return x;
+        return store.px[slot];
     }
 
     public double getY() {
-        return y;
+        return store.py[slot];
     }
 
     public double getZ() {
-        return z;
+        return store.pz[slot];
     }
 
     public double getVitesseMax() {
@@ -882,43 +829,44 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
     }
 
     public double getAutonomieActuelle() {
-        return autonomieActuelle;
+        return store.battery[slot];
     }
 
     public void setAutonomieActuelle(double autonomie) {
-        this.autonomieActuelle = autonomie;
+        store.battery[slot] = autonomie;
+        store.notifyGround(slot);
     }
 
     public EtatOperationnel getEtat() {
-        return etat;
+        return FleetStore.ETATS[store.etat[slot]];
     }
 
     public AssetState getState() {
-        return state;
+        return FleetStore.STATES[store.state[slot]];
     }
 
     public double getVelocityX() {
-        return velocityX;
+        return store.vx[slot];
     }
 
     public double getVelocityY() {
-        return velocityY;
+        return store.vy[slot];
     }
 
     public double getVelocityZ() {
-        return velocityZ;
+        return store.vz[slot];
     }
 
     public double getTargetX() {
-        return targetX;
+        return store.tx[slot];
     }
 
     public double getTargetY() {
-        return targetY;
+        return store.ty[slot];
     }
 
     public double getTargetZ() {
-        return targetZ;
+        return store.tz[slot];
     }
 
     public Mission getCurrentMission() {
@@ -929,25 +877,131 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
         return selected;
     }
 
+    /**
+     * Retourne l'horloge utilisée par les minuteurs de l'actif.
+     * 
+     * @return L'horloge de simulation (ou {@link SimClock#SYSTEM}).
+     */
+    public SimClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Rattache l'actif à une horloge de simulation.
+     * 
+     * @param clock L'horloge du moteur.
+     */
+    public void setClock(SimClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Retourne les zones interdites connues de l'actif.
+     * 
+     * @return L'index de zones (ou {@link #KNOWN_ZONES}).
+     */
+    public ZoneIndex getZones() {
+        return zones;
+    }
+
+    /**
+     * Rattache l'actif à l'index de zones d'un moteur.
+     * 
+     * @param zones Les zones interdites du moteur.
+     */
+    public void setZones(ZoneIndex zones) {
+        this.zones = zones;
+    }
+
+    /**
+     * Retourne le flux d'événements auquel l'actif publie.
+     * 
+     * @return Le bus du moteur, ou {@code null} hors moteur.
+     */
+    public SimEventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * Rattache l'actif au flux d'événements d'un moteur.
+     * 
+     * @param events Le bus du moteur.
+     */
+    public void setEvents(SimEventBus events) {
+        this.events = events;
+    }
+
+    public MissionRegistry getMissions() {
+        return missions;
+    }
+
+    /**
+     * Rattache l'actif au registre des missions en cours d'un moteur ; ses
+     * missions (courante et en file) y sont rattachées aussi.
+     *
+     * @param missions Le registre du moteur.
+     */
+    public void setMissions(MissionRegistry missions) {
+        this.missions = missions;
+        if (missions == null) {
+            return;
+        }
+        if (currentMission != null) {
+            currentMission.setRegistry(missions);
+        }
+        for (Mission queued : missionQueue) {
+            queued.setRegistry(missions);
+        }
+    }
+
+    /**
+     * Publie un événement concernant cet actif (sans effet hors moteur).
+     *
+     * @param type    Nature de l'événement.
+     * @param other   Second actif (ou {@code null}).
+     * @param subject Zone, obstacle ou mission (ou {@code null}).
+     * @param value   Valeur associée.
+     */
+    protected void emit(SimEvent.Type type, ActifMobile other, Object subject, double value) {
+        SimEventBus bus = events;
+        if (bus != null) {
+            bus.publish(type, this, other, subject, value, clock.currentTimeMillis());
+        }
+    }
+
     // Setters
     public void setX(double x) {
-        this.x = x;
+        store.px[slot] = x;
+        store.notifyGround(slot);
+        store.notifyMoved(slot);
     }
 
     public void setY(double y) {
-        this.y = y;
+        store.py[slot] = y;
+        store.notifyGround(slot);
+        store.notifyMoved(slot);
     }
 
     public void setZ(double z) {
-        this.z = z;
+        store.pz[slot] = z;
+        store.notifyMoved(slot);
     }
 
     public void setEtat(EtatOperationnel etat) {
-        this.etat = etat;
+        byte value = (byte) etat.ordinal();
+        byte old = store.etat[slot];
+        store.etat[slot] = value;
+        if (old != value) {
+            store.notifyEtat(this, old, value);
+        }
     }
 
     public void setState(AssetState state) {
-        this.state = state;
+        byte value = (byte) state.ordinal();
+        if (value == FleetStore.IDLE && store.state[slot] != value) {
+            store.notifyIdle(this);
+        }
+        store.state[slot] = value;
     }
 
     public void setSelected(boolean selected) {
@@ -955,7 +1009,92 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
     }
 
     public void setSpeedModifier(double modifier) {
-        this.speedModifier = modifier;
+        store.speedModifier[slot] = modifier;
+    }
+
+    /**
+     * Retourne le stockage des composants de l'actif.
+     * 
+     * @return Le stockage de la flotte (ou le stockage propre d'un actif isolé).
+     */
+    FleetStore getStore() {
+        return store;
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Retourne la poignée générationnelle de l'actif dans le registre de sa
+     * flotte.
+     *
+     * @return La poignée, ou -1 hors flotte.
+     */
+    public long getHandle() {
+        return handle;
+    }
+
+    /**
+     * Appelé par {@link FleetStore#adopt} et {@link FleetStore#evict} pour le
+     * compte du registre de la flotte.
+     *
+     * @param handle Nouvelle poignée (-1 au retrait).
+     */
+    void setHandle(long handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Déplace les composants de l'actif dans un autre stockage (adoption par
+     * une flotte). Le slot d'origine est libéré.
+     * 
+     * @param target Le stockage d'accueil.
+     */
+    void attachTo(FleetStore target) {
+        if (target == store) {
+            return;
+        }
+        int newSlot = target.allocate(this);
+        target.copy(store, slot, newSlot);
+        store.release(slot);
+        this.store = target;
+        this.slot = newSlot;
+        if (target.state[newSlot] == FleetStore.IDLE) {
+            target.notifyIdle(this); // Disponible dès son arrivée dans la flotte
+        }
+    }
+
+    /**
+     * Détache l'actif de sa flotte : il retrouve un stockage propre.
+     */
+    void detach() {
+        attachTo(new FleetStore(1));
+    }
+
+    /**
+     * Abonne un observateur aux déplacements de l'actif ; il suit l'actif
+     * d'un stockage à l'autre.
+     *
+     * @param listener Observateur (suivi des arrivées d'une mission).
+     */
+    public void addPositionListener(FleetStore.PositionListener listener) {
+        store.addPositionListener(slot, listener);
+    }
+
+    /**
+     * Désabonne un observateur des déplacements.
+     *
+     * @param listener Observateur ajouté par
+     *                 {@link #addPositionListener(FleetStore.PositionListener)}.
+     */
+    public void removePositionListener(FleetStore.PositionListener listener) {
+        store.removePositionListener(slot, listener);
+    }
+
+    /** Appelé par le stockage lorsqu'il compacte ses slots. */
+    void rebindSlot(int newSlot) {
+        this.slot = newSlot;
     }
 
     public void setCollisionWarning(String warning) {
@@ -974,6 +1113,6 @@ public abstract class ActifMobile implements Deplacable, Rechargeable, Communica
      * @return Vitesse en m/s (approx).
      */
     public double getVitesse() {
-        return vitesseMax * speedModifier * weatherSpeedModifier; // Approximation of current speed capability
+        return vitesseMax * store.speedModifier[slot] * store.weatherSpeed[slot]; // Approximation of current speed capability
     }
 }
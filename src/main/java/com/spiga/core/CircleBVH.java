@@ -0,0 +1,273 @@
+package com.spiga.core;
+
+import java.util.Arrays;
+
+/**
+ * Hiérarchie de volumes englobants (BVH) statique sur des disques du plan XY.
+ * <p>
+ * Les obstacles ({@link ObstacleBVH}) comme les zones interdites
+ * ({@link ZoneIndex}) agissent dans le plan XY sur une distance bornée autour
+ * de leur disque. Chaque disque est représenté par son carré englobant, et
+ * l'arbre binaire (découpe à la médiane sur l'axe le plus étendu) permet de
+ * ne tester que les disques proches d'un point ou d'un segment : une requête
+ * coûte O(log n) au lieu de parcourir toute la liste.
+ * </p>
+ * <p>
+ * L'arbre est stocké à plat dans des tableaux primitifs. Il est immuable
+ * entre deux constructions : plusieurs threads peuvent l'interroger en même
+ * temps, chacun avec son propre {@link Cursor}.
+ * </p>
+ */
+public class CircleBVH {
+
+    private static final int LEAF_SIZE = 4;
+    /** Marge ajoutée aux tests de boîtes pour absorber les arrondis. */
+    private static final double EPSILON = 1e-6;
+
+    // Disques indexés (ordre de la liste d'origine)
+    private double[] centerX = new double[0];
+    private double[] centerY = new double[0];
+    private double[] radius = new double[0];
+    private int size = 0;
+    /** Indices de disques, permutés par la construction. */
+    private int[] items = new int[0];
+
+    // Noeuds (pré-ordre : le fils gauche suit son parent)
+    private double[] minX = new double[0];
+    private double[] minY = new double[0];
+    private double[] maxX = new double[0];
+    private double[] maxY = new double[0];
+    private int[] right = new int[0];
+    private int[] first = new int[0];
+    private int[] count = new int[0];
+    private int nodeCount = 0;
+
+    /**
+     * État d'une requête (résultats et pile de parcours), propre à un thread.
+     */
+    public static final class Cursor {
+        private int[] results = new int[16];
+        private int[] stack = new int[64];
+
+        /**
+         * Lit un résultat de la dernière requête.
+         *
+         * @param index Rang dans les résultats.
+         * @return Indice du disque (dans la liste d'origine).
+         */
+        public int result(int index) {
+            return results[index];
+        }
+    }
+
+    /**
+     * Reconstruit l'arbre sur les disques {@code 0..n-1} (les indices des
+     * résultats s'y réfèrent).
+     *
+     * @param x Centres X.
+     * @param y Centres Y.
+     * @param r Rayons.
+     * @param n Nombre de disques.
+     */
+    protected void build(double[] x, double[] y, double[] r, int n) {
+        centerX = x;
+        centerY = y;
+        radius = r;
+        size = n;
+        items = new int[n];
+        for (int i = 0; i < n; i++) {
+            items[i] = i;
+        }
+
+        int capacity = Math.max(1, 2 * n);
+        minX = new double[capacity];
+        minY = new double[capacity];
+        maxX = new double[capacity];
+        maxY = new double[capacity];
+        right = new int[capacity];
+        first = new int[capacity];
+        count = new int[capacity];
+        nodeCount = 0;
+        if (n > 0) {
+            buildNode(0, n);
+        }
+    }
+
+    private int buildNode(int lo, int hi) {
+        int node = nodeCount++;
+        double bx0 = Double.POSITIVE_INFINITY, by0 = Double.POSITIVE_INFINITY;
+        double bx1 = Double.NEGATIVE_INFINITY, by1 = Double.NEGATIVE_INFINITY;
+        double cx0 = Double.POSITIVE_INFINITY, cy0 = Double.POSITIVE_INFINITY;
+        double cx1 = Double.NEGATIVE_INFINITY, cy1 = Double.NEGATIVE_INFINITY;
+        for (int k = lo; k < hi; k++) {
+            int item = items[k];
+            double cx = centerX[item];
+            double cy = centerY[item];
+            double r = radius[item];
+            bx0 = Math.min(bx0, cx - r);
+            by0 = Math.min(by0, cy - r);
+            bx1 = Math.max(bx1, cx + r);
+            by1 = Math.max(by1, cy + r);
+            cx0 = Math.min(cx0, cx);
+            cy0 = Math.min(cy0, cy);
+            cx1 = Math.max(cx1, cx);
+            cy1 = Math.max(cy1, cy);
+        }
+        minX[node] = bx0;
+        minY[node] = by0;
+        maxX[node] = bx1;
+        maxY[node] = by1;
+
+        if (hi - lo <= LEAF_SIZE) {
+            first[node] = lo;
+            count[node] = hi - lo;
+            return node;
+        }
+
+        // Découpe à la médiane des centres sur l'axe le plus étendu
+        boolean splitX = (cx1 - cx0) >= (cy1 - cy0);
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, splitX);
+
+        count[node] = 0;
+        buildNode(lo, mid);
+        right[node] = buildNode(mid, hi);
+        return node;
+    }
+
+    /** Sélection rapide : place le k-ième centre à sa position triée. */
+    private void select(int lo, int hi, int k, boolean axisX) {
+        while (lo < hi) {
+            double pivot = center(items[(lo + hi) >>> 1], axisX);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (center(items[i], axisX) < pivot) {
+                    i++;
+                }
+                while (center(items[j], axisX) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int tmp = items[i];
+                    items[i] = items[j];
+                    items[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double center(int item, boolean axisX) {
+        return axisX ? centerX[item] : centerY[item];
+    }
+
+    /**
+     * Retourne les disques à moins de {@code margin} du point, triés par
+     * indice croissant (même ordre que la liste). L'ensemble peut contenir
+     * quelques disques en trop : le test exact reste à la charge de
+     * l'appelant.
+     *
+     * @param x      Coordonnée X du point.
+     * @param y      Coordonnée Y du point.
+     * @param margin Distance de détection au-delà du rayon des disques.
+     * @param cursor État de requête de l'appelant.
+     * @return Nombre de candidats, lisibles via {@link Cursor#result(int)}.
+     */
+    public int query(double x, double y, double margin, Cursor cursor) {
+        return collect(x, y, x, y, margin, cursor);
+    }
+
+    /**
+     * Retourne les disques qui peuvent être à moins de {@code margin} du
+     * segment [A, B], triés par indice croissant. Le test exact reste à la
+     * charge de l'appelant.
+     *
+     * @param ax     X du point de départ.
+     * @param ay     Y du point de départ.
+     * @param bx     X du point d'arrivée.
+     * @param by     Y du point d'arrivée.
+     * @param margin Distance au-delà du rayon des disques.
+     * @param cursor État de requête de l'appelant.
+     * @return Nombre de candidats, lisibles via {@link Cursor#result(int)}.
+     */
+    public int querySegment(double ax, double ay, double bx, double by, double margin, Cursor cursor) {
+        return collect(ax, ay, bx, by, margin, cursor);
+    }
+
+    private int collect(double ax, double ay, double bx, double by, double margin, Cursor cursor) {
+        if (nodeCount == 0) {
+            return 0;
+        }
+        double m = margin + EPSILON;
+        int[] stack = cursor.stack;
+        int found = 0;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!segmentHitsBox(ax, ay, bx, by, minX[node] - m, minY[node] - m, maxX[node] + m, maxY[node] + m)) {
+                continue;
+            }
+            if (count[node] > 0) {
+                int end = first[node] + count[node];
+                for (int k = first[node]; k < end; k++) {
+                    if (found == cursor.results.length) {
+                        cursor.results = Arrays.copyOf(cursor.results, found * 2);
+                    }
+                    cursor.results[found++] = items[k];
+                }
+            } else {
+                if (top + 2 > stack.length) {
+                    stack = cursor.stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = right[node];
+                stack[top++] = node + 1;
+            }
+        }
+        Arrays.sort(cursor.results, 0, found);
+        return found;
+    }
+
+    /** Test segment / boîte par la méthode des dalles (un point si A = B). */
+    private static boolean segmentHitsBox(double ax, double ay, double bx, double by,
+            double x0, double y0, double x1, double y1) {
+        double t0 = 0;
+        double t1 = 1;
+        double dx = bx - ax;
+        if (dx == 0) {
+            if (ax < x0 || ax > x1) {
+                return false;
+            }
+        } else {
+            double u0 = (x0 - ax) / dx;
+            double u1 = (x1 - ax) / dx;
+            t0 = Math.max(t0, Math.min(u0, u1));
+            t1 = Math.min(t1, Math.max(u0, u1));
+        }
+        double dy = by - ay;
+        if (dy == 0) {
+            if (ay < y0 || ay > y1) {
+                return false;
+            }
+        } else {
+            double u0 = (y0 - ay) / dy;
+            double u1 = (y1 - ay) / dy;
+            t0 = Math.max(t0, Math.min(u0, u1));
+            t1 = Math.min(t1, Math.max(u0, u1));
+        }
+        return t0 <= t1;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,99 @@
+package com.spiga.core;
+
+/**
+ * Profil de contraintes d'un type de véhicule (immuable).
+ * <p>
+ * Regroupe les règles physiques et réglementaires qui dépendent du type
+ * concret de l'actif : bande de profondeur/altitude admise pour la cible,
+ * politique face aux zones interdites et règle d'approche de la mer. Chaque
+ * type déclare son profil une fois pour toutes (constante de classe, voir
+ * {@link ActifMobile#typeProfile()}) ; la boucle de simulation lit ces
+ * champs au lieu d'enchaîner des tests {@code instanceof}. Un nouveau type
+ * de véhicule se branche en déclarant son profil, sans toucher au moteur.
+ * </p>
+ */
+public final class ConstraintProfile {
+
+    /**
+     * Comportement d'un actif face à une zone interdite.
+     */
+    public enum ZonePolicy {
+        /** Entrée autorisée (ex : reconnaissance). */
+        PASS,
+        /**
+         * Survol autorisé au-dessus du plafond ; entrée = violation (poussée,
+         * arrêt, échec de mission).
+         */
+        FLY_OVER,
+        /** Mur infranchissable quelle que soit l'altitude. */
+        HARD_WALL
+    }
+
+    /**
+     * Profil par défaut : aucune contrainte de cible, survol des zones
+     * autorisé, pas de règle d'approche de la mer.
+     */
+    public static final ConstraintProfile DEFAULT = new ConstraintProfile(ZonePolicy.FLY_OVER, false,
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    private final ZonePolicy zonePolicy;
+    private final boolean seaApproachRule;
+    private final double minTargetZ;
+    private final double maxTargetZ;
+    private final double aboveMaxTargetZ;
+
+    /**
+     * Crée un profil.
+     *
+     * @param zonePolicy      Politique face aux zones interdites.
+     * @param seaApproachRule Vrai si l'actif doit maintenir une altitude de
+     *                        vol stationnaire au-dessus de la mer.
+     * @param minTargetZ      Z minimal d'une cible (borné à cette valeur).
+     * @param maxTargetZ      Z maximal d'une cible.
+     * @param aboveMaxTargetZ Z retenu lorsqu'une cible dépasse
+     *                        {@code maxTargetZ}.
+     */
+    public ConstraintProfile(ZonePolicy zonePolicy, boolean seaApproachRule,
+            double minTargetZ, double maxTargetZ, double aboveMaxTargetZ) {
+        this.zonePolicy = zonePolicy;
+        this.seaApproachRule = seaApproachRule;
+        this.minTargetZ = minTargetZ;
+        this.maxTargetZ = maxTargetZ;
+        this.aboveMaxTargetZ = aboveMaxTargetZ;
+    }
+
+    /**
+     * Ramène un Z de cible dans la bande admise par le type.
+     *
+     * @param z Z demandé.
+     * @return Z admissible.
+     */
+    public double constrainTargetZ(double z) {
+        if (minTargetZ == maxTargetZ) {
+            return minTargetZ; // Bande réduite à un niveau (surface)
+        }
+        if (z > maxTargetZ) {
+            return aboveMaxTargetZ;
+        }
+        if (z < minTargetZ) {
+            return minTargetZ;
+        }
+        return z;
+    }
+
+    public ZonePolicy getZonePolicy() {
+        return zonePolicy;
+    }
+
+    public boolean hasSeaApproachRule() {
+        return seaApproachRule;
+    }
+
+    public double getMinTargetZ() {
+        return minTargetZ;
+    }
+
+    public double getMaxTargetZ() {
+        return maxTargetZ;
+    }
+}
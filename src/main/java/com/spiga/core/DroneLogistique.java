@@ -23,6 +23,14 @@ import com.spiga.environment.RestrictedZone;
  */
 public class DroneLogistique extends ActifAerien {
 
+    /** Zones interdites infranchissables à toute altitude, maintien au-dessus de la mer. */
+    private static final ConstraintProfile PROFILE = new ConstraintProfile(
+            ConstraintProfile.ZonePolicy.HARD_WALL, true,
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    /** Marge (m) ajoutée au rayon des zones pour détecter un trajet qui les traverse. */
+    private static final double PATH_PADDING = 40.0;
+
     /** Charge utile maximale supportée en kg. */
     private double chargeUtileMax;
     /** Charge actuellement transportée en kg. */
@@ -72,8 +80,16 @@ public class DroneLogistique extends ActifAerien {
      */
     @Override
     public void setTarget(double tx, double ty, double tz) {
+        double x = getX();
+        double y = getY();
+
         // 1. Check Zones
-        for (RestrictedZone zone : ActifMobile.KNOWN_ZONES) {
+        // Candidats : zones (agrandies de la marge de contournement) que le
+        // trajet peut couper, ce qui inclut celles contenant la cible.
+        CircleBVH.Cursor cursor = new CircleBVH.Cursor();
+        int candidates = zones.querySegment(x, y, tx, ty, PATH_PADDING, cursor);
+        for (int k = 0; k < candidates; k++) {
+            RestrictedZone zone = zones.result(cursor, k);
 
             // A. Check if TARGET is inside Zone
             // "refus si target dedans"
@@ -92,17 +108,18 @@ public class DroneLogistique extends ActifAerien {
             double radiusSq = zone.getRadius() * zone.getRadius();
 
             if (distSq < radiusSq) {
-                System.out.println("⛔ " + id + ": Rejet commande. Cible dans Zone Interdite " + zone.getId());
+                SimLog.log(SimLog.Category.ZONE, "⛔ {}: Rejet commande. Cible dans Zone Interdite {}", id, zone.getId());
                 // Set warning instead of throwing exception - let caller handle UI
                 setCollisionWarning("ZONE_VIOLATION: Cible dans zone interdite!");
+                emit(SimEvent.Type.TARGET_IN_ZONE, null, zone, 0);
                 return; // Reject the command silently
             }
 
             // B. Check Path Intersection (Contournement)
             // "si target est hors zone mais la ligne droite traverse"
             // Simple segment-circle intersection check (With Robust Padding)
-            if (intersects(x, y, tx, ty, zone.getX(), zone.getY(), zone.getRadius() + 40.0)) {
-                System.out.println("⚠️ " + id + ": Trajet traverse Zone Interdite! Calcul contournement...");
+            if (intersects(x, y, tx, ty, zone.getX(), zone.getY(), zone.getRadius() + PATH_PADDING)) {
+                SimLog.log(SimLog.Category.ZONE, "⚠️ {}: Trajet traverse Zone Interdite! Calcul contournement...", id);
 
                 double distToCenter = Math.sqrt(Math.pow(x - zone.getX(), 2) + Math.pow(y - zone.getY(), 2));
                 double safetyRadius = zone.getRadius() + 100.0;
@@ -242,4 +259,9 @@ public class DroneLogistique extends ActifAerien {
     public double getChargeActuelle() {
         return chargeActuelle;
     }
+
+    @Override
+    protected ConstraintProfile typeProfile() {
+        return PROFILE;
+    }
 }
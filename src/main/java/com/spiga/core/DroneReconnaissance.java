@@ -11,6 +11,11 @@ package com.spiga.core;
  */
 public class DroneReconnaissance extends ActifAerien {
 
+    /** Entrée autorisée dans les zones interdites, maintien au-dessus de la mer. */
+    private static final ConstraintProfile PROFILE = new ConstraintProfile(
+            ConstraintProfile.ZonePolicy.PASS, true,
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+
     /** Rayon de surveillance en mètres. */
     private double rayonSurveillance;
 
@@ -59,4 +64,9 @@ public class DroneReconnaissance extends ActifAerien {
     public double getRayonSurveillance() {
         return rayonSurveillance;
     }
+
+    @Override
+    protected ConstraintProfile typeProfile() {
+        return PROFILE;
+    }
 }
@@ -0,0 +1,372 @@
+package com.spiga.core;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Accumulateur à pas fixe avec budget de rattrapage.
+ * <p>
+ * Convertit le temps réel écoulé entre deux frames (multiplié par l'échelle de
+ * temps) en pas fixes du {@link SimulationEngine}. Contrairement à une boucle
+ * {@code while (accumulator >= FIXED_STEP)} non bornée, le nombre de pas
+ * exécutés par frame est plafonné ({@link #setMaxStepsPerFrame(int)}) : avec
+ * une grande échelle de temps et une grosse flotte, le thread appelant (le
+ * thread JavaFX) ne peut plus s'emballer et geler l'interface.
+ * </p>
+ * <p>
+ * <strong>Politiques de surcharge</strong> (quand le budget est dépassé) :
+ * <ul>
+ * <li>{@link OverloadPolicy#DROP_TIME} : le retard est abandonné, la
+ * simulation perd ce temps simulé.</li>
+ * <li>{@link OverloadPolicy#SLOW_DOWN} : l'échelle de temps effective est
+ * réduite à ce que le budget permet, puis remonte progressivement vers
+ * l'échelle demandée quand la charge baisse.</li>
+ * <li>{@link OverloadPolicy#BACKGROUND} : les pas sont exécutés par un thread
+ * de travail ; l'appelant ne fait que transmettre le retard accumulé. Un lot
+ * reste borné par le budget des frames écoulées depuis le précédent (au plus
+ * {@link #BACKGROUND_MAX_FRAMES}) : l'excédent est abandonné.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * En mode BACKGROUND, le moteur ne doit pas être modifié pendant un lot : les
+ * commandes passent par {@link #execute(Runnable)}, qui les exécute tout de
+ * suite si le thread de travail est inactif, et sinon entre deux lots.
+ * </p>
+ * <p>
+ * Le retard (temps simulé non exécuté) est exposé via {@link #getLag()},
+ * {@link #getDroppedTime()} et {@link #isFallingBehind()} pour que
+ * l'opérateur voie quand la simulation décroche.
+ * </p>
+ *
+ * @see SimulationService
+ */
+public class FixedStepLoop {
+
+    /**
+     * Comportement de la boucle lorsque le budget de pas par frame est
+     * dépassé.
+     */
+    public enum OverloadPolicy {
+        DROP_TIME, SLOW_DOWN, BACKGROUND;
+
+        /**
+         * Politique désignée par son nom (sans tenir compte de la casse).
+         *
+         * @param name Nom de la politique.
+         * @return La politique, ou {@code DROP_TIME} si le nom est inconnu.
+         */
+        public static OverloadPolicy parse(String name) {
+            for (OverloadPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(name)) {
+                    return policy;
+                }
+            }
+            return DROP_TIME;
+        }
+    }
+
+    private static final Logger logger = Logger.getLogger(FixedStepLoop.class.getName());
+
+    /** Facteur de remontée de l'échelle effective par frame sans surcharge. */
+    private static final double SLOW_DOWN_RECOVERY = 1.05;
+    /**
+     * Mode BACKGROUND : un lot couvre au plus ce nombre de frames de budget ;
+     * au-delà, le retard est abandonné comme en DROP_TIME.
+     */
+    static final int BACKGROUND_MAX_FRAMES = 4;
+
+    private final SimulationEngine engine;
+
+    // Réglages et statistiques écrits par le thread qui cadence la boucle
+    // et lus par l'interface (barre d'état) : volatiles
+    private volatile OverloadPolicy policy = OverloadPolicy.parse(SimConfig.OVERLOAD_POLICY);
+    private volatile int maxStepsPerFrame = SimConfig.MAX_STEPS_PER_FRAME;
+
+    /** Échelle de temps demandée par l'opérateur. */
+    private volatile double timeScale = 1.0;
+    /** Échelle réellement appliquée (différente en mode SLOW_DOWN). */
+    private volatile double effectiveTimeScale = 1.0;
+
+    private double accumulator = 0;
+
+    // Statistiques de retard (un seul écrivain : le thread qui cadence)
+    private volatile double lag = 0;
+    private volatile double droppedTime = 0;
+    private volatile long overloadedFrames = 0;
+    private volatile boolean overloaded = false;
+
+    // Mode BACKGROUND : un seul thread, jamais deux pas en parallèle
+    private ExecutorService worker;
+    private Future<?> pending;
+    private volatile long inFlightSteps = 0;
+    private int framesSinceBatch = 0;
+    // Commandes reçues pendant un lot (thread appelant seulement)
+    private final Queue<Runnable> commands = new ArrayDeque<>();
+
+    /**
+     * Crée une boucle pilotant le moteur donné.
+     *
+     * @param engine Le moteur headless à cadencer.
+     */
+    public FixedStepLoop(SimulationEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Fait avancer la simulation d'un intervalle de temps réel.
+     *
+     * @param realDtSeconds Temps réel écoulé depuis la frame précédente.
+     * @return Nombre de pas exécutés sur le thread appelant (0 en mode
+     *         BACKGROUND).
+     */
+    public int advance(double realDtSeconds) {
+        if (policy == OverloadPolicy.BACKGROUND) {
+            return advanceInBackground(realDtSeconds);
+        }
+        awaitPending(); // Changement de politique : finir le lot en cours
+
+        double scale = (policy == OverloadPolicy.SLOW_DOWN) ? effectiveTimeScale : timeScale;
+        accumulator += realDtSeconds * scale;
+
+        int steps = 0;
+        while (accumulator >= SimulationEngine.FIXED_STEP && steps < maxStepsPerFrame) {
+            engine.step();
+            accumulator -= SimulationEngine.FIXED_STEP;
+            steps++;
+        }
+
+        if (accumulator >= SimulationEngine.FIXED_STEP) {
+            // Budget épuisé : on abandonne le retard au lieu de le reporter
+            double backlog = accumulator;
+            accumulator = 0;
+            droppedTime += backlog;
+            lag = backlog;
+            overloadedFrames++;
+            if (policy == OverloadPolicy.SLOW_DOWN && realDtSeconds > 0) {
+                effectiveTimeScale = Math.min(timeScale, steps * SimulationEngine.FIXED_STEP / realDtSeconds);
+            }
+            setOverloaded(true);
+        } else {
+            lag = 0;
+            if (policy == OverloadPolicy.SLOW_DOWN && effectiveTimeScale < timeScale) {
+                effectiveTimeScale = Math.min(timeScale, effectiveTimeScale * SLOW_DOWN_RECOVERY);
+            }
+            setOverloaded(policy == OverloadPolicy.SLOW_DOWN && effectiveTimeScale < timeScale);
+        }
+        return steps;
+    }
+
+    private int advanceInBackground(double realDtSeconds) {
+        accumulator += realDtSeconds * timeScale;
+        framesSinceBatch++;
+
+        // Budget des frames écoulées depuis le dernier lot, plafonné
+        long budget = (long) maxStepsPerFrame * Math.min(framesSinceBatch, BACKGROUND_MAX_FRAMES);
+        double budgetTime = budget * SimulationEngine.FIXED_STEP;
+        boolean dropped = accumulator >= budgetTime + SimulationEngine.FIXED_STEP;
+        if (dropped) {
+            droppedTime += accumulator - budgetTime;
+            accumulator = budgetTime;
+            overloadedFrames++;
+            setOverloaded(true);
+        }
+
+        if (pending != null && !pending.isDone()) {
+            // Le thread de travail n'a pas fini : le retard s'accumule (borné)
+            lag = accumulator + inFlightSteps * SimulationEngine.FIXED_STEP;
+            return 0;
+        }
+        collectPending();
+        runCommands(); // Moteur au repos : commandes avant le lot suivant
+
+        long steps = (long) (accumulator / SimulationEngine.FIXED_STEP);
+        accumulator = Math.max(0, accumulator - steps * SimulationEngine.FIXED_STEP);
+        lag = steps * SimulationEngine.FIXED_STEP;
+        if (!dropped) {
+            setOverloaded(false);
+        }
+        if (steps > 0) {
+            if (worker == null) {
+                worker = Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "spiga-sim-worker");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            framesSinceBatch = 0;
+            inFlightSteps = steps;
+            pending = worker.submit(() -> {
+                engine.step(steps);
+                inFlightSteps = 0;
+            });
+        }
+        return 0;
+    }
+
+    private void awaitPending() {
+        if (pending != null) {
+            try {
+                pending.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                logger.log(Level.SEVERE, "Erreur dans le thread de simulation", e.getCause());
+            }
+            pending = null;
+        }
+        runCommands();
+    }
+
+    /**
+     * Exécute une modification du moteur sur le thread appelant, jamais
+     * pendant un lot du thread de travail (mode BACKGROUND) : immédiatement si
+     * aucun lot n'est en cours, sinon à la frame qui suit la fin du lot.
+     * Seul le thread qui appelle {@link #advance(double)} peut l'utiliser.
+     *
+     * @param command Modification de l'état de la simulation.
+     */
+    public void execute(Runnable command) {
+        if (pending != null && !pending.isDone()) {
+            commands.add(command);
+            return;
+        }
+        collectPending();
+        command.run();
+    }
+
+    private void runCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Commande de simulation en échec", e);
+            }
+        }
+    }
+
+    private void collectPending() {
+        if (pending != null && pending.isDone()) {
+            awaitPending();
+        }
+    }
+
+    private void setOverloaded(boolean value) {
+        if (value && !overloaded) {
+            logger.warning("⚠️ Simulation en retard (budget de " + maxStepsPerFrame
+                    + " pas/frame dépassé, politique " + policy + ")");
+        } else if (!value && overloaded) {
+            logger.info("✓ Simulation de nouveau à l'heure");
+        }
+        overloaded = value;
+    }
+
+    /**
+     * Remet l'accumulateur et les statistiques à zéro (attend la fin d'un
+     * éventuel lot en arrière-plan).
+     */
+    public void reset() {
+        awaitPending();
+        accumulator = 0;
+        framesSinceBatch = 0;
+        lag = 0;
+        droppedTime = 0;
+        overloadedFrames = 0;
+        overloaded = false;
+        effectiveTimeScale = timeScale;
+    }
+
+    /**
+     * Arrête le thread de travail (mode BACKGROUND) après le lot en cours.
+     */
+    public void shutdown() {
+        awaitPending();
+        if (worker != null) {
+            worker.shutdown();
+            worker = null;
+        }
+    }
+
+    public void setTimeScale(double scale) {
+        this.timeScale = scale;
+        this.effectiveTimeScale = scale;
+    }
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Retourne l'échelle de temps réellement appliquée.
+     *
+     * @return Échelle effective (inférieure à l'échelle demandée en mode
+     *         SLOW_DOWN sous charge).
+     */
+    public double getEffectiveTimeScale() {
+        return policy == OverloadPolicy.SLOW_DOWN ? effectiveTimeScale : timeScale;
+    }
+
+    public OverloadPolicy getOverloadPolicy() {
+        return policy;
+    }
+
+    public void setOverloadPolicy(OverloadPolicy policy) {
+        this.policy = policy;
+        this.effectiveTimeScale = timeScale;
+    }
+
+    public int getMaxStepsPerFrame() {
+        return maxStepsPerFrame;
+    }
+
+    /**
+     * Définit le budget de pas exécutables par frame.
+     *
+     * @param maxStepsPerFrame Nombre maximum de pas (au moins 1).
+     */
+    public void setMaxStepsPerFrame(int maxStepsPerFrame) {
+        if (maxStepsPerFrame < 1) {
+            throw new IllegalArgumentException("Le budget doit être d'au moins 1 pas par frame");
+        }
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * Retourne le retard de la dernière frame.
+     *
+     * @return Temps simulé abandonné (DROP_TIME, SLOW_DOWN) ou en attente
+     *         d'exécution (BACKGROUND), en secondes.
+     */
+    public double getLag() {
+        return lag;
+    }
+
+    /**
+     * Retourne le temps simulé total abandonné depuis le dernier reset.
+     *
+     * @return Temps en secondes.
+     */
+    public double getDroppedTime() {
+        return droppedTime;
+    }
+
+    public long getOverloadedFrames() {
+        return overloadedFrames;
+    }
+
+    /**
+     * Indique si la simulation décroche du temps demandé.
+     *
+     * @return Vrai si le budget a été dépassé à la dernière frame (ou si
+     *         l'échelle effective est encore réduite).
+     */
+    public boolean isFallingBehind() {
+        return overloaded;
+    }
+}
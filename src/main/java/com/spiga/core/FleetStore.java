@@ -0,0 +1,432 @@
+package com.spiga.core;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Stockage des composants de la flotte en "structure de tableaux" (SoA).
+ * <p>
+ * Au lieu d'être dispersés dans des dizaines de champs de chaque objet
+ * {@link ActifMobile}, les composants chauds de la simulation (position,
+ * vitesse, cible, force d'évitement, batterie, états) sont rangés dans des
+ * tableaux primitifs denses, un indice ("slot") par actif. Les systèmes du
+ * {@link SimulationEngine} (remise à zéro, obstacles, zones, cinématique,
+ * énergie) parcourent ces tableaux linéairement, ce qui est beaucoup plus
+ * favorable au cache que de suivre les références d'objet en objet.
+ * </p>
+ * <p>
+ * Un {@link ActifMobile} n'est plus qu'une vue sur son slot : ses getters et
+ * setters lisent et écrivent dans le stockage. Un actif isolé possède son
+ * propre petit stockage ; en rejoignant une flotte
+ * ({@link com.spiga.management.GestionnaireEssaim}), ses composants sont
+ * copiés dans le stockage partagé. La suppression d'un actif déplace le
+ * dernier slot dans le trou pour que les tableaux restent denses.
+ * </p>
+ */
+public class FleetStore {
+
+    static final ActifMobile.AssetState[] STATES = ActifMobile.AssetState.values();
+    static final ActifMobile.EtatOperationnel[] ETATS = ActifMobile.EtatOperationnel.values();
+    static final ActifMobile.NavigationMode[] NAV_MODES = ActifMobile.NavigationMode.values();
+    static final byte IDLE = (byte) ActifMobile.AssetState.IDLE.ordinal();
+    static final byte AU_SOL = (byte) ActifMobile.EtatOperationnel.AU_SOL.ordinal();
+
+    /** Commande du pas : l'actif est en mouvement (notification au sol). */
+    static final byte MOTION_ACTIVE = 1;
+    /** Commande du pas : intégrer vitesse et position vers le cap. */
+    static final byte MOTION_STEER = 2;
+    /** Commande du pas : décompter la consommation. */
+    static final byte MOTION_DRAIN = 4;
+
+    private int size = 0;
+    private ActifMobile[] owners;
+    // Prévenu quand un actif passe à IDLE (dispatch des missions)
+    private volatile Consumer<ActifMobile> idleListener;
+    // Prévenu quand l'état opérationnel d'un actif change (index du registre)
+    private volatile EtatListener etatListener;
+    // Prévenu quand la batterie ou la position d'un actif AU_SOL change (index des disponibles)
+    private volatile Consumer<ActifMobile> groundListener;
+    // Météo pour laquelle weatherSpeed / weatherDrain ont été calculés
+    private com.spiga.environment.Weather weatherSource;
+    private int weatherVersion;
+    private boolean weatherStale = true;
+
+    /**
+     * Observateur des changements d'état opérationnel.
+     */
+    @FunctionalInterface
+    public interface EtatListener {
+        void etatChanged(ActifMobile asset, ActifMobile.EtatOperationnel from, ActifMobile.EtatOperationnel to);
+    }
+
+    /**
+     * Observateur des déplacements d'un actif, prévenu à chaque écriture de
+     * sa position (pas cinématique, poussées des zones et obstacles, limites
+     * de carte, setters). Appelé depuis le thread qui déplace l'actif, y
+     * compris les threads des phases parallèles.
+     */
+    @FunctionalInterface
+    public interface PositionListener {
+        void positionChanged(ActifMobile asset, double x, double y, double z);
+    }
+
+    // --- COMPOSANTS (un indice par actif) ---
+    /** Position. */
+    double[] px, py, pz;
+    /** Vélocité. */
+    double[] vx, vy, vz;
+    /** Cible principale. */
+    double[] tx, ty, tz;
+    /** Force d'évitement accumulée pendant le pas. */
+    double[] ax, ay, az;
+    /** Autonomie restante (heures). */
+    double[] battery;
+    /** Modificateur de vitesse global (remis à 1.0 à chaque pas). */
+    double[] speedModifier;
+    /** Biais de contournement (-1.0 droite, 1.0 gauche). */
+    double[] steeringBias;
+    /** Fin de l'évitement (ms, horloge de simulation). */
+    long[] avoidanceEndTime;
+    /** États (ordinaux des énumérations). */
+    byte[] state, etat, navMode;
+    /** Observateurs des déplacements ({@code null} : aucun, cas courant). */
+    PositionListener[][] positionListeners;
+
+    // --- COMMANDES DU PAS (écrites par ActifMobile.planStep, lues par MotionSystem) ---
+    /** Cap du pas : cible effective après les règles du profil. */
+    double[] gx, gy, gz;
+    /** Vitesse maximale nominale. */
+    double[] maxSpeed;
+    /** Consommation de base (heures d'autonomie par seconde). */
+    double[] drainRate;
+    /** Multiplicateurs météo en cache (vitesse, consommation). */
+    double[] weatherSpeed, weatherDrain;
+    /** Commandes du pas ({@code MOTION_*}). */
+    byte[] motion;
+
+    /**
+     * Crée un stockage vide.
+     */
+    public FleetStore() {
+        this(16);
+    }
+
+    /**
+     * Crée un stockage vide avec une capacité initiale.
+     *
+     * @param capacity Nombre de slots pré-alloués.
+     */
+    public FleetStore(int capacity) {
+        resize(Math.max(1, capacity));
+    }
+
+    /**
+     * Réserve un slot pour un actif (composants remis à leurs valeurs par
+     * défaut).
+     *
+     * @param owner L'actif propriétaire du slot.
+     * @return Indice du slot.
+     */
+    int allocate(ActifMobile owner) {
+        if (size == owners.length) {
+            resize(owners.length * 2);
+        }
+        int slot = size++;
+        owners[slot] = owner;
+        px[slot] = py[slot] = pz[slot] = 0;
+        vx[slot] = vy[slot] = vz[slot] = 0;
+        tx[slot] = ty[slot] = tz[slot] = 0;
+        ax[slot] = ay[slot] = az[slot] = 0;
+        battery[slot] = 0;
+        speedModifier[slot] = 1.0;
+        steeringBias[slot] = 0;
+        avoidanceEndTime[slot] = 0;
+        weatherSpeed[slot] = weatherDrain[slot] = 1.0;
+        motion[slot] = 0;
+        weatherStale = true;
+        state[slot] = etat[slot] = navMode[slot] = 0;
+        positionListeners[slot] = null;
+        return slot;
+    }
+
+    /**
+     * Libère un slot : le dernier slot est déplacé dans le trou.
+     *
+     * @param slot Indice à libérer.
+     */
+    void release(int slot) {
+        int last = --size;
+        if (slot != last) {
+            copy(this, last, slot);
+            owners[slot] = owners[last];
+            owners[slot].rebindSlot(slot);
+        }
+        owners[last] = null;
+        positionListeners[last] = null;
+    }
+
+    /**
+     * Copie tous les composants d'un slot vers un autre (éventuellement d'un
+     * autre stockage).
+     */
+    void copy(FleetStore from, int fromSlot, int toSlot) {
+        px[toSlot] = from.px[fromSlot];
+        py[toSlot] = from.py[fromSlot];
+        pz[toSlot] = from.pz[fromSlot];
+        vx[toSlot] = from.vx[fromSlot];
+        vy[toSlot] = from.vy[fromSlot];
+        vz[toSlot] = from.vz[fromSlot];
+        tx[toSlot] = from.tx[fromSlot];
+        ty[toSlot] = from.ty[fromSlot];
+        tz[toSlot] = from.tz[fromSlot];
+        ax[toSlot] = from.ax[fromSlot];
+        ay[toSlot] = from.ay[fromSlot];
+        az[toSlot] = from.az[fromSlot];
+        battery[toSlot] = from.battery[fromSlot];
+        speedModifier[toSlot] = from.speedModifier[fromSlot];
+        steeringBias[toSlot] = from.steeringBias[fromSlot];
+        avoidanceEndTime[toSlot] = from.avoidanceEndTime[fromSlot];
+        state[toSlot] = from.state[fromSlot];
+        etat[toSlot] = from.etat[fromSlot];
+        navMode[toSlot] = from.navMode[fromSlot];
+        positionListeners[toSlot] = from.positionListeners[fromSlot];
+        gx[toSlot] = from.gx[fromSlot];
+        gy[toSlot] = from.gy[fromSlot];
+        gz[toSlot] = from.gz[fromSlot];
+        maxSpeed[toSlot] = from.maxSpeed[fromSlot];
+        drainRate[toSlot] = from.drainRate[fromSlot];
+        weatherSpeed[toSlot] = from.weatherSpeed[fromSlot];
+        weatherDrain[toSlot] = from.weatherDrain[fromSlot];
+        motion[toSlot] = from.motion[fromSlot];
+    }
+
+    private void resize(int capacity) {
+        owners = owners == null ? new ActifMobile[capacity] : Arrays.copyOf(owners, capacity);
+        px = grow(px, capacity);
+        py = grow(py, capacity);
+        pz = grow(pz, capacity);
+        vx = grow(vx, capacity);
+        vy = grow(vy, capacity);
+        vz = grow(vz, capacity);
+        tx = grow(tx, capacity);
+        ty = grow(ty, capacity);
+        tz = grow(tz, capacity);
+        ax = grow(ax, capacity);
+        ay = grow(ay, capacity);
+        az = grow(az, capacity);
+        battery = grow(battery, capacity);
+        speedModifier = grow(speedModifier, capacity);
+        steeringBias = grow(steeringBias, capacity);
+        avoidanceEndTime = avoidanceEndTime == null ? new long[capacity]
+                : Arrays.copyOf(avoidanceEndTime, capacity);
+        state = grow(state, capacity);
+        etat = grow(etat, capacity);
+        navMode = grow(navMode, capacity);
+        positionListeners = positionListeners == null ? new PositionListener[capacity][]
+                : Arrays.copyOf(positionListeners, capacity);
+        gx = grow(gx, capacity);
+        gy = grow(gy, capacity);
+        gz = grow(gz, capacity);
+        maxSpeed = grow(maxSpeed, capacity);
+        drainRate = grow(drainRate, capacity);
+        weatherSpeed = grow(weatherSpeed, capacity);
+        weatherDrain = grow(weatherDrain, capacity);
+        motion = grow(motion, capacity);
+    }
+
+    private static double[] grow(double[] a, int capacity) {
+        return a == null ? new double[capacity] : Arrays.copyOf(a, capacity);
+    }
+
+    private static byte[] grow(byte[] a, int capacity) {
+        return a == null ? new byte[capacity] : Arrays.copyOf(a, capacity);
+    }
+
+    /**
+     * Retourne le nombre de slots occupés (slots {@code 0..size-1}).
+     *
+     * @return Nombre d'actifs du stockage.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retourne l'actif propriétaire d'un slot.
+     *
+     * @param slot Indice du slot.
+     * @return L'actif (vue) associé.
+     */
+    public ActifMobile owner(int slot) {
+        return owners[slot];
+    }
+
+    /**
+     * Recopie les propriétaires de tous les slots, dans l'ordre des slots.
+     *
+     * @param dest    Tableau de destination.
+     * @param destPos Indice de la première copie.
+     */
+    void copyOwners(ActifMobile[] dest, int destPos) {
+        System.arraycopy(owners, 0, dest, destPos, size);
+    }
+
+    /**
+     * Indique si un actif occupe un slot de ce stockage.
+     *
+     * @param asset L'actif.
+     * @return {@code true} si ses composants sont rangés ici.
+     */
+    public boolean contains(ActifMobile asset) {
+        return asset.getStore() == this;
+    }
+
+    /**
+     * Adopte un actif : ses composants sont déplacés dans ce stockage et il
+     * reçoit la poignée de son registre.
+     *
+     * @param asset  L'actif à adopter.
+     * @param handle Poignée générationnelle attribuée par le registre.
+     */
+    public void adopt(ActifMobile asset, long handle) {
+        asset.attachTo(this);
+        asset.setHandle(handle);
+    }
+
+    /**
+     * Rend à un actif de ce stockage un stockage propre et efface sa poignée.
+     *
+     * @param asset L'actif à libérer.
+     * @throws IllegalArgumentException si l'actif n'appartient pas à ce
+     *                                  stockage.
+     */
+    public void evict(ActifMobile asset) {
+        if (asset.getStore() != this) {
+            throw new IllegalArgumentException("Actif hors du stockage: " + asset.getId());
+        }
+        asset.setHandle(-1);
+        asset.detach();
+    }
+
+    /**
+     * Recalcule les multiplicateurs météo en cache si la météo a changé
+     * (autre instance, nouvelle version) ou si un actif a rejoint le
+     * stockage. Les systèmes cinématique et énergie lisent ensuite les
+     * tableaux sans appel par actif.
+     *
+     * @param weather Météo du pas ({@code null} : aucun effet).
+     */
+    void refreshWeather(com.spiga.environment.Weather weather) {
+        int version = weather != null ? weather.getVersion() : 0;
+        if (!weatherStale && weather == weatherSource && version == weatherVersion) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            weatherSpeed[i] = weather != null ? owners[i].getSpeedMultiplier(weather) : 1.0;
+            weatherDrain[i] = weather != null ? owners[i].getBatteryMultiplier(weather) : 1.0;
+        }
+        weatherSource = weather;
+        weatherVersion = version;
+        weatherStale = false;
+    }
+
+    /**
+     * Enregistre l'observateur des passages à l'état {@code IDLE} (un seul par
+     * stockage). Il est appelé depuis le thread qui change l'état, y compris
+     * les threads des phases parallèles : il doit être thread-safe.
+     *
+     * @param listener Observateur, ou {@code null} pour le retirer.
+     */
+    public void setIdleListener(Consumer<ActifMobile> listener) {
+        this.idleListener = listener;
+    }
+
+    /**
+     * Enregistre l'observateur des changements d'état opérationnel (un seul
+     * par stockage, appelé depuis le thread qui change l'état : il doit être
+     * thread-safe).
+     *
+     * @param listener Observateur, ou {@code null} pour le retirer.
+     */
+    public void setEtatListener(EtatListener listener) {
+        this.etatListener = listener;
+    }
+
+    /**
+     * Enregistre l'observateur des changements de batterie ou de position des
+     * actifs {@code AU_SOL} (un seul par stockage, appelé depuis les phases
+     * parallèles : il doit être thread-safe).
+     *
+     * @param listener Observateur, ou {@code null} pour le retirer.
+     */
+    public void setGroundListener(Consumer<ActifMobile> listener) {
+        this.groundListener = listener;
+    }
+
+    /** Signale un changement de batterie ou de position d'un actif du slot. */
+    void notifyGround(int slot) {
+        Consumer<ActifMobile> listener = groundListener;
+        if (listener != null && etat[slot] == AU_SOL) {
+            listener.accept(owners[slot]);
+        }
+    }
+
+    /** Ajoute un observateur des déplacements d'un slot. */
+    void addPositionListener(int slot, PositionListener listener) {
+        PositionListener[] current = positionListeners[slot];
+        if (current == null) {
+            positionListeners[slot] = new PositionListener[] { listener };
+        } else {
+            PositionListener[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = listener;
+            positionListeners[slot] = grown;
+        }
+    }
+
+    /** Retire un observateur des déplacements d'un slot. */
+    void removePositionListener(int slot, PositionListener listener) {
+        PositionListener[] current = positionListeners[slot];
+        if (current == null) {
+            return;
+        }
+        for (int k = 0; k < current.length; k++) {
+            if (current[k] == listener) {
+                if (current.length == 1) {
+                    positionListeners[slot] = null;
+                } else {
+                    PositionListener[] shrunk = new PositionListener[current.length - 1];
+                    System.arraycopy(current, 0, shrunk, 0, k);
+                    System.arraycopy(current, k + 1, shrunk, k, current.length - k - 1);
+                    positionListeners[slot] = shrunk;
+                }
+                return;
+            }
+        }
+    }
+
+    /** Signale une écriture de la position d'un slot. */
+    void notifyMoved(int slot) {
+        PositionListener[] listeners = positionListeners[slot];
+        if (listeners != null) {
+            for (PositionListener listener : listeners) {
+                listener.positionChanged(owners[slot], px[slot], py[slot], pz[slot]);
+            }
+        }
+    }
+
+    /** Signale un changement d'état opérationnel. */
+    void notifyEtat(ActifMobile owner, byte from, byte to) {
+        EtatListener listener = etatListener;
+        if (listener != null) {
+            listener.etatChanged(owner, ETATS[from], ETATS[to]);
+        }
+    }
+
+    /** Signale qu'un actif du stockage vient de passer à IDLE. */
+    void notifyIdle(ActifMobile owner) {
+        Consumer<ActifMobile> listener = idleListener;
+        if (listener != null) {
+            listener.accept(owner);
+        }
+    }
+}
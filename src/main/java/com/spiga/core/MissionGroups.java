@@ -0,0 +1,145 @@
+package com.spiga.core;
+
+import com.spiga.management.Mission;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Partition de la flotte en groupes d'actifs indépendants.
+ * <p>
+ * Les phases par actif ne sont pas toutes purement locales : un actif qui
+ * termine, échoue ou démarre une mission modifie l'objet {@link Mission}
+ * partagé et, via {@link Mission#start(long)}, les autres actifs assignés.
+ * Deux actifs sont placés dans le même groupe s'ils sont reliés par une
+ * mission (mission courante, file de missions ou liste des actifs assignés).
+ * </p>
+ * <p>
+ * Les groupes n'ont aucun état en commun : ils peuvent être traités en
+ * parallèle, chacun dans l'ordre croissant des slots. Le résultat est alors
+ * identique, bit pour bit, à un parcours séquentiel du stockage. Les groupes
+ * sont numérotés dans l'ordre de leur premier slot (partition déterministe).
+ * </p>
+ */
+class MissionGroups {
+
+    private final Map<Mission, Integer> anchors = new IdentityHashMap<>();
+
+    private int[] parent = new int[16];
+    private int[] groupOf = new int[16];
+    private int[] order = new int[16];
+    private int[] groupStart = new int[17];
+    private int groupCount = 0;
+
+    /**
+     * Calcule la partition des slots {@code 0..size-1} du stockage.
+     *
+     * @param store Stockage de la flotte.
+     */
+    void build(FleetStore store) {
+        int n = store.size();
+        if (parent.length < n) {
+            int capacity = Math.max(n, parent.length * 2);
+            parent = new int[capacity];
+            groupOf = new int[capacity];
+            order = new int[capacity];
+        }
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+
+        anchors.clear();
+        for (int i = 0; i < n; i++) {
+            ActifMobile asset = store.owner(i);
+            link(store, i, asset.getCurrentMission());
+            for (Mission m : asset.getMissionQueue()) {
+                link(store, i, m);
+            }
+        }
+        anchors.clear();
+
+        // Numérotation des groupes dans l'ordre du premier slot
+        groupCount = 0;
+        for (int i = 0; i < n; i++) {
+            int root = find(i);
+            groupOf[i] = (root == i) ? groupCount++ : groupOf[root];
+        }
+
+        // Tri par dénombrement : slots regroupés, ordre croissant conservé
+        if (groupStart.length < groupCount + 1) {
+            groupStart = new int[Math.max(groupCount + 1, groupStart.length * 2)];
+        }
+        Arrays.fill(groupStart, 0, groupCount + 1, 0);
+        for (int i = 0; i < n; i++) {
+            groupStart[groupOf[i] + 1]++;
+        }
+        for (int g = 0; g < groupCount; g++) {
+            groupStart[g + 1] += groupStart[g];
+        }
+        for (int i = 0; i < n; i++) {
+            order[groupStart[groupOf[i]]++] = i;
+        }
+        for (int g = groupCount; g > 0; g--) {
+            groupStart[g] = groupStart[g - 1];
+        }
+        groupStart[0] = 0;
+    }
+
+    private void link(FleetStore store, int slot, Mission mission) {
+        if (mission == null) {
+            return;
+        }
+        Integer anchor = anchors.putIfAbsent(mission, slot);
+        if (anchor != null) {
+            union(slot, anchor);
+            return;
+        }
+        // Première rencontre : la mission agit aussi sur ses actifs assignés
+        for (ActifMobile assigned : mission.getAssignedAssets()) {
+            if (assigned.getStore() == store) {
+                union(slot, assigned.getSlot());
+            }
+        }
+    }
+
+    private int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra != rb) {
+            // La plus petite racine reste racine (numérotation stable)
+            if (ra < rb) {
+                parent[rb] = ra;
+            } else {
+                parent[ra] = rb;
+            }
+        }
+    }
+
+    int groupCount() {
+        return groupCount;
+    }
+
+    /** Premier rang (dans {@link #slot(int)}) du groupe. */
+    int start(int group) {
+        return groupStart[group];
+    }
+
+    /** Rang suivant le dernier élément du groupe. */
+    int end(int group) {
+        return groupStart[group + 1];
+    }
+
+    /** Slot au rang donné (slots groupés, croissants dans chaque groupe). */
+    int slot(int rank) {
+        return order[rank];
+    }
+}
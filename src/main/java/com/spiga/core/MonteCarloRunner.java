@@ -0,0 +1,606 @@
+package com.spiga.core;
+
+import com.spiga.environment.RestrictedZone;
+import com.spiga.environment.Weather;
+import com.spiga.management.GestionnaireEssaim;
+import com.spiga.management.Mission;
+import com.spiga.management.MissionLogistique;
+import com.spiga.management.MissionSurveillanceMaritime;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Exécution en lot (Monte Carlo) des scénarios de test, sur tous les cœurs.
+ * <p>
+ * Chaque instance est un monde isolé : son propre {@link GestionnaireEssaim},
+ * son propre {@link SimulationEngine} (phases séquentielles, le parallélisme
+ * venant des instances) et son propre générateur aléatoire, dérivé de la
+ * graine du lot et du numéro d'instance. Les positions initiales, la météo
+ * et les missions sont tirées à partir de ce générateur : une instance donne
+ * le même résultat quel que soit le thread ou l'ordre d'exécution.
+ * </p>
+ * <p>
+ * Les scénarios reprennent ceux de la console ({@code MainTestCLI}) sans
+ * interaction. Les résultats ({@link Outcome}) sont remis au fil de l'eau, dans
+ * l'ordre de fin, sur le thread appelant, et cumulés dans un {@link Summary}.
+ * </p>
+ */
+public final class MonteCarloRunner {
+
+    /** Instances soumises d'avance par thread (résultats remis au fil de l'eau). */
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+
+    private static final AtomicInteger RUNNER_COUNT = new AtomicInteger();
+
+    /**
+     * Scénario rejoué par une instance (durée simulée en secondes).
+     */
+    public enum Scenario {
+        /** Missions, déplacement manuel à 10 s puis relance à 18 s. */
+        MISSION_RELANCE(25),
+        /** Batteries drainées en cours de mission puis rechargées. */
+        BATTERIE_RECHARGE(15),
+        /** Actif ajouté avec une cible hors de ses limites en Z. */
+        CONTRAINTES_PHYSIQUES(8),
+        /** Zone interdite : entrée autorisée, refusée et contournement. */
+        ZONES_INTERDITES(20),
+        /** Traversée vers l'est sous une météo tirée au hasard. */
+        METEO(20);
+
+        private final double duration;
+
+        Scenario(double duration) {
+            this.duration = duration;
+        }
+
+        public double getDuration() {
+            return duration;
+        }
+    }
+
+    /**
+     * Logique d'un scénario appliquée après chaque pas.
+     */
+    @FunctionalInterface
+    private interface Hook {
+        void tick(double time);
+    }
+
+    /**
+     * Résultat d'une instance.
+     */
+    public static final class Outcome {
+        private final Scenario scenario;
+        private final long seed;
+        private final int missions;
+        private final int missionsCompleted;
+        private final int missionsFailed;
+        private final int collisions;
+        private final int obstacleCollisions;
+        private final int zoneViolations;
+        private final double energyUsed;
+
+        Outcome(Scenario scenario, long seed, int missions, int missionsCompleted, int missionsFailed,
+                int collisions, int obstacleCollisions, int zoneViolations, double energyUsed) {
+            this.scenario = scenario;
+            this.seed = seed;
+            this.missions = missions;
+            this.missionsCompleted = missionsCompleted;
+            this.missionsFailed = missionsFailed;
+            this.collisions = collisions;
+            this.obstacleCollisions = obstacleCollisions;
+            this.zoneViolations = zoneViolations;
+            this.energyUsed = energyUsed;
+        }
+
+        public Scenario getScenario() {
+            return scenario;
+        }
+
+        /**
+         * @return Graine de l'instance ({@link #runInstance(Scenario, long)} la rejoue).
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        public int getMissions() {
+            return missions;
+        }
+
+        public int getMissionsCompleted() {
+            return missionsCompleted;
+        }
+
+        /**
+         * @return Missions échouées ou annulées (les autres sont encore en cours).
+         */
+        public int getMissionsFailed() {
+            return missionsFailed;
+        }
+
+        /**
+         * @return Alertes de proximité entre actifs ({@link SimEvent.Type#COLLISION_ALERT}).
+         */
+        public int getCollisions() {
+            return collisions;
+        }
+
+        public int getObstacleCollisions() {
+            return obstacleCollisions;
+        }
+
+        public int getZoneViolations() {
+            return zoneViolations;
+        }
+
+        /**
+         * @return Autonomie consommée par la flotte (heures, recharges exclues).
+         */
+        public double getEnergyUsed() {
+            return energyUsed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s #%d : missions %d/%d (échecs %d), collisions %d, obstacles %d, zones %d, "
+                    + "énergie %.4f h", scenario, seed, missionsCompleted, missions, missionsFailed, collisions,
+                    obstacleCollisions, zoneViolations, energyUsed);
+        }
+    }
+
+    /**
+     * Cumul des résultats d'un lot, au total et par scénario.
+     */
+    public static final class Summary {
+        private final Map<Scenario, Summary> byScenario;
+        private long runs;
+        private long missions;
+        private long missionsCompleted;
+        private long missionsFailed;
+        private long collisions;
+        private long obstacleCollisions;
+        private long zoneViolations;
+        private double energyUsed;
+
+        public Summary() {
+            this(new EnumMap<>(Scenario.class));
+        }
+
+        private Summary(Map<Scenario, Summary> byScenario) {
+            this.byScenario = byScenario;
+        }
+
+        /**
+         * Ajoute le résultat d'une instance.
+         *
+         * @param o Résultat.
+         */
+        public void add(Outcome o) {
+            accumulate(o);
+            if (byScenario != null) {
+                byScenario.computeIfAbsent(o.scenario, s -> new Summary(null)).accumulate(o);
+            }
+        }
+
+        private void accumulate(Outcome o) {
+            runs++;
+            missions += o.missions;
+            missionsCompleted += o.missionsCompleted;
+            missionsFailed += o.missionsFailed;
+            collisions += o.collisions;
+            obstacleCollisions += o.obstacleCollisions;
+            zoneViolations += o.zoneViolations;
+            energyUsed += o.energyUsed;
+        }
+
+        /**
+         * @param scenario Scénario.
+         * @return Cumul des instances de ce scénario ({@code null} si aucune).
+         */
+        public Summary of(Scenario scenario) {
+            return byScenario == null ? null : byScenario.get(scenario);
+        }
+
+        public long getRuns() {
+            return runs;
+        }
+
+        public long getMissions() {
+            return missions;
+        }
+
+        public long getMissionsCompleted() {
+            return missionsCompleted;
+        }
+
+        public long getMissionsFailed() {
+            return missionsFailed;
+        }
+
+        /**
+         * @return Part des missions terminées avec succès (0 sans mission).
+         */
+        public double getSuccessRate() {
+            return missions == 0 ? 0 : (double) missionsCompleted / missions;
+        }
+
+        public long getCollisions() {
+            return collisions;
+        }
+
+        public long getObstacleCollisions() {
+            return obstacleCollisions;
+        }
+
+        public long getZoneViolations() {
+            return zoneViolations;
+        }
+
+        public double getEnergyUsed() {
+            return energyUsed;
+        }
+
+        /**
+         * @return Énergie moyenne consommée par instance (heures d'autonomie).
+         */
+        public double getMeanEnergyUsed() {
+            return runs == 0 ? 0 : energyUsed / runs;
+        }
+
+        /**
+         * @return Nombre moyen d'alertes de collision par instance.
+         */
+        public double getMeanCollisions() {
+            return runs == 0 ? 0 : (double) collisions / runs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d instances | succès missions %.1f%% (%d/%d, échecs %d) | collisions %.2f/inst."
+                    + " | obstacles %d | zones %d | énergie %.4f h/inst.", runs, getSuccessRate() * 100,
+                    missionsCompleted, missions, missionsFailed, getMeanCollisions(), obstacleCollisions,
+                    zoneViolations, getMeanEnergyUsed());
+        }
+    }
+
+    private final int threads;
+    private final long seed;
+
+    /**
+     * Crée un lanceur de lots.
+     *
+     * @param threads Nombre de mondes simulés en même temps (au moins 1).
+     * @param seed    Graine du lot.
+     */
+    public MonteCarloRunner(int threads, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le lot demande au moins 1 thread");
+        }
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Exécute {@code instances} mondes, les scénarios se succédant à tour de
+     * rôle ; chaque résultat est remis à {@code sink} (sur le thread appelant)
+     * dès que son instance est terminée.
+     *
+     * @param instances Nombre d'instances.
+     * @param sink      Consommateur des résultats, ou {@code null}.
+     * @return Le cumul des résultats.
+     */
+    public Summary run(int instances, Consumer<Outcome> sink) {
+        Scenario[] scenarios = Scenario.values();
+        Summary summary = new Summary();
+        int runnerId = RUNNER_COUNT.incrementAndGet();
+        AtomicInteger threadId = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "spiga-montecarlo-" + runnerId + "-" + threadId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        CompletionService<Outcome> done = new ExecutorCompletionService<>(pool);
+        try {
+            int submitted = 0;
+            int maxInFlight = threads * IN_FLIGHT_PER_THREAD;
+            for (int received = 0; received < instances; received++) {
+                while (submitted < instances && submitted - received < maxInFlight) {
+                    Scenario scenario = scenarios[submitted % scenarios.length];
+                    long instanceSeed = instanceSeed(seed, submitted);
+                    done.submit(() -> runInstance(scenario, instanceSeed));
+                    submitted++;
+                }
+                Outcome outcome = done.take().get();
+                summary.add(outcome);
+                if (sink != null) {
+                    sink.accept(outcome);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Lot Monte Carlo interrompu", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
+        return summary;
+    }
+
+    /** Graine d'une instance (mélange de la graine du lot et du numéro). */
+    static long instanceSeed(long seed, int index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Simule une instance isolée jusqu'à la fin de son scénario.
+     *
+     * @param scenario Scénario à rejouer.
+     * @param seed     Graine de l'instance.
+     * @return Le résultat de l'instance.
+     */
+    public static Outcome runInstance(Scenario scenario, long seed) {
+        Random r = new Random(seed);
+        GestionnaireEssaim manager = new GestionnaireEssaim();
+        SimulationEngine engine = new SimulationEngine(manager);
+        try {
+            engine.setParallelism(1);
+            randomWeather(engine.getWeather(), r);
+            List<Mission> missions = new ArrayList<>();
+            Hook hook = setUp(scenario, engine, missions, r);
+
+            SimEventBus events = engine.getEvents();
+            SimEventBus.Subscription alerts = events.subscribe();
+            int[] counts = new int[SimEvent.Type.values().length];
+            Consumer<SimEvent> counter = e -> counts[e.getType().ordinal()]++;
+            FleetStore store = manager.getStore();
+            double[] before = new double[0];
+            double energy = 0;
+
+            long steps = Math.round(scenario.duration / SimulationEngine.FIXED_STEP);
+            for (long i = 1; i <= steps; i++) {
+                // Autonomie relevée autour du pas seul : drains et recharges
+                // des scénarios (hook) ne comptent pas
+                int n = store.size();
+                if (before.length < n) {
+                    before = new double[Math.max(n, before.length * 2)];
+                }
+                System.arraycopy(store.battery, 0, before, 0, n);
+                engine.step();
+                double[] battery = store.battery;
+                for (int k = Math.min(n, store.size()) - 1; k >= 0; k--) {
+                    double used = before[k] - battery[k];
+                    if (used > 0) {
+                        energy += used;
+                    }
+                }
+                events.drain(alerts, counter);
+                hook.tick(i * SimulationEngine.FIXED_STEP);
+            }
+
+            int completed = 0;
+            int failed = 0;
+            for (Mission m : missions) {
+                Mission.StatutMission statut = m.getStatut();
+                if (statut == Mission.StatutMission.TERMINEE) {
+                    completed++;
+                } else if (statut == Mission.StatutMission.ECHOUEE || statut == Mission.StatutMission.ANNULEE) {
+                    failed++;
+                }
+            }
+            return new Outcome(scenario, seed, missions.size(), completed, failed,
+                    counts[SimEvent.Type.COLLISION_ALERT.ordinal()],
+                    counts[SimEvent.Type.OBSTACLE_COLLISION.ordinal()],
+                    counts[SimEvent.Type.ZONE_VIOLATION.ordinal()], energy);
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    /** Vent, pluie et vagues tirés au hasard (temps calme une fois sur quatre). */
+    private static void randomWeather(Weather w, Random r) {
+        boolean calm = r.nextInt(4) == 0;
+        w.setWindDirection(r.nextDouble() * 360);
+        w.setWindIntensity(calm ? 0 : r.nextDouble() * 0.8);
+        w.setRainIntensity(calm || r.nextBoolean() ? 0 : r.nextDouble() * 0.8);
+        w.setWaveIntensity(calm ? 0 : r.nextDouble() * 0.8);
+    }
+
+    /** Construit le monde d'un scénario et retourne sa logique par pas. */
+    private static Hook setUp(Scenario scenario, SimulationEngine engine, List<Mission> missions, Random r) {
+        GestionnaireEssaim manager = engine.getGestionnaire();
+        switch (scenario) {
+            case MISSION_RELANCE: {
+                // Drones partant groupés (rapprochements possibles)
+                int count = 1 + r.nextInt(3);
+                double baseX = r.nextInt(600);
+                double baseY = r.nextInt(600);
+                List<ActifMobile> drones = new ArrayList<>();
+                List<Mission> own = new ArrayList<>();
+                double[] detour = new double[2 * count];
+                for (int i = 0; i < count; i++) {
+                    double z = 80 + r.nextInt(40);
+                    ActifMobile d = add(manager,
+                            new DroneReconnaissance("Drone-" + i, baseX + r.nextInt(60), baseY + r.nextInt(60), z));
+                    drones.add(d);
+                    own.add(mission(engine, missions, d, r, 300 + r.nextInt(1400), 300 + r.nextInt(1400), z));
+                    detour[2 * i] = r.nextInt(2000);
+                    detour[2 * i + 1] = r.nextInt(2000);
+                }
+                boolean[] done = new boolean[2];
+                return t -> {
+                    if (t >= 10.0 && !done[0]) {
+                        done[0] = true;
+                        for (int i = 0; i < count; i++) {
+                            ActifMobile d = drones.get(i);
+                            d.setTarget(detour[2 * i], detour[2 * i + 1], d.getZ());
+                        }
+                    }
+                    if (t >= 18.0 && !done[1]) {
+                        done[1] = true;
+                        for (int i = 0; i < count; i++) {
+                            relaunch(engine, drones.get(i), own.get(i));
+                        }
+                    }
+                };
+            }
+            case BATTERIE_RECHARGE: {
+                int count = 1 + r.nextInt(3);
+                List<ActifMobile> drones = new ArrayList<>();
+                double[] drainedTo = new double[count];
+                for (int i = 0; i < count; i++) {
+                    double x = r.nextInt(1000);
+                    double y = r.nextInt(1000);
+                    ActifMobile d = r.nextBoolean() ? new DroneReconnaissance("Drone-Bat-" + i, x, y, 100)
+                            : new DroneLogistique("Log-Bat-" + i, x, y, 100);
+                    add(manager, d);
+                    drones.add(d);
+                    mission(engine, missions, d, r, r.nextInt(2000), r.nextInt(2000), 100);
+                    // Batterie drainée pour une partie des drones (2 à 10 %)
+                    drainedTo[i] = r.nextInt(3) == 0 ? -1 : 0.02 + r.nextDouble() * 0.08;
+                }
+                double drainAt = 3 + r.nextDouble() * 4;
+                boolean[] done = new boolean[2];
+                return t -> {
+                    if (t >= drainAt && !done[0]) {
+                        done[0] = true;
+                        for (int i = 0; i < count; i++) {
+                            if (drainedTo[i] > 0) {
+                                ActifMobile d = drones.get(i);
+                                d.setAutonomieActuelle(d.getAutonomieMax() * drainedTo[i]);
+                            }
+                        }
+                    }
+                    if (t >= 10.0 && !done[1]) {
+                        done[1] = true;
+                        for (int i = 0; i < count; i++) {
+                            if (drainedTo[i] > 0) {
+                                drones.get(i).recharger();
+                            }
+                        }
+                    }
+                };
+            }
+            case CONTRAINTES_PHYSIQUES: {
+                int kind = r.nextInt(4);
+                double x = r.nextInt(2000);
+                double y = r.nextInt(2000);
+                double tx = Math.min(1999, x + 50 + r.nextInt(150));
+                double ty = Math.min(1999, y + 50 + r.nextInt(150));
+                boolean[] done = new boolean[1];
+                return t -> {
+                    if (t >= 0.5 && !done[0]) {
+                        done[0] = true;
+                        switch (kind) {
+                            case 0:
+                                add(manager, new DroneReconnaissance("Recon-1", x, y, 100)).setTarget(tx, ty, 200);
+                                break;
+                            case 1:
+                                add(manager, new DroneLogistique("Log-1", x, y, 100)).setTarget(tx, ty, 200);
+                                break;
+                            case 2:
+                                add(manager, new VehiculeSurface("Boat-1", x, y)).setTarget(tx, ty, 50);
+                                break;
+                            default:
+                                add(manager, new SousMarinExploration("Sub-1", x, y, -50)).setTarget(tx, ty, -200);
+                        }
+                    }
+                };
+            }
+            case ZONES_INTERDITES: {
+                double cx = 600 + r.nextInt(800);
+                double cy = 600 + r.nextInt(800);
+                double radius = 150 + r.nextInt(100);
+                engine.getRestrictedZones().add(new RestrictedZone("Zone-Test", cx, cy, radius, 0, 500));
+                ActifMobile recon = add(manager, new DroneReconnaissance("Recon-Zone", cx - radius - 100, cy, 100));
+                mission(engine, missions, recon, r, cx, cy, 100);
+                add(manager, new DroneLogistique("Log-Zone", cx - radius - 200, cy, 100)).setTarget(cx, cy, 100);
+                double passY = cy - radius - 10 - r.nextInt(40);
+                ActifMobile avoid = add(manager, new DroneLogistique("Log-Avoid", cx - radius - 100, passY, 100));
+                mission(engine, missions, avoid, r, cx + radius + 100, passY, 100);
+                return t -> {
+                };
+            }
+            default: {
+                double y = 200 + r.nextInt(1600);
+                ActifMobile asset;
+                double z;
+                switch (r.nextInt(4)) {
+                    case 0:
+                        z = 100;
+                        asset = new DroneReconnaissance("Recon-Test", 0, y, z);
+                        break;
+                    case 1:
+                        z = 50;
+                        asset = new DroneLogistique("Log-Test", 0, y, z);
+                        break;
+                    case 2:
+                        z = 0;
+                        asset = new VehiculeSurface("Boat-Test", 0, y);
+                        break;
+                    default:
+                        z = -50;
+                        asset = new VehiculeSousMarin("Sub-Test", 0, y, z);
+                }
+                add(manager, asset);
+                mission(engine, missions, asset, r, 300 + r.nextInt(1200), y, z);
+                return t -> {
+                };
+            }
+        }
+    }
+
+    /** Ajoute un actif démarré à la flotte. */
+    private static ActifMobile add(GestionnaireEssaim manager, ActifMobile asset) {
+        manager.ajouterActif(asset);
+        asset.demarrer();
+        return asset;
+    }
+
+    /** Crée, assigne et démarre une mission (durée prévue de 10 à 30 s). */
+    private static Mission mission(SimulationEngine engine, List<Mission> missions, ActifMobile asset, Random r,
+            double x, double y, double z) {
+        Mission m = asset instanceof DroneLogistique ? new MissionLogistique("Livraison " + asset.getId())
+                : new MissionSurveillanceMaritime("Surveillance " + asset.getId());
+        m.setTarget(x, y, z);
+        m.setPlannedDurationSeconds(10 + r.nextInt(21));
+        m.addActif(asset);
+        asset.assignMission(m);
+        m.start(engine.getClock().currentTimeSeconds());
+        missions.add(m);
+        return m;
+    }
+
+    /** Relance d'une mission détournée (même logique que la console). */
+    private static void relaunch(SimulationEngine engine, ActifMobile d, Mission mission) {
+        if (mission.getStatut() == Mission.StatutMission.EN_COURS && d.getCurrentMission() == mission) {
+            d.setTarget(mission.getTargetX(), mission.getTargetY(), mission.getTargetZ());
+            d.setState(ActifMobile.AssetState.EXECUTING_MISSION);
+        } else if (mission.getStatut() == Mission.StatutMission.PAUSED) {
+            d.assignMission(mission);
+            mission.resume(engine.getClock().currentTimeSeconds());
+        }
+    }
+}
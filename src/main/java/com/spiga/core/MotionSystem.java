@@ -0,0 +1,134 @@
+package com.spiga.core;
+
+/**
+ * Systèmes cinématique et énergie de la flotte.
+ * <p>
+ * Chaque actif décide d'abord, dans {@link ActifMobile#planStep()}, de son
+ * cap et de ses commandes du pas (arrivées, règles du profil, évitement) ;
+ * ces systèmes appliquent ensuite ces commandes directement sur les tableaux
+ * du {@link FleetStore}, slot par slot, sans appel virtuel : lissage de la
+ * vélocité et intégration de la position, puis décompte de la batterie.
+ * Un slot n'écrit que ses propres composants : le {@link SimulationEngine}
+ * peut répartir les slots entre ses threads de phase.
+ * </p>
+ */
+final class MotionSystem {
+
+    private static final byte AVOIDING = (byte) ActifMobile.NavigationMode.AVOIDING.ordinal();
+
+    private MotionSystem() {
+    }
+
+    /**
+     * Applique les commandes du pas d'un slot (cinématique puis énergie).
+     *
+     * @param s  Le stockage.
+     * @param i  Indice du slot.
+     * @param dt Pas de temps (secondes).
+     */
+    static void step(FleetStore s, int i, double dt) {
+        byte motion = s.motion[i];
+        if (motion == 0) {
+            return;
+        }
+        if ((motion & FleetStore.MOTION_STEER) != 0) {
+            integrate(s, i, dt);
+        }
+        if ((motion & FleetStore.MOTION_DRAIN) != 0) {
+            drain(s, i, dt);
+        }
+        s.notifyGround(i);
+    }
+
+    /**
+     * Champ de potentiel : attraction vers le cap, mélangée à la force
+     * d'évitement accumulée (bornée), vélocité lissée puis intégrée.
+     */
+    static void integrate(FleetStore s, int i, double dt) {
+        double dx = s.gx[i] - s.px[i];
+        double dy = s.gy[i] - s.py[i];
+        double dz = s.gz[i] - s.pz[i];
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+        // 1. Attraction Force (To Target)
+        double dirX = dx / distance;
+        double dirY = dy / distance;
+        double dirZ = dz / distance;
+
+        // 2. Repulsion Force (Avoidance) - Normalized and weighted
+        double finalDirX = dirX;
+        double finalDirY = dirY;
+        double finalDirZ = dirZ;
+
+        double fx = s.ax[i], fy = s.ay[i], fz = s.az[i];
+        if (s.navMode[i] == AVOIDING || Math.abs(fx) > 0.01 || Math.abs(fy) > 0.01) {
+            // CLAMP avoidance force magnitude to prevent violent jerks
+            double avoidMag = Math.sqrt(fx * fx + fy * fy + fz * fz);
+            if (avoidMag > SimConfig.AVOIDANCE_FORCE_CAP) {
+                double scale = SimConfig.AVOIDANCE_FORCE_CAP / avoidMag;
+                fx *= scale;
+                fy *= scale;
+                fz *= scale;
+            }
+
+            // avoidance weight scales with proximity (force magnitude)
+            double avoidWeight = Math.min(avoidMag / SimConfig.AVOIDANCE_FORCE_CAP, 1.0) * 0.5;
+            finalDirX = dirX * (1.0 - avoidWeight) + fx * avoidWeight;
+            finalDirY = dirY * (1.0 - avoidWeight) + fy * avoidWeight;
+            finalDirZ = dirZ * (1.0 - avoidWeight) + fz * avoidWeight;
+
+            double finalLen = Math.sqrt(finalDirX * finalDirX + finalDirY * finalDirY + finalDirZ * finalDirZ);
+            if (finalLen > 0.001) {
+                finalDirX /= finalLen;
+                finalDirY /= finalLen;
+                finalDirZ /= finalLen;
+            }
+        }
+
+        // Weather drag and speed modifier
+        double effectiveSpeed = s.maxSpeed[i];
+        effectiveSpeed *= s.weatherSpeed[i];
+        effectiveSpeed *= s.speedModifier[i];
+
+        // SMOOTH VELOCITY CHANGE using linear interpolation (lerp)
+        double smoothing = SimConfig.VELOCITY_SMOOTHING;
+        double vx = s.vx[i] + (finalDirX * effectiveSpeed - s.vx[i]) * smoothing;
+        double vy = s.vy[i] + (finalDirY * effectiveSpeed - s.vy[i]) * smoothing;
+        double vz = s.vz[i] + (finalDirZ * effectiveSpeed - s.vz[i]) * smoothing;
+
+        // Safety Clamp for Velocity (Prevent NaN/Inf)
+        if (Double.isNaN(vx) || Double.isInfinite(vx))
+            vx = 0;
+        if (Double.isNaN(vy) || Double.isInfinite(vy))
+            vy = 0;
+        if (Double.isNaN(vz) || Double.isInfinite(vz))
+            vz = 0;
+        s.vx[i] = vx;
+        s.vy[i] = vy;
+        s.vz[i] = vz;
+
+        double x = s.px[i] + vx * dt;
+        double y = s.py[i] + vy * dt;
+        double z = s.pz[i] + vz * dt;
+        s.px[i] = Double.isNaN(x) ? 0 : x;
+        s.py[i] = Double.isNaN(y) ? 0 : y;
+        s.pz[i] = Double.isNaN(z) ? 0 : z;
+        s.notifyMoved(i);
+    }
+
+    /**
+     * Consommation du pas : base × (1 + vitesse / vitesse max) × météo.
+     */
+    static void drain(FleetStore s, int i, double dt) {
+        double consumption = s.drainRate[i] * dt;
+
+        double vx = s.vx[i], vy = s.vy[i], vz = s.vz[i];
+        double speed = Math.sqrt(vx * vx + vy * vy + vz * vz);
+        double speedFactor = 1.0 + (speed / s.maxSpeed[i]);
+
+        consumption *= speedFactor * s.weatherDrain[i];
+
+        double battery = s.battery[i] - consumption;
+        s.battery[i] = battery < 0 ? 0 : battery;
+    }
+}
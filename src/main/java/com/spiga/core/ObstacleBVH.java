@@ -0,0 +1,47 @@
+package com.spiga.core;
+
+import com.spiga.environment.Obstacle;
+
+import java.util.List;
+
+/**
+ * BVH statique sur les obstacles.
+ * <p>
+ * L'influence d'un obstacle sur un actif se mesure dans le plan XY (distance
+ * à la surface inférieure au rayon de détection) : l'arbre est celui de
+ * {@link CircleBVH}, construit sur les disques des obstacles.
+ * </p>
+ */
+public class ObstacleBVH extends CircleBVH {
+
+    private Obstacle[] obstacles = new Obstacle[0];
+
+    /**
+     * Reconstruit l'arbre à partir de la liste d'obstacles.
+     *
+     * @param list Obstacles courants (les indices des résultats s'y réfèrent).
+     */
+    public void build(List<Obstacle> list) {
+        int n = list.size();
+        obstacles = list.toArray(new Obstacle[n]);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] r = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = obstacles[i].getX();
+            y[i] = obstacles[i].getY();
+            r[i] = obstacles[i].getRadius();
+        }
+        build(x, y, r, n);
+    }
+
+    /**
+     * Retourne l'obstacle d'indice donné (ordre de la liste d'origine).
+     *
+     * @param index Indice retourné par une requête.
+     * @return L'obstacle.
+     */
+    public Obstacle get(int index) {
+        return obstacles[index];
+    }
+}
@@ -0,0 +1,236 @@
+package com.spiga.core;
+
+import java.util.Arrays;
+
+/**
+ * Table des cooldowns d'alerte par paire d'actifs.
+ * <p>
+ * Remplace une {@code Map<String, Long>} indexée par des identifiants
+ * concaténés : la clé est un {@code long} qui empaquette les numéros de série
+ * des deux actifs ({@link ActifMobile#getSerial()}), la valeur est l'heure de
+ * la dernière alerte. Le stockage est une table à adressage ouvert (sondage
+ * linéaire) sur tableaux primitifs : aucune allocation par consultation.
+ * </p>
+ * <p>
+ * Une entrée plus ancienne que le cooldown n'a plus d'effet ; elle est
+ * purgée avant tout agrandissement de la table. La mémoire reste donc bornée
+ * par le nombre de paires alertées pendant une fenêtre de cooldown, quelle
+ * que soit la durée de la simulation.
+ * </p>
+ */
+public class PairCooldownTable {
+
+    private static final long EMPTY = -1L;
+    private static final int MIN_CAPACITY = 16;
+
+    private final long cooldownMillis;
+
+    private long[] keys;
+    private long[] times;
+    // Tampons de rehachage réutilisés (purge sans allocation)
+    private long[] spareKeys;
+    private long[] spareTimes;
+    private int size = 0;
+
+    /**
+     * Crée une table vide.
+     *
+     * @param cooldownMillis Délai minimal (ms) entre deux alertes d'une même
+     *                       paire.
+     */
+    public PairCooldownTable(long cooldownMillis) {
+        this.cooldownMillis = cooldownMillis;
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Tente de déclencher une alerte pour la paire.
+     * <p>
+     * Réussit si la paire n'a jamais alerté ou si sa dernière alerte date de
+     * plus de {@code cooldownMillis} ; l'heure est alors mémorisée.
+     * </p>
+     *
+     * @param a   Premier actif.
+     * @param b   Second actif.
+     * @param now Heure courante (ms, horloge de simulation).
+     * @return Vrai si l'alerte peut être déclenchée.
+     */
+    public boolean tryAcquire(ActifMobile a, ActifMobile b, long now) {
+        return tryAcquire(pairKey(a.getSerial(), b.getSerial()), now);
+    }
+
+    /**
+     * Variante sur une clé déjà empaquetée (voir {@link #pairKey(int, int)}).
+     *
+     * @param key Clé de paire.
+     * @param now Heure courante (ms).
+     * @return Vrai si l'alerte peut être déclenchée.
+     */
+    public boolean tryAcquire(long key, long now) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                if (now - times[slot] > cooldownMillis) {
+                    times[slot] = now;
+                    return true;
+                }
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if ((size + 1) * 2 > keys.length) {
+            // Purge des paires expirées avant d'agrandir
+            rehash(keys.length, now);
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2, now);
+            }
+            return tryAcquire(key, now);
+        }
+        keys[slot] = key;
+        times[slot] = now;
+        size++;
+        return true;
+    }
+
+    /**
+     * Supprime les entrées expirées et réduit la table si elle est devenue
+     * trop grande.
+     *
+     * @param now Heure courante (ms).
+     */
+    public void evictExpired(long now) {
+        int capacity = keys.length;
+        while (capacity > MIN_CAPACITY && size * 8 < capacity) {
+            capacity /= 2;
+        }
+        rehash(capacity, now);
+    }
+
+    /**
+     * Empaquette deux numéros de série en clé de paire indépendante de
+     * l'ordre.
+     *
+     * @param serialA Série du premier actif.
+     * @param serialB Série du second actif.
+     * @return Clé {@code (min << 32) | max}.
+     */
+    public static long pairKey(int serialA, int serialB) {
+        int lo = Math.min(serialA, serialB);
+        int hi = Math.max(serialA, serialB);
+        return ((long) lo << 32) | (hi & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Retourne le nombre de paires mémorisées (y compris celles expirées mais
+     * pas encore purgées).
+     *
+     * @return Nombre d'entrées.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Copie les entrées encore actives (points de reprise).
+     *
+     * @param now Heure courante (ms).
+     * @return Couples {@code clé, heure} à la suite.
+     */
+    long[] entries(long now) {
+        long[] out = new long[size * 2];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY && now - times[i] <= cooldownMillis) {
+                out[n++] = keys[i];
+                out[n++] = times[i];
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Remplace le contenu par des entrées sauvegardées, en une seule
+     * allocation (points de reprise).
+     *
+     * @param entries Couples {@code clé, heure} à la suite.
+     * @param count   Nombre de couples.
+     */
+    void restore(long[] entries, int count) {
+        int capacity = MIN_CAPACITY;
+        while ((count + 1) * 2 > capacity) {
+            capacity *= 2;
+        }
+        allocate(capacity);
+        size = 0;
+        int mask = capacity - 1;
+        for (int k = 0; k < count; k++) {
+            long key = entries[2 * k];
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                size++;
+            }
+            times[slot] = entries[2 * k + 1];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        times = new long[capacity];
+        spareKeys = new long[capacity];
+        spareTimes = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    private void rehash(int capacity, long now) {
+        long[] oldKeys = keys;
+        long[] oldTimes = times;
+        if (capacity == oldKeys.length) {
+            keys = spareKeys;
+            times = spareTimes;
+            spareKeys = oldKeys;
+            spareTimes = oldTimes;
+        } else {
+            keys = new long[capacity];
+            times = new long[capacity];
+            spareKeys = new long[capacity];
+            spareTimes = new long[capacity];
+        }
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && now - oldTimes[i] <= cooldownMillis) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                times[slot] = oldTimes[i];
+                size++;
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        key ^= (key >>> 33);
+        key *= 0xff51afd7ed558ccdL;
+        key ^= (key >>> 33);
+        return (int) key;
+    }
+}
@@ -0,0 +1,119 @@
+package com.spiga.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de threads fixe exécutant les phases par actif du
+ * {@link SimulationEngine}.
+ * <p>
+ * Une phase est découpée en tranches contiguës d'indices réparties sur les
+ * threads de travail ; {@link #forEachRange(int, RangeTask)} ne rend la main
+ * qu'une fois toutes les tranches terminées (barrière de phase). Les
+ * écritures des threads de travail sont donc visibles par la phase suivante.
+ * </p>
+ */
+public class PhaseExecutor {
+
+    /**
+     * Travail appliqué à une tranche d'indices {@code [from, to)}.
+     */
+    @FunctionalInterface
+    public interface RangeTask {
+        void run(int from, int to);
+    }
+
+    /** Nombre de tranches par thread (équilibrage de charge). */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final int threads;
+    private ExecutorService pool;
+
+    /**
+     * Crée un exécuteur (les threads sont démarrés à la première phase).
+     *
+     * @param threads Nombre de threads de travail (au moins 2).
+     */
+    public PhaseExecutor(int threads) {
+        if (threads < 2) {
+            throw new IllegalArgumentException("Un exécuteur parallèle demande au moins 2 threads");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Exécute une phase sur les indices {@code 0..count-1} et attend sa fin.
+     *
+     * @param count Nombre d'éléments de la phase.
+     * @param task  Travail par tranche.
+     */
+    public void forEachRange(int count, RangeTask task) {
+        if (count <= 0) {
+            return;
+        }
+        int chunks = Math.min(count, threads * CHUNKS_PER_THREAD);
+        List<Callable<Void>> work = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int from = (int) ((long) count * c / chunks);
+            int to = (int) ((long) count * (c + 1) / chunks);
+            work.add(() -> {
+                task.run(from, to);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> f : pool().invokeAll(work)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Phase de simulation interrompue", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private ExecutorService pool() {
+        if (pool == null) {
+            int poolId = POOL_COUNT.incrementAndGet();
+            AtomicInteger threadId = new AtomicInteger();
+            pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "spiga-phase-" + poolId + "-" + threadId.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return pool;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Arrête les threads de travail (ils seront recréés si une nouvelle phase
+     * est lancée).
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+}
@@ -0,0 +1,803 @@
+package com.spiga.core;
+
+import com.spiga.environment.Obstacle;
+import com.spiga.environment.RestrictedZone;
+import com.spiga.environment.Weather;
+import com.spiga.management.Communication;
+import com.spiga.management.GestionnaireEssaim;
+import com.spiga.management.Mission;
+import com.spiga.management.MissionLogistique;
+import com.spiga.management.MissionRegistry;
+import com.spiga.management.MissionSurveillanceMaritime;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point de reprise binaire de l'état complet d'une simulation.
+ * <p>
+ * Le fichier contient le temps du moteur, l'environnement (météo, obstacles,
+ * zones), la flotte, les missions (en cours, en file chez les actifs et au
+ * centre de communication, dernières exécutions) et l'état d'évitement
+ * (cooldowns par paire). Les composants de la flotte sont écrits colonne par
+ * colonne depuis le {@link FleetStore}, par copies en bloc ; les actifs et
+ * les missions suivent sous forme d'enregistrements qui se référencent par
+ * indice (slot pour un actif, rang dans la table des missions). Aucune
+ * sérialisation Java : le format est versionné ({@link #VERSION}) et passe
+ * par un {@link FileChannel}.
+ * </p>
+ * <p>
+ * {@link #load(Path)} reconstruit un moteur neuf dont les pas suivants sont
+ * identiques à ceux du moteur sauvegardé : plusieurs expériences peuvent
+ * partir d'un même état chauffé. Les actifs recréés reçoivent de nouveaux
+ * numéros de série, dans l'ordre des originaux. Les abonnés au flux
+ * d'événements, le journal des missions et les réglages de parallélisme ne
+ * font pas partie de l'état sauvegardé.
+ * </p>
+ * <p>
+ * {@link #save} lit le moteur sans verrou : à appeler entre deux pas, depuis
+ * le thread de simulation.
+ * </p>
+ */
+public final class SimCheckpoint {
+
+    /** Version du format écrit. */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x5350434B; // "SPCK"
+
+    // Types concrets pris en charge (le rang est le code écrit)
+    private static final List<Class<? extends ActifMobile>> ASSET_KINDS = List.of(
+            DroneReconnaissance.class, DroneLogistique.class, VehiculeSurface.class,
+            VehiculeSousMarin.class, SousMarinExploration.class);
+    private static final List<Class<? extends Mission>> MISSION_KINDS = List.of(
+            MissionLogistique.class, MissionSurveillanceMaritime.class);
+
+    private static final Mission.StatutMission[] STATUTS = Mission.StatutMission.values();
+    private static final Mission.CompletionRule[] RULES = Mission.CompletionRule.values();
+    private static final Communication.Capability[] CAPABILITIES = Communication.Capability.values();
+    private static final Communication.DispatchPolicy[] POLICIES = Communication.DispatchPolicy.values();
+
+    // Drapeaux d'une mission
+    private static final int IN_REGISTRY = 1;
+    private static final int ENGINE_CLOCK = 2;
+
+    private SimCheckpoint() {
+    }
+
+    // --- SAUVEGARDE ---
+
+    /**
+     * Écrit l'état du moteur dans un fichier (remplacé atomiquement s'il
+     * existe).
+     *
+     * @param engine Le moteur, arrêté entre deux pas.
+     * @param path   Fichier de destination.
+     * @throws IOException              En cas d'erreur d'écriture.
+     * @throws IllegalArgumentException Si un actif ou une mission est d'un type
+     *                                  non pris en charge.
+     */
+    public static void save(SimulationEngine engine, Path path) throws IOException {
+        FleetStore store = engine.getGestionnaire().getStore();
+        int n = store.size();
+        Map<ActifMobile, Integer> assetIndex = new IdentityHashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            assetIndex.put(store.owner(i), i);
+        }
+        MissionTable missions = collectMissions(engine, store);
+
+        Out out = new Out(1024 + n * 320);
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putLong(engine.getStepCount());
+        out.putLong(engine.getClock().getElapsedNanos());
+
+        writeEnvironment(out, engine);
+        writeFleet(out, store);
+        writeMissions(out, engine, missions, assetIndex);
+        writeLinks(out, store, missions);
+        writeCommunication(out, engine.getCommunication(), missions);
+        SerialIndex serials = new SerialIndex(store);
+        long now = engine.getClock().currentTimeMillis();
+        writeCooldowns(out, engine.getCollisionCooldowns().entries(now), serials);
+        writeCooldowns(out, engine.getTargetCooldowns().entries(now), serials);
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = out.buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Missions atteignables depuis le moteur, chacune avec son rang. */
+    private static final class MissionTable {
+        final List<Mission> list = new ArrayList<>();
+        final Map<Mission, Integer> index = new IdentityHashMap<>();
+
+        void add(Mission mission) {
+            if (mission != null && !index.containsKey(mission)) {
+                index.put(mission, list.size());
+                list.add(mission);
+            }
+        }
+
+        int indexOf(Mission mission) {
+            return mission == null ? -1 : index.get(mission);
+        }
+    }
+
+    private static MissionTable collectMissions(SimulationEngine engine, FleetStore store) {
+        MissionTable table = new MissionTable();
+        // Missions en cours d'abord, dans l'ordre du registre (ordre des ticks)
+        for (Mission mission : engine.getMissions().getActiveMissions()) {
+            table.add(mission);
+        }
+        for (int i = 0; i < store.size(); i++) {
+            ActifMobile asset = store.owner(i);
+            table.add(asset.currentMission);
+            for (Mission queued : asset.missionQueue) {
+                table.add(queued);
+            }
+        }
+        Communication communication = engine.getCommunication();
+        for (Communication.Capability capability : CAPABILITIES) {
+            for (Mission mission : communication.getPendingMissions(capability)) {
+                table.add(mission);
+            }
+        }
+        for (Mission mission : communication.getUnroutableMissions()) {
+            table.add(mission);
+        }
+        return table;
+    }
+
+    private static void writeEnvironment(Out out, SimulationEngine engine) {
+        Weather weather = engine.getWeather();
+        out.putDouble(weather.getWindIntensity());
+        out.putDouble(weather.getRainIntensity());
+        out.putDouble(weather.getWaveIntensity());
+        out.putDouble(weather.getWindDirection());
+
+        List<Obstacle> obstacles = engine.getObstacles();
+        out.putInt(obstacles.size());
+        for (Obstacle obstacle : obstacles) {
+            out.putDouble(obstacle.getX());
+            out.putDouble(obstacle.getY());
+            out.putDouble(obstacle.getZ());
+            out.putDouble(obstacle.getRadius());
+        }
+
+        List<RestrictedZone> zones = engine.getRestrictedZones();
+        out.putInt(zones.size());
+        for (RestrictedZone zone : zones) {
+            out.putString(zone.getId());
+            out.putDouble(zone.getX());
+            out.putDouble(zone.getY());
+            out.putDouble(zone.getRadius());
+            out.putDouble(zone.getMinZ());
+            out.putDouble(zone.getMaxZ());
+        }
+    }
+
+    private static void writeFleet(Out out, FleetStore s) {
+        int n = s.size();
+        out.putInt(n);
+        // Type et numéro de série d'abord : le chargement recrée les actifs
+        // dans l'ordre des séries avant de lire le reste
+        for (int i = 0; i < n; i++) {
+            ActifMobile asset = s.owner(i);
+            out.putByte(assetKind(asset));
+            out.putInt(asset.getSerial());
+        }
+        for (double[] column : doubleColumns(s)) {
+            out.putDoubles(column, n);
+        }
+        out.putLongs(s.avoidanceEndTime, n);
+        out.putBytes(s.state, n);
+        out.putBytes(s.etat, n);
+        out.putBytes(s.navMode, n);
+
+        for (int i = 0; i < n; i++) {
+            writeAsset(out, s.owner(i));
+        }
+    }
+
+    /** Colonnes {@code double} du stockage, dans l'ordre du fichier. */
+    private static double[][] doubleColumns(FleetStore s) {
+        return new double[][] {
+                s.px, s.py, s.pz, s.vx, s.vy, s.vz, s.tx, s.ty, s.tz, s.ax, s.ay, s.az,
+                s.battery, s.speedModifier, s.steeringBias };
+    }
+
+    private static void writeAsset(Out out, ActifMobile a) {
+        out.putString(a.id);
+        out.putDouble(a.vitesseMax);
+        out.putDouble(a.autonomieMax);
+        out.putDouble(a.tempTargetX);
+        out.putDouble(a.tempTargetY);
+        out.putDouble(a.tempTargetZ);
+        out.putBoolean(a.isDiverted);
+        out.putBoolean(a.finalTargetX != null);
+        if (a.finalTargetX != null) {
+            out.putDouble(a.finalTargetX);
+            out.putDouble(a.finalTargetY);
+            out.putDouble(a.finalTargetZ);
+        }
+        out.putDouble(a.getStore().weatherSpeed[a.getSlot()]);
+        out.putString(a.collisionWarning);
+        out.putLong(a.lastSeaAlertTime);
+        out.putBoolean(a.selected);
+
+        if (a instanceof ActifAerien) {
+            ActifAerien aerien = (ActifAerien) a;
+            out.putDouble(aerien.altitudeMax);
+            out.putDouble(aerien.altitudeMin);
+        }
+        if (a instanceof ActifMarin) {
+            ActifMarin marin = (ActifMarin) a;
+            out.putDouble(marin.profondeurMax);
+            out.putDouble(marin.profondeurMin);
+        }
+        if (a instanceof DroneLogistique) {
+            DroneLogistique logistique = (DroneLogistique) a;
+            out.putDouble(logistique.getChargeActuelle());
+        }
+        if (a instanceof VehiculeSousMarin) {
+            VehiculeSousMarin sousMarin = (VehiculeSousMarin) a;
+            out.putLong(sousMarin.lastDepthAlertTime);
+        }
+    }
+
+    private static void writeMissions(Out out, SimulationEngine engine, MissionTable table,
+            Map<ActifMobile, Integer> assetIndex) {
+        MissionRegistry registry = engine.getMissions();
+        out.putInt(table.list.size());
+        for (Mission m : table.list) {
+            int kind = MISSION_KINDS.indexOf(m.getClass());
+            if (kind < 0) {
+                throw new IllegalArgumentException("Type de mission non pris en charge: " + m.getClass().getName());
+            }
+            out.putByte(kind);
+            int flags = (m.getRegistry() == registry ? IN_REGISTRY : 0)
+                    | (m.getClock() == engine.getClock() ? ENGINE_CLOCK : 0);
+            out.putByte(flags);
+            out.putString(m.getId());
+            out.putString(m.getTitre());
+            out.putString(m.getObjectives());
+            out.putByte(m.getStatut().ordinal());
+            out.putLong(m.getPlannedDurationSeconds());
+            out.putLong(m.getActualStartTime());
+            out.putLong(m.getActualEndTime());
+            out.putString(m.getResults());
+            out.putByte(m.getCompletionRule().ordinal());
+            out.putDouble(m.getTargetX());
+            out.putDouble(m.getTargetY());
+            out.putDouble(m.getTargetZ());
+            out.putInt(m.getRunCount());
+
+            out.putBoolean(m.getCurrentRun() != null);
+            if (m.getCurrentRun() != null) {
+                writeRun(out, m.getCurrentRun());
+            }
+            List<Mission.MissionExecution> history = m.getHistory();
+            out.putInt(history.size());
+            for (Mission.MissionExecution run : history) {
+                writeRun(out, run);
+            }
+
+            // Actifs assignés encore dans la flotte
+            List<ActifMobile> assigned = m.getAssignedAssets();
+            int count = 0;
+            for (ActifMobile asset : assigned) {
+                if (assetIndex.containsKey(asset)) {
+                    count++;
+                }
+            }
+            out.putInt(count);
+            for (ActifMobile asset : assigned) {
+                Integer index = assetIndex.get(asset);
+                if (index != null) {
+                    out.putInt(index);
+                }
+            }
+        }
+    }
+
+    private static void writeRun(Out out, Mission.MissionExecution run) {
+        out.putString(run.runId);
+        out.putLong(run.startTime);
+        out.putLong(run.endTime);
+        out.putByte(run.finalStatus.ordinal());
+        out.putString(run.resultNote);
+        out.putDouble(run.targetX);
+        out.putDouble(run.targetY);
+        out.putDouble(run.targetZ);
+    }
+
+    private static void writeLinks(Out out, FleetStore store, MissionTable table) {
+        for (int i = 0; i < store.size(); i++) {
+            ActifMobile asset = store.owner(i);
+            out.putInt(table.indexOf(asset.currentMission));
+            out.putInt(asset.missionQueue.size());
+            for (Mission queued : asset.missionQueue) {
+                out.putInt(table.indexOf(queued));
+            }
+        }
+    }
+
+    private static void writeCommunication(Out out, Communication communication, MissionTable table) {
+        out.putByte(communication.getDispatchPolicy().ordinal());
+        for (Communication.Capability capability : CAPABILITIES) {
+            List<Mission> pending = communication.getPendingMissions(capability);
+            out.putInt(pending.size());
+            for (Mission mission : pending) {
+                out.putInt(table.indexOf(mission));
+            }
+        }
+        List<Mission> unroutable = communication.getUnroutableMissions();
+        out.putInt(unroutable.size());
+        for (Mission mission : unroutable) {
+            out.putInt(table.indexOf(mission));
+        }
+    }
+
+    /**
+     * Slot de chaque numéro de série de la flotte : tableau direct si les
+     * séries sont assez groupées, recherche dichotomique sinon.
+     */
+    private static final class SerialIndex {
+        private int min = Integer.MAX_VALUE;
+        private int[] direct;
+        private long[] sorted;
+
+        SerialIndex(FleetStore store) {
+            int n = store.size();
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                int serial = store.owner(i).getSerial();
+                min = Math.min(min, serial);
+                max = Math.max(max, serial);
+            }
+            long range = n == 0 ? 0 : (long) max - min + 1;
+            if (range <= 8L * n + 1024) {
+                direct = new int[(int) range];
+                Arrays.fill(direct, -1);
+                for (int i = 0; i < n; i++) {
+                    direct[store.owner(i).getSerial() - min] = i;
+                }
+            } else {
+                sorted = new long[n];
+                for (int i = 0; i < n; i++) {
+                    sorted[i] = ((long) store.owner(i).getSerial() << 32) | i;
+                }
+                Arrays.sort(sorted);
+            }
+        }
+
+        /** Slot d'un numéro de série, ou -1 s'il n'est plus dans la flotte. */
+        int slotOf(int serial) {
+            if (direct != null) {
+                long offset = (long) serial - min;
+                return offset >= 0 && offset < direct.length ? direct[(int) offset] : -1;
+            }
+            int k = Arrays.binarySearch(sorted, (long) serial << 32);
+            k = k < 0 ? -k - 1 : k;
+            return k < sorted.length && (int) (sorted[k] >>> 32) == serial ? (int) sorted[k] : -1;
+        }
+    }
+
+    /** Entrées de cooldown, par couple de slots (les séries changent au chargement). */
+    private static void writeCooldowns(Out out, long[] entries, SerialIndex serials) {
+        int count = 0;
+        int countPosition = out.position();
+        out.putInt(0);
+        for (int k = 0; k < entries.length; k += 2) {
+            int a = serials.slotOf((int) (entries[k] >>> 32));
+            int b = serials.slotOf((int) entries[k]);
+            if (a >= 0 && b >= 0) {
+                out.putInt(a);
+                out.putInt(b);
+                out.putLong(entries[k + 1]);
+                count++;
+            }
+        }
+        out.buffer.putInt(countPosition, count);
+    }
+
+    // --- CHARGEMENT ---
+
+    /**
+     * Reconstruit un moteur à partir d'un point de reprise.
+     *
+     * @param path Fichier écrit par {@link #save}.
+     * @return Un moteur neuf, au pas sauvegardé.
+     * @throws IOException Si le fichier est illisible, tronqué, ou d'un autre
+     *                     format ou version.
+     */
+    public static SimulationEngine load(Path path) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Point de reprise trop volumineux: " + path);
+            }
+            in = ByteBuffer.allocate((int) size);
+            while (in.hasRemaining() && channel.read(in) >= 0) {
+                // Lecture complète
+            }
+            in.flip();
+        }
+        try {
+            if (in.remaining() < 8 || in.getInt() != MAGIC) {
+                throw new IOException("Pas un point de reprise: " + path);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException("Version de point de reprise non prise en charge: " + version);
+            }
+            return read(in);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Point de reprise tronqué ou corrompu: " + path, e);
+        }
+    }
+
+    private static SimulationEngine read(ByteBuffer in) {
+        GestionnaireEssaim manager = new GestionnaireEssaim();
+        SimulationEngine engine = new SimulationEngine(manager);
+        engine.restoreTime(in.getLong(), in.getLong());
+        readEnvironment(in, engine);
+
+        ActifMobile[] assets = readFleet(in, engine);
+        Mission[] missions = readMissions(in, engine, assets);
+        for (ActifMobile asset : assets) {
+            asset.currentMission = mission(missions, in.getInt());
+            int queued = in.getInt();
+            for (int k = 0; k < queued; k++) {
+                asset.missionQueue.add(missions[in.getInt()]);
+            }
+        }
+        readCommunication(in, engine.getCommunication(), missions);
+        readCooldowns(in, engine.getCollisionCooldowns(), assets);
+        readCooldowns(in, engine.getTargetCooldowns(), assets);
+
+        engine.publishSnapshot();
+        return engine;
+    }
+
+    private static void readEnvironment(ByteBuffer in, SimulationEngine engine) {
+        Weather weather = engine.getWeather();
+        weather.setWindIntensity(in.getDouble());
+        weather.setRainIntensity(in.getDouble());
+        weather.setWaveIntensity(in.getDouble());
+        weather.setWindDirection(in.getDouble());
+
+        List<Obstacle> obstacles = engine.getObstacles();
+        obstacles.clear();
+        int count = in.getInt();
+        for (int k = 0; k < count; k++) {
+            obstacles.add(new Obstacle(in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble()));
+        }
+
+        List<RestrictedZone> zones = engine.getRestrictedZones();
+        zones.clear();
+        count = in.getInt();
+        for (int k = 0; k < count; k++) {
+            zones.add(new RestrictedZone(getString(in), in.getDouble(), in.getDouble(), in.getDouble(),
+                    in.getDouble(), in.getDouble()));
+        }
+        synchronized (ActifMobile.KNOWN_ZONES) {
+            ActifMobile.KNOWN_ZONES.clear();
+            ActifMobile.KNOWN_ZONES.addAll(zones);
+        }
+    }
+
+    private static ActifMobile[] readFleet(ByteBuffer in, SimulationEngine engine) {
+        int n = in.getInt();
+        byte[] kinds = new byte[n];
+        int[] serials = new int[n];
+        for (int i = 0; i < n; i++) {
+            kinds[i] = in.get();
+            serials[i] = in.getInt();
+        }
+        // Composants lus en bloc dans un stockage de transit (sans propriétaires)
+        FleetStore loaded = new FleetStore(n);
+        for (double[] column : doubleColumns(loaded)) {
+            in.asDoubleBuffer().get(column, 0, n);
+            in.position(in.position() + n * Double.BYTES);
+        }
+        in.asLongBuffer().get(loaded.avoidanceEndTime, 0, n);
+        in.position(in.position() + n * Long.BYTES);
+        in.get(loaded.state, 0, n);
+        in.get(loaded.etat, 0, n);
+        in.get(loaded.navMode, 0, n);
+
+        // Création dans l'ordre des séries d'origine : l'ordre relatif des
+        // nouvelles séries (réserves d'actifs libres, paires) est conservé
+        Integer[] bySerial = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            bySerial[i] = i;
+        }
+        Arrays.sort(bySerial, (a, b) -> Integer.compare(serials[a], serials[b]));
+        ActifMobile[] assets = new ActifMobile[n];
+        for (int i : bySerial) {
+            assets[i] = newAsset(kinds[i]);
+        }
+
+        GestionnaireEssaim manager = engine.getGestionnaire();
+        List<ActifMobile> fleet = manager.getFlotte();
+        for (int i = 0; i < n; i++) {
+            ActifMobile asset = assets[i];
+            asset.getStore().copy(loaded, i, asset.getSlot());
+            readAsset(in, asset);
+            fleet.add(asset); // Slot i de la flotte (rattachée au moteur à l'inscription)
+        }
+        return assets;
+    }
+
+    /**
+     * Code du type concret d'un actif (partagé avec les trajectoires).
+     *
+     * @throws IllegalArgumentException Si le type n'est pas pris en charge.
+     */
+    static int assetKind(ActifMobile asset) {
+        int kind = ASSET_KINDS.indexOf(asset.getClass());
+        if (kind < 0) {
+            throw new IllegalArgumentException("Type d'actif non pris en charge: " + asset.getClass().getName());
+        }
+        return kind;
+    }
+
+    /** Actif vierge du type de code {@code kind}. */
+    static ActifMobile newAsset(int kind) {
+        switch (kind) {
+            case 0:
+                return new DroneReconnaissance("", 0, 0, 0);
+            case 1:
+                return new DroneLogistique("", 0, 0, 0);
+            case 2:
+                return new VehiculeSurface("", 0, 0);
+            case 3:
+                return new VehiculeSousMarin("", 0, 0, 0);
+            case 4:
+                return new SousMarinExploration("", 0, 0, 0);
+            default:
+                throw new IllegalArgumentException("Type d'actif inconnu: " + kind);
+        }
+    }
+
+    private static void readAsset(ByteBuffer in, ActifMobile a) {
+        a.id = getString(in);
+        a.vitesseMax = in.getDouble();
+        a.autonomieMax = in.getDouble();
+        a.tempTargetX = in.getDouble();
+        a.tempTargetY = in.getDouble();
+        a.tempTargetZ = in.getDouble();
+        a.isDiverted = getBoolean(in);
+        if (getBoolean(in)) {
+            a.finalTargetX = in.getDouble();
+            a.finalTargetY = in.getDouble();
+            a.finalTargetZ = in.getDouble();
+        }
+        a.getStore().weatherSpeed[a.getSlot()] = in.getDouble();
+        a.collisionWarning = getString(in);
+        a.lastSeaAlertTime = in.getLong();
+        a.selected = getBoolean(in);
+
+        if (a instanceof ActifAerien) {
+            ActifAerien aerien = (ActifAerien) a;
+            aerien.altitudeMax = in.getDouble();
+            aerien.altitudeMin = in.getDouble();
+        }
+        if (a instanceof ActifMarin) {
+            ActifMarin marin = (ActifMarin) a;
+            marin.profondeurMax = in.getDouble();
+            marin.profondeurMin = in.getDouble();
+        }
+        if (a instanceof DroneLogistique) {
+            DroneLogistique logistique = (DroneLogistique) a;
+            logistique.decharger();
+            logistique.charger(in.getDouble());
+        }
+        if (a instanceof VehiculeSousMarin) {
+            VehiculeSousMarin sousMarin = (VehiculeSousMarin) a;
+            sousMarin.lastDepthAlertTime = in.getLong();
+        }
+    }
+
+    private static Mission[] readMissions(ByteBuffer in, SimulationEngine engine, ActifMobile[] assets) {
+        Mission[] missions = new Mission[in.getInt()];
+        for (int k = 0; k < missions.length; k++) {
+            int kind = in.get();
+            int flags = in.get();
+            String id = getString(in);
+            String titre = getString(in);
+            Mission m;
+            if (kind == 0) {
+                m = new MissionLogistique(titre);
+            } else if (kind == 1) {
+                m = new MissionSurveillanceMaritime(titre);
+            } else {
+                throw new IllegalArgumentException("Type de mission inconnu: " + kind);
+            }
+            m.setObjectives(getString(in));
+            Mission.StatutMission statut = STATUTS[in.get()];
+            m.setPlannedDurationSeconds(in.getLong());
+            long start = in.getLong();
+            long end = in.getLong();
+            String results = getString(in);
+            m.setCompletionRule(RULES[in.get()]);
+            m.setTarget(in.getDouble(), in.getDouble(), in.getDouble());
+            int runCounter = in.getInt();
+
+            Mission.MissionExecution currentRun = getBoolean(in) ? readRun(in) : null;
+            int historySize = in.getInt();
+            List<Mission.MissionExecution> history = new ArrayList<>(historySize);
+            for (int r = 0; r < historySize; r++) {
+                history.add(readRun(in));
+            }
+            int assigned = in.getInt();
+            for (int r = 0; r < assigned; r++) {
+                m.addActif(assets[in.getInt()]);
+            }
+
+            m.restore(id, statut, start, end, results, runCounter, currentRun, history);
+            if ((flags & ENGINE_CLOCK) != 0) {
+                m.setClock(engine.getClock());
+            }
+            if ((flags & IN_REGISTRY) != 0) {
+                m.setRegistry(engine.getMissions()); // Missions en cours : ordre du registre
+            }
+            missions[k] = m;
+        }
+        return missions;
+    }
+
+    private static Mission.MissionExecution readRun(ByteBuffer in) {
+        String runId = getString(in);
+        long start = in.getLong();
+        long end = in.getLong();
+        Mission.StatutMission statut = STATUTS[in.get()];
+        String note = getString(in);
+        Mission.MissionExecution run = new Mission.MissionExecution(runId, start, in.getDouble(), in.getDouble(),
+                in.getDouble());
+        run.endTime = end;
+        run.finalStatus = statut;
+        run.resultNote = note;
+        return run;
+    }
+
+    private static void readCommunication(ByteBuffer in, Communication communication, Mission[] missions) {
+        communication.setDispatchPolicy(POLICIES[in.get()]);
+        for (Communication.Capability capability : CAPABILITIES) {
+            int count = in.getInt();
+            for (int k = 0; k < count; k++) {
+                communication.enqueue(missions[in.getInt()], capability);
+            }
+        }
+        int count = in.getInt();
+        for (int k = 0; k < count; k++) {
+            communication.enqueue(missions[in.getInt()], null);
+        }
+    }
+
+    private static void readCooldowns(ByteBuffer in, PairCooldownTable table, ActifMobile[] assets) {
+        int count = in.getInt();
+        long[] entries = new long[count * 2];
+        for (int k = 0; k < count; k++) {
+            ActifMobile a = assets[in.getInt()];
+            ActifMobile b = assets[in.getInt()];
+            entries[2 * k] = PairCooldownTable.pairKey(a.getSerial(), b.getSerial());
+            entries[2 * k + 1] = in.getLong();
+        }
+        table.restore(entries, count);
+    }
+
+    private static Mission mission(Mission[] missions, int index) {
+        return index < 0 ? null : missions[index];
+    }
+
+    private static boolean getBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Tampon d'écriture extensible. */
+    private static final class Out {
+        ByteBuffer buffer;
+
+        Out(int capacity) {
+            buffer = ByteBuffer.allocate(capacity);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+                ByteBuffer grown = ByteBuffer.allocate(capacity);
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+        }
+
+        int position() {
+            return buffer.position();
+        }
+
+        void putByte(int value) {
+            ensure(1);
+            buffer.put((byte) value);
+        }
+
+        void putBoolean(boolean value) {
+            putByte(value ? 1 : 0);
+        }
+
+        void putInt(int value) {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putDouble(double value) {
+            ensure(Double.BYTES);
+            buffer.putDouble(value);
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void putDoubles(double[] values, int n) {
+            ensure(n * Double.BYTES);
+            buffer.asDoubleBuffer().put(values, 0, n);
+            buffer.position(buffer.position() + n * Double.BYTES);
+        }
+
+        void putLongs(long[] values, int n) {
+            ensure(n * Long.BYTES);
+            buffer.asLongBuffer().put(values, 0, n);
+            buffer.position(buffer.position() + n * Long.BYTES);
+        }
+
+        void putBytes(byte[] values, int n) {
+            ensure(n);
+            buffer.put(values, 0, n);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.spiga.core;
+
+/**
+ * Horloge de simulation injectable.
+ * <p>
+ * Tous les minuteurs de la simulation (hystérésis d'évitement, cooldowns
+ * d'alerte par paire, durées de mission) lisent le temps via cette horloge
+ * plutôt que via {@code System.currentTimeMillis()}. L'horloge d'un
+ * {@link SimulationEngine} n'avance qu'à chaque pas fixe : une exécution
+ * accélérée (x300, x1000 ou en lot) produit donc exactement les mêmes
+ * résultats qu'une exécution en temps réel, et la lecture du temps n'est plus
+ * un appel système dans la boucle par actif.
+ * </p>
+ * <p>
+ * L'instance partagée {@link #SYSTEM} suit l'horloge murale : c'est
+ * l'horloge par défaut des actifs et missions utilisés hors moteur (tests
+ * unitaires, objets pas encore rattachés à une flotte).
+ * </p>
+ *
+ * @see SimulationEngine#getClock()
+ */
+public class SimClock {
+
+    /** Horloge murale partagée (comportement historique, hors moteur). */
+    public static final SimClock SYSTEM = new SimClock(true);
+
+    /** Vrai si cette horloge lit l'heure système au lieu du temps simulé. */
+    private final boolean wallClock;
+
+    /** Temps simulé écoulé en nanosecondes. */
+    private long elapsedNanos = 0;
+
+    /**
+     * Crée une horloge simulée démarrant à t=0.
+     */
+    public SimClock() {
+        this(false);
+    }
+
+    private SimClock(boolean wallClock) {
+        this.wallClock = wallClock;
+    }
+
+    /**
+     * Fait avancer le temps simulé d'un pas.
+     *
+     * @param dtSeconds Durée du pas en secondes.
+     * @throws IllegalStateException si l'horloge est l'horloge murale.
+     */
+    public void advance(double dtSeconds) {
+        if (wallClock) {
+            throw new IllegalStateException("L'horloge système ne peut pas être avancée manuellement");
+        }
+        elapsedNanos += Math.round(dtSeconds * 1e9);
+    }
+
+    /**
+     * Retourne le temps courant en millisecondes.
+     *
+     * @return Temps simulé écoulé (ou heure système pour {@link #SYSTEM}).
+     */
+    public long currentTimeMillis() {
+        if (wallClock) {
+            return System.currentTimeMillis();
+        }
+        return elapsedNanos / 1_000_000L;
+    }
+
+    /**
+     * Retourne le temps courant en secondes entières (unité des missions).
+     *
+     * @return Temps en secondes.
+     */
+    public long currentTimeSeconds() {
+        return currentTimeMillis() / 1000;
+    }
+
+    /**
+     * Retourne le temps simulé écoulé en secondes (précision nanoseconde).
+     *
+     * @return Temps en secondes.
+     */
+    public double getSimTime() {
+        if (wallClock) {
+            return System.currentTimeMillis() / 1000.0;
+        }
+        return elapsedNanos / 1e9;
+    }
+
+    public boolean isWallClock() {
+        return wallClock;
+    }
+
+    /** Temps simulé écoulé en nanosecondes (points de reprise). */
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** Replace l'horloge à un temps sauvegardé (points de reprise). */
+    void setElapsedNanos(long nanos) {
+        this.elapsedNanos = nanos;
+    }
+}
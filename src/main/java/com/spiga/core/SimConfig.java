@@ -25,6 +25,8 @@ public class SimConfig {
     public static final double WORLD_WIDTH = 2000.0;
     /** Hauteur (Profondeur Y) totale du monde simulé en mètres. */
     public static final double WORLD_HEIGHT = 2000.0;
+    /** Côté des cellules de l'index spatial des actifs disponibles (m). */
+    public static final double AVAILABILITY_CELL_SIZE = 250.0;
 
     // --- GESTION DU TEMPS ---
 
@@ -35,6 +37,71 @@ public class SimConfig {
      */
     public static final double DEFAULT_TIME_SCALE = 300.0;
 
+    /**
+     * Budget de pas de simulation exécutables par frame d'affichage.
+     * 600 pas = 10 s simulées par frame, soit x600 tenu à 60 FPS.
+     */
+    public static final int MAX_STEPS_PER_FRAME = 600;
+
+    /**
+     * Politique appliquée quand le budget de pas par frame est dépassé :
+     * {@code DROP_TIME}, {@code SLOW_DOWN} ou {@code BACKGROUND}
+     * ({@code -Dspiga.overload=SLOW_DOWN}).
+     */
+    public static final String OVERLOAD_POLICY = System.getProperty("spiga.overload", "DROP_TIME");
+
+    /**
+     * Exécute la simulation sur un thread dédié plutôt que dans la boucle
+     * d'animation JavaFX ({@code -Dspiga.simThread=false} pour revenir à
+     * l'ancien mode).
+     */
+    public static final boolean DEDICATED_SIM_THREAD = !"false".equals(System.getProperty("spiga.simThread"));
+
+    /** Période du thread de simulation dédié (ms), soit ~60 ticks/s. */
+    public static final long SIM_THREAD_PERIOD_MS = 16;
+
+    /**
+     * Politique de dispatch des missions : {@code FIFO}, {@code MIN_ETA} ou
+     * {@code MIN_ENERGY} ({@code -Dspiga.dispatch=MIN_ETA}).
+     */
+    public static final String DISPATCH_POLICY = System.getProperty("spiga.dispatch", "FIFO");
+
+    /** Nombre maximal de missions par affectation optimale (par classe et par tick). */
+    public static final int ASSIGNMENT_BATCH_SIZE = 128;
+
+    /** Nombre d'actifs candidats à partir duquel l'affectation est parallélisée. */
+    public static final int ASSIGNMENT_PARALLEL_MIN_COLS = 8192;
+
+    /** Nombre d'exécutions récentes gardées en mémoire par mission. */
+    public static final int MISSION_HISTORY_WINDOW = 16;
+
+    /**
+     * Fichier du journal des exécutions de missions
+     * ({@code -Dspiga.journal=missions.journal}) ; désactivé par défaut.
+     */
+    public static final String MISSION_JOURNAL = System.getProperty("spiga.journal");
+
+    /**
+     * Fichier d'enregistrement des trajectoires de la flotte
+     * ({@code -Dspiga.trajectory=run.traj}) ; désactivé par défaut.
+     */
+    public static final String TRAJECTORY_FILE = System.getProperty("spiga.trajectory");
+
+    /**
+     * Fichier d'export en colonnes de l'état de la flotte
+     * ({@code -Dspiga.telemetry=run.tlm}) ; désactivé par défaut.
+     */
+    public static final String TELEMETRY_FILE = System.getProperty("spiga.telemetry");
+
+    /** Nombre de threads des phases par actif du moteur (1 = séquentiel). */
+    public static final int PARALLEL_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Taille de flotte à partir de laquelle les phases par actif sont
+     * parallélisées.
+     */
+    public static final int PARALLEL_MIN_FLEET_SIZE = 2000;
+
     // --- PHYSIQUE ET COLLISIONS ---
 
     /** Distance déclenchant une alerte de proximité entre actifs (mètres). */
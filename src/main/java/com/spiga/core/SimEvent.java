@@ -0,0 +1,158 @@
+package com.spiga.core;
+
+import com.spiga.environment.Obstacle;
+import com.spiga.environment.RestrictedZone;
+import com.spiga.management.Mission;
+
+/**
+ * Événement de simulation lu depuis le {@link SimEventBus}.
+ * <p>
+ * Vue réutilisée par l'abonnement qui draine le bus : ses champs ne sont
+ * valides que pendant l'appel du consommateur. Les champs sont typés
+ * (actif, second actif, sujet, valeur numérique) ; le texte lisible n'est
+ * construit qu'à la demande ({@link #describe()}), côté consommateur.
+ * </p>
+ */
+public final class SimEvent {
+
+    /**
+     * Nature d'un événement.
+     */
+    public enum Type {
+        /** Deux actifs trop proches ({@code other} = second actif). */
+        COLLISION_ALERT,
+        /** Deux actifs visant la même cible ({@code other} = second actif). */
+        TARGET_CONFLICT,
+        /** Manœuvre d'évitement temporaire engagée. */
+        AVOIDANCE,
+        /** Actif à l'intérieur d'un obstacle ({@code subject} = obstacle). */
+        OBSTACLE_COLLISION,
+        /** Zone interdite proche ({@code value} = distance au bord). */
+        ZONE_WARNING,
+        /** Actif bloqué par un mur de zone ({@code subject} = zone). */
+        ZONE_WALL,
+        /** Entrée en zone interdite, mission échouée ({@code subject} = zone). */
+        ZONE_VIOLATION,
+        /** Commande refusée : cible en zone interdite ({@code subject} = zone). */
+        TARGET_IN_ZONE,
+        /** Z de cible incompatible avec le type ({@code value} = Z demandé). */
+        INVALID_TARGET_Z,
+        /** Approche de la mer, altitude maintenue. */
+        SEA_APPROACH,
+        /** Plafond d'altitude atteint ({@code value} = Z demandé). */
+        ALTITUDE_LIMIT,
+        /** Profondeur maximale atteinte. */
+        DEPTH_LIMIT,
+        /** Batterie faible ou épuisée ({@code value} = charge en %). */
+        LOW_BATTERY,
+        /**
+         * Changement d'état de mission ({@code subject} = mission,
+         * {@code value} = ordinal du nouveau statut).
+         */
+        MISSION_STATE
+    }
+
+    private static final Mission.StatutMission[] STATUTS = Mission.StatutMission.values();
+
+    Type type;
+    long sequence;
+    long time;
+    ActifMobile asset;
+    ActifMobile other;
+    Object subject;
+    double value;
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return Numéro d'ordre de l'événement sur le bus.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return Heure de simulation (ms) de l'événement.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public ActifMobile getAsset() {
+        return asset;
+    }
+
+    public ActifMobile getOther() {
+        return other;
+    }
+
+    public Object getSubject() {
+        return subject;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Construit le message lisible de l'événement (alloue : à appeler hors
+     * boucle de simulation).
+     *
+     * @return Message d'alerte.
+     */
+    public String describe() {
+        String id = asset != null ? asset.getId() : "-";
+        switch (type) {
+            case COLLISION_ALERT:
+                return id + " <-> " + other.getId() + ": Trop Proche! (Avoidance Active)";
+            case TARGET_CONFLICT:
+                return id + " <-> " + other.getId() + ": MÊME CIBLE! SÉPARATION";
+            case AVOIDANCE:
+                return id + ": EVITEMENT TEMPORAIRE";
+            case OBSTACLE_COLLISION:
+                return id + ": COLLISION OBSTACLE!" + obstacleSuffix();
+            case ZONE_WARNING:
+                return id + ": Zone Interdite Proche (<" + (int) value + "m)" + zoneSuffix();
+            case ZONE_WALL:
+                return id + ": MUR ZONE (BLOQUÉ)" + zoneSuffix();
+            case ZONE_VIOLATION:
+                return id + ": VIOLATION ZONE (MISSION ÉCHOUÉE)" + zoneSuffix();
+            case TARGET_IN_ZONE:
+                return id + ": ZONE_VIOLATION: Cible dans zone interdite!" + zoneSuffix();
+            case INVALID_TARGET_Z:
+                return id + ": INVALID Z=" + value;
+            case SEA_APPROACH:
+                return id + ": ⚠️ APPROCHE MER! Maintien Altitude.";
+            case ALTITUDE_LIMIT:
+                return id + ": PLAFOND ATTEINT (150m)";
+            case DEPTH_LIMIT:
+                return id + ": ⚠️ PROFONDEUR LIMITE (-150m) ATTEINTE!";
+            case LOW_BATTERY:
+                return value <= 0 ? id + ": Batterie épuisée!"
+                        : id + ": Batterie faible (" + (int) value + "%) - Retour base";
+            case MISSION_STATE:
+                return "Mission " + ((Mission) subject).getTitre() + ": " + STATUTS[(int) value];
+            default:
+                return id + ": " + type;
+        }
+    }
+
+    private String zoneSuffix() {
+        return subject instanceof RestrictedZone ? " [" + ((RestrictedZone) subject).getId() + "]" : "";
+    }
+
+    private String obstacleSuffix() {
+        if (!(subject instanceof Obstacle)) {
+            return "";
+        }
+        Obstacle o = (Obstacle) subject;
+        return " (" + (int) o.getX() + ", " + (int) o.getY() + ")";
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + describe();
+    }
+}
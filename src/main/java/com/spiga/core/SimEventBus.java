@@ -0,0 +1,186 @@
+package com.spiga.core;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Flux d'événements typés de la simulation.
+ * <p>
+ * Remplace la consultation des chaînes {@code collisionWarning} (une seule
+ * valeur par actif, la dernière écriture l'emportait) : le moteur et les
+ * actifs publient chaque événement dans un tampon circulaire pré-alloué, en
+ * colonnes primitives (aucune allocation, aucune chaîne). Chaque consommateur
+ * (IUG, CLI, enregistreur) possède son propre {@link Subscription} et draine
+ * le flux par lots, à son rythme.
+ * </p>
+ * <p>
+ * La publication est sans verrou et peut venir des threads des phases
+ * parallèles. Le producteur n'attend jamais : un abonné en retard de plus
+ * d'une capacité saute les événements écrasés, qui sont comptés
+ * ({@link Subscription#getMissed()}).
+ * </p>
+ */
+public final class SimEventBus {
+
+    /** Capacité par défaut (événements conservés entre deux drainages). */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    private static final SimEvent.Type[] TYPES = SimEvent.Type.values();
+
+    private final int capacity;
+    private final int mask;
+    private final byte[] types;
+    private final long[] times;
+    private final ActifMobile[] assets;
+    private final ActifMobile[] others;
+    private final Object[] subjects;
+    private final double[] values;
+    // Séquence publiée par case (séquence + 1 ; 0 = écriture en cours)
+    private final AtomicLongArray published;
+    private final AtomicLong next = new AtomicLong();
+
+    /**
+     * Curseur de lecture d'un consommateur.
+     */
+    public static final class Subscription {
+        private long position;
+        private long missed;
+        private final SimEvent event = new SimEvent();
+
+        private Subscription(long position) {
+            this.position = position;
+        }
+
+        /**
+         * @return Nombre d'événements écrasés avant d'avoir été lus.
+         */
+        public long getMissed() {
+            return missed;
+        }
+
+        /**
+         * @return Séquence du prochain événement à lire.
+         */
+        public long getPosition() {
+            return position;
+        }
+    }
+
+    /**
+     * Crée un bus.
+     *
+     * @param capacity Nombre d'événements conservés (arrondi à la puissance de
+     *                 2 supérieure).
+     */
+    public SimEventBus(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.types = new byte[size];
+        this.times = new long[size];
+        this.assets = new ActifMobile[size];
+        this.others = new ActifMobile[size];
+        this.subjects = new Object[size];
+        this.values = new double[size];
+        this.published = new AtomicLongArray(size);
+    }
+
+    /**
+     * Publie un événement (sans allocation, ne bloque jamais).
+     *
+     * @param type    Nature de l'événement.
+     * @param asset   Actif concerné (ou {@code null}).
+     * @param other   Second actif (ou {@code null}).
+     * @param subject Zone, obstacle ou mission concernée (ou {@code null}).
+     * @param value   Valeur numérique associée.
+     * @param time    Heure de simulation (ms).
+     */
+    public void publish(SimEvent.Type type, ActifMobile asset, ActifMobile other, Object subject, double value,
+            long time) {
+        long seq = next.getAndIncrement();
+        int i = (int) (seq & mask);
+        published.set(i, 0);
+        types[i] = (byte) type.ordinal();
+        times[i] = time;
+        assets[i] = asset;
+        others[i] = other;
+        subjects[i] = subject;
+        values[i] = value;
+        published.set(i, seq + 1);
+    }
+
+    /**
+     * Ouvre un abonnement positionné après le dernier événement publié.
+     *
+     * @return Nouveau curseur.
+     */
+    public Subscription subscribe() {
+        return new Subscription(next.get());
+    }
+
+    /**
+     * Livre au consommateur les événements publiés depuis le dernier
+     * drainage de l'abonnement, dans l'ordre de publication.
+     *
+     * @param subscription Curseur du consommateur.
+     * @param consumer     Reçoit une vue réutilisée de chaque événement.
+     * @return Nombre d'événements livrés.
+     */
+    public int drain(Subscription subscription, Consumer<SimEvent> consumer) {
+        SimEvent e = subscription.event;
+        int delivered = 0;
+        while (true) {
+            long seq = subscription.position;
+            long head = next.get();
+            if (seq >= head) {
+                break;
+            }
+            if (head - seq > capacity) {
+                subscription.missed += head - capacity - seq; // Écrasés
+                subscription.position = head - capacity;
+                continue;
+            }
+            int i = (int) (seq & mask);
+            long stamp = published.get(i);
+            if (stamp == 0 || stamp < seq + 1) {
+                break; // Publication en cours : repris au prochain drainage
+            }
+            if (stamp == seq + 1) {
+                e.type = TYPES[types[i]];
+                e.time = times[i];
+                e.asset = assets[i];
+                e.other = others[i];
+                e.subject = subjects[i];
+                e.value = values[i];
+                VarHandle.acquireFence();
+                if (published.get(i) == stamp) {
+                    e.sequence = seq;
+                    subscription.position = seq + 1;
+                    consumer.accept(e);
+                    delivered++;
+                    continue;
+                }
+            }
+            // Case réécrite pendant la lecture : l'événement est perdu
+            subscription.missed++;
+            subscription.position = seq + 1;
+        }
+        e.asset = null;
+        e.other = null;
+        e.subject = null;
+        return delivered;
+    }
+
+    /**
+     * @return Nombre total d'événements publiés.
+     */
+    public long getPublishedCount() {
+        return next.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
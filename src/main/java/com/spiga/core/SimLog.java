@@ -0,0 +1,385 @@
+package com.spiga.core;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Journal asynchrone des chemins chauds de la simulation.
+ * <p>
+ * Les commandes, missions, alertes et communications produisent des messages
+ * à chaque pas ou à chaque ordre ; avec des milliers d'actifs, l'écriture
+ * console synchrone dominait le temps de calcul. Ici, l'appelant ne fait que
+ * déposer une entrée structurée (catégorie, gabarit, arguments) dans une file
+ * bornée sans verrou ; le formatage ({@code {}} remplacés par les arguments)
+ * et l'écriture sont faits par un thread démon dédié.
+ * </p>
+ * <p>
+ * Chaque catégorie a un débit maximal par seconde : au-delà, les messages
+ * sont comptés puis résumés en une ligne. Si la file est pleine, le message
+ * est perdu (compté) plutôt que de bloquer la simulation. Le journal se coupe
+ * entièrement via {@link #setEnabled(boolean)} ou la propriété système
+ * {@code spiga.log=off} (mesures de performance).
+ * </p>
+ */
+public final class SimLog {
+
+    /**
+     * Catégorie d'un message (unité de limitation de débit).
+     */
+    public enum Category {
+        /** Validation des commandes de déplacement. */
+        COMMAND,
+        /** Cycle de vie des missions. */
+        MISSION,
+        /** Répartition des missions par le centre de communication. */
+        COMM,
+        /** Alertes de proximité entre actifs. */
+        COLLISION,
+        /** Zones interdites et contournements. */
+        ZONE,
+        /** Événements d'actif (démarrage, recharge, alertes). */
+        ASSET
+    }
+
+    /** Capacité par défaut de la file. */
+    public static final int DEFAULT_CAPACITY = 8192;
+    /** Débit maximal par défaut d'une catégorie (messages par seconde). */
+    public static final int DEFAULT_RATE_LIMIT = 200;
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+    private static final long IDLE_PARK_NANOS = 2_000_000L;
+    private static final int CATEGORIES = Category.values().length;
+
+    private static final SimLog GLOBAL = new SimLog(DEFAULT_CAPACITY, null);
+
+    static {
+        if ("off".equalsIgnoreCase(System.getProperty("spiga.log"))) {
+            GLOBAL.enabled = false;
+        }
+    }
+
+    /**
+     * Case pré-allouée de la file (réutilisée : aucune allocation par message
+     * hormis les arguments).
+     */
+    private static final class Entry {
+        String template;
+        Object a0;
+        Object a1;
+        Object a2;
+    }
+
+    // File bornée multi-producteurs / consommateur unique (séquences par case)
+    private final Entry[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head = 0;
+
+    private final AtomicIntegerArray rateLimits = new AtomicIntegerArray(CATEGORIES);
+    private final AtomicLongArray windowStart = new AtomicLongArray(CATEGORIES);
+    private final AtomicIntegerArray windowCount = new AtomicIntegerArray(CATEGORIES);
+    private final AtomicIntegerArray suppressed = new AtomicIntegerArray(CATEGORIES);
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final PrintStream fixedOut;
+    private volatile boolean enabled = true;
+    private volatile Thread writer;
+
+    /**
+     * Crée un journal indépendant.
+     *
+     * @param capacity Capacité de la file (arrondie à la puissance de 2
+     *                 supérieure).
+     * @param out      Flux de sortie ({@code null} = {@code System.out} courant).
+     */
+    public SimLog(int capacity, PrintStream out) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.entries = new Entry[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            entries[i] = new Entry();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.fixedOut = out;
+        long now = System.nanoTime();
+        for (int c = 0; c < CATEGORIES; c++) {
+            rateLimits.set(c, DEFAULT_RATE_LIMIT);
+            windowStart.set(c, now);
+        }
+    }
+
+    // --- Façade statique (journal global) ---
+
+    /**
+     * Journalise un message sans argument.
+     *
+     * @param category Catégorie.
+     * @param message  Message.
+     */
+    public static void log(Category category, String message) {
+        GLOBAL.publish(category, message, null, null, null);
+    }
+
+    /**
+     * Journalise un message à un argument (formaté par le thread d'écriture).
+     *
+     * @param category Catégorie.
+     * @param template Gabarit contenant des {@code {}}.
+     * @param a0       Argument.
+     */
+    public static void log(Category category, String template, Object a0) {
+        GLOBAL.publish(category, template, a0, null, null);
+    }
+
+    /**
+     * Journalise un message à deux arguments.
+     *
+     * @param category Catégorie.
+     * @param template Gabarit contenant des {@code {}}.
+     * @param a0       Premier argument.
+     * @param a1       Deuxième argument.
+     */
+    public static void log(Category category, String template, Object a0, Object a1) {
+        GLOBAL.publish(category, template, a0, a1, null);
+    }
+
+    /**
+     * Journalise un message à trois arguments.
+     *
+     * @param category Catégorie.
+     * @param template Gabarit contenant des {@code {}}.
+     * @param a0       Premier argument.
+     * @param a1       Deuxième argument.
+     * @param a2       Troisième argument.
+     */
+    public static void log(Category category, String template, Object a0, Object a1, Object a2) {
+        GLOBAL.publish(category, template, a0, a1, a2);
+    }
+
+    /**
+     * Retourne le journal global.
+     *
+     * @return Journal utilisé par la façade statique.
+     */
+    public static SimLog global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Active ou coupe entièrement le journal global.
+     *
+     * @param on Vrai pour journaliser.
+     */
+    public static void setEnabled(boolean on) {
+        GLOBAL.enabled = on;
+    }
+
+    /**
+     * Vrai si le journal global est actif (permet d'éviter le calcul
+     * d'arguments coûteux).
+     *
+     * @return État du journal global.
+     */
+    public static boolean isEnabled() {
+        return GLOBAL.enabled;
+    }
+
+    /**
+     * Attend que le journal global ait écrit les messages déjà déposés.
+     */
+    public static void flush() {
+        GLOBAL.drain();
+    }
+
+    // --- Journal d'instance ---
+
+    /**
+     * Dépose un message dans la file (ne bloque jamais).
+     *
+     * @param category Catégorie.
+     * @param template Gabarit contenant jusqu'à trois {@code {}}.
+     * @param a0       Premier argument (ou {@code null}).
+     * @param a1       Deuxième argument (ou {@code null}).
+     * @param a2       Troisième argument (ou {@code null}).
+     */
+    public void publish(Category category, String template, Object a0, Object a1, Object a2) {
+        if (!enabled) {
+            return;
+        }
+        int c = category.ordinal();
+        long now = System.nanoTime();
+        long start = windowStart.get(c);
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(c, start, now)) {
+            windowCount.set(c, 0);
+            int skipped = suppressed.getAndSet(c, 0);
+            if (skipped > 0) {
+                offer("{} message(s) {} non journalisé(s) (limite de débit)", skipped, category, null);
+            }
+        }
+        if (windowCount.incrementAndGet(c) > rateLimits.get(c)) {
+            suppressed.incrementAndGet(c);
+            return;
+        }
+        offer(template, a0, a1, a2);
+    }
+
+    private void offer(String template, Object a0, Object a1, Object a2) {
+        long pos = tail.get();
+        int index;
+        while (true) {
+            index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                dropped.incrementAndGet(); // File pleine
+                return;
+            } else {
+                pos = tail.get();
+            }
+        }
+        Entry e = entries[index];
+        e.template = template;
+        e.a0 = a0;
+        e.a1 = a1;
+        e.a2 = a2;
+        sequences.set(index, pos + 1);
+        ensureWriter();
+    }
+
+    private void ensureWriter() {
+        if (writer == null) {
+            synchronized (this) {
+                if (writer == null) {
+                    Thread t = new Thread(this::writeLoop, "spiga-log");
+                    t.setDaemon(true);
+                    t.start();
+                    writer = t;
+                }
+            }
+        }
+    }
+
+    private void writeLoop() {
+        StringBuilder sb = new StringBuilder(128);
+        while (true) {
+            if (!writeAvailable(sb)) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Écrit toutes les entrées publiées (thread d'écriture uniquement).
+     *
+     * @return Vrai si au moins une ligne a été écrite.
+     */
+    private boolean writeAvailable(StringBuilder sb) {
+        PrintStream out = fixedOut != null ? fixedOut : System.out;
+        boolean wrote = false;
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            out.println(lost + " message(s) perdu(s) (file de journal pleine)");
+            wrote = true;
+        }
+        long h = head;
+        while (true) {
+            int index = (int) (h & mask);
+            if (sequences.get(index) != h + 1) {
+                break;
+            }
+            Entry e = entries[index];
+            sb.setLength(0);
+            format(sb, e.template, e.a0, e.a1, e.a2);
+            e.template = null;
+            e.a0 = null;
+            e.a1 = null;
+            e.a2 = null;
+            sequences.set(index, h + mask + 1);
+            out.println(sb);
+            head = ++h;
+            wrote = true;
+        }
+        return wrote;
+    }
+
+    /**
+     * Attend que les messages déposés avant l'appel soient écrits.
+     */
+    public void drain() {
+        long target = tail.get();
+        while (head < target && writer != null) {
+            LockSupport.parkNanos(100_000L);
+        }
+        PrintStream out = fixedOut != null ? fixedOut : System.out;
+        out.flush();
+    }
+
+    /**
+     * Remplace les {@code {}} du gabarit par les arguments, dans l'ordre.
+     *
+     * @param sb       Tampon de sortie.
+     * @param template Gabarit.
+     * @param a0       Premier argument.
+     * @param a1       Deuxième argument.
+     * @param a2       Troisième argument.
+     */
+    static void format(StringBuilder sb, String template, Object a0, Object a1, Object a2) {
+        int arg = 0;
+        int from = 0;
+        int at;
+        while (arg < 3 && (at = template.indexOf("{}", from)) >= 0) {
+            sb.append(template, from, at);
+            sb.append(arg == 0 ? a0 : arg == 1 ? a1 : a2);
+            arg++;
+            from = at + 2;
+        }
+        sb.append(template, from, template.length());
+    }
+
+    /**
+     * Fixe le débit maximal d'une catégorie (0 = catégorie muette).
+     *
+     * @param category  Catégorie.
+     * @param perSecond Messages par seconde.
+     */
+    public void setRateLimit(Category category, int perSecond) {
+        rateLimits.set(category.ordinal(), perSecond);
+    }
+
+    public int getRateLimit(Category category) {
+        return rateLimits.get(category.ordinal());
+    }
+
+    /**
+     * Active ou coupe ce journal.
+     *
+     * @param on Vrai pour journaliser.
+     */
+    public void setActive(boolean on) {
+        this.enabled = on;
+    }
+
+    public boolean isActive() {
+        return enabled;
+    }
+
+    /**
+     * Nombre de messages écartés par la limite de débit depuis le dernier
+     * résumé de la catégorie.
+     *
+     * @param category Catégorie.
+     * @return Messages supprimés.
+     */
+    public int getSuppressed(Category category) {
+        return suppressed.get(category.ordinal());
+    }
+}
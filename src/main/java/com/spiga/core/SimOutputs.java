@@ -0,0 +1,151 @@
+package com.spiga.core;
+
+import com.spiga.management.MissionJournal;
+import com.spiga.management.MissionRegistry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Branchement des sorties fichier d'un moteur : journal des missions,
+ * enregistrement des trajectoires et export de télémétrie.
+ * <p>
+ * Un {@link SimulationEngine} n'ouvre aucun fichier de lui-même : les points
+ * d'entrée interactifs ({@link SimulationService}, CLI) appellent
+ * {@link #attachConfigured(SimulationEngine)} pour brancher les sorties
+ * demandées par {@link SimConfig}, un moteur headless (tests, Monte Carlo)
+ * reste sans sortie. Une sortie inutilisable est signalée et ignorée : la
+ * simulation continue sans elle.
+ * </p>
+ */
+public final class SimOutputs {
+
+    private static final Logger logger = Logger.getLogger(SimOutputs.class.getName());
+
+    private SimOutputs() {
+    }
+
+    /**
+     * Branche les sorties activées par la configuration
+     * ({@code spiga.journal}, {@code spiga.trajectory},
+     * {@code spiga.telemetry}).
+     *
+     * @param engine Le moteur.
+     */
+    public static void attachConfigured(SimulationEngine engine) {
+        if (SimConfig.MISSION_JOURNAL != null) {
+            attachJournal(engine, Paths.get(SimConfig.MISSION_JOURNAL));
+        }
+        if (SimConfig.TRAJECTORY_FILE != null) {
+            attachTrajectory(engine, Paths.get(SimConfig.TRAJECTORY_FILE));
+        }
+        if (SimConfig.TELEMETRY_FILE != null) {
+            attachTelemetry(engine, Paths.get(SimConfig.TELEMETRY_FILE));
+        }
+    }
+
+    /**
+     * Ouvre le journal des exécutions de missions du moteur.
+     *
+     * @return {@code true} si le journal est branché.
+     */
+    public static boolean attachJournal(SimulationEngine engine, Path path) {
+        try {
+            engine.getMissions().setJournal(MissionJournal.open(path));
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Ouverture du journal impossible: " + path, e);
+            return false;
+        }
+    }
+
+    /**
+     * Ouvre l'enregistrement des trajectoires du moteur.
+     *
+     * @return {@code true} si l'enregistrement est branché.
+     */
+    public static boolean attachTrajectory(SimulationEngine engine, Path path) {
+        try {
+            engine.setTrajectoryRecorder(TrajectoryRecorder.open(path));
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Ouverture des trajectoires impossible: " + path, e);
+            return false;
+        }
+    }
+
+    /**
+     * Ouvre l'export de télémétrie du moteur.
+     *
+     * @return {@code true} si l'export est branché.
+     */
+    public static boolean attachTelemetry(SimulationEngine engine, Path path) {
+        try {
+            engine.setTelemetryExporter(TelemetryExporter.open(path));
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Ouverture de la télémétrie impossible: " + path, e);
+            return false;
+        }
+    }
+
+    /**
+     * Débranche et ferme toutes les sorties du moteur.
+     *
+     * @param engine Le moteur.
+     */
+    public static void detachAll(SimulationEngine engine) {
+        MissionRegistry missions = engine.getMissions();
+        MissionJournal journal = missions.getJournal();
+        if (journal != null) {
+            missions.setJournal(null);
+            try {
+                journal.close();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Fermeture du journal impossible", e);
+            }
+        }
+        detachTrajectory(engine);
+        detachTelemetry(engine);
+    }
+
+    /**
+     * Débranche et ferme l'enregistrement des trajectoires du moteur.
+     *
+     * @param engine Le moteur.
+     */
+    public static void detachTrajectory(SimulationEngine engine) {
+        TrajectoryRecorder recorder = engine.getTrajectoryRecorder();
+        if (recorder != null) {
+            engine.setTrajectoryRecorder(null);
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Fermeture des trajectoires impossible", e);
+            }
+        }
+    }
+
+    /**
+     * Débranche et ferme l'export de télémétrie du moteur.
+     *
+     * @param engine Le moteur.
+     */
+    public static void detachTelemetry(SimulationEngine engine) {
+        TelemetryExporter exporter = engine.getTelemetryExporter();
+        if (exporter != null) {
+            engine.setTelemetryExporter(null);
+            try {
+                exporter.close();
+                if (exporter.getDroppedRows() > 0) {
+                    logger.warning("Télémétrie : " + exporter.getDroppedRows() + " lignes abandonnées");
+                }
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Export de télémétrie interrompu", e);
+            }
+        }
+    }
+}
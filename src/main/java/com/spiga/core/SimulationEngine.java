@@ -0,0 +1,1101 @@
+package com.spiga.core;
+
+import com.spiga.environment.Obstacle;
+import com.spiga.environment.RestrictedZone;
+import com.spiga.environment.Weather;
+import com.spiga.management.Communication;
+import com.spiga.management.MissionRegistry;
+import com.spiga.management.GestionnaireEssaim;
+
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Moteur de Simulation headless (Le Cerveau central).
+ * <p>
+ * Cette classe orchestre l'ensemble de la simulation par pas de temps fixe,
+ * sans aucune dépendance à JavaFX. Elle peut être pilotée par l'interface
+ * graphique (via {@link SimulationService}), par la console ou par un lot de
+ * simulations qui avance aussi vite que le CPU le permet.
+ * </p>
+ * <p>
+ * <strong>Responsabilités Principales :</strong>
+ * <ul>
+ * <li>Avancement du temps simulé par pas fixe ({@link #FIXED_STEP}).</li>
+ * <li>Mise à jour de la physique et de l'état de chaque
+ * {@link ActifMobile}.</li>
+ * <li>Gestion des interactions avec l'environnement (Obstacles, Météo, Zones
+ * Interdites).</li>
+ * <li>Déconfliction et anti-collision de l'essaim (Swarm Intelligence).</li>
+ * </ul>
+ * </p>
+ * 
+ * @see SimulationService
+ * @see GestionnaireEssaim
+ * @see Communication
+ */
+public class SimulationEngine {
+    private static final Logger logger = Logger.getLogger(SimulationEngine.class.getName());
+
+    /** Fréquence de la boucle physique (pas par seconde simulée). */
+    public static final double TARGET_FPS = 60.0;
+    /** Durée d'un pas de simulation en secondes. */
+    public static final double FIXED_STEP = 1.0 / TARGET_FPS;
+
+    // --- COMPOSITION : Mes composants ---
+
+    /** Gestionnaire de la flotte d'actifs. */
+    private GestionnaireEssaim gestionnaire;
+    /** Missions en cours (mises à jour à chaque pas). */
+    private final MissionRegistry missions = new MissionRegistry();
+    /** Gestionnaire des communications et dispatch de missions. */
+    private Communication communication;
+
+    // Utilisation de Collections (List) pour gérer dynamiquement des groupes
+    // d'objets
+
+    /** Liste des obstacles physiques (Iles, Montagnes, Récifs). */
+    private List<Obstacle> obstacles;
+    /** Index spatial des obstacles, reconstruit quand la liste change. */
+    private final ObstacleBVH obstacleIndex = new ObstacleBVH();
+    /** Vrai si la liste des obstacles a changé depuis la dernière indexation. */
+    private boolean obstacleIndexDirty = true;
+    /** État de requête des index (obstacles, zones), un par thread de phase. */
+    private final ThreadLocal<CircleBVH.Cursor> queryCursor = ThreadLocal.withInitial(CircleBVH.Cursor::new);
+    /** Liste des zones d'exclusion aérienne/maritime. */
+    private ZoneIndex restrictedZones;
+    /** Flux des événements typés (alertes, zones, batterie, missions). */
+    private final SimEventBus events = new SimEventBus(SimEventBus.DEFAULT_CAPACITY);
+    /** Images de la flotte publiées à la fin de chaque pas (lecteurs IUG/CLI). */
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    /** Enregistrement des trajectoires de la flotte (ou {@code null}). */
+    private TrajectoryRecorder trajectory;
+    /** Export en colonnes de l'état de la flotte (ou {@code null}). */
+    private TelemetryExporter telemetry;
+    /** Objet représentant les conditions météorologiques globales. */
+    private Weather weather;
+
+    /** Nombre de pas exécutés depuis la création du moteur. */
+    private long stepCount = 0;
+
+    /**
+     * Horloge de simulation : avance de {@link #FIXED_STEP} à chaque pas. Tous
+     * les minuteurs (évitement, cooldowns, missions) la lisent.
+     */
+    private final SimClock clock = new SimClock();
+
+    // SWARM AVOIDANCE STATE
+    /** Cooldown (ms) entre deux alertes de proximité d'une même paire. */
+    private static final long COLLISION_ALERT_COOLDOWN = 2000;
+    /** Cooldown (ms) entre deux séparations de cibles d'une même paire. */
+    private static final long TARGET_ALERT_COOLDOWN = 10000;
+
+    /**
+     * Mémorise les temps de dernière alerte de proximité par paire d'actifs
+     * pour éviter le spam de logs (entrées expirées purgées).
+     */
+    private final PairCooldownTable collisionCooldowns = new PairCooldownTable(COLLISION_ALERT_COOLDOWN);
+    /** Idem pour les séparations de cibles identiques. */
+    private final PairCooldownTable targetCooldowns = new PairCooldownTable(TARGET_ALERT_COOLDOWN);
+    /** Période (en pas) de purge des cooldowns expirés (10 s simulées). */
+    private static final long COOLDOWN_EVICTION_STEPS = 600;
+
+    private static final byte NORMAL = (byte) ActifMobile.NavigationMode.NORMAL.ordinal();
+    private static final byte AVOIDING = (byte) ActifMobile.NavigationMode.AVOIDING.ordinal();
+
+    /** Distance (XY) sous laquelle deux cibles sont considérées identiques. */
+    private static final double TARGET_CONFLICT_DISTANCE = 2.0;
+
+    // BROAD PHASE : grilles de hachage spatial réutilisées à chaque pas
+    /** Positions 3D des actifs actifs (cellule = seuil de collision). */
+    private final SpatialHash positionHash = new SpatialHash(SimConfig.COLLISION_THRESHOLD);
+    /** Cibles XY des actifs actifs (cellule = distance de conflit de cible). */
+    private final SpatialHash targetHash = new SpatialHash(TARGET_CONFLICT_DISTANCE);
+
+    // PHASES PARALLÈLES (obstacles, zones, mise à jour des actifs)
+    /** Nombre de threads des phases par actif (1 = séquentiel). */
+    private int parallelism = SimConfig.PARALLEL_THREADS;
+    /** Taille de flotte en dessous de laquelle les phases restent séquentielles. */
+    private int parallelThreshold = SimConfig.PARALLEL_MIN_FLEET_SIZE;
+    private PhaseExecutor phases;
+    /** Groupes d'actifs reliés par une mission (recalculés à chaque pas parallèle). */
+    private final MissionGroups missionGroups = new MissionGroups();
+    /** Vrai pendant un pas exécuté en mode parallèle. */
+    private boolean parallelStep = false;
+
+    /**
+     * Constructeur : Initialisation du moteur.
+     * <p>
+     * Instanciation des listes et configuration de l'environnement initial.
+     * Partage les zones connues avec les actifs statiques pour l'IA distribuée.
+     * </p>
+     * 
+     * @param gestionnaire Le gestionnaire d'essaim injecté.
+     */
+    public SimulationEngine(GestionnaireEssaim gestionnaire) {
+        this.gestionnaire = gestionnaire;
+        this.gestionnaire.setClock(clock);
+        this.communication = new Communication(gestionnaire);
+        this.gestionnaire.setMissions(missions);
+
+        // Allocation mémoire (Heap) pour les listes
+        this.obstacles = new ObstacleList();
+        this.restrictedZones = new ZoneIndex();
+        this.gestionnaire.setZones(restrictedZones);
+        this.gestionnaire.setEvents(events);
+
+        // Création de l'objet Météo initial
+        this.weather = new Weather(10, 0, 0);
+
+        initializeObstacles();
+        initializeRestrictedZones();
+
+        // Share Zones with Static Assets (actifs hors moteur ; la flotte du
+        // moteur consulte directement restrictedZones). Verrouillé : plusieurs
+        // moteurs peuvent être construits en parallèle (MonteCarloRunner).
+        synchronized (ActifMobile.KNOWN_ZONES) {
+            ActifMobile.KNOWN_ZONES.clear();
+            ActifMobile.KNOWN_ZONES.addAll(restrictedZones);
+        }
+    }
+
+    /**
+     * Exécute un unique pas de simulation ({@link #FIXED_STEP}).
+     */
+    public void step() {
+        updateSimulation(FIXED_STEP);
+        clock.advance(FIXED_STEP);
+        stepCount++;
+        snapshots.publish(gestionnaire.getStore(), stepCount, getSimTime());
+        if (trajectory != null) {
+            recordTrajectory();
+        }
+        if (telemetry != null) {
+            telemetry.append(gestionnaire.getStore(), stepCount);
+        }
+
+        if (stepCount % COOLDOWN_EVICTION_STEPS == 0) {
+            long now = clock.currentTimeMillis();
+            collisionCooldowns.evictExpired(now);
+            targetCooldowns.evictExpired(now);
+        }
+    }
+
+    /**
+     * Exécute plusieurs pas de simulation consécutifs, sans aucune attente.
+     * 
+     * @param n Nombre de pas à exécuter.
+     */
+    public void step(long n) {
+        for (long i = 0; i < n; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Avance la simulation jusqu'à atteindre le temps simulé demandé.
+     * <p>
+     * Ne fait rien si ce temps est déjà atteint.
+     * </p>
+     * 
+     * @param simTime Temps simulé cible en secondes.
+     */
+    public void runUntil(double simTime) {
+        long targetSteps = (long) Math.ceil(simTime / FIXED_STEP - 1e-9);
+        if (targetSteps > stepCount) {
+            step(targetSteps - stepCount);
+        }
+    }
+
+    /**
+     * Retourne le temps simulé écoulé.
+     * 
+     * @return Temps en secondes ({@code stepCount * FIXED_STEP}).
+     */
+    public double getSimTime() {
+        return stepCount * FIXED_STEP;
+    }
+
+    /**
+     * Retourne le nombre de pas exécutés.
+     * 
+     * @return Nombre de pas.
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Retourne l'horloge de simulation du moteur.
+     * 
+     * @return L'horloge partagée par la flotte et les missions.
+     */
+    public SimClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Initialise les obstacles statiques de la carte.
+     * Place des obstacles variés (Air, Surface, Sous-marin) pour tester les
+     * différents véhicules.
+     */
+    private void initializeObstacles() {
+        // --- 6 WELL-SEPARATED OBSTACLES ---
+        // World is 2000x2000, obstacles spread across corners and center
+
+        // 1. SURFACE OBSTACLES (Z=0) - Islands
+        obstacles.add(new Obstacle(300, 300, 0, 50)); // Island NW corner
+        obstacles.add(new Obstacle(1700, 1600, 0, 40)); // Island SE corner
+
+        // 2. UNDERWATER OBSTACLES (Z<0) - Reefs
+        obstacles.add(new Obstacle(1500, 400, -60, 35)); // Reef NE area
+        obstacles.add(new Obstacle(400, 1500, -40, 30)); // Reef SW area
+
+        // 3. AERIAL OBSTACLES (Z>0) - Mountains/Hazards
+        obstacles.add(new Obstacle(1000, 1000, 80, 70)); // Central Mountain
+        obstacles.add(new Obstacle(1600, 300, 50, 30)); // Floating Hazard NE
+    }
+
+    /**
+     * Initialise les zones de restriction.
+     */
+    private void initializeRestrictedZones() {
+        // "Black Zone" - Military Base or similar
+        // MOVED to Border (1800, 500)
+        // Radius: 150m
+        // Height: 0 to 120m
+        restrictedZones.add(new RestrictedZone("Zone Interdite 01", 1800, 500, 150, 0, 120));
+    }
+
+    public List<RestrictedZone> getRestrictedZones() {
+        return restrictedZones;
+    }
+
+    /**
+     * Retourne le flux d'événements de la simulation ; chaque consommateur
+     * s'y abonne ({@link SimEventBus#subscribe()}) puis le draine par lots.
+     *
+     * @return Le bus d'événements.
+     */
+    public SimEventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * Retourne les images de la flotte publiées à la fin de chaque pas.
+     *
+     * @return Le tampon d'images ({@link SnapshotBuffer#acquire()}).
+     */
+    public SnapshotBuffer getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Republie l'image de la flotte sans avancer la simulation (actifs
+     * ajoutés ou retirés entre deux pas). À appeler depuis le thread de
+     * simulation.
+     */
+    public void publishSnapshot() {
+        snapshots.publish(gestionnaire.getStore(), stepCount, getSimTime());
+    }
+
+    /**
+     * Enregistre désormais les trajectoires de la flotte à chaque pas (le
+     * précédent enregistreur, s'il y en a un, n'est pas fermé).
+     *
+     * @param recorder Enregistreur, ou {@code null} pour arrêter.
+     */
+    public void setTrajectoryRecorder(TrajectoryRecorder recorder) {
+        this.trajectory = recorder;
+    }
+
+    public TrajectoryRecorder getTrajectoryRecorder() {
+        return trajectory;
+    }
+
+    /**
+     * Exporte désormais l'état de la flotte à la fin de chaque pas (le
+     * précédent export, s'il y en a un, n'est pas fermé).
+     *
+     * @param exporter Export, ou {@code null} pour arrêter.
+     */
+    public void setTelemetryExporter(TelemetryExporter exporter) {
+        this.telemetry = exporter;
+    }
+
+    public TelemetryExporter getTelemetryExporter() {
+        return telemetry;
+    }
+
+    /**
+     * Ajoute le pas courant aux trajectoires ; une erreur d'écriture arrête
+     * l'enregistrement sans interrompre la simulation.
+     */
+    private void recordTrajectory() {
+        try {
+            trajectory.record(gestionnaire.getStore(), stepCount);
+        } catch (UncheckedIOException e) {
+            logger.log(Level.SEVERE, "Enregistrement des trajectoires interrompu", e);
+            SimOutputs.detachTrajectory(this);
+        }
+    }
+
+    /**
+     * Met à jour logique de la simulation d'un pas de temps.
+     * <p>
+     * Séquence d'exécution :
+     * <ol>
+     * <li>Détection environnementale (Obstacles, Zones, Conflits de cibles).</li>
+     * <li>Mise à jour physique des actifs (Mouvement, Energie).</li>
+     * <li>Détection de collisions "post-move" (Sécurité).</li>
+     * <li>Contraintes de monde (Limites de carte).</li>
+     * <li>Logique métier des Missions.</li>
+     * </ol>
+     * </p>
+     * 
+     * @param dt Delta temps en secondes.
+     */
+    private void updateSimulation(double dt) {
+        // Les lecteurs (IUG, CLI) lisent les images publiées et non la flotte
+        // vivante : le pas parcourt la liste directement, sans copie.
+        List<ActifMobile> fleet = gestionnaire.getFlotte();
+
+        // 1. RESET PHASE (Prepare for new frame)
+        // Horloge, zones, événements et missions sont rattachés une fois, à
+        // l'inscription dans la flotte (GestionnaireEssaim.bind)
+        FleetStore store = gestionnaire.getStore();
+        Arrays.fill(store.speedModifier, 0, store.size(), 1.0);
+
+        parallelStep = parallelism > 1 && store.size() >= parallelThreshold;
+        if (parallelStep) {
+            // Les phases 2 et 3 ne modifient pas les liens actif/mission hors
+            // d'un même groupe : la partition reste valide pour tout le pas.
+            missionGroups.build(store);
+        }
+
+        // 2. ENVIRONMENT & CONSTRAINTS CHECK (Before Movement)
+        // Check obstacles FIRST so they can reduce speed BEFORE update() moves the
+        // asset.
+        checkObstacles(store);
+        checkRestrictedZones(store);
+        checkTargetConflicts(fleet); // Swarm Deconfliction
+
+        // 3. MOVEMENT & LOGIC UPDATE
+        updateAllAssets(store, dt);
+
+        // 4. REACTIVE CHECKS (After Movement)
+        // Collisions must be checked after move to see if we hit something despite
+        // precautions
+        checkCollisions(fleet);
+        checkBoundaries(fleet);
+
+        // 5. MISSION LOGIC
+        checkMissions();
+
+        // Handle Mission Dispatching
+        communication.setExecutor(parallelStep ? phases() : null);
+        communication.handleMissions();
+    }
+
+    /**
+     * Détecte et résout les conflits de cibles au sein de l'essaim.
+     * <p>
+     * Si deux drones ont la même destination, ils risquent de se percuter à
+     * l'arrivée.
+     * Cette méthode décale préventivement leurs cibles finales (Offset).
+     * </p>
+     * <p>
+     * Les cibles sont indexées dans un {@link SpatialHash} ; l'index est mis
+     * à jour dès qu'une séparation déplace une cible, pour rester identique à
+     * la double boucle d'origine.
+     * </p>
+     * 
+     * @param fleet Liste des actifs.
+     */
+    private void checkTargetConflicts(List<ActifMobile> fleet) {
+        long now = clock.currentTimeMillis();
+        double collisionDist = TARGET_CONFLICT_DISTANCE; // Targets considered "same" if within 2m
+        // double influenceDist = 300.0; // Unused
+        double separationDist = 100.0; // Total separation requested
+        double offset = separationDist / 2.0; // +/- 50m
+
+        // Broad phase : index des cibles (XY) des actifs en service
+        targetHash.clear(fleet.size());
+        for (int i = 0; i < fleet.size(); i++) {
+            ActifMobile a = fleet.get(i);
+            if (!isGrounded(a)) {
+                targetHash.insert(i, a.getTargetX(), a.getTargetY(), 0);
+            }
+        }
+
+        for (int i = 0; i < fleet.size(); i++) {
+            ActifMobile a1 = fleet.get(i);
+            if (isGrounded(a1))
+                continue;
+
+            // Candidats j > i, dans l'ordre croissant (comme la double boucle)
+            int lastJ = i;
+            int count = targetHash.queryAbove(a1.getTargetX(), a1.getTargetY(), 0, lastJ);
+            for (int k = 0; k < count; k++) {
+                int j = targetHash.result(k);
+                lastJ = j;
+                ActifMobile a2 = fleet.get(j);
+                if (isGrounded(a2))
+                    continue;
+
+                // 1. Check if they have the SAME TARGET (approx)
+                double dTx = a1.getTargetX() - a2.getTargetX();
+                double dTy = a1.getTargetY() - a2.getTargetY();
+                double targetDist = Math.sqrt(dTx * dTx + dTy * dTy);
+
+                if (targetDist < collisionDist) {
+                    // 2. Check Relevance (are they active/moving?)
+                    // Simplified: if they are both moving to target
+                    if (targetCooldowns.tryAcquire(a1, a2, now)) {
+                        // 3. APPLY SEPARATION
+                        // Calculate separation vector based on current positions
+                        double dx = a1.getX() - a2.getX();
+                        double dy = a1.getY() - a2.getY();
+                        double distCurrent = Math.sqrt(dx * dx + dy * dy);
+
+                        double nx, ny;
+                        if (distCurrent < 0.1) {
+                            nx = 1.0;
+                            ny = 0.0; // Arbitrary X split if stacked
+                        } else {
+                            nx = dx / distCurrent;
+                            ny = dy / distCurrent;
+                        }
+
+                        // A. Trigger Visual/Log Alert
+                        a1.setCollisionWarning("MÊME CIBLE! SÉPARATION (+50m)");
+                        a2.setCollisionWarning("MÊME CIBLE! SÉPARATION (-50m)");
+                        a1.emit(SimEvent.Type.TARGET_CONFLICT, a2, null, offset);
+
+                        // C. OFFSET FINAL TARGETS (Permanent) - THIS IS THE KEY FIX
+                        // We push the targets apart along the same vector
+                        // 50m separation each = 100m total
+                        a1.setTarget(a1.getTargetX() + nx * offset, a1.getTargetY() + ny * offset, a1.getTargetZ());
+                        a2.setTarget(a2.getTargetX() - nx * offset, a2.getTargetY() - ny * offset, a2.getTargetZ());
+
+                        // Les cibles ont bougé : mise à jour de l'index, puis nouvelle
+                        // requête autour de la nouvelle cible de a1 pour les j restants
+                        targetHash.move(i, a1.getTargetX(), a1.getTargetY(), 0);
+                        targetHash.move(j, a2.getTargetX(), a2.getTargetY(), 0);
+                        count = targetHash.queryAbove(a1.getTargetX(), a1.getTargetY(), 0, lastJ);
+                        k = -1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Indique si un actif est hors service pour l'anti-collision (au sol ou en
+     * panne).
+     */
+    private static boolean isGrounded(ActifMobile a) {
+        return a.getEtat() == ActifMobile.EtatOperationnel.AU_SOL
+                || a.getEtat() == ActifMobile.EtatOperationnel.EN_PANNE;
+    }
+
+    /**
+     * Met à jour les actifs en trois passes : décisions de chaque actif (cap,
+     * arrivées), systèmes cinématique et énergie sur le stockage, puis
+     * contraintes du type, batterie critique et file de missions.
+     */
+    private void updateAllAssets(FleetStore store, double dt) {
+        store.refreshWeather(weather);
+
+        // Une mission terminée ou démarrée agit sur les autres actifs assignés :
+        // phases groupées.
+        runPhase(store, true, i -> store.owner(i).planStep());
+        // Chaque slot n'écrit que ses propres composants
+        runPhase(store, false, i -> MotionSystem.step(store, i, dt));
+        runPhase(store, true, i -> {
+            ActifMobile asset = store.owner(i);
+            asset.finishStep();
+            asset.checkMissionQueue(); // Check for next mission
+        });
+    }
+
+    /**
+     * Vérifie la proximité physique entre tous les actifs pour éviter les
+     * collisions.
+     * <p>
+     * Utilise un seuil de déclenchement (alertDist) pour activer des manœuvres
+     * d'évitement locales (Vector Field Avoidance).
+     * </p>
+     * <p>
+     * Les paires candidates viennent d'un {@link SpatialHash} (cellules de
+     * {@link SimConfig#COLLISION_THRESHOLD}) et sont traitées dans le même
+     * ordre que la double boucle : le résultat est identique, en O(n).
+     * </p>
+     * 
+     * @param fleet Liste des actifs.
+     */
+    private void checkCollisions(List<ActifMobile> fleet) {
+        long now = clock.currentTimeMillis();
+        double minSeparation = SimConfig.SEPARATION_DISTANCE; // Distance to push away
+        double alertDist = SimConfig.COLLISION_THRESHOLD;
+
+        // Broad phase : seules les paires de cellules voisines sont testées.
+        // Les positions ne changent pas pendant cette passe : un seul index.
+        positionHash.clear(fleet.size());
+        for (int i = 0; i < fleet.size(); i++) {
+            ActifMobile a = fleet.get(i);
+            if (!isGrounded(a)) {
+                positionHash.insert(i, a.getX(), a.getY(), a.getZ());
+            }
+        }
+
+        for (int i = 0; i < fleet.size(); i++) {
+            ActifMobile a1 = fleet.get(i);
+            if (isGrounded(a1))
+                continue;
+
+            int count = positionHash.queryAbove(a1.getX(), a1.getY(), a1.getZ(), i);
+            for (int k = 0; k < count; k++) {
+                ActifMobile a2 = fleet.get(positionHash.result(k));
+
+                double dx = a1.getX() - a2.getX();
+                double dy = a1.getY() - a2.getY();
+                double dz = a1.getZ() - a2.getZ();
+                double dist = Math.sqrt(dx * dx + dy * dy + dz * dz); // 3D distance
+
+                // 1. TRIGGER AVOIDANCE (Entry Threshold)
+                if (dist < alertDist) {
+                    // Check Cooldown
+                    if (collisionCooldowns.tryAcquire(a1, a2, now)) {
+
+                        // Trigger Avoidance !
+
+                        // Calculate Avoidance Vector (XY Plane mostly, unless stacked)
+                        // Normalize vector A -> B
+                        double nx = dx / dist;
+                        double ny = dy / dist;
+
+                        // If stacked perfectly, pick random direction
+                        if (dist < 0.1) {
+                            nx = 1.0;
+                            ny = 0.0;
+                        }
+
+                        // Avoidance Distance (e.g., 40m away from CURRENT position)
+                        // Target A = Pos A + (Vector away from B) * minSeparation
+
+                        double t1x = a1.getX() + nx * minSeparation;
+                        double t1y = a1.getY() + ny * minSeparation;
+                        double t1z = a1.getZ(); // Keep Z as requested
+
+                        double t2x = a2.getX() - nx * minSeparation;
+                        double t2y = a2.getY() - ny * minSeparation;
+                        double t2z = a2.getZ();
+
+                        a1.engageAvoidance(t1x, t1y, t1z, SimConfig.AVOIDANCE_DURATION);
+                        a2.engageAvoidance(t2x, t2y, t2z, SimConfig.AVOIDANCE_DURATION);
+
+                        // Added visible UI alert
+                        a1.setCollisionWarning("Trop Proche! (Avoidance Active)");
+                        a2.setCollisionWarning("Trop Proche! (Avoidance Active)");
+                        a1.emit(SimEvent.Type.COLLISION_ALERT, a2, null, dist);
+
+                        SimLog.log(SimLog.Category.COLLISION, "ALERT: Proximity {} <-> {}", a1.getId(), a2.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Confine les actifs à l'intérieur de la carte (0,0 -> 2000,2000).
+     */
+    private void checkBoundaries(List<ActifMobile> fleet) {
+        double maxX = SimConfig.WORLD_WIDTH;
+        double maxY = SimConfig.WORLD_HEIGHT;
+
+        for (ActifMobile asset : fleet) {
+            if (asset.getX() < 0)
+                asset.setX(0);
+            if (asset.getX() > maxX)
+                asset.setX(maxX);
+            if (asset.getY() < 0)
+                asset.setY(0);
+            if (asset.getY() > maxY)
+                asset.setY(maxY);
+        }
+    }
+
+    /**
+     * Vérifie si les actifs pénètrent ou s'approchent des zones interdites.
+     * <p>
+     * Implémente une "force molle" (repousser doucement si on s'approche)
+     * et un "mur dur" (bloquer physiquement l'actif si tentative d'entrée, sauf
+     * Reconnaissance).
+     * </p>
+     * @param s Stockage des composants de la flotte (parcours linéaire).
+     */
+    private void checkRestrictedZones(FleetStore s) {
+        if (restrictedZones == null)
+            return;
+
+        long now = clock.currentTimeMillis();
+        restrictedZones.ensureIndexed();
+        // Un échec de mission est partagé par les actifs assignés : phase groupée.
+        runPhase(s, true, i -> applyRestrictedZones(s, i, now));
+    }
+
+    /**
+     * Contraintes des zones interdites pour un slot du stockage.
+     */
+    private void applyRestrictedZones(FleetStore s, int i, long now) {
+        ActifMobile asset = s.owner(i);
+        ConstraintProfile.ZonePolicy policy = asset.getProfile().getZonePolicy();
+        // 1. Type Check
+        // RECON DRONES: Authorized to enter (Can pass freely)
+        if (policy == ConstraintProfile.ZonePolicy.PASS)
+            return;
+
+        // Seules les zones à moins de la distance d'alerte peuvent agir
+        CircleBVH.Cursor cursor = queryCursor.get();
+        int candidates = restrictedZones.queryNear(s.px[i], s.py[i], SimConfig.ZONE_WARNING_DISTANCE, cursor);
+        for (int k = 0; k < candidates; k++) {
+            RestrictedZone zone = restrictedZones.result(cursor, k);
+            // 1b. Vertical Check
+            // OTHERS (Logistics, etc): Must be ABOVE the zone to pass
+            if (s.pz[i] > zone.getMaxZ()) {
+                if (policy == ConstraintProfile.ZonePolicy.HARD_WALL) {
+                    // Logistics blocked REGARDLESS of height
+                } else {
+                    // Other assets (standard) can fly over
+                    continue;
+                }
+            }
+            if (s.pz[i] < zone.getMinZ())
+                continue; // Below zone
+
+            // 2. Horizontal Distance Check
+            double dx = s.px[i] - zone.getX();
+            double dy = s.py[i] - zone.getY();
+            double dist = Math.sqrt(dx * dx + dy * dy);
+            double proximity = dist - zone.getRadius();
+
+            // 3. Violation (Inside)
+            if (proximity <= 0) {
+                // --- HARD WALL PHYSICS FOR LOGISTICS ---
+                if (policy == ConstraintProfile.ZonePolicy.HARD_WALL) {
+                    if (dist < 0.1) {
+                        dx = 1;
+                        dy = 0;
+                        dist = 1;
+                    }
+                    double wallRadius = zone.getRadius() + 2.0;
+                    s.px[i] = zone.getX() + (dx / dist) * wallRadius;
+                    s.py[i] = zone.getY() + (dy / dist) * wallRadius;
+                    s.notifyMoved(i);
+                    asset.setCollisionWarning("MUR ZONE (BLOQUÉ)");
+                    asset.emit(SimEvent.Type.ZONE_WALL, null, zone, proximity);
+                } else {
+                    // Standard Push (Soft Wall)
+                    double push = SimConfig.PUSH_FORCE * 5.0;
+                    if (dist < 0.1)
+                        dist = 0.1;
+
+                    s.px[i] = s.px[i] + (dx / dist) * push;
+                    s.py[i] = s.py[i] + (dy / dist) * push;
+                    s.notifyMoved(i);
+                    asset.setCollisionWarning("VIOLATION ZONE (MISSION ÉCHOUÉE)");
+                    asset.emit(SimEvent.Type.ZONE_VIOLATION, null, zone, proximity);
+                    s.speedModifier[i] = 0.0;
+                    asset.setState(ActifMobile.AssetState.STOPPED);
+                    if (asset.getCurrentMission() != null) {
+                        asset.getCurrentMission().fail("Violation Zone Interdite");
+                    }
+                }
+            }
+            // 4. Warning (Approaching) - < 50m from edge
+            else if (proximity < SimConfig.ZONE_WARNING_DISTANCE) {
+                asset.setCollisionWarning("Zone Interdite Proche");
+                asset.emit(SimEvent.Type.ZONE_WARNING, null, zone, proximity);
+
+                // Smooth Physics Push (Avoidance Force)
+                double forceMag = (50.0 - proximity) * 2.0;
+                if (forceMag > 10.0)
+                    forceMag = 10.0;
+
+                double nx = dx / dist;
+                double ny = dy / dist;
+                double tx = -ny;
+                double ty = nx;
+
+                // Steering (Tangential)
+                double steerDir = s.steeringBias[i];
+                if (Math.abs(steerDir) < 0.1) {
+                    steerDir = 1.0;
+                    double vx = s.vx[i];
+                    double vy = s.vy[i];
+                    if (Math.abs(vx) > 0.1 || Math.abs(vy) > 0.1) {
+                        double cp = dx * vy - dy * vx;
+                        if (cp > 0)
+                            steerDir = 1.0;
+                        else
+                            steerDir = -1.0;
+                    }
+                    s.steeringBias[i] = steerDir;
+                }
+
+                double steeringMag = forceMag * 0.5;
+
+                double fx = nx * forceMag + tx * steerDir * steeringMag;
+                double fy = ny * forceMag + ty * steerDir * steeringMag;
+
+                s.ax[i] += fx;
+                s.ay[i] += fy;
+
+                // Force AVOIDING mode
+                s.navMode[i] = AVOIDING;
+                s.avoidanceEndTime[i] = now + 500;
+            }
+        } // End Zone Loop
+
+        // Pas de remise à zéro du biais ici : checkObstacles, exécuté avant,
+        // la fait une fois avoidanceEndTime écoulé (zones et obstacles).
+    }
+
+    /**
+     * Met à jour la progression des missions actives.
+     * <p>
+     * Seules les missions "EN_COURS" sont mises à jour (appel de {@code tick()}) :
+     * elles sont tenues dans le {@link MissionRegistry} du moteur, qu'elles
+     * rejoignent et quittent à chaque changement de statut.
+     * </p>
+     */
+    private void checkMissions() {
+        missions.tickAll(clock.currentTimeSeconds());
+    }
+
+    /**
+     * Système "obstacles" : parcourt linéairement les composants de la flotte
+     * (positions, vitesses, forces) sans passer par les objets.
+     * 
+     * @param store Stockage des composants de la flotte.
+     */
+    private void checkObstacles(FleetStore store) {
+        long now = clock.currentTimeMillis();
+        ensureObstacleIndex();
+        runPhase(store, false, i -> applyObstacles(store, i, now));
+    }
+
+    /**
+     * Champs de potentiel des obstacles pour un slot du stockage.
+     */
+    private void applyObstacles(FleetStore s, int i, long now) {
+        // Constants for Potential Field - use SimConfig
+        double DETECTION_RADIUS = SimConfig.OBSTACLE_DETECTION_RADIUS;
+        double FORCE_FACTOR = SimConfig.OBSTACLE_FORCE_FACTOR;
+
+
+        // 0. Reset Forces
+        s.ax[i] = 0;
+        s.ay[i] = 0;
+        s.az[i] = 0;
+
+        boolean isInfluenced = false;
+
+        // Seuls les obstacles dont la surface est à moins du rayon de détection
+        // peuvent agir : candidats (triés dans l'ordre de la liste) via le BVH.
+        CircleBVH.Cursor cursor = queryCursor.get();
+        int candidates = obstacleIndex.query(s.px[i], s.py[i], DETECTION_RADIUS, cursor);
+        for (int k = 0; k < candidates; k++) {
+            Obstacle obs = obstacleIndex.get(cursor.result(k));
+            // Calculate Vector Asset -> Obstacle
+            double dx = s.px[i] - obs.getX();
+            double dy = s.py[i] - obs.getY();
+            double distSq = dx * dx + dy * dy;
+            double dist = Math.sqrt(distSq);
+
+            // Reduce distance by radius (distance to surface)
+            double distToSurface = dist - obs.getRadius();
+            if (distToSurface < 0.1)
+                distToSurface = 0.1; // Clamp
+
+            // 1. Check if within influence range
+            if (distToSurface < DETECTION_RADIUS) {
+                isInfluenced = true;
+
+                // 2. Physical Push if actual collision (Hard Wall)
+                if (obs.isCollision(s.px[i], s.py[i], s.pz[i])) {
+                    // Emergency Shove
+                    double push = 5.0; // Hard push
+                    s.px[i] = s.px[i] + (dx / dist) * push;
+                    s.py[i] = s.py[i] + (dy / dist) * push;
+                    s.notifyMoved(i);
+                    ActifMobile owner = s.owner(i);
+                    owner.setCollisionWarning("COLLISION OBSTACLE!");
+                    owner.emit(SimEvent.Type.OBSTACLE_COLLISION, null, obs, distToSurface);
+                }
+
+                // 3. Calculate Repulsive Force (Inverse Square Law)
+                // F = k * (1/d^2) * Direction(Away)
+                double forceMagnitude = FORCE_FACTOR / (distToSurface * distToSurface);
+
+                // Cap force to prevent teleportation (use SimConfig)
+                if (forceMagnitude > SimConfig.AVOIDANCE_FORCE_CAP)
+                    forceMagnitude = SimConfig.AVOIDANCE_FORCE_CAP;
+
+                // Normal Direction (Directly AWAY from obstacle)
+                double nx = dx / dist;
+                double ny = dy / dist;
+
+                // 4. Tangential Force (Steering) - "Slide Around"
+                // Tangent vector (-ny, nx) is perpendicular to normal
+                double tx = -ny;
+                double ty = nx;
+
+                // Decide steering direction based on Target + Hysteresis
+                // Cross Product of (Asset->Obstacle) and (Asset->Target)
+                double steerDir = s.steeringBias[i];
+
+                if (Math.abs(steerDir) < 0.1) {
+                    // No bias yet, calculate initial direction
+                    steerDir = 1.0;
+                    double vx = s.vx[i];
+                    double vy = s.vy[i];
+                    if (Math.abs(vx) > 0.1 || Math.abs(vy) > 0.1) {
+                        double cp = dx * vy - dy * vx;
+                        if (cp > 0)
+                            steerDir = 1.0; // Target/Path is left
+                        else
+                            steerDir = -1.0; // Target/Path is right
+                    }
+                    s.steeringBias[i] = steerDir; // Commit to this direction
+                }
+
+                // Tangential component (20-40% of repulsive force)
+                double steeringMagnitude = forceMagnitude * 0.5;
+
+                // Combined Force: Repulsion + Steering
+                double fx = nx * forceMagnitude + tx * steerDir * steeringMagnitude;
+                double fy = ny * forceMagnitude + ty * steerDir * steeringMagnitude;
+
+                s.ax[i] += fx;
+                s.ay[i] += fy;
+            }
+        }
+
+        if (isInfluenced) {
+            s.navMode[i] = AVOIDING;
+            // Hysteresis: Stay in avoidance mode for at least 500ms after last influence
+            // to prevent rapid toggling at the boundary.
+            s.avoidanceEndTime[i] = now + 500;
+        } else {
+            // Only reset to normal if not in temporary diversion mode (timer based)
+            if (s.avoidanceEndTime[i] < now) {
+                s.navMode[i] = NORMAL;
+                s.steeringBias[i] = 0.0; // Reset bias so we can turn the other way next time
+            }
+        }
+    }
+
+    /**
+     * Exécute une phase par actif sur les slots {@code 0..size-1}.
+     * <p>
+     * En mode séquentiel, les slots sont parcourus dans l'ordre. En mode
+     * parallèle, une phase non groupée répartit les slots en tranches ; une
+     * phase groupée répartit les {@link MissionGroups groupes de mission},
+     * chacun parcouru dans l'ordre croissant des slots. Dans les deux cas le
+     * résultat est identique au parcours séquentiel.
+     * </p>
+     *
+     * @param store   Stockage de la flotte.
+     * @param grouped Vrai si la phase peut agir sur une mission partagée.
+     * @param body    Travail pour un slot.
+     */
+    private void runPhase(FleetStore store, boolean grouped, IntConsumer body) {
+        if (!parallelStep) {
+            for (int i = 0; i < store.size(); i++) {
+                body.accept(i);
+            }
+            return;
+        }
+        PhaseExecutor phases = phases();
+        if (grouped) {
+            MissionGroups groups = missionGroups;
+            phases.forEachRange(groups.groupCount(), (from, to) -> {
+                for (int g = from; g < to; g++) {
+                    for (int k = groups.start(g); k < groups.end(g); k++) {
+                        body.accept(groups.slot(k));
+                    }
+                }
+            });
+        } else {
+            phases.forEachRange(store.size(), (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+            });
+        }
+    }
+
+    private PhaseExecutor phases() {
+        if (phases == null) {
+            phases = new PhaseExecutor(parallelism);
+        }
+        return phases;
+    }
+
+    /**
+     * Définit le nombre de threads des phases par actif (obstacles, zones,
+     * mise à jour).
+     *
+     * @param threads Nombre de threads ({@code 1} = toujours séquentiel).
+     */
+    public void setParallelism(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le parallélisme doit être d'au moins 1 thread");
+        }
+        if (phases != null && phases.getThreads() != threads) {
+            phases.shutdown();
+            phases = null;
+        }
+        this.parallelism = threads;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Définit la taille de flotte à partir de laquelle les phases par actif
+     * sont parallélisées (en dessous, le coût de synchronisation l'emporte).
+     *
+     * @param minFleetSize Nombre minimal d'actifs.
+     */
+    public void setParallelThreshold(int minFleetSize) {
+        this.parallelThreshold = Math.max(0, minFleetSize);
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Libère les threads des phases parallèles (recréés au besoin) et ferme
+     * les sorties branchées ({@link SimOutputs}).
+     */
+    public void shutdown() {
+        if (phases != null) {
+            phases.shutdown();
+            phases = null;
+        }
+        SimOutputs.detachAll(this);
+    }
+
+    /**
+     * Retourne la liste (modifiable) des obstacles. Toute modification
+     * invalide l'index spatial, reconstruit au pas suivant.
+     *
+     * @return Liste des obstacles.
+     */
+    public List<Obstacle> getObstacles() {
+        return obstacles;
+    }
+
+    /**
+     * Reconstruit immédiatement l'index spatial des obstacles (par exemple
+     * après le chargement d'une carte).
+     */
+    public void rebuildObstacleIndex() {
+        obstacleIndex.build(obstacles);
+        obstacleIndexDirty = false;
+    }
+
+    private void ensureObstacleIndex() {
+        if (obstacleIndexDirty) {
+            rebuildObstacleIndex();
+        }
+    }
+
+    public Weather getWeather() {
+        return weather;
+    }
+
+    public Communication getCommunication() {
+        return communication;
+    }
+
+    /**
+     * @return Registre des missions en cours du moteur.
+     */
+    public MissionRegistry getMissions() {
+        return missions;
+    }
+
+    public GestionnaireEssaim getGestionnaire() {
+        return gestionnaire;
+    }
+
+    /**
+     * Replace le moteur (neuf, avant tout pas) au temps d'un point de
+     * reprise.
+     */
+    void restoreTime(long steps, long clockNanos) {
+        this.stepCount = steps;
+        clock.setElapsedNanos(clockNanos);
+    }
+
+    PairCooldownTable getCollisionCooldowns() {
+        return collisionCooldowns;
+    }
+
+    PairCooldownTable getTargetCooldowns() {
+        return targetCooldowns;
+    }
+
+    /**
+     * Liste des obstacles qui signale toute modification à l'index spatial.
+     */
+    private class ObstacleList extends AbstractList<Obstacle> {
+        private final List<Obstacle> items = new ArrayList<>();
+
+        @Override
+        public Obstacle get(int index) {
+            return items.get(index);
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        @Override
+        public void add(int index, Obstacle obstacle) {
+            items.add(index, obstacle);
+            obstacleIndexDirty = true;
+        }
+
+        @Override
+        public Obstacle set(int index, Obstacle obstacle) {
+            obstacleIndexDirty = true;
+            return items.set(index, obstacle);
+        }
+
+        @Override
+        public Obstacle remove(int index) {
+            obstacleIndexDirty = true;
+            return items.remove(index);
+        }
+
+        @Override
+        public void clear() {
+            items.clear();
+            obstacleIndexDirty = true;
+        }
+    }
+}
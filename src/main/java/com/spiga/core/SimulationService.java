@@ -5,105 +5,84 @@ import com.spiga.environment.RestrictedZone;
 import com.spiga.environment.Weather;
 import com.spiga.management.Communication;
 import com.spiga.management.GestionnaireEssaim;
-// import com.spiga.management.Mission; // Keep if needed, or remove if truly unused
 import javafx.animation.AnimationTimer;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
-import java.util.logging.Logger;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
- * Moteur de Simulation (Le Cerveau central).
+ * Adaptateur JavaFX du moteur de simulation.
  * <p>
- * Cette classe orchestre l'ensemble de la simulation en temps réel.
- * Elle hérite de {@link AnimationTimer} (JavaFX) pour se synchroniser avec le
- * taux de rafraîchissement de l'écran (60 FPS).
+ * Cette classe hérite de {@link AnimationTimer} (JavaFX) pour se synchroniser
+ * avec le taux de rafraîchissement de l'écran (60 FPS). Elle convertit le
+ * temps réel écoulé entre deux frames en pas fixes exécutés par le
+ * {@link SimulationEngine} headless, en appliquant l'échelle de temps choisie
+ * par l'opérateur. Le nombre de pas par frame est borné par une
+ * {@link FixedStepLoop} pour ne jamais geler le thread JavaFX.
  * </p>
  * <p>
- * <strong>Responsabilités Principales :</strong>
- * <ul>
- * <li>Gestion de la boucle temporelle (Time Step fixe).</li>
- * <li>Mise à jour de la physique et de l'état de chaque
- * {@link ActifMobile}.</li>
- * <li>Gestion des interactions avec l'environnement (Obstacles, Météo, Zones
- * Interdites).</li>
- * <li>Déconfliction et anti-collision de l'essaim (Swarm Intelligence).</li>
- * </ul>
+ * Toute la logique métier (physique, zones, missions) vit dans le moteur ;
+ * cette classe ne fait que le cadencer.
  * </p>
- * 
- * @see GestionnaireEssaim
- * @see Communication
+ * <p>
+ * Par défaut ({@link SimConfig#DEDICATED_SIM_THREAD}), les pas s'exécutent
+ * sur un {@link SimulationThread} dédié et le thread JavaFX ne fait que
+ * rendre la dernière image publiée ; les modifications de l'état passent
+ * alors par {@link #execute(Runnable)}. Sans thread dédié, ces commandes
+ * attendent la fin d'un éventuel lot de la politique {@code BACKGROUND}
+ * ({@link FixedStepLoop#execute(Runnable)}).
+ * </p>
+ *
+ * @see SimulationEngine
  */
 public class SimulationService extends AnimationTimer {
-    private static final double TARGET_FPS = 60.0;
-    private static final double FRAME_TIME = 1.0 / TARGET_FPS;
-    private static final Logger logger = Logger.getLogger(SimulationService.class.getName());
-
-    // --- COMPOSITION : Mes composants ---
 
-    /** Gestionnaire de la flotte d'actifs. */
-    private GestionnaireEssaim gestionnaire;
-    /** Gestionnaire des communications et dispatch de missions. */
-    private Communication communication;
+    /** Moteur headless piloté par cette boucle d'animation. */
+    private final SimulationEngine engine;
 
-    // Utilisation de Collections (List) pour gérer dynamiquement des groupes
-    // d'objets
+    /** Accumulateur à pas fixe (échelle de temps, budget, retard). */
+    private final FixedStepLoop loop;
 
-    /** Liste des obstacles physiques (Iles, Montagnes, Récifs). */
-    private List<Obstacle> obstacles;
-    /** Liste des zones d'exclusion aérienne/maritime. */
-    private List<RestrictedZone> restrictedZones;
-    /** Objet représentant les conditions météorologiques globales. */
-    private Weather weather;
-
-    /** Facteur d'accélération du temps (1.0 = Temps réel). */
-    private double timeScale = 1.0;
+    /** Thread de simulation dédié (null : pas cadencés par JavaFX). */
+    private final SimulationThread simThread;
 
     private long lastTime = 0;
-    private double accumulator = 0;
 
-    // SWARM AVOIDANCE STATE
     /**
-     * Mémorise les temps de dernière alerte par paire d'actifs pour éviter le spam
-     * de logs.
-     * Key: "ID1-ID2", Value: Timestamp (ms)
-     */
-    private Map<String, Long> lastAlertTime = new HashMap<>();
-
-    /**
-     * Constructeur : Initialisation du service.
-     * <p>
-     * Instanciation des listes et configuration de l'environnement initial.
-     * Partage les zones connues avec les actifs statiques pour l'IA distribuée.
-     * </p>
-     * 
+     * Constructeur : crée le moteur headless associé.
+     *
      * @param gestionnaire Le gestionnaire d'essaim injecté.
      */
     public SimulationService(GestionnaireEssaim gestionnaire) {
-        this.gestionnaire = gestionnaire;
-        this.communication = new Communication(gestionnaire);
-
-        // Allocation mémoire (Heap) pour les listes
-        this.obstacles = new ArrayList<>();
-        this.restrictedZones = new ArrayList<>();
-
-        // Création de l'objet Météo initial
-        this.weather = new Weather(10, 0, 0);
-
-        initializeObstacles();
-        initializeRestrictedZones();
+        this(gestionnaire, SimConfig.DEDICATED_SIM_THREAD);
+    }
 
-        // Share Zones with Static Assets
-        ActifMobile.KNOWN_ZONES.clear();
-        ActifMobile.KNOWN_ZONES.addAll(restrictedZones);
+    /**
+     * Constructeur : crée le moteur headless associé.
+     *
+     * @param gestionnaire    Le gestionnaire d'essaim injecté.
+     * @param dedicatedThread Vrai pour cadencer la simulation sur un thread
+     *                        dédié plutôt que dans la boucle d'animation.
+     */
+    public SimulationService(GestionnaireEssaim gestionnaire, boolean dedicatedThread) {
+        this.engine = new SimulationEngine(gestionnaire);
+        SimOutputs.attachConfigured(engine); // Sorties demandées par SimConfig
+        this.loop = new FixedStepLoop(engine);
+        this.simThread = dedicatedThread
+                ? new SimulationThread(engine, loop, SimConfig.SIM_THREAD_PERIOD_MS)
+                : null;
+        setOverloadPolicy(loop.getOverloadPolicy()); // Politique de SimConfig
     }
 
     /**
      * Démarre la boucle de simulation.
      */
     public void startSimulation() {
+        if (simThread != null) {
+            simThread.start();
+            return;
+        }
         lastTime = 0; // Reset time to avoid jump
         super.start();
     }
@@ -112,44 +91,14 @@ public class SimulationService extends AnimationTimer {
      * Arrête la boucle de simulation.
      */
     public void stopSimulation() {
-        super.stop();
-    }
-
-    /**
-     * Initialise les obstacles statiques de la carte.
-     * Place des obstacles variés (Air, Surface, Sous-marin) pour tester les
-     * différents véhicules.
-     */
-    private void initializeObstacles() {
-        // --- 6 WELL-SEPARATED OBSTACLES ---
-        // World is 2000x2000, obstacles spread across corners and center
-
-        // 1. SURFACE OBSTACLES (Z=0) - Islands
-        obstacles.add(new Obstacle(300, 300, 0, 50)); // Island NW corner
-        obstacles.add(new Obstacle(1700, 1600, 0, 40)); // Island SE corner
-
-        // 2. UNDERWATER OBSTACLES (Z<0) - Reefs
-        obstacles.add(new Obstacle(1500, 400, -60, 35)); // Reef NE area
-        obstacles.add(new Obstacle(400, 1500, -40, 30)); // Reef SW area
-
-        // 3. AERIAL OBSTACLES (Z>0) - Mountains/Hazards
-        obstacles.add(new Obstacle(1000, 1000, 80, 70)); // Central Mountain
-        obstacles.add(new Obstacle(1600, 300, 50, 30)); // Floating Hazard NE
-    }
-
-    /**
-     * Initialise les zones de restriction.
-     */
-    private void initializeRestrictedZones() {
-        // "Black Zone" - Military Base or similar
-        // MOVED to Border (1800, 500)
-        // Radius: 150m
-        // Height: 0 to 120m
-        restrictedZones.add(new RestrictedZone("Zone Interdite 01", 1800, 500, 150, 0, 120));
-    }
-
-    public List<RestrictedZone> getRestrictedZones() {
-        return restrictedZones;
+        if (simThread != null) {
+            simThread.stop();
+        } else {
+            super.stop();
+        }
+        loop.shutdown();
+        engine.shutdown();
+        SimLog.flush();
     }
 
     /**
@@ -157,9 +106,10 @@ public class SimulationService extends AnimationTimer {
      * <p>
      * Implémente un "Fixed Time Step" (pas de temps fixe) pour garantir une
      * simulation stable
-     * quelle que soit la vitesse de l'ordinateur.
+     * quelle que soit la vitesse de l'ordinateur. Le rattrapage est plafonné
+     * par le budget de la {@link FixedStepLoop}.
      * </p>
-     * 
+     *
      * @param now Timestamp courant en nanosecondes.
      */
     @Override
@@ -172,570 +122,106 @@ public class SimulationService extends AnimationTimer {
         double dt = (now - lastTime) / 1e9;
         lastTime = now;
 
-        dt *= timeScale;
-        accumulator += dt;
-
-        while (accumulator >= FRAME_TIME) {
-            updateSimulation(FRAME_TIME);
-            accumulator -= FRAME_TIME;
-        }
+        loop.advance(dt);
     }
 
     /**
-     * Met à jour logique de la simulation d'un pas de temps.
-     * <p>
-     * Séquence d'exécution :
-     * <ol>
-     * <li>Détection environnementale (Obstacles, Zones, Conflits de cibles).</li>
-     * <li>Mise à jour physique des actifs (Mouvement, Energie).</li>
-     * <li>Détection de collisions "post-move" (Sécurité).</li>
-     * <li>Contraintes de monde (Limites de carte).</li>
-     * <li>Logique métier des Missions.</li>
-     * </ol>
-     * </p>
-     * 
-     * @param dt Delta temps en secondes.
+     * Exécute une modification de l'état de la simulation sur le thread qui
+     * la cadence (en mode JavaFX : sur le thread JavaFX, hors d'un lot en
+     * arrière-plan).
+     *
+     * @param command La modification (ajout d'actif, cible, mission...).
      */
-    private void updateSimulation(double dt) {
-        updateWeather(dt);
-
-        // Create a thread-safe copy of the fleet to avoid
-        // ConcurrentModificationException
-        // if the UI adds/removes drones while we iterate.
-        List<ActifMobile> fleet = new ArrayList<>(gestionnaire.getFlotte());
-
-        // 1. RESET PHASE (Prepare for new frame)
-        for (ActifMobile asset : fleet) {
-            asset.setSpeedModifier(1.0);
+    public void execute(Runnable command) {
+        if (simThread != null) {
+            simThread.execute(command);
+        } else {
+            loop.execute(command);
         }
-
-        // 2. ENVIRONMENT & CONSTRAINTS CHECK (Before Movement)
-        // Check obstacles FIRST so they can reduce speed BEFORE update() moves the
-        // asset.
-        checkObstacles(fleet);
-        checkRestrictedZones(fleet);
-        checkTargetConflicts(fleet); // Swarm Deconfliction
-
-        // 3. MOVEMENT & LOGIC UPDATE
-        updateAllAssets(fleet, dt);
-
-        // 4. REACTIVE CHECKS (After Movement)
-        // Collisions must be checked after move to see if we hit something despite
-        // precautions
-        checkCollisions(fleet);
-        checkBoundaries(fleet);
-
-        // 5. MISSION LOGIC
-        checkMissions(fleet);
-
-        // Handle Mission Dispatching
-        communication.handleMissions();
     }
 
     /**
-     * Détecte et résout les conflits de cibles au sein de l'essaim.
-     * <p>
-     * Si deux drones ont la même destination, ils risquent de se percuter à
-     * l'arrivée.
-     * Cette méthode décale préventivement leurs cibles finales (Offset).
-     * </p>
-     * 
-     * @param fleet Liste des actifs.
+     * Exécute une commande produisant un résultat sur le thread de
+     * simulation.
+     *
+     * @param <T>     Type du résultat.
+     * @param command La commande.
+     * @return Résultat, complété après exécution.
      */
-    private void checkTargetConflicts(List<ActifMobile> fleet) {
-        long now = System.currentTimeMillis();
-        double collisionDist = 2.0; // Targets considered "same" if within 2m
-        // double influenceDist = 300.0; // Unused
-        double separationDist = 100.0; // Total separation requested
-        double offset = separationDist / 2.0; // +/- 50m
-        long cooldown = 10000; // 10s cooldown per pair
-
-        for (int i = 0; i < fleet.size(); i++) {
-            ActifMobile a1 = fleet.get(i);
-            if (a1.getEtat() == ActifMobile.EtatOperationnel.AU_SOL
-                    || a1.getEtat() == ActifMobile.EtatOperationnel.EN_PANNE)
-                continue;
-
-            for (int j = i + 1; j < fleet.size(); j++) {
-                ActifMobile a2 = fleet.get(j);
-                if (a2.getEtat() == ActifMobile.EtatOperationnel.AU_SOL
-                        || a2.getEtat() == ActifMobile.EtatOperationnel.EN_PANNE)
-                    continue;
-
-                // 1. Check if they have the SAME TARGET (approx)
-                double dTx = a1.getTargetX() - a2.getTargetX();
-                double dTy = a1.getTargetY() - a2.getTargetY();
-                double targetDist = Math.sqrt(dTx * dTx + dTy * dTy);
-
-                if (targetDist < collisionDist) {
-                    // 2. Check Relevance (are they active/moving?)
-                    // Simplified: if they are both moving to target
-                    // String pairId = "TARGET-" + (a1.getId().compareTo(a2.getId()) < 0 ?
-                    // a1.getId() + "-" + a2.getId() : a2.getId() + "-" + a1.getId());
-                    // Use simple ID sum for key to avoid complex string ops in loop if possible,
-                    // but string is safer
-                    String pairId = "TGT-" + (a1.getId().compareTo(a2.getId()) < 0 ? a1.getId() + "-" + a2.getId()
-                            : a2.getId() + "-" + a1.getId());
-
-                    if (!lastAlertTime.containsKey(pairId) || (now - lastAlertTime.get(pairId) > cooldown)) {
-                        lastAlertTime.put(pairId, now);
-
-                        // 3. APPLY SEPARATION
-                        // Calculate separation vector based on current positions
-                        double dx = a1.getX() - a2.getX();
-                        double dy = a1.getY() - a2.getY();
-                        double distCurrent = Math.sqrt(dx * dx + dy * dy);
-
-                        double nx, ny;
-                        if (distCurrent < 0.1) {
-                            nx = 1.0;
-                            ny = 0.0; // Arbitrary X split if stacked
-                        } else {
-                            nx = dx / distCurrent;
-                            ny = dy / distCurrent;
-                        }
-
-                        // A. Trigger Visual/Log Alert
-                        a1.setCollisionWarning("MÊME CIBLE! SÉPARATION (+50m)");
-                        a2.setCollisionWarning("MÊME CIBLE! SÉPARATION (-50m)");
-
-                        // C. OFFSET FINAL TARGETS (Permanent) - THIS IS THE KEY FIX
-                        // We push the targets apart along the same vector
-                        // 50m separation each = 100m total
-                        a1.setTarget(a1.getTargetX() + nx * offset, a1.getTargetY() + ny * offset, a1.getTargetZ());
-                        a2.setTarget(a2.getTargetX() - nx * offset, a2.getTargetY() - ny * offset, a2.getTargetZ());
-                    }
-                }
-            }
+    public <T> CompletableFuture<T> submit(Supplier<T> command) {
+        if (simThread != null) {
+            return simThread.submit(command);
         }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        loop.execute(() -> {
+            try {
+                result.complete(command.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
     }
 
     /**
-     * Placeholder pour une mise à jour dynamique de la météo (non utilisé
-     * actuellement).
+     * @return Vrai si la simulation tourne sur un thread dédié.
      */
-    private void updateWeather(double dt) {
-        // Weather is now controlled manually via UI sliders
-        // No automatic random weather changes
+    public boolean isDedicatedThread() {
+        return simThread != null;
     }
 
-    /**
-     * Met à jour chaque actif individuellement.
-     */
-    private void updateAllAssets(List<ActifMobile> fleet, double dt) {
-        if (weather.getWindSpeed() > 40) {
-            // weatherFactor *= 0.9; // Logic moved to ActifMobile.update
-        }
-
-        for (ActifMobile asset : fleet) {
-            asset.update(dt, weather);
-            asset.checkMissionQueue(); // Check for next mission
-        }
-    }
-
-    /**
-     * Vérifie la proximité physique entre tous les actifs pour éviter les
-     * collisions.
-     * <p>
-     * Utilise un seuil de déclenchement (alertDist) pour activer des manœuvres
-     * d'évitement locales (Vector Field Avoidance).
-     * </p>
-     * 
-     * @param fleet Liste des actifs.
-     */
-    private void checkCollisions(List<ActifMobile> fleet) {
-        long now = System.currentTimeMillis();
-        double minSeparation = SimConfig.SEPARATION_DISTANCE; // Distance to push away
-        double alertDist = SimConfig.COLLISION_THRESHOLD;
-        long cooldown = 2000; // 2s
-
-        for (int i = 0; i < fleet.size(); i++) {
-            ActifMobile a1 = fleet.get(i);
-            if (a1.getEtat() == ActifMobile.EtatOperationnel.AU_SOL ||
-                    a1.getEtat() == ActifMobile.EtatOperationnel.EN_PANNE)
-                continue;
-
-            for (int j = i + 1; j < fleet.size(); j++) {
-                ActifMobile a2 = fleet.get(j);
-                if (a2.getEtat() == ActifMobile.EtatOperationnel.AU_SOL ||
-                        a2.getEtat() == ActifMobile.EtatOperationnel.EN_PANNE)
-                    continue;
-
-                double dx = a1.getX() - a2.getX();
-                double dy = a1.getY() - a2.getY();
-                double dz = a1.getZ() - a2.getZ();
-                double dist = Math.sqrt(dx * dx + dy * dy + dz * dz); // 3D distance
-
-                String pairId = a1.getId().compareTo(a2.getId()) < 0 ? a1.getId() + "-" + a2.getId()
-                        : a2.getId() + "-" + a1.getId();
-
-                // 1. TRIGGER AVOIDANCE (Entry Threshold)
-                if (dist < alertDist) {
-                    // Check Cooldown
-                    if (!lastAlertTime.containsKey(pairId) || (now - lastAlertTime.get(pairId) > cooldown)) {
-
-                        // Trigger Avoidance !
-                        lastAlertTime.put(pairId, now);
-
-                        // Calculate Avoidance Vector (XY Plane mostly, unless stacked)
-                        // Normalize vector A -> B
-                        double nx = dx / dist;
-                        double ny = dy / dist;
-
-                        // If stacked perfectly, pick random direction
-                        if (dist < 0.1) {
-                            nx = 1.0;
-                            ny = 0.0;
-                        }
-
-                        // Avoidance Distance (e.g., 40m away from CURRENT position)
-                        // Target A = Pos A + (Vector away from B) * minSeparation
-
-                        double t1x = a1.getX() + nx * minSeparation;
-                        double t1y = a1.getY() + ny * minSeparation;
-                        double t1z = a1.getZ(); // Keep Z as requested
-
-                        double t2x = a2.getX() - nx * minSeparation;
-                        double t2y = a2.getY() - ny * minSeparation;
-                        double t2z = a2.getZ();
-
-                        a1.engageAvoidance(t1x, t1y, t1z, SimConfig.AVOIDANCE_DURATION);
-                        a2.engageAvoidance(t2x, t2y, t2z, SimConfig.AVOIDANCE_DURATION);
-
-                        // Added visible UI alert
-                        a1.setCollisionWarning("Trop Proche! (Avoidance Active)");
-                        a2.setCollisionWarning("Trop Proche! (Avoidance Active)");
-
-                        logger.warning("ALERT: Proximity " + a1.getId() + " <-> " + a2.getId());
-                    }
-                }
-            }
-        }
+    public void setTimeScale(double scale) {
+        execute(() -> loop.setTimeScale(scale));
     }
 
     /**
-     * Confine les actifs à l'intérieur de la carte (0,0 -> 2000,2000).
+     * Définit la politique de surcharge. Sur thread dédié, la politique
+     * {@code BACKGROUND} (pas sur un second thread) est remplacée par
+     * {@code DROP_TIME} : les commandes et les pas doivent rester sur le même
+     * thread. En mode JavaFX, les commandes attendent la fin du lot en cours.
+     *
+     * @param policy La politique demandée.
      */
-    private void checkBoundaries(List<ActifMobile> fleet) {
-        double maxX = SimConfig.WORLD_WIDTH;
-        double maxY = SimConfig.WORLD_HEIGHT;
-
-        for (ActifMobile asset : fleet) {
-            if (asset.getX() < 0)
-                asset.setX(0);
-            if (asset.getX() > maxX)
-                asset.setX(maxX);
-            if (asset.getY() < 0)
-                asset.setY(0);
-            if (asset.getY() > maxY)
-                asset.setY(maxY);
-        }
+    public void setOverloadPolicy(FixedStepLoop.OverloadPolicy policy) {
+        FixedStepLoop.OverloadPolicy applied = (simThread != null && policy == FixedStepLoop.OverloadPolicy.BACKGROUND)
+                ? FixedStepLoop.OverloadPolicy.DROP_TIME
+                : policy;
+        execute(() -> loop.setOverloadPolicy(applied));
     }
 
-    /**
-     * Vérifie si les actifs pénètrent ou s'approchent des zones interdites.
-     * <p>
-     * Implémente une "force molle" (repousser doucement si on s'approche)
-     * et un "mur dur" (bloquer physiquement l'actif si tentative d'entrée, sauf
-     * Reconnaissance).
-     * </p>
-     * 
-     * @param fleet Liste des actifs.
-     */
-    private void checkRestrictedZones(List<ActifMobile> fleet) {
-        if (restrictedZones == null)
-            return;
-
-        for (ActifMobile asset : fleet) {
-            @SuppressWarnings("unused")
-            boolean isInfluenced = false;
-
-            for (RestrictedZone zone : restrictedZones) {
-                // 1. Vertical Check/Type Check
-                // RECON DRONES: Authorized to enter (Can pass freely)
-                if (asset instanceof DroneReconnaissance)
-                    continue;
-
-                // OTHERS (Logistics, etc): Must be ABOVE the zone to pass
-                if (asset.getZ() > zone.getMaxZ()) {
-                    if (asset instanceof DroneLogistique) {
-                        // Logistics blocked REGARDLESS of height
-                    } else {
-                        // Other assets (standard) can fly over
-                        continue;
-                    }
-                }
-                if (asset.getZ() < zone.getMinZ())
-                    continue; // Below zone
-
-                // 2. Horizontal Distance Check
-                double dx = asset.getX() - zone.getX();
-                double dy = asset.getY() - zone.getY();
-                double dist = Math.sqrt(dx * dx + dy * dy);
-                double proximity = dist - zone.getRadius();
-
-                // 3. Violation (Inside)
-                if (proximity <= 0) {
-                    isInfluenced = true;
-                    // --- HARD WALL PHYSICS FOR LOGISTICS ---
-                    if (asset instanceof DroneLogistique) {
-                        if (dist < 0.1) {
-                            dx = 1;
-                            dy = 0;
-                            dist = 1;
-                        }
-                        double wallRadius = zone.getRadius() + 2.0;
-                        asset.setX(zone.getX() + (dx / dist) * wallRadius);
-                        asset.setY(zone.getY() + (dy / dist) * wallRadius);
-                        asset.setCollisionWarning("MUR ZONE (BLOQUÉ)");
-                    } else {
-                        // Standard Push (Soft Wall)
-                        double push = SimConfig.PUSH_FORCE * 5.0;
-                        if (dist < 0.1)
-                            dist = 0.1;
-
-                        asset.setX(asset.getX() + (dx / dist) * push);
-                        asset.setY(asset.getY() + (dy / dist) * push);
-                        asset.setCollisionWarning("VIOLATION ZONE (MISSION ÉCHOUÉE)");
-                        asset.setSpeedModifier(0.0);
-                        asset.setState(ActifMobile.AssetState.STOPPED);
-                        if (asset.getCurrentMission() != null) {
-                            asset.getCurrentMission().fail("Violation Zone Interdite");
-                        }
-                    }
-                }
-                // 4. Warning (Approaching) - < 50m from edge
-                else if (proximity < 50.0) {
-                    isInfluenced = true;
-                    asset.setCollisionWarning("Zone Interdite Proche (<" + (int) proximity + "m)");
-
-                    // Smooth Physics Push (Avoidance Force)
-                    double forceMag = (50.0 - proximity) * 2.0;
-                    if (forceMag > 10.0)
-                        forceMag = 10.0;
-
-                    double nx = dx / dist;
-                    double ny = dy / dist;
-                    double tx = -ny;
-                    double ty = nx;
-
-                    // Steering (Tangential)
-                    double steerDir = asset.getSteeringBias();
-                    if (Math.abs(steerDir) < 0.1) {
-                        steerDir = 1.0;
-                        double vx = asset.getVelocityX();
-                        double vy = asset.getVelocityY();
-                        if (Math.abs(vx) > 0.1 || Math.abs(vy) > 0.1) {
-                            double cp = dx * vy - dy * vx;
-                            if (cp > 0)
-                                steerDir = 1.0;
-                            else
-                                steerDir = -1.0;
-                        }
-                        asset.setSteeringBias(steerDir);
-                    }
-
-                    double steeringMag = forceMag * 0.5;
-
-                    double fx = nx * forceMag + tx * steerDir * steeringMag;
-                    double fy = ny * forceMag + ty * steerDir * steeringMag;
-
-                    asset.addAvoidanceForce(fx, fy, 0);
-
-                    // Force AVOIDING mode
-                    asset.setNavigationMode(ActifMobile.NavigationMode.AVOIDING);
-                    asset.setAvoidanceEndTime(System.currentTimeMillis() + 500);
-                }
-            } // End Zone Loop
-
-            // Check if we need to reset bias (if not influenced by ANY zone)
-            // Note: checkObstacles also manages this. If checkObstacles reset it, and we
-            // don't set it...
-            // If we are influenced here, we set it.
-            // If we are NOT influenced here, but we WERE influenced by Obstacles?
-            // Obstacles logic runs first. It sets bias if influenced.
-            // If Obstacles didn't influence (reset to 0), and Zone influences (sets to 1),
-            // good.
-            // If Obstacles influenced (set to 1), and Zone DOES NOT influence?
-            // We should NOT reset it here blindly.
-            // Only reset if we were supposedly avoiding a Zone?
-            // Actually, `steeringBias` is shared.
-            // If avoiding a Rock, we use bias.
-            // If we fly near a Zone, do we fight?
-            // If Zone sets bias, it overwrites Rock bias?
-            // Since we check `if (Math.abs(steerDir) < 0.1)`, we RESPECT existing bias!
-            // So if Rock set it, Zone uses it. Seamless transition!
-            // But what about resetting?
-            // If Rock is far, Obstacle logic resets it.
-            // Zone sees 0. Zone sets it.
-            // If Zone is far, Zone logic resets it?
-            // If I add `if (!isInfluenced && !isObstacleInfluenced) reset`.
-            // But I don't know obstacle state here easily.
-            // However, `avoidanceEndTime` handles the mode switch.
-            // The bias reset logic in `checkObstacles` relies on `avoidanceEndTime`.
-            // `checkObstacles` runs FIRST.
-            // If `avoidanceEndTime` is active (from Zone), `checkObstacles` (else block)
-            // will NOT reset it.
-            // (Because `now < endTime`).
-            // So `checkObstacles` respects Zone's timer.
-            // Perfect! The logic in `checkObstacles` handles the reset for BOTH!
-
-            // So I just need to SET it here.
-            // I do NOT need the reset block here.
+    public void setMaxStepsPerFrame(int maxStepsPerFrame) {
+        if (maxStepsPerFrame < 1) {
+            throw new IllegalArgumentException("Le budget doit être d'au moins 1 pas par frame");
         }
+        execute(() -> loop.setMaxStepsPerFrame(maxStepsPerFrame));
     }
 
-    /**
-     * Met à jour la progression des missions actives.
-     * <p>
-     * Seules les missions "EN_COURS" sont mises à jour (appel de {@code tick()}).
-     * </p>
-     * 
-     * @param fleet Liste des actifs.
-     */
-    private void checkMissions(List<ActifMobile> fleet) {
-        long currentSimTime = System.currentTimeMillis() / 1000; // Simple wall-clock time for now
-
-        // We need a unique set of active missions to avoid double-ticking
-        // Since missions are attached to assets, iterate assets and collect unique
-        // missions
-        java.util.Set<com.spiga.management.Mission> activeMissions = new java.util.HashSet<>();
-
-        for (ActifMobile asset : fleet) {
-            if (asset.getCurrentMission() != null &&
-                    asset.getCurrentMission().getStatut() == com.spiga.management.Mission.StatutMission.EN_COURS) {
-                activeMissions.add(asset.getCurrentMission());
-            }
-        }
-
-        for (com.spiga.management.Mission m : activeMissions) {
-            m.tick(currentSimTime);
-        }
+    public FixedStepLoop getLoop() {
+        return loop;
     }
 
-    /**
-     * Applique les forces de répulsion des obstacles naturels (Champs de
-     * potentiel).
-     * 
-     * @param fleet Liste des actifs.
-     */
-    private void checkObstacles(List<ActifMobile> fleet) {
-        // Constants for Potential Field - use SimConfig
-        double DETECTION_RADIUS = SimConfig.OBSTACLE_DETECTION_RADIUS;
-        double FORCE_FACTOR = SimConfig.OBSTACLE_FORCE_FACTOR;
-
-        for (ActifMobile asset : fleet) {
-
-            // 0. Reset Forces
-            asset.resetAvoidanceForce();
-
-            boolean isInfluenced = false;
-
-            for (Obstacle obs : obstacles) {
-                // Calculate Vector Asset -> Obstacle
-                double dx = asset.getX() - obs.getX();
-                double dy = asset.getY() - obs.getY();
-                double distSq = dx * dx + dy * dy;
-                double dist = Math.sqrt(distSq);
-
-                // Reduce distance by radius (distance to surface)
-                double distToSurface = dist - obs.getRadius();
-                if (distToSurface < 0.1)
-                    distToSurface = 0.1; // Clamp
-
-                // 1. Check if within influence range
-                if (distToSurface < DETECTION_RADIUS) {
-                    isInfluenced = true;
-
-                    // 2. Physical Push if actual collision (Hard Wall)
-                    if (obs.isCollision(asset.getX(), asset.getY(), asset.getZ())) {
-                        // Emergency Shove
-                        double push = 5.0; // Hard push
-                        asset.setX(asset.getX() + (dx / dist) * push);
-                        asset.setY(asset.getY() + (dy / dist) * push);
-                        asset.setCollisionWarning("COLLISION OBSTACLE!");
-                    }
-
-                    // 3. Calculate Repulsive Force (Inverse Square Law)
-                    // F = k * (1/d^2) * Direction(Away)
-                    double forceMagnitude = FORCE_FACTOR / (distToSurface * distToSurface);
-
-                    // Cap force to prevent teleportation (use SimConfig)
-                    if (forceMagnitude > SimConfig.AVOIDANCE_FORCE_CAP)
-                        forceMagnitude = SimConfig.AVOIDANCE_FORCE_CAP;
-
-                    // Normal Direction (Directly AWAY from obstacle)
-                    double nx = dx / dist;
-                    double ny = dy / dist;
-
-                    // 4. Tangential Force (Steering) - "Slide Around"
-                    // Tangent vector (-ny, nx) is perpendicular to normal
-                    double tx = -ny;
-                    double ty = nx;
-
-                    // Decide steering direction based on Target + Hysteresis
-                    // Cross Product of (Asset->Obstacle) and (Asset->Target)
-                    double steerDir = asset.getSteeringBias();
-
-                    if (Math.abs(steerDir) < 0.1) {
-                        // No bias yet, calculate initial direction
-                        steerDir = 1.0;
-                        double vx = asset.getVelocityX();
-                        double vy = asset.getVelocityY();
-                        if (Math.abs(vx) > 0.1 || Math.abs(vy) > 0.1) {
-                            double cp = dx * vy - dy * vx;
-                            if (cp > 0)
-                                steerDir = 1.0; // Target/Path is left
-                            else
-                                steerDir = -1.0; // Target/Path is right
-                        }
-                        asset.setSteeringBias(steerDir); // Commit to this direction
-                    }
-
-                    // Tangential component (20-40% of repulsive force)
-                    double steeringMagnitude = forceMagnitude * 0.5;
-
-                    // Combined Force: Repulsion + Steering
-                    double fx = nx * forceMagnitude + tx * steerDir * steeringMagnitude;
-                    double fy = ny * forceMagnitude + ty * steerDir * steeringMagnitude;
-
-                    asset.addAvoidanceForce(fx, fy, 0);
-                }
-            }
-
-            if (isInfluenced) {
-                asset.setNavigationMode(ActifMobile.NavigationMode.AVOIDING);
-                // Hysteresis: Stay in avoidance mode for at least 500ms after last influence
-                // to prevent rapid toggling at the boundary.
-                asset.setAvoidanceEndTime(System.currentTimeMillis() + 500);
-            } else {
-                // Only reset to normal if not in temporary diversion mode (timer based)
-                if (asset.getAvoidanceEndTime() < System.currentTimeMillis()) {
-                    asset.setNavigationMode(ActifMobile.NavigationMode.NORMAL);
-                    asset.setSteeringBias(0.0); // Reset bias so we can turn the other way next time
-                }
-            }
-        }
+    public SimulationEngine getEngine() {
+        return engine;
     }
 
-    public void setTimeScale(double scale) {
-        this.timeScale = scale;
+    public List<RestrictedZone> getRestrictedZones() {
+        return engine.getRestrictedZones();
     }
 
     public List<Obstacle> getObstacles() {
-        return obstacles;
+        return engine.getObstacles();
     }
 
     public Weather getWeather() {
-        return weather;
+        return engine.getWeather();
     }
 
     public Communication getCommunication() {
-        return communication;
+        return engine.getCommunication();
     }
 
     public void reset() {
         lastTime = 0;
-        accumulator = 0;
+        execute(loop::reset);
     }
 }
@@ -0,0 +1,198 @@
+package com.spiga.core;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Thread dédié cadençant la simulation, hors du thread JavaFX.
+ * <p>
+ * Un ordonnanceur à cadence fixe ({@link SimConfig#SIM_THREAD_PERIOD_MS})
+ * appelle la {@link FixedStepLoop} avec le temps réel écoulé : les pas, les
+ * missions et le dispatch s'exécutent sur ce seul thread, qui publie une
+ * {@link WorldSnapshot} à la fin de chaque pas. L'interface ne fait plus que
+ * lire la dernière image publiée ; un pas coûteux ne bloque plus le rendu ni
+ * les entrées (déplacement, zoom de la carte).
+ * </p>
+ * <p>
+ * Le moteur n'est pas thread-safe : toute modification de l'état (ajout
+ * d'actif, cible, mission, météo) est transmise par {@link #execute(Runnable)}
+ * et exécutée au début du tick suivant, avant les pas.
+ * </p>
+ *
+ * @see SimulationService
+ */
+public class SimulationThread {
+
+    private static final Logger logger = Logger.getLogger(SimulationThread.class.getName());
+
+    private final SimulationEngine engine;
+    private final FixedStepLoop loop;
+    private final long periodMillis;
+
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService scheduler;
+    private volatile Thread thread;
+
+    // Accédés par le seul thread de simulation
+    private long lastTick = 0;
+    private volatile long ticks = 0;
+
+    /**
+     * Crée le thread (non démarré).
+     *
+     * @param engine       Le moteur à cadencer.
+     * @param loop         L'accumulateur à pas fixe du moteur.
+     * @param periodMillis Période de l'ordonnanceur (ms).
+     */
+    public SimulationThread(SimulationEngine engine, FixedStepLoop loop, long periodMillis) {
+        if (periodMillis < 1) {
+            throw new IllegalArgumentException("La période doit être d'au moins 1 ms");
+        }
+        this.engine = engine;
+        this.loop = loop;
+        this.periodMillis = periodMillis;
+    }
+
+    /**
+     * Démarre l'ordonnanceur (sans effet s'il tourne déjà).
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        lastTick = 0;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "spiga-sim");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::tick, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Arrête l'ordonnanceur après le tick en cours, puis exécute sur le thread
+     * appelant les commandes encore en attente.
+     */
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning("Le thread de simulation ne s'est pas arrêté à temps");
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+        thread = null;
+        runCommands();
+    }
+
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Indique si l'appelant est le thread de simulation.
+     *
+     * @return Vrai depuis une commande ou un pas.
+     */
+    public boolean isSimulationThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Transmet une commande au thread de simulation. Exécutée immédiatement
+     * si l'appelant est déjà ce thread, ou si l'ordonnanceur est arrêté.
+     * <p>
+     * La mise en file se fait sous le même verrou que {@link #stop()} : une
+     * commande acceptée est toujours vidée, par un tick ou par l'arrêt.
+     * </p>
+     *
+     * @param command Modification de l'état de la simulation.
+     */
+    public void execute(Runnable command) {
+        if (!isSimulationThread()) {
+            synchronized (this) {
+                if (scheduler != null) {
+                    commands.add(command);
+                    return;
+                }
+            }
+        }
+        command.run();
+    }
+
+    /**
+     * Transmet une commande produisant un résultat.
+     *
+     * @param <T>     Type du résultat.
+     * @param command Commande exécutée sur le thread de simulation.
+     * @return Résultat, complété après exécution de la commande.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        execute(() -> {
+            try {
+                result.complete(command.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return Nombre de ticks exécutés depuis la création.
+     */
+    public long getTickCount() {
+        return ticks;
+    }
+
+    private void tick() {
+        thread = Thread.currentThread();
+        try {
+            boolean changed = runCommands();
+
+            long now = System.nanoTime();
+            int steps = 0;
+            if (lastTick != 0) {
+                steps = loop.advance((now - lastTick) / 1e9);
+            }
+            lastTick = now;
+
+            if (changed && steps == 0) {
+                // Actifs ajoutés/retirés sans pas : l'IUG doit les voir
+                engine.publishSnapshot();
+            }
+        } catch (RuntimeException e) {
+            // Une exception annulerait les ticks suivants de l'ordonnanceur
+            logger.log(Level.SEVERE, "Erreur dans le thread de simulation", e);
+        }
+        ticks++;
+    }
+
+    private boolean runCommands() {
+        boolean ran = false;
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            ran = true;
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Commande de simulation en échec", e);
+            }
+        }
+        return ran;
+    }
+}
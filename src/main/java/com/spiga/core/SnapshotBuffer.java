@@ -0,0 +1,106 @@
+package com.spiga.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publication des images de la flotte ({@link WorldSnapshot}) entre le
+ * moteur et ses lecteurs (IUG, CLI).
+ * <p>
+ * Le moteur remplit une image libre à la fin de chaque pas puis la publie
+ * par une écriture volatile ; un lecteur épingle la dernière image publiée et
+ * la lit sans verrou, pendant que le moteur écrit les pas suivants dans une
+ * autre image. En régime normal, deux ou trois images suffisent (double
+ * tampon plus l'image en cours de lecture) ; les images sont réutilisées,
+ * aucune copie n'est faite par pas côté lecteur.
+ * </p>
+ */
+public final class SnapshotBuffer {
+
+    // Images du moteur (accédées par le seul thread de simulation)
+    private final List<WorldSnapshot> pool = new ArrayList<>();
+    private volatile WorldSnapshot latest;
+
+    /**
+     * Crée un tampon contenant une image vide (version -1).
+     */
+    public SnapshotBuffer() {
+        latest = new WorldSnapshot();
+        pool.add(latest);
+    }
+
+    /**
+     * Épingle la dernière image publiée. L'appelant doit la rendre par
+     * {@link WorldSnapshot#close()} (une seule fois), idéalement dans un
+     * try-with-resources.
+     *
+     * @return Image cohérente de la fin du dernier pas.
+     */
+    public WorldSnapshot acquire() {
+        while (true) {
+            WorldSnapshot s = latest;
+            s.pins.incrementAndGet();
+            if (s == latest) {
+                return s;
+            }
+            // Remplacée entre-temps : le moteur peut être en train de la réécrire
+            s.pins.decrementAndGet();
+        }
+    }
+
+    /**
+     * Retourne la version de la dernière image publiée.
+     *
+     * @return Numéro de pas (-1 avant le premier pas).
+     */
+    public long getVersion() {
+        return latest.version;
+    }
+
+    /**
+     * Recopie la flotte dans une image libre et la publie (moteur seulement).
+     *
+     * @param store   Composants de la flotte.
+     * @param version Numéro du pas.
+     * @param simTime Temps simulé (s).
+     */
+    void publish(FleetStore store, long version, double simTime) {
+        WorldSnapshot target = claim();
+        target.fill(store, version, simTime);
+        latest = target;
+    }
+
+    /**
+     * Image libre (ni publiée ni épinglée) à remplir avant {@link #publish(WorldSnapshot)}.
+     *
+     * @return Image réutilisable par l'écrivain.
+     */
+    WorldSnapshot claim() {
+        WorldSnapshot current = latest;
+        for (int i = 0; i < pool.size(); i++) {
+            WorldSnapshot s = pool.get(i);
+            if (s != current && s.pins.get() == 0) {
+                return s;
+            }
+        }
+        WorldSnapshot s = new WorldSnapshot(); // Toutes les images sont épinglées
+        pool.add(s);
+        return s;
+    }
+
+    /**
+     * Publie une image remplie par l'écrivain (relecture d'une trajectoire).
+     *
+     * @param snapshot Image obtenue par {@link #claim()}.
+     */
+    void publish(WorldSnapshot snapshot) {
+        latest = snapshot;
+    }
+
+    /**
+     * @return Nombre d'images allouées.
+     */
+    int poolSize() {
+        return pool.size();
+    }
+}
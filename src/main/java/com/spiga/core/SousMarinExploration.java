@@ -15,7 +15,7 @@ public class SousMarinExploration extends VehiculeSousMarin {
         this.profondeurMin = -150; // -150m
         this.vitesseMax = 15.0;
         this.autonomieMax = 120.0; // 5 jours
-        this.autonomieActuelle = autonomieMax;
+        setAutonomieActuelle(autonomieMax);
     }
 
     @Override
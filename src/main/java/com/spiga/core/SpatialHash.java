@@ -0,0 +1,266 @@
+package com.spiga.core;
+
+import java.util.Arrays;
+
+/**
+ * Grille de hachage spatial uniforme (Broad Phase).
+ * <p>
+ * Range des éléments indexés par un entier (leur position dans la liste de la
+ * flotte) dans des cellules cubiques de côté {@code cellSize}. Une requête de
+ * voisinage ne parcourt que les 27 cellules autour du point (3x3x3) : si
+ * {@code cellSize} est au moins égal à la distance de détection, tous les
+ * éléments à moins de cette distance sont retournés. Le test exact de
+ * distance reste à la charge de l'appelant.
+ * </p>
+ * <p>
+ * Tout est stocké dans des tableaux primitifs (table à adressage ouvert
+ * clé de cellule → tête de liste, listes chaînées par indices) : la
+ * reconstruction à chaque pas est en O(n) et ne crée aucun objet, ce qui
+ * remplace les boucles de paires en O(n²) pour des flottes de plusieurs
+ * dizaines de milliers d'actifs.
+ * </p>
+ */
+public class SpatialHash {
+
+    private static final int EMPTY = -1;
+    /**
+     * Bits par axe dans la clé de cellule. Deux cellules distantes de 2^21
+     * partagent la même clé : cela ne produit que des candidats en trop,
+     * écartés par le test exact.
+     */
+    private static final int AXIS_BITS = 21;
+    private static final long AXIS_MASK = (1L << AXIS_BITS) - 1;
+
+    private final double cellSize;
+    private final double invCellSize;
+
+    // Table à adressage ouvert : clé de cellule -> premier élément de la cellule
+    private long[] cellKeys = new long[16];
+    private int[] cellHeads = new int[16];
+    private boolean[] cellUsed = new boolean[16];
+    private int cellCount = 0;
+
+    // Par élément : élément suivant dans la même cellule, et cellule courante
+    private int[] next = new int[16];
+    private long[] itemCell = new long[16];
+    private boolean[] present = new boolean[16];
+
+    // Tampon de résultats des requêtes (réutilisé)
+    private int[] results = new int[64];
+
+    /**
+     * Crée une grille vide.
+     *
+     * @param cellSize Côté d'une cellule (au moins la distance de détection).
+     */
+    public SpatialHash(double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("La taille de cellule doit être positive");
+        }
+        this.cellSize = cellSize;
+        this.invCellSize = 1.0 / cellSize;
+    }
+
+    /**
+     * Vide la grille et prépare l'indexation d'éléments d'indices
+     * {@code 0..capacity-1}.
+     *
+     * @param capacity Nombre maximal d'éléments (taille de la flotte).
+     */
+    public void clear(int capacity) {
+        if (next.length < capacity) {
+            int size = Math.max(capacity, next.length * 2);
+            next = new int[size];
+            itemCell = new long[size];
+            present = new boolean[size];
+        } else {
+            Arrays.fill(present, false);
+        }
+
+        int tableSize = Integer.highestOneBit(Math.max(16, capacity * 2) - 1) << 1;
+        if (cellKeys.length < tableSize) {
+            cellKeys = new long[tableSize];
+            cellHeads = new int[tableSize];
+            cellUsed = new boolean[tableSize];
+        } else {
+            Arrays.fill(cellUsed, false);
+        }
+        cellCount = 0;
+    }
+
+    /**
+     * Indexe un élément à la position donnée.
+     *
+     * @param id Indice de l'élément.
+     * @param x  Coordonnée X.
+     * @param y  Coordonnée Y.
+     * @param z  Coordonnée Z.
+     */
+    public void insert(int id, double x, double y, double z) {
+        long key = cellKey(cell(x), cell(y), cell(z));
+        int slot = findOrCreateSlot(key);
+        next[id] = cellHeads[slot];
+        cellHeads[slot] = id;
+        itemCell[id] = key;
+        present[id] = true;
+    }
+
+    /**
+     * Retire un élément de la grille (sans effet s'il n'y est pas).
+     *
+     * @param id Indice de l'élément.
+     */
+    public void remove(int id) {
+        if (!present[id]) {
+            return;
+        }
+        int slot = findSlot(itemCell[id]);
+        int prev = EMPTY;
+        for (int cur = cellHeads[slot]; cur != EMPTY; cur = next[cur]) {
+            if (cur == id) {
+                if (prev == EMPTY) {
+                    cellHeads[slot] = next[cur];
+                } else {
+                    next[prev] = next[cur];
+                }
+                break;
+            }
+            prev = cur;
+        }
+        present[id] = false;
+    }
+
+    /**
+     * Déplace un élément déjà indexé (mise à jour incrémentale).
+     *
+     * @param id Indice de l'élément.
+     * @param x  Nouvelle coordonnée X.
+     * @param y  Nouvelle coordonnée Y.
+     * @param z  Nouvelle coordonnée Z.
+     */
+    public void move(int id, double x, double y, double z) {
+        if (present[id] && itemCell[id] == cellKey(cell(x), cell(y), cell(z))) {
+            return; // Même cellule
+        }
+        remove(id);
+        insert(id, x, y, z);
+    }
+
+    /**
+     * Retourne les éléments candidats d'indice strictement supérieur à
+     * {@code minId} dans les cellules voisines du point, triés par indice
+     * croissant (même ordre que la double boucle {@code j = i + 1 .. n}).
+     *
+     * @param x     Coordonnée X du centre.
+     * @param y     Coordonnée Y du centre.
+     * @param z     Coordonnée Z du centre.
+     * @param minId Indice minimal exclu.
+     * @return Nombre de candidats, lisibles via {@link #result(int)}.
+     */
+    public int queryAbove(double x, double y, double z, int minId) {
+        int cx = cell(x);
+        int cy = cell(y);
+        int cz = cell(z);
+        int count = 0;
+        for (int ix = cx - 1; ix <= cx + 1; ix++) {
+            for (int iy = cy - 1; iy <= cy + 1; iy++) {
+                for (int iz = cz - 1; iz <= cz + 1; iz++) {
+                    int slot = findSlot(cellKey(ix, iy, iz));
+                    if (slot < 0) {
+                        continue;
+                    }
+                    for (int id = cellHeads[slot]; id != EMPTY; id = next[id]) {
+                        if (id > minId) {
+                            if (count == results.length) {
+                                results = Arrays.copyOf(results, count * 2);
+                            }
+                            results[count++] = id;
+                        }
+                    }
+                }
+            }
+        }
+        Arrays.sort(results, 0, count);
+        return count;
+    }
+
+    /**
+     * Lit un résultat de la dernière requête.
+     *
+     * @param index Rang dans les résultats.
+     * @return Indice de l'élément.
+     */
+    public int result(int index) {
+        return results[index];
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v * invCellSize);
+    }
+
+    private static long cellKey(int cx, int cy, int cz) {
+        return ((cx & AXIS_MASK) << (2 * AXIS_BITS)) | ((cy & AXIS_MASK) << AXIS_BITS) | (cz & AXIS_MASK);
+    }
+
+    private static int hash(long key) {
+        key ^= (key >>> 33);
+        key *= 0xff51afd7ed558ccdL;
+        key ^= (key >>> 33);
+        return (int) key;
+    }
+
+    private int findSlot(long key) {
+        int mask = cellKeys.length - 1;
+        for (int slot = hash(key) & mask; cellUsed[slot]; slot = (slot + 1) & mask) {
+            if (cellKeys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int findOrCreateSlot(long key) {
+        int mask = cellKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (cellUsed[slot]) {
+            if (cellKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((cellCount + 1) * 2 > cellKeys.length) {
+            growTable();
+            return findOrCreateSlot(key);
+        }
+        cellUsed[slot] = true;
+        cellKeys[slot] = key;
+        cellHeads[slot] = EMPTY;
+        cellCount++;
+        return slot;
+    }
+
+    private void growTable() {
+        long[] oldKeys = cellKeys;
+        int[] oldHeads = cellHeads;
+        boolean[] oldUsed = cellUsed;
+        cellKeys = new long[oldKeys.length * 2];
+        cellHeads = new int[oldKeys.length * 2];
+        cellUsed = new boolean[oldKeys.length * 2];
+        int mask = cellKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (cellUsed[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                cellUsed[slot] = true;
+                cellKeys[slot] = oldKeys[i];
+                cellHeads[slot] = oldHeads[i];
+            }
+        }
+    }
+}
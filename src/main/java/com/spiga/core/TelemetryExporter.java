@@ -0,0 +1,542 @@
+package com.spiga.core;
+
+import com.spiga.management.Mission;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Export en colonnes de l'état de la flotte, pas par pas, pour l'analyse
+ * hors ligne.
+ * <p>
+ * Chaque ligne est un couple (pas, actif) : position, vitesse, charge de la
+ * batterie, états et mission courante ({@link #COLUMNS}). Le moteur ajoute
+ * un pas par quelques copies de tableaux depuis le {@link FleetStore} dans
+ * le groupe de lignes courant ; un groupe plein est confié à un thread
+ * d'écriture, qui écrit une colonne après l'autre (segment compressé par
+ * colonne, avec minimum et maximum) puis rend le groupe. Le thread de
+ * simulation n'attend jamais le disque : si l'écriture prend trop de retard,
+ * le groupe est abandonné et compté ({@link #getDroppedRows()}).
+ * </p>
+ * <p>
+ * Les colonnes réelles sont découpées octet par octet (octets de même rang
+ * consécutifs) avant compression. Les identifiants des actifs et des
+ * missions sont écrits dans l'index de fin de fichier, lu par
+ * {@link TelemetryReader}.
+ * </p>
+ */
+public final class TelemetryExporter implements AutoCloseable {
+
+    static final int MAGIC = 0x5350544C; // "SPTL"
+    static final int VERSION = 1;
+
+    // Types de colonnes
+    static final byte LONG = 0;
+    static final byte INT = 1;
+    static final byte DOUBLE = 2;
+    static final byte BYTE = 3;
+
+    /** Colonnes exportées, dans l'ordre des segments d'un groupe. */
+    public static final List<String> COLUMNS = List.of("tick", "asset", "x", "y", "z", "vx", "vy", "vz",
+            "battery", "state", "etat", "navMode", "mission");
+    static final byte[] TYPES = { LONG, INT, DOUBLE, DOUBLE, DOUBLE, DOUBLE, DOUBLE, DOUBLE, DOUBLE, BYTE, BYTE,
+            BYTE, INT };
+
+    /** Nombre de lignes visé par groupe (un pas n'est jamais coupé). */
+    public static final int DEFAULT_ROW_GROUP_ROWS = 1 << 16;
+    /** Groupes pleins en attente d'écriture au plus. */
+    private static final int QUEUE_CAPACITY = 4;
+
+    /** Lignes de plusieurs pas consécutifs, colonne par colonne. */
+    private static final class RowGroup {
+        int rows = 0;
+        long[] tick;
+        ActifMobile[] owners;
+        double[] x, y, z, vx, vy, vz, battery;
+        byte[] state, etat, navMode;
+        Mission[] missions;
+
+        RowGroup(int capacity) {
+            allocate(capacity);
+        }
+
+        void allocate(int capacity) {
+            tick = new long[capacity];
+            owners = new ActifMobile[capacity];
+            x = new double[capacity];
+            y = new double[capacity];
+            z = new double[capacity];
+            vx = new double[capacity];
+            vy = new double[capacity];
+            vz = new double[capacity];
+            battery = new double[capacity];
+            state = new byte[capacity];
+            etat = new byte[capacity];
+            navMode = new byte[capacity];
+            missions = new Mission[capacity];
+        }
+
+        int capacity() {
+            return tick.length;
+        }
+
+        /** Vide le groupe sans retenir d'actifs ni de missions. */
+        void clear() {
+            Arrays.fill(owners, 0, rows, null);
+            Arrays.fill(missions, 0, rows, null);
+            rows = 0;
+        }
+    }
+
+    /** Marque de fin pour le thread d'écriture. */
+    private static final RowGroup END = new RowGroup(0);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int rowGroupRows;
+    private final int interval;
+
+    // Thread de simulation
+    private RowGroup current;
+    private boolean closed = false;
+    private long droppedRows = 0;
+
+    // Échanges avec le thread d'écriture
+    private final BlockingQueue<RowGroup> filled = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final ConcurrentLinkedQueue<RowGroup> free = new ConcurrentLinkedQueue<>();
+    private final Thread writer;
+    private volatile IOException failure;
+
+    // Thread d'écriture : index et dictionnaires
+    private long end;
+    private final List<long[]> chunkOffsets = new ArrayList<>();
+    private final List<int[]> chunkLengths = new ArrayList<>();
+    private final List<int[]> rawLengths = new ArrayList<>();
+    private final List<double[]> chunkMins = new ArrayList<>();
+    private final List<double[]> chunkMaxs = new ArrayList<>();
+    private final List<Integer> groupRows = new ArrayList<>();
+    private final Map<Integer, String> assetIds = new HashMap<>();
+    private final Map<Mission, Integer> missionCodes = new IdentityHashMap<>();
+    private final List<String> missionIds = new ArrayList<>();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private ByteBuffer raw = ByteBuffer.allocate(0);
+    private byte[] compressed = new byte[0];
+    private int[] ints = new int[0];
+    private double[] doubles = new double[0];
+
+    private TelemetryExporter(Path path, FileChannel channel, int rowGroupRows, int interval) {
+        this.path = path;
+        this.channel = channel;
+        this.rowGroupRows = rowGroupRows;
+        this.interval = interval;
+        this.end = 8;
+        this.current = new RowGroup(rowGroupRows);
+        this.writer = new Thread(this::drain, "spiga-telemetry");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Crée (ou remplace) un fichier d'export, une ligne par actif et par pas.
+     *
+     * @param path Fichier à écrire.
+     * @return L'export ouvert.
+     * @throws IOException Si le fichier ne peut pas être créé.
+     */
+    public static TelemetryExporter open(Path path) throws IOException {
+        return open(path, 1, DEFAULT_ROW_GROUP_ROWS);
+    }
+
+    /**
+     * Crée (ou remplace) un fichier d'export.
+     *
+     * @param path         Fichier à écrire.
+     * @param interval     Exporte un pas sur {@code interval}.
+     * @param rowGroupRows Nombre de lignes visé par groupe.
+     * @return L'export ouvert.
+     * @throws IOException Si le fichier ne peut pas être créé.
+     */
+    public static TelemetryExporter open(Path path, int interval, int rowGroupRows) throws IOException {
+        if (interval < 1 || rowGroupRows < 1) {
+            throw new IllegalArgumentException("Paramètres d'export invalides: " + interval + ", " + rowGroupRows);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new TelemetryExporter(path, channel, rowGroupRows, interval);
+    }
+
+    /**
+     * Ajoute l'état de la flotte à la fin d'un pas (moteur seulement).
+     *
+     * @param s    Composants de la flotte.
+     * @param step Numéro du pas.
+     */
+    synchronized void append(FleetStore s, long step) {
+        if (closed || step % interval != 0) {
+            return;
+        }
+        int n = s.size();
+        RowGroup g = current;
+        if (g.rows > 0 && g.rows + n > g.capacity()) {
+            g = handOff();
+        }
+        if (n > g.capacity()) {
+            g.allocate(n); // Un pas plus grand qu'un groupe : groupe agrandi
+        }
+        int r = g.rows;
+        Arrays.fill(g.tick, r, r + n, step);
+        s.copyOwners(g.owners, r);
+        System.arraycopy(s.px, 0, g.x, r, n);
+        System.arraycopy(s.py, 0, g.y, r, n);
+        System.arraycopy(s.pz, 0, g.z, r, n);
+        System.arraycopy(s.vx, 0, g.vx, r, n);
+        System.arraycopy(s.vy, 0, g.vy, r, n);
+        System.arraycopy(s.vz, 0, g.vz, r, n);
+        System.arraycopy(s.battery, 0, g.battery, r, n);
+        System.arraycopy(s.state, 0, g.state, r, n);
+        System.arraycopy(s.etat, 0, g.etat, r, n);
+        System.arraycopy(s.navMode, 0, g.navMode, r, n);
+        // La mission courante change hors du thread d'écriture : lue ici
+        ActifMobile[] owners = g.owners;
+        Mission[] missions = g.missions;
+        for (int i = 0; i < n; i++) {
+            missions[r + i] = owners[r + i].getCurrentMission();
+        }
+        g.rows = r + n;
+    }
+
+    /**
+     * Confie le groupe courant au thread d'écriture, sans attendre.
+     *
+     * @return Le nouveau groupe courant.
+     */
+    private RowGroup handOff() {
+        RowGroup full = current;
+        if (!filled.offer(full)) {
+            droppedRows += full.rows; // Écriture en retard : groupe abandonné
+            full.clear();
+            return full;
+        }
+        RowGroup next = free.poll();
+        current = next != null ? next : new RowGroup(rowGroupRows);
+        return current;
+    }
+
+    /** Boucle du thread d'écriture. */
+    private void drain() {
+        while (true) {
+            RowGroup g;
+            try {
+                g = filled.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (g == END) {
+                return;
+            }
+            if (failure == null) {
+                try {
+                    write(g);
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            g.clear();
+            free.offer(g);
+        }
+    }
+
+    /** Écrit un groupe : un segment compressé par colonne. */
+    private void write(RowGroup g) throws IOException {
+        int n = g.rows;
+        int columns = COLUMNS.size();
+        long[] offsets = new long[columns];
+        int[] lengths = new int[columns];
+        int[] raws = new int[columns];
+        double[] mins = new double[columns];
+        double[] maxs = new double[columns];
+        if (ints.length < n) {
+            ints = new int[n];
+            doubles = new double[n];
+        }
+        for (int c = 0; c < columns; c++) {
+            raw.clear();
+            switch (c) {
+                case 0:
+                    putLongs(g.tick, n, c, mins, maxs);
+                    break;
+                case 1:
+                    for (int i = 0; i < n; i++) {
+                        ActifMobile a = g.owners[i];
+                        ints[i] = a.getSerial();
+                        if (!assetIds.containsKey(ints[i])) {
+                            assetIds.put(ints[i], a.getId());
+                        }
+                    }
+                    putInts(ints, n, c, mins, maxs);
+                    break;
+                case 8:
+                    for (int i = 0; i < n; i++) {
+                        doubles[i] = g.battery[i] / g.owners[i].getAutonomieMax();
+                    }
+                    putDoubles(doubles, n, c, mins, maxs);
+                    break;
+                case 9:
+                    putBytes(g.state, n, c, mins, maxs);
+                    break;
+                case 10:
+                    putBytes(g.etat, n, c, mins, maxs);
+                    break;
+                case 11:
+                    putBytes(g.navMode, n, c, mins, maxs);
+                    break;
+                case 12:
+                    for (int i = 0; i < n; i++) {
+                        ints[i] = missionCode(g.missions[i]);
+                    }
+                    putInts(ints, n, c, mins, maxs);
+                    break;
+                default:
+                    putDoubles(doubleColumn(g, c), n, c, mins, maxs);
+            }
+            raws[c] = raw.position();
+            offsets[c] = end;
+            lengths[c] = compress();
+            end += lengths[c];
+        }
+        chunkOffsets.add(offsets);
+        chunkLengths.add(lengths);
+        rawLengths.add(raws);
+        chunkMins.add(mins);
+        chunkMaxs.add(maxs);
+        groupRows.add(n);
+    }
+
+    private static double[] doubleColumn(RowGroup g, int c) {
+        switch (c) {
+            case 2:
+                return g.x;
+            case 3:
+                return g.y;
+            case 4:
+                return g.z;
+            case 5:
+                return g.vx;
+            case 6:
+                return g.vy;
+            default:
+                return g.vz;
+        }
+    }
+
+    /** Code d'une mission (-1 : aucune), attribué à sa première apparition. */
+    private int missionCode(Mission m) {
+        if (m == null) {
+            return -1;
+        }
+        Integer code = missionCodes.get(m);
+        if (code == null) {
+            code = missionIds.size();
+            missionCodes.put(m, code);
+            missionIds.add(m.getId());
+        }
+        return code;
+    }
+
+    private void ensureRaw(int bytes) {
+        if (raw.capacity() < bytes) {
+            raw = ByteBuffer.allocate(Math.max(bytes, raw.capacity() * 3 / 2));
+        }
+    }
+
+    private void putLongs(long[] v, int n, int c, double[] mins, double[] maxs) {
+        ensureRaw(n * Long.BYTES);
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            min = Math.min(min, v[i]);
+            max = Math.max(max, v[i]);
+        }
+        raw.asLongBuffer().put(v, 0, n);
+        raw.position(n * Long.BYTES);
+        mins[c] = min;
+        maxs[c] = max;
+    }
+
+    private void putInts(int[] v, int n, int c, double[] mins, double[] maxs) {
+        ensureRaw(n * Integer.BYTES);
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            min = Math.min(min, v[i]);
+            max = Math.max(max, v[i]);
+        }
+        raw.asIntBuffer().put(v, 0, n);
+        raw.position(n * Integer.BYTES);
+        mins[c] = min;
+        maxs[c] = max;
+    }
+
+    private void putBytes(byte[] v, int n, int c, double[] mins, double[] maxs) {
+        ensureRaw(n);
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            min = Math.min(min, v[i]);
+            max = Math.max(max, v[i]);
+        }
+        raw.put(v, 0, n);
+        mins[c] = min;
+        maxs[c] = max;
+    }
+
+    /** Réels découpés par octet : tous les octets de poids fort, puis les suivants... */
+    private void putDoubles(double[] v, int n, int c, double[] mins, double[] maxs) {
+        ensureRaw(n * Double.BYTES);
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        byte[] out = raw.array();
+        for (int i = 0; i < n; i++) {
+            double d = v[i];
+            min = Math.min(min, d);
+            max = Math.max(max, d);
+            long bits = Double.doubleToRawLongBits(d);
+            for (int k = 0; k < Double.BYTES; k++) {
+                out[k * n + i] = (byte) (bits >>> (56 - 8 * k));
+            }
+        }
+        raw.position(n * Double.BYTES);
+        mins[c] = min;
+        maxs[c] = max;
+    }
+
+    /** Compresse {@link #raw} et l'écrit en fin de fichier ; retourne la longueur écrite. */
+    private int compress() throws IOException {
+        int length = raw.position();
+        deflater.reset();
+        deflater.setInput(raw.array(), 0, length);
+        deflater.finish();
+        if (compressed.length < length + 64) {
+            compressed = new byte[length + length / 8 + 64];
+        }
+        int size = 0;
+        while (!deflater.finished()) {
+            if (size == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            size += deflater.deflate(compressed, size, compressed.length - size);
+        }
+        ByteBuffer out = ByteBuffer.wrap(compressed, 0, size);
+        while (out.hasRemaining()) {
+            channel.write(out, end + out.position());
+        }
+        return size;
+    }
+
+    /**
+     * @return Lignes abandonnées parce que l'écriture était en retard.
+     */
+    public synchronized long getDroppedRows() {
+        return droppedRows;
+    }
+
+    /**
+     * Écrit le dernier groupe et l'index, puis ferme le fichier.
+     *
+     * @throws IOException Si une écriture a échoué pendant l'export.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (current.rows > 0) {
+                filled.put(current);
+            }
+            filled.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            channel.close();
+            throw new IOException("Export interrompu: " + path, e);
+        }
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            writeFooter();
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    /**
+     * Index : colonnes, dictionnaires, puis pour chaque groupe sa taille et
+     * ses segments (position, longueurs, minimum, maximum) ; l'adresse de
+     * l'index termine le fichier.
+     */
+    private void writeFooter() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(COLUMNS.size());
+        for (int c = 0; c < COLUMNS.size(); c++) {
+            out.writeUTF(COLUMNS.get(c));
+            out.writeByte(TYPES[c]);
+        }
+        out.writeInt(assetIds.size());
+        for (Map.Entry<Integer, String> e : assetIds.entrySet()) {
+            out.writeInt(e.getKey());
+            out.writeUTF(e.getValue());
+        }
+        out.writeInt(missionIds.size());
+        for (String id : missionIds) {
+            out.writeUTF(id);
+        }
+        out.writeInt(groupRows.size());
+        for (int g = 0; g < groupRows.size(); g++) {
+            out.writeInt(groupRows.get(g));
+            for (int c = 0; c < COLUMNS.size(); c++) {
+                out.writeLong(chunkOffsets.get(g)[c]);
+                out.writeInt(chunkLengths.get(g)[c]);
+                out.writeInt(rawLengths.get(g)[c]);
+                out.writeDouble(chunkMins.get(g)[c]);
+                out.writeDouble(chunkMaxs.get(g)[c]);
+            }
+        }
+        out.writeLong(droppedRows);
+        out.writeLong(end); // Adresse de l'index
+        out.writeInt(MAGIC);
+        ByteBuffer footer = ByteBuffer.wrap(bytes.toByteArray());
+        while (footer.hasRemaining()) {
+            channel.write(footer, end + footer.position());
+        }
+    }
+}
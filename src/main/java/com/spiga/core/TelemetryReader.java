@@ -0,0 +1,304 @@
+package com.spiga.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Lecture d'un export de {@link TelemetryExporter}, colonne par colonne.
+ * <p>
+ * Seuls les segments demandés sont lus et décompressés ; le minimum et le
+ * maximum de chaque segment, lus dans l'index, permettent d'écarter un
+ * groupe de lignes sans le lire.
+ * </p>
+ */
+public final class TelemetryReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final List<String> columns = new ArrayList<>();
+    private final List<Byte> types = new ArrayList<>();
+    private final Map<Integer, String> assetIds = new HashMap<>();
+    private final List<String> missionIds = new ArrayList<>();
+    private final List<Integer> groupRows = new ArrayList<>();
+    private final List<long[]> offsets = new ArrayList<>();
+    private final List<int[]> lengths = new ArrayList<>();
+    private final List<int[]> rawLengths = new ArrayList<>();
+    private final List<double[]> mins = new ArrayList<>();
+    private final List<double[]> maxs = new ArrayList<>();
+    private long droppedRows;
+    private final Inflater inflater = new Inflater();
+
+    private TelemetryReader(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Ouvre un export et lit son index.
+     *
+     * @param path Fichier écrit par {@link TelemetryExporter}.
+     * @return Le lecteur ouvert.
+     * @throws IOException Si le fichier est illisible, incomplet ou d'un autre format.
+     */
+    public static TelemetryReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        TelemetryReader reader = new TelemetryReader(channel);
+        try {
+            reader.readFooter(path);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+        return reader;
+    }
+
+    private void readFooter(Path path) throws IOException {
+        long size = channel.size();
+        if (size < 20 || read(0, 8).getInt() != TelemetryExporter.MAGIC) {
+            throw new IOException("Pas un export de télémétrie: " + path);
+        }
+        ByteBuffer trailer = read(size - 12, 12);
+        long footer = trailer.getLong();
+        if (trailer.getInt() != TelemetryExporter.MAGIC || footer < 8 || footer > size - 12) {
+            throw new IOException("Export de télémétrie incomplet: " + path);
+        }
+        DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(read(footer, (int) (size - 12 - footer)).array()));
+        int columnCount = in.readInt();
+        for (int c = 0; c < columnCount; c++) {
+            columns.add(in.readUTF());
+            types.add(in.readByte());
+        }
+        int assets = in.readInt();
+        for (int i = 0; i < assets; i++) {
+            int serial = in.readInt();
+            assetIds.put(serial, in.readUTF());
+        }
+        int missions = in.readInt();
+        for (int i = 0; i < missions; i++) {
+            missionIds.add(in.readUTF());
+        }
+        int groups = in.readInt();
+        for (int g = 0; g < groups; g++) {
+            groupRows.add(in.readInt());
+            long[] o = new long[columnCount];
+            int[] l = new int[columnCount];
+            int[] r = new int[columnCount];
+            double[] lo = new double[columnCount];
+            double[] hi = new double[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                o[c] = in.readLong();
+                l[c] = in.readInt();
+                r[c] = in.readInt();
+                lo[c] = in.readDouble();
+                hi[c] = in.readDouble();
+            }
+            offsets.add(o);
+            lengths.add(l);
+            rawLengths.add(r);
+            mins.add(lo);
+            maxs.add(hi);
+        }
+        droppedRows = in.readLong();
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Fin de fichier inattendue");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return Noms des colonnes, dans l'ordre du fichier.
+     */
+    public List<String> getColumns() {
+        return List.copyOf(columns);
+    }
+
+    /**
+     * @return Nombre de groupes de lignes.
+     */
+    public int getRowGroupCount() {
+        return groupRows.size();
+    }
+
+    /**
+     * @param group Indice du groupe.
+     * @return Nombre de lignes du groupe.
+     */
+    public int getRowCount(int group) {
+        return groupRows.get(group);
+    }
+
+    /**
+     * @return Nombre total de lignes écrites.
+     */
+    public long getTotalRows() {
+        long total = 0;
+        for (int rows : groupRows) {
+            total += rows;
+        }
+        return total;
+    }
+
+    /**
+     * @return Lignes abandonnées pendant l'export (écriture en retard).
+     */
+    public long getDroppedRows() {
+        return droppedRows;
+    }
+
+    /**
+     * @param group  Indice du groupe.
+     * @param column Nom de la colonne.
+     * @return Plus petite valeur de la colonne dans le groupe.
+     */
+    public double getMin(int group, String column) {
+        return mins.get(group)[column(column)];
+    }
+
+    /**
+     * @param group  Indice du groupe.
+     * @param column Nom de la colonne.
+     * @return Plus grande valeur de la colonne dans le groupe.
+     */
+    public double getMax(int group, String column) {
+        return maxs.get(group)[column(column)];
+    }
+
+    /**
+     * @param serial Numéro d'actif (colonne {@code asset}).
+     * @return Identifiant de l'actif, ou {@code null} s'il est inconnu.
+     */
+    public String getAssetId(int serial) {
+        return assetIds.get(serial);
+    }
+
+    /**
+     * @param code Code de mission (colonne {@code mission}).
+     * @return Identifiant de la mission, ou {@code null} pour {@code -1}.
+     */
+    public String getMissionId(int code) {
+        return code < 0 ? null : missionIds.get(code);
+    }
+
+    /**
+     * Lit une colonne d'entiers longs d'un groupe.
+     *
+     * @param group  Indice du groupe.
+     * @param column Nom de la colonne.
+     * @return Les valeurs, une par ligne du groupe.
+     * @throws IOException Si le segment est illisible.
+     */
+    public long[] readLongs(int group, String column) throws IOException {
+        ByteBuffer raw = chunk(group, column, TelemetryExporter.LONG);
+        long[] values = new long[groupRows.get(group)];
+        raw.asLongBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Lit une colonne d'entiers d'un groupe.
+     *
+     * @param group  Indice du groupe.
+     * @param column Nom de la colonne.
+     * @return Les valeurs, une par ligne du groupe.
+     * @throws IOException Si le segment est illisible.
+     */
+    public int[] readInts(int group, String column) throws IOException {
+        ByteBuffer raw = chunk(group, column, TelemetryExporter.INT);
+        int[] values = new int[groupRows.get(group)];
+        raw.asIntBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Lit une colonne de réels d'un groupe.
+     *
+     * @param group  Indice du groupe.
+     * @param column Nom de la colonne.
+     * @return Les valeurs, une par ligne du groupe.
+     * @throws IOException Si le segment est illisible.
+     */
+    public double[] readDoubles(int group, String column) throws IOException {
+        byte[] raw = chunk(group, column, TelemetryExporter.DOUBLE).array();
+        int n = groupRows.get(group);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            long bits = 0;
+            for (int k = 0; k < Double.BYTES; k++) {
+                bits = (bits << 8) | (raw[k * n + i] & 0xFF);
+            }
+            values[i] = Double.longBitsToDouble(bits);
+        }
+        return values;
+    }
+
+    /**
+     * Lit une colonne d'octets d'un groupe.
+     *
+     * @param group  Indice du groupe.
+     * @param column Nom de la colonne.
+     * @return Les valeurs, une par ligne du groupe.
+     * @throws IOException Si le segment est illisible.
+     */
+    public byte[] readBytes(int group, String column) throws IOException {
+        return chunk(group, column, TelemetryExporter.BYTE).array();
+    }
+
+    private int column(String name) {
+        int c = columns.indexOf(name);
+        if (c < 0) {
+            throw new IllegalArgumentException("Colonne inconnue: " + name);
+        }
+        return c;
+    }
+
+    /** Lit et décompresse un segment. */
+    private ByteBuffer chunk(int group, String name, byte type) throws IOException {
+        int c = column(name);
+        if (types.get(c) != type) {
+            throw new IllegalArgumentException("Type incompatible pour la colonne " + name);
+        }
+        ByteBuffer compressed = read(offsets.get(group)[c], lengths.get(group)[c]);
+        byte[] raw = new byte[rawLengths.get(group)[c]];
+        inflater.reset();
+        inflater.setInput(compressed.array());
+        try {
+            int size = 0;
+            while (size < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, size, raw.length - size);
+                if (n == 0 && inflater.needsInput()) {
+                    break;
+                }
+                size += n;
+            }
+            if (size != raw.length) {
+                throw new IOException("Segment tronqué: " + name + " (groupe " + group + ")");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Segment corrompu: " + name + " (groupe " + group + ")", e);
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        channel.close();
+    }
+}
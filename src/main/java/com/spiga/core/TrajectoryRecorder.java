@@ -0,0 +1,569 @@
+package com.spiga.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enregistrement compact des trajectoires de la flotte, à chaque pas.
+ * <p>
+ * Le fichier est écrit par projection mémoire ({@link MappedByteBuffer}) :
+ * une image clé complète toutes les {@code keyframeInterval} étapes (et dès
+ * que la composition de la flotte change), puis une image delta par pas. Les
+ * positions et cibles sont quantifiées au millimètre ({@link #QUANTUM}). Dans
+ * une image delta, la position de chaque actif est extrapolée à vitesse
+ * constante ; seuls les écarts de plus de {@link #TOLERANCE} quanta donnent
+ * une correction (position et vitesse). Un actif en ligne droite, au repos
+ * ou dont rien ne change ne coûte qu'un bit de la table de présence de
+ * l'image.
+ * </p>
+ * <p>
+ * Les identifiants des actifs et les libellés d'avertissement sont déclarés
+ * une fois, à leur première apparition. À la fermeture, un index (images
+ * clés, actifs, libellés) est ajouté en fin de fichier ; un fichier non
+ * fermé (arrêt brutal) reste relisible par {@link TrajectoryReplay}, qui
+ * reconstruit alors l'index en le parcourant.
+ * </p>
+ */
+public final class TrajectoryRecorder implements AutoCloseable {
+
+    static final int MAGIC = 0x53505452; // "SPTR"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 40;
+    /** Position, dans l'en-tête, de l'adresse de l'index final (0 si absent). */
+    static final int FOOTER_OFFSET_POSITION = 32;
+
+    /** Pas de quantification des positions et des cibles (m). */
+    public static final double QUANTUM = 0.001;
+    /** Écart maximal (en quanta) toléré avant correction : 5 cm. */
+    static final int TOLERANCE = 50;
+    /** Pas de quantification de la charge de la batterie (fraction). */
+    static final double BATTERY_QUANTUM = 0.001;
+    /** Période par défaut des images clés : 10 s simulées. */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 600;
+
+    // Types d'enregistrement
+    static final byte ASSET = 1;
+    static final byte LABEL = 2;
+    static final byte KEYFRAME = 3;
+    static final byte DELTA = 4;
+
+    // Champs présents pour un actif dans une image delta
+    static final int DX = 1;
+    static final int DY = 2;
+    static final int DZ = 4;
+    static final int TARGET = 8;
+    static final int BATTERY = 16;
+    static final int STATUS = 32;
+
+    /** Longueur, type, pas, nombre d'actifs. */
+    static final int FRAME_HEADER_BYTES = 4 + 1 + 8 + 4;
+    /** Série, position, vitesse, cible, batterie, états, avertissement. */
+    static final int KEY_BYTES = 4 + 3 * 4 + 3 * 4 + 3 * 4 + 2 + 3 + 2;
+    /** Pire cas par actif d'une image delta (varints de 5 octets). */
+    private static final int DELTA_MAX_BYTES = 1 + 3 * (5 + 5) + 3 * 5 + 5 + 3 + 5;
+
+    private static final int REGION_BYTES = 64 << 20;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int keyframeInterval;
+
+    private MappedByteBuffer region;
+    private long regionBase;
+    private long end = HEADER_BYTES;
+    private boolean closed = false;
+
+    // Index des images clés
+    private long[] keySteps = new long[64];
+    private long[] keyOffsets = new long[64];
+    private int keyCount = 0;
+    private long firstStep = -1;
+    private long lastStep = -1;
+
+    // Actifs et libellés déclarés
+    private final BitSet declared = new BitSet();
+    private int[] rosterSerials = new int[64];
+    private byte[] rosterKinds = new byte[64];
+    private final List<String> rosterIds = new ArrayList<>();
+    private final Map<String, Integer> labelCodes = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+
+    // État reconstruit par le lecteur à la dernière image, par slot
+    private int size = 0;
+    private int[] serials = new int[0];
+    private int[] qx = new int[0];
+    private int[] qy = new int[0];
+    private int[] qz = new int[0];
+    private int[] vx = new int[0];
+    private int[] vy = new int[0];
+    private int[] vz = new int[0];
+    // Dernière position réelle quantifiée (vitesse après correction)
+    private int[] ax = new int[0];
+    private int[] ay = new int[0];
+    private int[] az = new int[0];
+    private int[] tx = new int[0];
+    private int[] ty = new int[0];
+    private int[] tz = new int[0];
+    private int[] battery = new int[0];
+    private byte[] state = new byte[0];
+    private byte[] etat = new byte[0];
+    private byte[] navMode = new byte[0];
+    private int[] warning = new int[0];
+    private int[] nextSerials = new int[0];
+    private int[] nextWarnings = new int[0];
+
+    private TrajectoryRecorder(Path path, FileChannel channel, int keyframeInterval) {
+        this.path = path;
+        this.channel = channel;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Crée (ou remplace) un fichier de trajectoires.
+     *
+     * @param path Fichier à écrire.
+     * @return L'enregistreur ouvert.
+     * @throws IOException Si le fichier ne peut pas être créé.
+     */
+    public static TrajectoryRecorder open(Path path) throws IOException {
+        return open(path, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Crée (ou remplace) un fichier de trajectoires.
+     *
+     * @param path             Fichier à écrire.
+     * @param keyframeInterval Nombre de pas entre deux images clés (coût d'un
+     *                         déplacement dans la relecture).
+     * @return L'enregistreur ouvert.
+     * @throws IOException Si le fichier ne peut pas être créé.
+     */
+    public static TrajectoryRecorder open(Path path, int keyframeInterval) throws IOException {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("Intervalle d'images clés invalide: " + keyframeInterval);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putDouble(SimulationEngine.FIXED_STEP).putDouble(QUANTUM)
+                .putInt(keyframeInterval).putInt(TOLERANCE).putLong(0);
+        header.flip();
+        try {
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new TrajectoryRecorder(path, channel, keyframeInterval);
+    }
+
+    /**
+     * Enregistre l'état de la flotte à la fin d'un pas (moteur seulement).
+     *
+     * @param s    Composants de la flotte.
+     * @param step Numéro du pas.
+     */
+    synchronized void record(FleetStore s, long step) {
+        if (closed) {
+            return;
+        }
+        try {
+            int n = s.size();
+            boolean key = n != size || lastStep < 0 || step != lastStep + 1
+                    || step - keySteps[keyCount - 1] >= keyframeInterval;
+            if (nextSerials.length < n) {
+                nextSerials = new int[Math.max(n, nextSerials.length * 2)];
+                nextWarnings = new int[nextSerials.length];
+            }
+            // Déclarations avant l'image qui les utilise
+            for (int i = 0; i < n; i++) {
+                ActifMobile a = s.owner(i);
+                int serial = a.getSerial();
+                if (!declared.get(serial)) {
+                    declare(a, serial);
+                }
+                if (!key && serial != serials[i]) {
+                    key = true;
+                }
+                nextSerials[i] = serial;
+                String w = a.getCollisionWarning();
+                nextWarnings[i] = w == null ? 0 : labelCode(w);
+            }
+            if (key) {
+                writeKeyframe(s, n, step);
+            } else {
+                writeDelta(s, n, step);
+            }
+            if (firstStep < 0) {
+                firstStep = step;
+            }
+            lastStep = step;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture des trajectoires impossible: " + path, e);
+        }
+    }
+
+    private void writeKeyframe(FleetStore s, int n, long step) throws IOException {
+        ensureState(n);
+        ensure(FRAME_HEADER_BYTES + (long) n * KEY_BYTES);
+        MappedByteBuffer b = region;
+        int start = b.position();
+        b.putInt(0);
+        b.put(KEYFRAME);
+        b.putLong(step);
+        b.putInt(n);
+        double perTick = SimulationEngine.FIXED_STEP / QUANTUM;
+        for (int i = 0; i < n; i++) {
+            serials[i] = nextSerials[i];
+            ax[i] = qx[i] = quantize(s.px[i]);
+            ay[i] = qy[i] = quantize(s.py[i]);
+            az[i] = qz[i] = quantize(s.pz[i]);
+            // Vitesse d'extrapolation initiale : celle du moteur
+            vx[i] = (int) Math.round(s.vx[i] * perTick);
+            vy[i] = (int) Math.round(s.vy[i] * perTick);
+            vz[i] = (int) Math.round(s.vz[i] * perTick);
+            tx[i] = quantize(s.tx[i]);
+            ty[i] = quantize(s.ty[i]);
+            tz[i] = quantize(s.tz[i]);
+            battery[i] = quantizeBattery(s, i);
+            state[i] = s.state[i];
+            etat[i] = s.etat[i];
+            navMode[i] = s.navMode[i];
+            warning[i] = nextWarnings[i];
+
+            b.putInt(serials[i]);
+            b.putInt(qx[i]).putInt(qy[i]).putInt(qz[i]);
+            b.putInt(vx[i]).putInt(vy[i]).putInt(vz[i]);
+            b.putInt(tx[i]).putInt(ty[i]).putInt(tz[i]);
+            b.putShort((short) battery[i]);
+            b.put(state[i]).put(etat[i]).put(navMode[i]);
+            b.putShort((short) warning[i]);
+        }
+        size = n;
+        if (keyCount == keySteps.length) {
+            keySteps = Arrays.copyOf(keySteps, keyCount * 2);
+            keyOffsets = Arrays.copyOf(keyOffsets, keyCount * 2);
+        }
+        keySteps[keyCount] = step;
+        keyOffsets[keyCount] = regionBase + start;
+        keyCount++;
+        seal(start);
+    }
+
+    private void writeDelta(FleetStore s, int n, long step) throws IOException {
+        int bitmapBytes = (n + 7) >>> 3;
+        ensure(FRAME_HEADER_BYTES + bitmapBytes + (long) n * DELTA_MAX_BYTES);
+        MappedByteBuffer b = region;
+        int start = b.position();
+        b.putInt(0);
+        b.put(DELTA);
+        b.putLong(step);
+        b.putInt(n);
+        int bitmap = b.position();
+        for (int k = 0; k < bitmapBytes; k++) {
+            b.put((byte) 0);
+        }
+        for (int i = 0; i < n; i++) {
+            int control = b.position();
+            b.put((byte) 0);
+            int fields = 0;
+
+            int p = quantize(s.px[i]);
+            int r = p - (qx[i] + vx[i]);
+            if (r > TOLERANCE || r < -TOLERANCE) {
+                fields |= DX;
+                putResidual(b, r);
+                putVarint(b, (p - ax[i]) - vx[i]);
+                vx[i] = p - ax[i];
+                qx[i] = p;
+            } else {
+                qx[i] += vx[i];
+            }
+            ax[i] = p;
+
+            p = quantize(s.py[i]);
+            r = p - (qy[i] + vy[i]);
+            if (r > TOLERANCE || r < -TOLERANCE) {
+                fields |= DY;
+                putResidual(b, r);
+                putVarint(b, (p - ay[i]) - vy[i]);
+                vy[i] = p - ay[i];
+                qy[i] = p;
+            } else {
+                qy[i] += vy[i];
+            }
+            ay[i] = p;
+
+            p = quantize(s.pz[i]);
+            r = p - (qz[i] + vz[i]);
+            if (r > TOLERANCE || r < -TOLERANCE) {
+                fields |= DZ;
+                putResidual(b, r);
+                putVarint(b, (p - az[i]) - vz[i]);
+                vz[i] = p - az[i];
+                qz[i] = p;
+            } else {
+                qz[i] += vz[i];
+            }
+            az[i] = p;
+
+            int ntx = quantize(s.tx[i]);
+            int nty = quantize(s.ty[i]);
+            int ntz = quantize(s.tz[i]);
+            if (ntx != tx[i] || nty != ty[i] || ntz != tz[i]) {
+                fields |= TARGET;
+                putVarint(b, ntx - tx[i]);
+                putVarint(b, nty - ty[i]);
+                putVarint(b, ntz - tz[i]);
+                tx[i] = ntx;
+                ty[i] = nty;
+                tz[i] = ntz;
+            }
+
+            int bat = quantizeBattery(s, i);
+            if (bat != battery[i]) {
+                fields |= BATTERY;
+                putVarint(b, bat - battery[i]);
+                battery[i] = bat;
+            }
+
+            if (s.state[i] != state[i] || s.etat[i] != etat[i] || s.navMode[i] != navMode[i]
+                    || nextWarnings[i] != warning[i]) {
+                fields |= STATUS;
+                state[i] = s.state[i];
+                etat[i] = s.etat[i];
+                navMode[i] = s.navMode[i];
+                warning[i] = nextWarnings[i];
+                b.put(state[i]).put(etat[i]).put(navMode[i]);
+                putVarint(b, warning[i]);
+            }
+
+            if (fields == 0) {
+                b.position(control); // Rien à corriger : le bit reste à 0
+            } else {
+                b.put(control, (byte) fields);
+                int at = bitmap + (i >>> 3);
+                b.put(at, (byte) (b.get(at) | (1 << (i & 7))));
+            }
+        }
+        seal(start);
+    }
+
+    /** Renseigne la longueur de l'enregistrement commencé à {@code start}. */
+    private void seal(int start) {
+        region.putInt(start, region.position() - start - 4);
+        end = regionBase + region.position();
+    }
+
+    private void declare(ActifMobile a, int serial) throws IOException {
+        byte[] id = a.getId().getBytes(StandardCharsets.UTF_8);
+        int kind = SimCheckpoint.assetKind(a);
+        ensure(4 + 1 + 4 + 1 + 2 + id.length);
+        int start = region.position();
+        region.putInt(0);
+        region.put(ASSET);
+        region.putInt(serial);
+        region.put((byte) kind);
+        region.putShort((short) id.length);
+        region.put(id);
+        seal(start);
+
+        declared.set(serial);
+        int count = rosterIds.size();
+        if (count == rosterSerials.length) {
+            rosterSerials = Arrays.copyOf(rosterSerials, count * 2);
+            rosterKinds = Arrays.copyOf(rosterKinds, count * 2);
+        }
+        rosterSerials[count] = serial;
+        rosterKinds[count] = (byte) kind;
+        rosterIds.add(a.getId());
+    }
+
+    private int labelCode(String label) throws IOException {
+        Integer code = labelCodes.get(label);
+        if (code != null) {
+            return code;
+        }
+        byte[] text = label.getBytes(StandardCharsets.UTF_8);
+        ensure(4 + 1 + 2 + 2 + text.length);
+        int start = region.position();
+        labels.add(label);
+        code = labels.size(); // 0 : aucun avertissement
+        region.putInt(0);
+        region.put(LABEL);
+        region.putShort((short) (int) code);
+        region.putShort((short) text.length);
+        region.put(text);
+        seal(start);
+        labelCodes.put(label, code);
+        return code;
+    }
+
+    /** Projette une nouvelle zone du fichier si la zone courante est trop courte. */
+    private void ensure(long bytes) throws IOException {
+        if (region == null || region.remaining() < bytes) {
+            regionBase = end;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, end, Math.max(REGION_BYTES, bytes));
+        }
+    }
+
+    private void ensureState(int n) {
+        if (serials.length >= n) {
+            return;
+        }
+        int cap = Math.max(n, serials.length * 2);
+        serials = Arrays.copyOf(serials, cap);
+        qx = Arrays.copyOf(qx, cap);
+        qy = Arrays.copyOf(qy, cap);
+        qz = Arrays.copyOf(qz, cap);
+        vx = Arrays.copyOf(vx, cap);
+        vy = Arrays.copyOf(vy, cap);
+        vz = Arrays.copyOf(vz, cap);
+        ax = Arrays.copyOf(ax, cap);
+        ay = Arrays.copyOf(ay, cap);
+        az = Arrays.copyOf(az, cap);
+        tx = Arrays.copyOf(tx, cap);
+        ty = Arrays.copyOf(ty, cap);
+        tz = Arrays.copyOf(tz, cap);
+        battery = Arrays.copyOf(battery, cap);
+        state = Arrays.copyOf(state, cap);
+        etat = Arrays.copyOf(etat, cap);
+        navMode = Arrays.copyOf(navMode, cap);
+        warning = Arrays.copyOf(warning, cap);
+    }
+
+    private static int quantize(double v) {
+        return (int) Math.round(v / QUANTUM);
+    }
+
+    private static int quantizeBattery(FleetStore s, int i) {
+        return (int) Math.round(s.owner(i).getBatteryPercent() / BATTERY_QUANTUM);
+    }
+
+    /**
+     * @return Taille des données écrites (octets, en-tête compris).
+     */
+    public synchronized long getBytesWritten() {
+        return end;
+    }
+
+    /**
+     * @return Nombre de pas enregistrés.
+     */
+    public synchronized long getRecordedSteps() {
+        return firstStep < 0 ? 0 : lastStep - firstStep + 1;
+    }
+
+    /**
+     * Ajoute l'index final et ferme le fichier.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        region = null;
+        try {
+            int idBytes = 0;
+            for (String id : rosterIds) {
+                idBytes += 2 + id.getBytes(StandardCharsets.UTF_8).length;
+            }
+            int labelBytes = 0;
+            for (String label : labels) {
+                labelBytes += 2 + label.getBytes(StandardCharsets.UTF_8).length;
+            }
+            ByteBuffer footer = ByteBuffer.allocate(4 + rosterIds.size() * 5 + idBytes + 4 + labelBytes
+                    + 4 + keyCount * 16 + 16);
+            footer.putInt(rosterIds.size());
+            for (int k = 0; k < rosterIds.size(); k++) {
+                footer.putInt(rosterSerials[k]).put(rosterKinds[k]);
+                putString(footer, rosterIds.get(k));
+            }
+            footer.putInt(labels.size());
+            for (String label : labels) {
+                putString(footer, label);
+            }
+            footer.putInt(keyCount);
+            for (int k = 0; k < keyCount; k++) {
+                footer.putLong(keySteps[k]).putLong(keyOffsets[k]);
+            }
+            footer.putLong(firstStep).putLong(lastStep);
+            footer.flip();
+            long footerOffset = end;
+            while (footer.hasRemaining()) {
+                channel.write(footer, footerOffset + footer.position());
+            }
+            long fileEnd = footerOffset + footer.limit();
+            ByteBuffer pointer = ByteBuffer.allocate(8).putLong(footerOffset);
+            pointer.flip();
+            while (pointer.hasRemaining()) {
+                channel.write(pointer, FOOTER_OFFSET_POSITION + pointer.position());
+            }
+            try {
+                channel.truncate(fileEnd);
+            } catch (IOException e) {
+                // Zone encore projetée (Windows) : la fin du fichier reste à zéro
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /** Correction de position, toujours hors tolérance : écrite sans la tolérance. */
+    static void putResidual(ByteBuffer b, int r) {
+        putVarint(b, r > 0 ? r - TOLERANCE : r + TOLERANCE);
+    }
+
+    static int getResidual(ByteBuffer b) {
+        int e = getVarint(b);
+        return e > 0 ? e + TOLERANCE : e - TOLERANCE;
+    }
+
+    static void putVarint(ByteBuffer b, int v) {
+        int z = (v << 1) ^ (v >> 31);
+        while ((z & ~0x7F) != 0) {
+            b.put((byte) ((z & 0x7F) | 0x80));
+            z >>>= 7;
+        }
+        b.put((byte) z);
+    }
+
+    static int getVarint(ByteBuffer b) {
+        int z = 0;
+        int shift = 0;
+        byte x;
+        do {
+            x = b.get();
+            z |= (x & 0x7F) << shift;
+            shift += 7;
+        } while (x < 0);
+        return (z >>> 1) ^ -(z & 1);
+    }
+
+    static void putString(ByteBuffer b, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        b.putShort((short) bytes.length);
+        b.put(bytes);
+    }
+
+    static String getString(ByteBuffer b) {
+        byte[] bytes = new byte[b.getShort() & 0xFFFF];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,513 @@
+package com.spiga.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relecture d'un fichier de trajectoires ({@link TrajectoryRecorder}).
+ * <p>
+ * Un déplacement à un instant quelconque ({@link #seek(double)}) projette en
+ * mémoire le seul segment utile du fichier (de l'image clé précédente à la
+ * suivante), décode l'image clé puis les images delta jusqu'au pas demandé.
+ * L'image obtenue est publiée dans un {@link SnapshotBuffer} propre à la
+ * relecture : {@code MapPane} et {@code SideViewPane} l'affichent comme une
+ * image du moteur. Les actifs de l'image sont des répliques (type et
+ * identifiant d'origine) qui n'appartiennent à aucune flotte.
+ * </p>
+ * <p>
+ * À utiliser depuis un seul thread (celui de l'IUG).
+ * </p>
+ */
+public final class TrajectoryReplay implements AutoCloseable {
+
+    /** Actif déclaré dans le fichier ; sa réplique est créée au premier affichage. */
+    private static final class Declared {
+        final int kind;
+        final String id;
+        ActifMobile replica;
+
+        Declared(int kind, String id) {
+            this.kind = kind;
+            this.id = id;
+        }
+
+        ActifMobile replica() {
+            if (replica == null) {
+                replica = SimCheckpoint.newAsset(kind);
+                replica.id = id;
+            }
+            return replica;
+        }
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final double fixedStep;
+    private final double quantum;
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+
+    private final Map<Integer, Declared> roster = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+    private long[] keySteps = new long[64];
+    private long[] keyOffsets = new long[64];
+    private int keyCount = 0;
+    private long firstStep = -1;
+    private long lastStep = -1;
+    private long dataEnd;
+
+    // Segment courant (image clé courante jusqu'à la suivante), recopié de
+    // la projection : le décodage octet par octet est plus rapide sur le tas
+    private int segment = -1;
+    private ByteBuffer buffer = ByteBuffer.allocate(0);
+    /** Position de lecture dans le segment pendant le décodage d'une image. */
+    private int pos;
+
+    // État décodé au pas courant, par slot
+    private long step = -1;
+    private int size = 0;
+    private Declared[] assets = new Declared[0];
+    private int[] qx = new int[0];
+    private int[] qy = new int[0];
+    private int[] qz = new int[0];
+    private int[] vx = new int[0];
+    private int[] vy = new int[0];
+    private int[] vz = new int[0];
+    private int[] tx = new int[0];
+    private int[] ty = new int[0];
+    private int[] tz = new int[0];
+    private int[] battery = new int[0];
+    private byte[] state = new byte[0];
+    private byte[] etat = new byte[0];
+    private byte[] navMode = new byte[0];
+    private int[] warning = new int[0];
+    // Pas auquel la position de l'actif a été extrapolée en dernier
+    private long[] at = new long[0];
+    private byte[] bitmap = new byte[0];
+
+    private TrajectoryReplay(Path path, FileChannel channel, double fixedStep, double quantum) {
+        this.path = path;
+        this.channel = channel;
+        this.fixedStep = fixedStep;
+        this.quantum = quantum;
+    }
+
+    /**
+     * Ouvre un fichier de trajectoires et se place au premier pas enregistré.
+     *
+     * @param path Fichier écrit par {@link TrajectoryRecorder}.
+     * @return La relecture ouverte.
+     * @throws IOException Si le fichier est illisible ou n'est pas un fichier
+     *                     de trajectoires.
+     */
+    public static TrajectoryReplay open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(channel, 0, TrajectoryRecorder.HEADER_BYTES);
+            if (header == null || header.getInt() != TrajectoryRecorder.MAGIC) {
+                throw new IOException("Pas un fichier de trajectoires: " + path);
+            }
+            int version = header.getInt();
+            if (version != TrajectoryRecorder.VERSION) {
+                throw new IOException("Version de trajectoires non prise en charge: " + version);
+            }
+            double fixedStep = header.getDouble();
+            double quantum = header.getDouble();
+            header.getInt(); // Intervalle des images clés
+            header.getInt(); // Tolérance
+            long footerOffset = header.getLong();
+
+            TrajectoryReplay replay = new TrajectoryReplay(path, channel, fixedStep, quantum);
+            if (footerOffset > 0) {
+                replay.readFooter(footerOffset);
+            } else {
+                replay.scan();
+            }
+            if (replay.keyCount > 0) {
+                replay.seekStep(replay.firstStep);
+            }
+            return replay;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            if (e instanceof BufferUnderflowException || e instanceof IndexOutOfBoundsException) {
+                throw new IOException("Fichier de trajectoires tronqué ou corrompu: " + path, e);
+            }
+            throw e;
+        }
+    }
+
+    /** Index écrit à la fermeture de l'enregistrement. */
+    private void readFooter(long footerOffset) throws IOException {
+        ByteBuffer in = read(channel, footerOffset, (int) (channel.size() - footerOffset));
+        if (in == null) {
+            throw new IOException("Index des trajectoires illisible: " + path);
+        }
+        int count = in.getInt();
+        for (int k = 0; k < count; k++) {
+            int serial = in.getInt();
+            int kind = in.get();
+            roster.put(serial, new Declared(kind, TrajectoryRecorder.getString(in)));
+        }
+        count = in.getInt();
+        for (int k = 0; k < count; k++) {
+            labels.add(TrajectoryRecorder.getString(in));
+        }
+        count = in.getInt();
+        for (int k = 0; k < count; k++) {
+            addKeyframe(in.getLong(), in.getLong());
+        }
+        firstStep = in.getLong();
+        lastStep = in.getLong();
+        dataEnd = footerOffset;
+    }
+
+    /**
+     * Reconstruit l'index d'un enregistrement non fermé : parcourt les
+     * enregistrements jusqu'au premier incomplet (longueur encore nulle).
+     */
+    private void scan() throws IOException {
+        long fileSize = channel.size();
+        long pos = TrajectoryRecorder.HEADER_BYTES;
+        while (pos + 4 + 1 + 8 <= fileSize) {
+            ByteBuffer head = read(channel, pos, 4 + 1 + 8);
+            int length = head.getInt();
+            if (length <= 0 || pos + 4 + length > fileSize) {
+                break;
+            }
+            byte type = head.get();
+            if (type == TrajectoryRecorder.ASSET || type == TrajectoryRecorder.LABEL) {
+                ByteBuffer in = read(channel, pos + 5, length - 1);
+                if (type == TrajectoryRecorder.ASSET) {
+                    int serial = in.getInt();
+                    int kind = in.get();
+                    roster.put(serial, new Declared(kind, TrajectoryRecorder.getString(in)));
+                } else {
+                    in.getShort(); // Code : rang de déclaration
+                    labels.add(TrajectoryRecorder.getString(in));
+                }
+            } else {
+                long frameStep = head.getLong();
+                if (type == TrajectoryRecorder.KEYFRAME) {
+                    addKeyframe(frameStep, pos);
+                }
+                if (firstStep < 0) {
+                    firstStep = frameStep;
+                }
+                lastStep = frameStep;
+            }
+            pos += 4 + length;
+        }
+        dataEnd = pos;
+    }
+
+    private void addKeyframe(long keyStep, long offset) {
+        if (keyCount == keySteps.length) {
+            keySteps = Arrays.copyOf(keySteps, keyCount * 2);
+            keyOffsets = Arrays.copyOf(keyOffsets, keyCount * 2);
+        }
+        keySteps[keyCount] = keyStep;
+        keyOffsets[keyCount] = offset;
+        keyCount++;
+    }
+
+    /**
+     * Se place à un instant de l'enregistrement et publie l'image
+     * correspondante.
+     *
+     * @param simTime Temps simulé (s), ramené aux bornes de l'enregistrement.
+     */
+    public void seek(double simTime) {
+        seekStep(Math.round(simTime / fixedStep));
+    }
+
+    /**
+     * Se place à un pas de l'enregistrement et publie l'image correspondante.
+     *
+     * @param target Numéro de pas, ramené aux bornes de l'enregistrement.
+     */
+    public void seekStep(long target) {
+        if (keyCount == 0) {
+            return;
+        }
+        target = Math.max(firstStep, Math.min(lastStep, target));
+        int k = Arrays.binarySearch(keySteps, 0, keyCount, target);
+        k = k >= 0 ? k : -k - 2;
+        try {
+            // En avant dans le segment courant : on poursuit le décodage
+            if (k != segment) {
+                mapSegment(k);
+                decodeKeyframe();
+            } else if (target < step) {
+                decodeKeyframe();
+            }
+            while (step < target && buffer.hasRemaining()) {
+                decodeNext();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture des trajectoires impossible: " + path, e);
+        }
+        publish();
+    }
+
+    /**
+     * Avance d'un pas (lecture continue).
+     *
+     * @return {@code false} si le dernier pas enregistré est déjà atteint.
+     */
+    public boolean next() {
+        if (step >= lastStep) {
+            return false;
+        }
+        seekStep(step + 1);
+        return true;
+    }
+
+    private void mapSegment(int k) throws IOException {
+        long from = keyOffsets[k];
+        long to = k + 1 < keyCount ? keyOffsets[k + 1] : dataEnd;
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        if (buffer.capacity() < mapped.capacity()) {
+            buffer = ByteBuffer.allocate(Math.max(mapped.capacity(), buffer.capacity() * 3 / 2));
+        }
+        buffer.clear();
+        buffer.put(mapped);
+        buffer.flip();
+        segment = k;
+    }
+
+    private void decodeKeyframe() {
+        ByteBuffer b = buffer;
+        b.position(0);
+        b.getInt(); // Longueur
+        b.get(); // Type
+        step = b.getLong();
+        int n = b.getInt();
+        ensureState(n);
+        for (int i = 0; i < n; i++) {
+            assets[i] = roster.get(b.getInt());
+            qx[i] = b.getInt();
+            qy[i] = b.getInt();
+            qz[i] = b.getInt();
+            vx[i] = b.getInt();
+            vy[i] = b.getInt();
+            vz[i] = b.getInt();
+            tx[i] = b.getInt();
+            ty[i] = b.getInt();
+            tz[i] = b.getInt();
+            battery[i] = b.getShort();
+            state[i] = b.get();
+            etat[i] = b.get();
+            navMode[i] = b.get();
+            warning[i] = b.getShort();
+            at[i] = step;
+        }
+        size = n;
+    }
+
+    /**
+     * Décode l'enregistrement suivant du segment (les déclarations sont déjà
+     * indexées). Seuls les actifs présents dans l'image sont mis à jour ; les
+     * autres suivent leur vitesse et ne sont extrapolés qu'à la publication.
+     */
+    private void decodeNext() {
+        ByteBuffer b = buffer;
+        int start = b.position();
+        int length = b.getInt(start);
+        if (length <= 0) {
+            b.position(b.limit()); // Fin d'un enregistrement interrompu
+            return;
+        }
+        b.position(start + 4 + length);
+        if (b.get(start + 4) != TrajectoryRecorder.DELTA) {
+            return;
+        }
+        step = b.getLong(start + 5);
+        int n = b.getInt(start + 13);
+        byte[] data = b.array();
+        int bitmap = start + TrajectoryRecorder.FRAME_HEADER_BYTES;
+        int bitmapBytes = (n + 7) >>> 3;
+        pos = bitmap + bitmapBytes;
+        for (int k = 0; k < bitmapBytes; k++) {
+            int bits = data[bitmap + k] & 0xFF;
+            while (bits != 0) {
+                int i = (k << 3) + Integer.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                decodeAsset(data, i);
+            }
+        }
+    }
+
+    private void decodeAsset(byte[] data, int i) {
+        // Extrapolation jusqu'au pas précédent, puis le pas courant
+        long gap = step - 1 - at[i];
+        qx[i] += (int) (vx[i] * gap);
+        qy[i] += (int) (vy[i] * gap);
+        qz[i] += (int) (vz[i] * gap);
+        at[i] = step;
+
+        int fields = data[pos++];
+        qx[i] += vx[i];
+        if ((fields & TrajectoryRecorder.DX) != 0) {
+            qx[i] += residual(data);
+            vx[i] += varint(data);
+        }
+        qy[i] += vy[i];
+        if ((fields & TrajectoryRecorder.DY) != 0) {
+            qy[i] += residual(data);
+            vy[i] += varint(data);
+        }
+        qz[i] += vz[i];
+        if ((fields & TrajectoryRecorder.DZ) != 0) {
+            qz[i] += residual(data);
+            vz[i] += varint(data);
+        }
+        if ((fields & TrajectoryRecorder.TARGET) != 0) {
+            tx[i] += varint(data);
+            ty[i] += varint(data);
+            tz[i] += varint(data);
+        }
+        if ((fields & TrajectoryRecorder.BATTERY) != 0) {
+            battery[i] += varint(data);
+        }
+        if ((fields & TrajectoryRecorder.STATUS) != 0) {
+            state[i] = data[pos++];
+            etat[i] = data[pos++];
+            navMode[i] = data[pos++];
+            warning[i] = varint(data);
+        }
+    }
+
+    /** Varint zigzag de {@link TrajectoryRecorder#putVarint}, lu à {@link #pos}. */
+    private int varint(byte[] data) {
+        int p = pos;
+        int z = 0;
+        int shift = 0;
+        byte x;
+        do {
+            x = data[p++];
+            z |= (x & 0x7F) << shift;
+            shift += 7;
+        } while (x < 0);
+        pos = p;
+        return (z >>> 1) ^ -(z & 1);
+    }
+
+    /** Correction de {@link TrajectoryRecorder#putResidual}. */
+    private int residual(byte[] data) {
+        int e = varint(data);
+        return e > 0 ? e + TrajectoryRecorder.TOLERANCE : e - TrajectoryRecorder.TOLERANCE;
+    }
+
+    private void publish() {
+        WorldSnapshot s = snapshots.claim();
+        s.ensureCapacity(size);
+        double speedScale = quantum / fixedStep;
+        for (int i = 0; i < size; i++) {
+            long gap = step - at[i];
+            if (gap != 0) {
+                qx[i] += (int) (vx[i] * gap);
+                qy[i] += (int) (vy[i] * gap);
+                qz[i] += (int) (vz[i] * gap);
+                at[i] = step;
+            }
+            Declared d = assets[i];
+            s.assets[i] = d.replica();
+            s.ids[i] = d.id;
+            s.x[i] = qx[i] * quantum;
+            s.y[i] = qy[i] * quantum;
+            s.z[i] = qz[i] * quantum;
+            s.targetX[i] = tx[i] * quantum;
+            s.targetY[i] = ty[i] * quantum;
+            s.targetZ[i] = tz[i] * quantum;
+            s.speed[i] = Math.sqrt((double) vx[i] * vx[i] + (double) vy[i] * vy[i] + (double) vz[i] * vz[i])
+                    * speedScale;
+            s.battery[i] = battery[i] * TrajectoryRecorder.BATTERY_QUANTUM;
+            s.state[i] = state[i];
+            s.etat[i] = etat[i];
+            s.navMode[i] = navMode[i];
+            s.warnings[i] = warning[i] == 0 ? null : labels.get(warning[i] - 1);
+            s.missions[i] = null;
+        }
+        s.finish(size, step, step * fixedStep);
+        snapshots.publish(s);
+    }
+
+    private void ensureState(int n) {
+        if (assets.length >= n) {
+            return;
+        }
+        int cap = Math.max(n, assets.length * 2);
+        assets = new Declared[cap];
+        qx = new int[cap];
+        qy = new int[cap];
+        qz = new int[cap];
+        vx = new int[cap];
+        vy = new int[cap];
+        vz = new int[cap];
+        tx = new int[cap];
+        ty = new int[cap];
+        tz = new int[cap];
+        battery = new int[cap];
+        state = new byte[cap];
+        etat = new byte[cap];
+        navMode = new byte[cap];
+        warning = new int[cap];
+        at = new long[cap];
+        bitmap = new byte[(cap + 7) >>> 3];
+    }
+
+    /**
+     * @return Images de la relecture ({@link SnapshotBuffer#acquire()}).
+     */
+    public SnapshotBuffer getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * @return Pas courant de la relecture (-1 si l'enregistrement est vide).
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * @return Temps simulé (s) du premier pas enregistré.
+     */
+    public double getStartTime() {
+        return Math.max(0, firstStep) * fixedStep;
+    }
+
+    /**
+     * @return Temps simulé (s) du dernier pas enregistré.
+     */
+    public double getEndTime() {
+        return Math.max(0, lastStep) * fixedStep;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /** Lit {@code length} octets, ou {@code null} si le fichier s'arrête avant. */
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
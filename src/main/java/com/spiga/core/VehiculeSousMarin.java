@@ -10,8 +10,13 @@ package com.spiga.core;
  */
 public class VehiculeSousMarin extends ActifMarin {
 
-    private long lastDepthAlertTime = 0;
+    /** Cible immergée : une cible au-dessus de la surface est ramenée à -1 m. */
+    private static final ConstraintProfile PROFILE = new ConstraintProfile(
+            ConstraintProfile.ZonePolicy.FLY_OVER, false,
+            Double.NEGATIVE_INFINITY, 0, -1);
+
     private static final long ALERT_COOLDOWN = 5000; // 5 seconds
+    protected long lastDepthAlertTime = -ALERT_COOLDOWN - 1; // Jamais alerté
 
     /**
      * Constructeur standard.
@@ -34,10 +39,10 @@ public class VehiculeSousMarin extends ActifMarin {
     @Override
     protected void clampPosition() {
         // Enforce [-150, 0]
-        if (z > 0)
-            z = 0;
-        if (z < -150)
-            z = -150;
+        if (getZ() > 0)
+            setZ(0);
+        if (getZ() < -150)
+            setZ(-150);
     }
 
     /**
@@ -57,17 +62,18 @@ public class VehiculeSousMarin extends ActifMarin {
 
         // Constraint 1: Max Height 0
         if (clampedZ > 0) {
-            System.out.println(id + ": Rejet cible Z=" + clampedZ + " (Surface). Force à 0m.");
+            SimLog.log(SimLog.Category.COMMAND, "{}: Rejet cible Z={} (Surface). Force à 0m.", id, clampedZ);
             clampedZ = 0;
         }
 
         // Constraint 2: Min Depth -150
         if (clampedZ < -150) {
-            long now = System.currentTimeMillis();
+            long now = clock.currentTimeMillis();
             if (now - lastDepthAlertTime > ALERT_COOLDOWN) {
                 setCollisionWarning("⚠️ PROFONDEUR LIMITE (-150m) ATTEINTE!");
+                emit(SimEvent.Type.DEPTH_LIMIT, null, null, clampedZ);
                 lastDepthAlertTime = now;
-                System.out.println("⚠️ ALERTE: " + id + " bloque à -150m.");
+                SimLog.log(SimLog.Category.COMMAND, "⚠️ ALERTE: {} bloque à -150m.", id);
             }
             clampedZ = -150;
         }
@@ -85,4 +91,9 @@ public class VehiculeSousMarin extends ActifMarin {
     public double getConsommation() {
         return 1.0; // 1.0h consumed per hour
     }
+
+    @Override
+    protected ConstraintProfile typeProfile() {
+        return PROFILE;
+    }
 }
@@ -9,6 +9,10 @@ package com.spiga.core;
  */
 public class VehiculeSurface extends ActifMarin {
 
+    /** Cible toujours en surface (Z = 0). */
+    private static final ConstraintProfile PROFILE = new ConstraintProfile(
+            ConstraintProfile.ZonePolicy.FLY_OVER, false, 0, 0, 0);
+
     /** Portée du radar de surveillance en mètres. */
     private double porteeRadar = 50.0;
 
@@ -32,8 +36,8 @@ public class VehiculeSurface extends ActifMarin {
      */
     @Override
     protected void clampPosition() {
-        if (Math.abs(z) > 0.001) {
-            z = 0; // Force surface
+        if (Math.abs(getZ()) > 0.001) {
+            setZ(0); // Force surface
         }
     }
 
@@ -51,8 +55,9 @@ public class VehiculeSurface extends ActifMarin {
     @Override
     public void setTarget(double x, double y, double z) {
         if (Math.abs(z) > 0.001) {
-            System.out.println("⚠️ " + id + ": Rejet cible Z=" + z + ". Force à 0m (Surface).");
+            SimLog.log(SimLog.Category.COMMAND, "⚠️ {}: Rejet cible Z={}. Force à 0m (Surface).", id, z);
             setCollisionWarning("INVALID Z (Surface Only)");
+            emit(SimEvent.Type.INVALID_TARGET_Z, null, null, z);
         }
         super.setTarget(x, y, 0.0);
     }
@@ -100,4 +105,9 @@ public class VehiculeSurface extends ActifMarin {
     public double getRayonRadar() {
         return porteeRadar;
     }
+
+    @Override
+    protected ConstraintProfile typeProfile() {
+        return PROFILE;
+    }
 }
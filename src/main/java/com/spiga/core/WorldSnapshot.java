@@ -0,0 +1,244 @@
+package com.spiga.core;
+
+import com.spiga.management.Mission;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Image cohérente de la flotte à la fin d'un pas de simulation.
+ * <p>
+ * Les composants sont recopiés en tableaux primitifs par le moteur
+ * ({@link SnapshotBuffer#publish}) ; une fois publiée, l'image n'est plus
+ * modifiée tant qu'un lecteur la détient. Un lecteur l'obtient par
+ * {@link SnapshotBuffer#acquire()} et la rend par {@link #close()}
+ * (try-with-resources), depuis n'importe quel thread et sans verrou.
+ * </p>
+ * <p>
+ * Les indices suivent l'ordre des slots du {@link FleetStore} au moment du
+ * pas ; {@link #getAsset(int)} ne sert qu'à identifier l'actif (sélection,
+ * commandes), pas à lire son état courant.
+ * </p>
+ */
+public final class WorldSnapshot implements AutoCloseable {
+
+    private static final ActifMobile.AssetState[] STATES = ActifMobile.AssetState.values();
+    private static final ActifMobile.EtatOperationnel[] ETATS = ActifMobile.EtatOperationnel.values();
+    private static final ActifMobile.NavigationMode[] NAV_MODES = ActifMobile.NavigationMode.values();
+
+    // Lecteurs détenant l'image (le moteur ne réécrit qu'une image libre)
+    final AtomicInteger pins = new AtomicInteger();
+
+    long version = -1;
+    double simTime;
+    int size;
+
+    ActifMobile[] assets = new ActifMobile[0];
+    String[] ids = new String[0];
+    double[] x = new double[0];
+    double[] y = new double[0];
+    double[] z = new double[0];
+    double[] targetX = new double[0];
+    double[] targetY = new double[0];
+    double[] targetZ = new double[0];
+    double[] speed = new double[0];
+    double[] battery = new double[0];
+    byte[] state = new byte[0];
+    byte[] etat = new byte[0];
+    byte[] navMode = new byte[0];
+    String[] warnings = new String[0];
+    Mission[] missions = new Mission[0];
+
+    /**
+     * Recopie l'état courant de la flotte (appelé par le moteur sur une image
+     * qu'aucun lecteur ne détient).
+     */
+    void fill(FleetStore s, long version, double simTime) {
+        int n = s.size();
+        ensureCapacity(n);
+        System.arraycopy(s.px, 0, x, 0, n);
+        System.arraycopy(s.py, 0, y, 0, n);
+        System.arraycopy(s.pz, 0, z, 0, n);
+        System.arraycopy(s.tx, 0, targetX, 0, n);
+        System.arraycopy(s.ty, 0, targetY, 0, n);
+        System.arraycopy(s.tz, 0, targetZ, 0, n);
+        System.arraycopy(s.state, 0, state, 0, n);
+        System.arraycopy(s.etat, 0, etat, 0, n);
+        System.arraycopy(s.navMode, 0, navMode, 0, n);
+        for (int i = 0; i < n; i++) {
+            ActifMobile a = s.owner(i);
+            assets[i] = a;
+            ids[i] = a.getId();
+            speed[i] = Math.sqrt(s.vx[i] * s.vx[i] + s.vy[i] * s.vy[i] + s.vz[i] * s.vz[i]);
+            battery[i] = a.getBatteryPercent();
+            warnings[i] = a.getCollisionWarning();
+            missions[i] = a.getCurrentMission();
+        }
+        finish(n, version, simTime);
+    }
+
+    /** Agrandit les tableaux pour {@code n} actifs (contenu non conservé). */
+    void ensureCapacity(int n) {
+        if (assets.length < n) {
+            int cap = Math.max(n, assets.length * 2);
+            assets = new ActifMobile[cap];
+            ids = new String[cap];
+            x = new double[cap];
+            y = new double[cap];
+            z = new double[cap];
+            targetX = new double[cap];
+            targetY = new double[cap];
+            targetZ = new double[cap];
+            speed = new double[cap];
+            battery = new double[cap];
+            state = new byte[cap];
+            etat = new byte[cap];
+            navMode = new byte[cap];
+            warnings = new String[cap];
+            missions = new Mission[cap];
+        }
+    }
+
+    /** Termine une image de {@code n} actifs remplie par l'écrivain. */
+    void finish(int n, long version, double simTime) {
+        // Libère les références d'une flotte plus grande au pas précédent
+        for (int i = n; i < size; i++) {
+            assets[i] = null;
+            ids[i] = null;
+            warnings[i] = null;
+            missions[i] = null;
+        }
+        this.size = n;
+        this.version = version;
+        this.simTime = simTime;
+    }
+
+    /**
+     * @return Numéro du pas de simulation de l'image (-1 avant le premier
+     *         pas).
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Temps simulé (s) à la fin du pas.
+     */
+    public double getSimTime() {
+        return simTime;
+    }
+
+    /**
+     * @return Nombre d'actifs de l'image.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Recherche l'indice d'un actif dans l'image.
+     *
+     * @param asset L'actif.
+     * @return Son indice, ou -1 s'il n'était pas dans la flotte.
+     */
+    public int indexOf(ActifMobile asset) {
+        for (int i = 0; i < size; i++) {
+            if (assets[i] == asset) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public ActifMobile getAsset(int i) {
+        return assets[i];
+    }
+
+    /**
+     * Copie la liste des actifs de l'image (alloue : pour les actions de
+     * l'opérateur, pas pour le rendu par frame).
+     *
+     * @return Actifs dans l'ordre de l'image.
+     */
+    public List<ActifMobile> getAssets() {
+        return new ArrayList<>(Arrays.asList(assets).subList(0, size));
+    }
+
+    public String getId(int i) {
+        return ids[i];
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    public double getZ(int i) {
+        return z[i];
+    }
+
+    public double getTargetX(int i) {
+        return targetX[i];
+    }
+
+    public double getTargetY(int i) {
+        return targetY[i];
+    }
+
+    public double getTargetZ(int i) {
+        return targetZ[i];
+    }
+
+    /**
+     * @param i Indice.
+     * @return Norme de la vitesse (m/s).
+     */
+    public double getSpeed(int i) {
+        return speed[i];
+    }
+
+    /**
+     * @param i Indice.
+     * @return Charge de la batterie (0.0 à 1.0).
+     */
+    public double getBatteryPercent(int i) {
+        return battery[i];
+    }
+
+    public ActifMobile.AssetState getState(int i) {
+        return STATES[state[i]];
+    }
+
+    public ActifMobile.EtatOperationnel getEtat(int i) {
+        return ETATS[etat[i]];
+    }
+
+    public ActifMobile.NavigationMode getNavigationMode(int i) {
+        return NAV_MODES[navMode[i]];
+    }
+
+    /**
+     * @param i Indice.
+     * @return Libellé d'avertissement de l'actif (ou {@code null}).
+     */
+    public String getCollisionWarning(int i) {
+        return warnings[i];
+    }
+
+    public Mission getCurrentMission(int i) {
+        return missions[i];
+    }
+
+    /**
+     * Rend l'image au moteur, qui pourra la réutiliser.
+     */
+    @Override
+    public void close() {
+        pins.decrementAndGet();
+    }
+}
@@ -0,0 +1,138 @@
+package com.spiga.core;
+
+import com.spiga.environment.RestrictedZone;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Liste de zones interdites doublée d'un index spatial.
+ * <p>
+ * Le moteur (contraintes de zone à chaque pas) et les drones logistiques
+ * (validation du trajet à chaque commande) interrogent le même index au lieu
+ * de parcourir toutes les zones : un point proche d'une zone
+ * ({@link #queryNear}) ou un segment qui peut la traverser
+ * ({@link #querySegment}). Les candidats sont retournés dans l'ordre de la
+ * liste ; le test exact reste à la charge de l'appelant.
+ * </p>
+ * <p>
+ * Toute modification de la liste invalide l'index, reconstruit à la requête
+ * suivante.
+ * </p>
+ */
+public class ZoneIndex extends AbstractList<RestrictedZone> {
+
+    private final List<RestrictedZone> zones = new ArrayList<>();
+    private final CircleBVH bvh = new CircleBVH();
+    private RestrictedZone[] indexed = new RestrictedZone[0];
+    private volatile boolean dirty = false;
+
+    /**
+     * Retourne les zones dont le disque (XY) est à moins de {@code margin} du
+     * point.
+     *
+     * @param x      Coordonnée X.
+     * @param y      Coordonnée Y.
+     * @param margin Distance au-delà du rayon des zones.
+     * @param cursor État de requête de l'appelant.
+     * @return Nombre de candidats, lisibles via {@link #result(CircleBVH.Cursor, int)}.
+     */
+    public int queryNear(double x, double y, double margin, CircleBVH.Cursor cursor) {
+        ensureIndexed();
+        return bvh.query(x, y, margin, cursor);
+    }
+
+    /**
+     * Retourne les zones dont le disque agrandi de {@code margin} peut couper
+     * le segment [A, B] (ce qui inclut les zones contenant B).
+     *
+     * @param ax     X du départ.
+     * @param ay     Y du départ.
+     * @param bx     X de l'arrivée.
+     * @param by     Y de l'arrivée.
+     * @param margin Marge ajoutée au rayon des zones.
+     * @param cursor État de requête de l'appelant.
+     * @return Nombre de candidats.
+     */
+    public int querySegment(double ax, double ay, double bx, double by, double margin, CircleBVH.Cursor cursor) {
+        ensureIndexed();
+        return bvh.querySegment(ax, ay, bx, by, margin, cursor);
+    }
+
+    /**
+     * Lit une zone candidate de la dernière requête du curseur.
+     *
+     * @param cursor Curseur de la requête.
+     * @param rank   Rang dans les résultats.
+     * @return La zone.
+     */
+    public RestrictedZone result(CircleBVH.Cursor cursor, int rank) {
+        return indexed[cursor.result(rank)];
+    }
+
+    /**
+     * Reconstruit l'index si la liste a changé. Appelé par le moteur avant
+     * les phases parallèles, pour que les threads ne fassent que lire.
+     */
+    public void ensureIndexed() {
+        if (dirty) {
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        if (!dirty) {
+            return;
+        }
+        int n = zones.size();
+        RestrictedZone[] snapshot = zones.toArray(new RestrictedZone[n]);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] r = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = snapshot[i].getX();
+            y[i] = snapshot[i].getY();
+            r[i] = snapshot[i].getRadius();
+        }
+        bvh.build(x, y, r, n);
+        indexed = snapshot;
+        dirty = false;
+    }
+
+    @Override
+    public RestrictedZone get(int index) {
+        return zones.get(index);
+    }
+
+    @Override
+    public int size() {
+        return zones.size();
+    }
+
+    @Override
+    public void add(int index, RestrictedZone zone) {
+        zones.add(index, zone);
+        dirty = true;
+    }
+
+    @Override
+    public RestrictedZone set(int index, RestrictedZone zone) {
+        RestrictedZone old = zones.set(index, zone);
+        dirty = true;
+        return old;
+    }
+
+    @Override
+    public RestrictedZone remove(int index) {
+        RestrictedZone old = zones.remove(index);
+        dirty = true;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        zones.clear();
+        dirty = true;
+    }
+}
@@ -38,8 +38,10 @@ public class Obstacle {
      * @return true si collision (distance < rayon).
      */
     public boolean isCollision(double ox, double oy, double oz) {
-        double dist = Math.sqrt(Math.pow(x - ox, 2) + Math.pow(y - oy, 2) + Math.pow(z - oz, 2));
-        return dist < radius;
+        double dx = x - ox;
+        double dy = y - oy;
+        double dz = z - oz;
+        return dx * dx + dy * dy + dz * dz < radius * radius; // Comparaison au carré (sans sqrt)
     }
 
     public double getX() {
@@ -22,6 +22,9 @@ public class Weather {
     /** Direction du vent en degrés (0-360). */
     private double windDirection;
 
+    /** Incrémenté à chaque modification (invalidation des caches des actifs). */
+    private int version;
+
     /**
      * Constructeur simplifié (sans vagues).
      * 
@@ -61,6 +64,7 @@ public class Weather {
 
     public void setWindIntensity(double v) {
         this.windIntensity = clamp(v);
+        version++;
     }
 
     /**
@@ -74,6 +78,7 @@ public class Weather {
 
     public void setRainIntensity(double v) {
         this.rainIntensity = clamp(v);
+        version++;
     }
 
     /**
@@ -87,6 +92,7 @@ public class Weather {
 
     public void setWaveIntensity(double v) {
         this.waveIntensity = clamp(v);
+        version++;
     }
 
     // --- Backward Compatibility / Helper Methods ---
@@ -107,6 +113,7 @@ public class Weather {
      */
     public void setWindSpeed(double kmh) {
         this.windIntensity = clamp(kmh / 100.0);
+        version++;
     }
 
     /**
@@ -125,12 +132,28 @@ public class Weather {
      */
     public void setSeaWaveHeight(double h) {
         this.waveIntensity = clamp(h / 5.0);
+        version++;
     }
 
     public double getWindDirection() {
         return windDirection;
     }
 
+    public void setWindDirection(double windDirection) {
+        this.windDirection = windDirection;
+        version++;
+    }
+
+    /**
+     * Retourne le numéro de version des conditions, incrémenté à chaque
+     * modification.
+     *
+     * @return Version courante.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     /**
      * Utilitaire de bornage [0.0, 1.0].
      */
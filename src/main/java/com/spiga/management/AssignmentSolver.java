@@ -0,0 +1,259 @@
+package com.spiga.management;
+
+import com.spiga.core.PhaseExecutor;
+
+import java.util.Arrays;
+
+/**
+ * Affectation optimale missions → actifs (problème d'affectation
+ * rectangulaire, algorithme hongrois par plus courts chemins augmentants).
+ * <p>
+ * Chaque ligne (mission) reçoit une colonne (actif) distincte en minimisant
+ * la somme des coûts. Une paire impossible (coût
+ * {@link Double#POSITIVE_INFINITY}, ex. batterie insuffisante) n'est jamais
+ * retenue tant qu'une affectation possible existe : le solveur maximise
+ * d'abord le nombre d'affectations possibles, puis minimise leur coût total.
+ * </p>
+ * <p>
+ * Les coûts sont calculés à la demande ({@link CostFunction}) : aucune
+ * matrice lignes × colonnes n'est allouée. Chaque étape du chemin augmentant
+ * parcourt toutes les colonnes libres ; au-delà de
+ * {@code parallelMinCols} colonnes, ce parcours est réparti sur les threads
+ * d'un {@link PhaseExecutor}. Le résultat ne dépend pas du découpage (à coût
+ * égal, la plus petite colonne l'emporte).
+ * </p>
+ * <p>
+ * Le solveur conserve ses tampons entre deux appels et n'est pas
+ * thread-safe. Il mesure la durée de chaque résolution.
+ * </p>
+ */
+public class AssignmentSolver {
+
+    /**
+     * Coût d'affectation d'une ligne à une colonne.
+     */
+    @FunctionalInterface
+    public interface CostFunction {
+        /**
+         * @param row Ligne (mission).
+         * @param col Colonne (actif).
+         * @return Coût fini, ou {@link Double#POSITIVE_INFINITY} si impossible.
+         */
+        double cost(int row, int col);
+    }
+
+    /** Coût substitué aux paires impossibles (très supérieur à tout coût réel). */
+    static final double INFEASIBLE_PENALTY = 1e12;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int parallelMinCols;
+
+    // Tampons indexés à partir de 1 (la colonne 0 est la colonne fictive)
+    private double[] u = new double[0];
+    private double[] v = new double[0];
+    private double[] minv = new double[0];
+    private int[] p = new int[0];
+    private int[] way = new int[0];
+    private boolean[] used = new boolean[0];
+    private int[] visited = new int[0];
+    private double[] chunkDelta = new double[0];
+    private int[] chunkCol = new int[0];
+
+    // Métriques
+    private long solveCount = 0;
+    private long totalNanos = 0;
+    private long lastNanos = 0;
+    private int lastRows = 0;
+    private int lastCols = 0;
+
+    /**
+     * Crée un solveur.
+     *
+     * @param parallelMinCols Nombre de colonnes à partir duquel le parcours des
+     *                        colonnes est parallélisé.
+     */
+    public AssignmentSolver(int parallelMinCols) {
+        this.parallelMinCols = parallelMinCols;
+    }
+
+    /**
+     * Résout l'affectation de {@code rows} lignes sur {@code cols} colonnes.
+     *
+     * @param rows     Nombre de lignes (au plus {@code cols}).
+     * @param cols     Nombre de colonnes.
+     * @param cost     Coûts.
+     * @param executor Threads pour les grandes instances, ou {@code null}.
+     * @return Colonne de chaque ligne, ou -1 si la ligne n'a aucune colonne
+     *         possible.
+     */
+    public int[] solve(int rows, int cols, CostFunction cost, PhaseExecutor executor) {
+        if (rows > cols) {
+            throw new IllegalArgumentException("Plus de lignes (" + rows + ") que de colonnes (" + cols + ")");
+        }
+        long start = System.nanoTime();
+        ensureCapacity(rows, cols);
+        Arrays.fill(u, 0, rows + 1, 0);
+        Arrays.fill(v, 0, cols + 1, 0);
+        Arrays.fill(p, 0, cols + 1, 0);
+
+        boolean parallel = executor != null && cols >= parallelMinCols;
+        int chunks = parallel ? Math.min(cols, executor.getThreads() * CHUNKS_PER_THREAD) : 1;
+
+        for (int i = 1; i <= rows; i++) {
+            augment(i, cols, cost, parallel ? executor : null, chunks);
+        }
+
+        int[] result = new int[rows];
+        Arrays.fill(result, -1);
+        for (int j = 1; j <= cols; j++) {
+            int row = p[j];
+            if (row != 0 && penalized(cost.cost(row - 1, j - 1)) < INFEASIBLE_PENALTY) {
+                result[row - 1] = j - 1;
+            }
+        }
+
+        lastNanos = System.nanoTime() - start;
+        totalNanos += lastNanos;
+        solveCount++;
+        lastRows = rows;
+        lastCols = cols;
+        return result;
+    }
+
+    /** Ajoute la ligne {@code i} par un plus court chemin augmentant. */
+    private void augment(int i, int cols, CostFunction cost, PhaseExecutor executor, int chunks) {
+        p[0] = i;
+        int j0 = 0;
+        int visitedCount = 0;
+        Arrays.fill(minv, 0, cols + 1, Double.POSITIVE_INFINITY);
+        Arrays.fill(used, 0, cols + 1, false);
+        double lastDelta = 0;
+        do {
+            used[j0] = true;
+            visited[visitedCount++] = j0;
+            int i0 = p[j0];
+            int from0 = j0;
+            double shift = lastDelta;
+            if (executor != null) {
+                executor.forEachRange(chunks, (from, to) -> {
+                    for (int c = from; c < to; c++) {
+                        scanChunk(c, chunks, cols, i0, from0, shift, cost);
+                    }
+                });
+            } else {
+                scanChunk(0, 1, cols, i0, from0, shift, cost);
+            }
+            double delta = Double.POSITIVE_INFINITY;
+            int j1 = 0;
+            for (int c = 0; c < chunks; c++) {
+                if (chunkDelta[c] < delta) {
+                    delta = chunkDelta[c];
+                    j1 = chunkCol[c];
+                }
+            }
+            // Colonnes visitées : peu nombreuses, mises à jour ici
+            for (int k = 0; k < visitedCount; k++) {
+                int j = visited[k];
+                u[p[j]] += delta;
+                v[j] -= delta;
+            }
+            lastDelta = delta;
+            j0 = j1;
+        } while (p[j0] != 0);
+
+        do {
+            int j1 = way[j0];
+            p[j0] = p[j1];
+            j0 = j1;
+        } while (j0 != 0);
+    }
+
+    /**
+     * Parcourt les colonnes libres d'une tranche : applique le décalage de
+     * l'étape précédente, relâche depuis la ligne {@code i0} (atteinte par la
+     * colonne {@code j0}) et retient le minimum de la tranche.
+     */
+    private void scanChunk(int chunk, int chunks, int cols, int i0, int j0, double shift, CostFunction cost) {
+        int from = 1 + (int) ((long) cols * chunk / chunks);
+        int to = 1 + (int) ((long) cols * (chunk + 1) / chunks);
+        double ui = u[i0];
+        double best = Double.POSITIVE_INFINITY;
+        int bestCol = 0;
+        for (int j = from; j < to; j++) {
+            if (used[j]) {
+                continue;
+            }
+            double m = minv[j] - shift;
+            double cur = penalized(cost.cost(i0 - 1, j - 1)) - ui - v[j];
+            if (cur < m) {
+                m = cur;
+                way[j] = j0;
+            }
+            minv[j] = m;
+            if (m < best) {
+                best = m;
+                bestCol = j;
+            }
+        }
+        chunkDelta[chunk] = best;
+        chunkCol[chunk] = bestCol;
+    }
+
+    private static double penalized(double cost) {
+        return cost < INFEASIBLE_PENALTY ? cost : INFEASIBLE_PENALTY;
+    }
+
+    private void ensureCapacity(int rows, int cols) {
+        if (u.length < rows + 1) {
+            u = new double[rows + 1];
+        }
+        if (v.length < cols + 1) {
+            v = new double[cols + 1];
+            minv = new double[cols + 1];
+            p = new int[cols + 1];
+            way = new int[cols + 1];
+            used = new boolean[cols + 1];
+            visited = new int[cols + 1];
+            chunkDelta = new double[cols];
+            chunkCol = new int[cols];
+        }
+    }
+
+    // --- MÉTRIQUES ---
+
+    /**
+     * @return Nombre de résolutions.
+     */
+    public long getSolveCount() {
+        return solveCount;
+    }
+
+    /**
+     * @return Durée de la dernière résolution (ns).
+     */
+    public long getLastSolveNanos() {
+        return lastNanos;
+    }
+
+    /**
+     * @return Durée cumulée des résolutions (ns).
+     */
+    public long getTotalSolveNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return Nombre de lignes (missions) de la dernière résolution.
+     */
+    public int getLastRows() {
+        return lastRows;
+    }
+
+    /**
+     * @return Nombre de colonnes (actifs) de la dernière résolution.
+     */
+    public int getLastCols() {
+        return lastCols;
+    }
+}
@@ -0,0 +1,283 @@
+package com.spiga.management;
+
+import com.spiga.core.ActifMobile;
+import com.spiga.core.SimConfig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index incrémental des actifs disponibles (AU_SOL, batterie &gt; 20 %).
+ * <p>
+ * Les actifs disponibles sont rangés par autonomie restante décroissante
+ * (puis numéro de série), globalement, par classe concrète et par cellule
+ * d'une grille par classe ({@link SimConfig#AVAILABILITY_CELL_SIZE}). Les
+ * requêtes (meilleur actif, top-k, meilleur actif d'un type près d'un point)
+ * ne parcourent plus la flotte : O(log n + k), la requête spatiale ne visitant
+ * que les cellules du rayon demandé.
+ * </p>
+ * <p>
+ * Les changements d'état, de batterie et de position (signalés par le
+ * stockage, y compris depuis les phases parallèles) ne font que marquer
+ * l'actif ; il est replacé dans l'index à la requête suivante. Chaque entrée
+ * fige l'autonomie et la position au moment du placement, ce qui garde les
+ * arbres cohérents entre deux requêtes.
+ * </p>
+ */
+public class AvailabilityIndex {
+
+    /** Batterie minimale (fraction de l'autonomie max) pour être disponible. */
+    public static final double SEUIL_BATTERIE = 0.2;
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator
+            .comparingDouble((Entry e) -> -e.autonomy)
+            .thenComparingInt(e -> e.serial);
+
+    /** Placement figé d'un actif disponible. */
+    private static final class Entry {
+        final ActifMobile asset;
+        final double autonomy;
+        final int serial;
+        final double x, y;
+        final long cell;
+
+        Entry(ActifMobile asset, long cell) {
+            this.asset = asset;
+            this.autonomy = asset.getAutonomieActuelle();
+            this.serial = asset.getSerial();
+            this.x = asset.getX();
+            this.y = asset.getY();
+            this.cell = cell;
+        }
+    }
+
+    private final FleetRegistry fleet;
+    private final double cellSize;
+
+    // Marqués depuis n'importe quel thread, replacés sous le verrou de l'index
+    private final Set<ActifMobile> dirty = ConcurrentHashMap.newKeySet();
+
+    private final Map<ActifMobile, Entry> entries = new IdentityHashMap<>();
+    private final TreeSet<Entry> all = new TreeSet<>(BEST_FIRST);
+    private final Map<Class<?>, TreeSet<Entry>> byType = new HashMap<>();
+    private final Map<Class<?>, Map<Long, TreeSet<Entry>>> cells = new HashMap<>();
+
+    /**
+     * Crée l'index des disponibles d'une flotte.
+     *
+     * @param fleet    Registre de la flotte (appartenance).
+     * @param cellSize Côté des cellules de la grille (m).
+     */
+    AvailabilityIndex(FleetRegistry fleet, double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("La taille de cellule doit être positive");
+        }
+        this.fleet = fleet;
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Marque un actif à replacer (thread-safe, sans verrou).
+     *
+     * @param actif Actif dont l'état, la batterie ou la position a changé.
+     */
+    void invalidate(ActifMobile actif) {
+        dirty.add(actif);
+    }
+
+    /**
+     * @return Nombre d'actifs disponibles.
+     */
+    public synchronized int size() {
+        refresh();
+        return all.size();
+    }
+
+    /**
+     * Retourne tous les actifs disponibles, par autonomie décroissante.
+     *
+     * @return Nouvelle liste.
+     */
+    public synchronized List<ActifMobile> all() {
+        return top(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retourne l'actif disponible ayant la meilleure autonomie.
+     *
+     * @return L'actif, ou {@code null} si aucun n'est disponible.
+     */
+    public synchronized ActifMobile best() {
+        refresh();
+        return all.isEmpty() ? null : all.first().asset;
+    }
+
+    /**
+     * Retourne les {@code k} actifs disponibles ayant la meilleure autonomie.
+     *
+     * @param k Nombre maximal d'actifs.
+     * @return Nouvelle liste, par autonomie décroissante.
+     */
+    public synchronized List<ActifMobile> top(int k) {
+        refresh();
+        List<ActifMobile> result = new ArrayList<>(Math.min(k, all.size()));
+        for (Iterator<Entry> it = all.iterator(); it.hasNext() && result.size() < k;) {
+            result.add(it.next().asset);
+        }
+        return result;
+    }
+
+    /**
+     * Retourne les {@code k} actifs disponibles d'un type (sous-classes
+     * comprises) ayant la meilleure autonomie.
+     *
+     * @param <T>  Type recherché.
+     * @param type Classe (ex. {@code ActifAerien.class}).
+     * @param k    Nombre maximal d'actifs.
+     * @return Nouvelle liste, par autonomie décroissante.
+     */
+    public synchronized <T extends ActifMobile> List<T> top(Class<T> type, int k) {
+        refresh();
+        TreeSet<Entry> merged = new TreeSet<>(BEST_FIRST);
+        for (Map.Entry<Class<?>, TreeSet<Entry>> entry : byType.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                Iterator<Entry> it = entry.getValue().iterator();
+                for (int i = 0; i < k && it.hasNext(); i++) {
+                    merged.add(it.next());
+                }
+            }
+        }
+        List<T> result = new ArrayList<>(Math.min(k, merged.size()));
+        for (Iterator<Entry> it = merged.iterator(); it.hasNext() && result.size() < k;) {
+            result.add(type.cast(it.next().asset));
+        }
+        return result;
+    }
+
+    /**
+     * Retourne l'actif disponible d'un type ayant la meilleure autonomie.
+     *
+     * @param <T>  Type recherché.
+     * @param type Classe (sous-classes comprises).
+     * @return L'actif, ou {@code null}.
+     */
+    public synchronized <T extends ActifMobile> T best(Class<T> type) {
+        List<T> top = top(type, 1);
+        return top.isEmpty() ? null : top.get(0);
+    }
+
+    /**
+     * Retourne l'actif disponible d'un type ayant la meilleure autonomie dans
+     * un rayon autour d'un point (distance horizontale).
+     *
+     * @param <T>    Type recherché.
+     * @param type   Classe (sous-classes comprises).
+     * @param x      Point X.
+     * @param y      Point Y.
+     * @param radius Rayon (m).
+     * @return L'actif, ou {@code null} si aucun n'est dans le rayon.
+     */
+    public synchronized <T extends ActifMobile> T bestNear(Class<T> type, double x, double y, double radius) {
+        refresh();
+        double r2 = radius * radius;
+        int minCx = cellCoord(x - radius), maxCx = cellCoord(x + radius);
+        int minCy = cellCoord(y - radius), maxCy = cellCoord(y + radius);
+        Entry best = null;
+        for (Map.Entry<Class<?>, Map<Long, TreeSet<Entry>>> grid : cells.entrySet()) {
+            if (!type.isAssignableFrom(grid.getKey())) {
+                continue;
+            }
+            Map<Long, TreeSet<Entry>> typeCells = grid.getValue();
+            if ((long) (maxCx - minCx + 1) * (maxCy - minCy + 1) > typeCells.size()) {
+                // Rayon plus large que la flotte : parcourir les cellules occupées
+                for (TreeSet<Entry> cell : typeCells.values()) {
+                    best = bestInCell(cell, x, y, r2, best);
+                }
+            } else {
+                for (int cx = minCx; cx <= maxCx; cx++) {
+                    for (int cy = minCy; cy <= maxCy; cy++) {
+                        TreeSet<Entry> cell = typeCells.get(cellKey(cx, cy));
+                        if (cell != null) {
+                            best = bestInCell(cell, x, y, r2, best);
+                        }
+                    }
+                }
+            }
+        }
+        return best == null ? null : type.cast(best.asset);
+    }
+
+    /** Premier actif de la cellule (meilleur d'abord) dans le rayon, s'il bat {@code best}. */
+    private static Entry bestInCell(TreeSet<Entry> cell, double x, double y, double r2, Entry best) {
+        for (Entry e : cell) {
+            if (best != null && BEST_FIRST.compare(e, best) >= 0) {
+                return best; // Les suivants sont moins bons
+            }
+            double dx = e.x - x;
+            double dy = e.y - y;
+            if (dx * dx + dy * dy <= r2) {
+                return e;
+            }
+        }
+        return best;
+    }
+
+    // --- MISE À JOUR ---
+
+    private void refresh() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        for (Iterator<ActifMobile> it = dirty.iterator(); it.hasNext();) {
+            ActifMobile actif = it.next();
+            // Retiré avant lecture : un changement concurrent le remarque
+            it.remove();
+            place(actif);
+        }
+    }
+
+    private void place(ActifMobile actif) {
+        Entry old = entries.remove(actif);
+        if (old != null) {
+            all.remove(old);
+            byType.get(old.asset.getClass()).remove(old);
+            Map<Long, TreeSet<Entry>> typeCells = cells.get(old.asset.getClass());
+            TreeSet<Entry> cell = typeCells.get(old.cell);
+            cell.remove(old);
+            if (cell.isEmpty()) {
+                typeCells.remove(old.cell);
+            }
+        }
+        if (!isAvailable(actif)) {
+            return;
+        }
+        Entry entry = new Entry(actif, cellKey(cellCoord(actif.getX()), cellCoord(actif.getY())));
+        entries.put(actif, entry);
+        all.add(entry);
+        byType.computeIfAbsent(actif.getClass(), c -> new TreeSet<>(BEST_FIRST)).add(entry);
+        cells.computeIfAbsent(actif.getClass(), c -> new HashMap<>())
+                .computeIfAbsent(entry.cell, c -> new TreeSet<>(BEST_FIRST)).add(entry);
+    }
+
+    private boolean isAvailable(ActifMobile actif) {
+        return actif.getEtat() == ActifMobile.EtatOperationnel.AU_SOL
+                && actif.getAutonomieActuelle() > actif.getAutonomieMax() * SEUIL_BATTERIE
+                && fleet.contains(actif);
+    }
+
+    private int cellCoord(double v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private static long cellKey(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
@@ -1,15 +1,24 @@
 package com.spiga.management;
 
 import com.spiga.core.ActifMobile;
-import com.spiga.core.ActifAerien;
-import com.spiga.core.ActifMarin;
 import com.spiga.core.DroneLogistique;
 import com.spiga.core.DroneReconnaissance;
+import com.spiga.core.PhaseExecutor;
+import com.spiga.core.SimConfig;
+import com.spiga.core.SimLog;
 import com.spiga.core.VehiculeSousMarin;
 import com.spiga.core.VehiculeSurface;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Système central de dispatch et de communication.
@@ -21,22 +30,135 @@ import java.util.stream.Collectors;
  * de les allouer intelligemment aux actifs disponibles via le
  * {@link GestionnaireEssaim}.
  * </p>
+ * <p>
+ * Les missions sont rangées, dès leur ajout, dans une file par classe de
+ * véhicule ({@link Capability}, déduite du {@link Mission.MissionType}) ; les
+ * actifs libres sont tenus dans une réserve par classe, alimentée par le
+ * stockage de la flotte à chaque passage à {@code IDLE}. Le dispatch ne
+ * parcourt donc plus la flotte : son coût est proportionnel au nombre de
+ * missions assignées, et une mission sans candidat ne bloque plus les
+ * suivantes.
+ * </p>
+ * <p>
+ * Selon la {@link DispatchPolicy}, une classe est servie dans l'ordre
+ * d'arrivée (premier actif libre pour la plus ancienne mission) ou par une
+ * affectation optimale ({@link AssignmentSolver}) des plus anciennes missions
+ * aux actifs libres, minimisant le temps de trajet ou l'énergie totale.
+ * </p>
  */
 public class Communication {
 
-    private List<Mission> aerialMissions;
-    private List<Mission> marineMissions;
+    /**
+     * Classe de véhicule capable d'exécuter une mission.
+     */
+    public enum Capability {
+        /** Drones de reconnaissance (surveillance aérienne). */
+        RECON_DRONE,
+        /** Drones logistiques (transport aérien). */
+        LOGISTICS_DRONE,
+        /** Navires de surface. */
+        SURFACE_VESSEL,
+        /** Sous-marins. */
+        SUBMARINE;
+
+        /**
+         * Classe d'un actif.
+         *
+         * @param asset L'actif.
+         * @return Sa classe, ou {@code null} s'il ne reçoit pas de missions
+         *         dispatchées.
+         */
+        public static Capability of(ActifMobile asset) {
+            if (asset instanceof DroneReconnaissance) {
+                return RECON_DRONE;
+            } else if (asset instanceof DroneLogistique) {
+                return LOGISTICS_DRONE;
+            } else if (asset instanceof VehiculeSurface) {
+                return SURFACE_VESSEL;
+            } else if (asset instanceof VehiculeSousMarin) {
+                return SUBMARINE;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Politique d'affectation des missions aux actifs libres.
+     */
+    public enum DispatchPolicy {
+        /** Premier actif libre (ordre d'arrivée) pour la plus ancienne mission. */
+        FIFO,
+        /** Affectation minimisant la somme des temps de trajet. */
+        MIN_ETA,
+        /** Affectation minimisant l'énergie totale consommée par les trajets. */
+        MIN_ENERGY;
+
+        /**
+         * Politique nommée, ou {@link #FIFO} si le nom est inconnu.
+         *
+         * @param name Nom de la politique.
+         * @return La politique.
+         */
+        public static DispatchPolicy parse(String name) {
+            for (DispatchPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(name)) {
+                    return policy;
+                }
+            }
+            return FIFO;
+        }
+    }
+
+    private static final Capability[] CAPABILITIES = Capability.values();
+
+    // Missions en attente par classe de véhicule (FIFO)
+    private final EnumMap<Capability, ArrayDeque<Mission>> queues = new EnumMap<>(Capability.class);
+    // Actifs libres par classe, dans l'ordre d'arrivée dans la flotte ; une
+    // entrée périmée (actif reparti ou retiré) est écartée au moment du tirage
+    private final EnumMap<Capability, TreeSet<ActifMobile>> idle = new EnumMap<>(Capability.class);
+    // Passages à IDLE signalés par le stockage (depuis les threads des phases)
+    private final Queue<ActifMobile> becameIdle = new ConcurrentLinkedQueue<>();
+    // Missions qu'aucune classe de véhicule ne peut exécuter
+    private final List<Mission> unroutable = new ArrayList<>();
+    private final List<ActifMobile> stillIdle = new ArrayList<>();
+    private int pending = 0;
     private GestionnaireEssaim fleetManager;
 
+    private DispatchPolicy policy = DispatchPolicy.parse(SimConfig.DISPATCH_POLICY);
+    private final AssignmentSolver solver = new AssignmentSolver(SimConfig.ASSIGNMENT_PARALLEL_MIN_COLS);
+    private PhaseExecutor executor;
+    // Tampons de l'affectation optimale (réutilisés)
+    private final List<Mission> batch = new ArrayList<>();
+    private final List<ActifMobile> candidates = new ArrayList<>();
+    // Version de chaque file (ajout ou retrait d'une mission) et état de la
+    // dernière affectation sans résultat : file et actifs libres inchangés,
+    // la résolution suivante ne donnerait rien non plus
+    private final long[] queueVersion = new long[CAPABILITIES.length];
+    private final long[] idleQueueVersion = new long[CAPABILITIES.length];
+    private final long[] idlePoolSignature = new long[CAPABILITIES.length];
+    private final boolean[] idleKnown = new boolean[CAPABILITIES.length];
+
     /**
      * Initialise le centre de communication.
+     * <p>
+     * Le centre s'abonne aux passages à {@code IDLE} du stockage de la flotte
+     * (un seul centre actif par flotte).
+     * </p>
      * 
      * @param fleetManager Référence vers le gestionnaire de flotte (Association).
      */
     public Communication(GestionnaireEssaim fleetManager) {
         this.fleetManager = fleetManager;
-        this.aerialMissions = new ArrayList<>();
-        this.marineMissions = new ArrayList<>();
+        for (Capability capability : CAPABILITIES) {
+            queues.put(capability, new ArrayDeque<>());
+            idle.put(capability, new TreeSet<>(Comparator.comparingInt(ActifMobile::getSerial)));
+        }
+        fleetManager.getStore().setIdleListener(becameIdle::add);
+        for (ActifMobile actif : fleetManager.getFlotte()) {
+            if (actif.getState() == ActifMobile.AssetState.IDLE) {
+                becameIdle.add(actif);
+            }
+        }
     }
 
     /**
@@ -46,15 +168,76 @@ public class Communication {
      * @param type    Catégorie ("AERIAL" ou "MARINE").
      */
     public void addMission(Mission mission, String type) {
+        Capability capability;
         if ("AERIAL".equalsIgnoreCase(type)) {
-            aerialMissions.add(mission);
-            System.out.println("Comm: Added Aerial Mission - " + mission.getTitre());
+            capability = aerialCapability(mission);
+            SimLog.log(SimLog.Category.COMM, "Comm: Added Aerial Mission - {}", mission.getTitre());
         } else if ("MARINE".equalsIgnoreCase(type)) {
-            marineMissions.add(mission);
-            System.out.println("Comm: Added Marine Mission - " + mission.getTitre());
+            capability = marineCapability(mission);
+            SimLog.log(SimLog.Category.COMM, "Comm: Added Marine Mission - {}", mission.getTitre());
         } else {
-            System.out.println("Comm: Unknown mission type " + type);
+            SimLog.log(SimLog.Category.COMM, "Comm: Unknown mission type {}", type);
+            return;
         }
+
+        if (capability == null) {
+            SimLog.log(SimLog.Category.COMM, "Comm: No vehicle class for mission {}", mission.getTitre());
+        }
+        enqueue(mission, capability);
+    }
+
+    /**
+     * Place une mission en fin de file d'une classe de véhicule, sans
+     * déduire la classe (restauration d'un point de reprise).
+     *
+     * @param mission    La mission.
+     * @param capability Classe de véhicule, ou {@code null} si aucune ne peut
+     *                   l'exécuter.
+     */
+    public void enqueue(Mission mission, Capability capability) {
+        if (capability == null) {
+            unroutable.add(mission);
+            return;
+        }
+        queues.get(capability).add(mission);
+        queueVersion[capability.ordinal()]++;
+        pending++;
+    }
+
+    /**
+     * Classe de drone d'une mission aérienne : surveillance pour la
+     * reconnaissance, logistique pour le transport ; les autres types sont
+     * orientés par leur titre.
+     */
+    private static Capability aerialCapability(Mission mission) {
+        if (mission.getType() == Mission.MissionType.SURVEILLANCE) {
+            return Capability.RECON_DRONE;
+        } else if (mission.getType() == Mission.MissionType.LOGISTICS) {
+            return Capability.LOGISTICS_DRONE;
+        } else if (mission.getTitre().contains("Surveillance")) {
+            return Capability.RECON_DRONE;
+        } else if (mission.getTitre().contains("Logistique")) {
+            return Capability.LOGISTICS_DRONE;
+        }
+        return null;
+    }
+
+    /**
+     * Classe de véhicule d'une mission marine : le titre désigne explicitement
+     * la surface ou le fond ; à défaut, la surveillance revient aux navires et
+     * la logistique aux sous-marins (comme à la création depuis l'IUG).
+     */
+    private static Capability marineCapability(Mission mission) {
+        if (mission.getTitre().contains("Underwater")) {
+            return Capability.SUBMARINE;
+        } else if (mission.getTitre().contains("Surface")) {
+            return Capability.SURFACE_VESSEL;
+        } else if (mission.getType() == Mission.MissionType.SURVEILLANCE) {
+            return Capability.SURFACE_VESSEL;
+        } else if (mission.getType() == Mission.MissionType.LOGISTICS) {
+            return Capability.SUBMARINE;
+        }
+        return null;
     }
 
     /**
@@ -62,71 +245,227 @@ public class Communication {
      * Appelée périodiquement par le moteur de simulation.
      */
     public void handleMissions() {
-        dispatchAerialMissions();
-        dispatchMarineMissions();
+        ActifMobile actif;
+        while ((actif = becameIdle.poll()) != null) {
+            Capability capability = Capability.of(actif);
+            if (capability != null) {
+                idle.get(capability).add(actif);
+            }
+        }
+        if (pending == 0) {
+            return;
+        }
+        for (Capability capability : CAPABILITIES) {
+            dispatch(capability);
+        }
     }
 
-    private void dispatchAerialMissions() {
-        if (aerialMissions.isEmpty())
+    private void dispatch(Capability capability) {
+        ArrayDeque<Mission> queue = queues.get(capability);
+        if (queue.isEmpty()) {
             return;
-
-        // Filtre : Drones Libres
-        List<ActifMobile> availableDrones = fleetManager.getFlotte().stream()
-                .filter(a -> a instanceof ActifAerien)
-                .filter(a -> a.getState() == ActifMobile.AssetState.IDLE)
-                .collect(Collectors.toList());
-
-        for (ActifMobile drone : availableDrones) {
-            if (aerialMissions.isEmpty())
-                break;
-
-            Mission mission = aerialMissions.get(0);
-            boolean assigned = false;
-
-            // Logique de Matching simple
-            if (drone instanceof DroneReconnaissance && mission.getTitre().contains("Surveillance")) {
-                drone.assignMission(mission);
-                assigned = true;
-            } else if (drone instanceof DroneLogistique && mission.getTitre().contains("Logistique")) {
-                drone.assignMission(mission);
-                assigned = true;
-            }
-
-            if (assigned) {
-                aerialMissions.remove(0);
-                System.out.println("Comm: Assigned " + mission.getTitre() + " to " + drone.getId());
+        }
+        if (policy != DispatchPolicy.FIFO) {
+            assignOptimal(capability, queue, idle.get(capability));
+            return;
+        }
+        TreeSet<ActifMobile> pool = idle.get(capability);
+        while (!queue.isEmpty() && !pool.isEmpty()) {
+            ActifMobile unit = pool.pollFirst();
+            if (unit.getState() != ActifMobile.AssetState.IDLE || !fleetManager.getStore().contains(unit)) {
+                continue; // Entrée périmée : réinsérée au prochain passage à IDLE
             }
+            assign(queue.poll(), unit);
         }
+        pool.addAll(stillIdle);
+        stillIdle.clear();
     }
 
-    private void dispatchMarineMissions() {
-        if (marineMissions.isEmpty())
+    /**
+     * Affecte les plus anciennes missions de la file qu'au moins un actif
+     * libre peut atteindre (au plus une par actif libre et
+     * {@link SimConfig#ASSIGNMENT_BATCH_SIZE}) par une affectation de coût
+     * total minimal. Les missions hors de portée de tous les actifs (batterie
+     * insuffisante) restent dans la file, dans leur ordre, sans bloquer les
+     * suivantes. Si ni la file ni les actifs libres n'ont changé depuis une
+     * affectation sans résultat, la résolution n'est pas relancée.
+     */
+    private void assignOptimal(Capability capability, ArrayDeque<Mission> queue, TreeSet<ActifMobile> pool) {
+        int c = capability.ordinal();
+        long signature = 17;
+        for (ActifMobile unit : pool) {
+            if (isAvailable(unit)) {
+                candidates.add(unit);
+                signature = 31 * signature + unit.getSerial();
+                signature = 31 * signature + Double.hashCode(unit.getX());
+                signature = 31 * signature + Double.hashCode(unit.getY());
+                signature = 31 * signature + Double.hashCode(unit.getZ());
+                signature = 31 * signature + Double.hashCode(unit.getAutonomieActuelle());
+            }
+        }
+        pool.removeIf(unit -> !isAvailable(unit)); // Entrées périmées
+        int cols = candidates.size();
+        if (cols == 0 || (idleKnown[c] && idleQueueVersion[c] == queueVersion[c]
+                && idlePoolSignature[c] == signature)) {
+            candidates.clear();
             return;
+        }
 
-        List<ActifMobile> availableMarine = fleetManager.getFlotte().stream()
-                .filter(a -> a instanceof ActifMarin)
-                .filter(a -> a.getState() == ActifMobile.AssetState.IDLE)
-                .collect(Collectors.toList());
+        double[] ux = new double[cols], uy = new double[cols], uz = new double[cols];
+        double[] speed = new double[cols], rate = new double[cols], battery = new double[cols];
+        for (int j = 0; j < cols; j++) {
+            ActifMobile unit = candidates.get(j);
+            ux[j] = unit.getX();
+            uy[j] = unit.getY();
+            uz[j] = unit.getZ();
+            speed[j] = unit.getVitesseMax();
+            // Consommation horaire à vitesse max (facteur de vitesse 2, voir MotionSystem.drain)
+            rate[j] = unit.getConsommation() * 2.0;
+            battery[j] = unit.getAutonomieActuelle();
+        }
+        boolean energy = policy == DispatchPolicy.MIN_ENERGY;
 
-        for (ActifMobile unit : availableMarine) {
-            if (marineMissions.isEmpty())
-                break;
+        // Lot : missions atteignables, les autres restent à leur place
+        int limit = Math.min(cols, SimConfig.ASSIGNMENT_BATCH_SIZE);
+        for (Iterator<Mission> it = queue.iterator(); it.hasNext() && batch.size() < limit;) {
+            Mission mission = it.next();
+            for (int j = 0; j < cols; j++) {
+                if (travelCost(mission.getTargetX() - ux[j], mission.getTargetY() - uy[j],
+                        mission.getTargetZ() - uz[j], speed[j], rate[j], battery[j], energy) < Double.POSITIVE_INFINITY) {
+                    batch.add(mission);
+                    it.remove();
+                    break;
+                }
+            }
+        }
+        int rows = batch.size();
+        if (rows == 0) {
+            // Rien d'atteignable : inutile de recommencer tant que rien ne change
+            idleKnown[c] = true;
+            idleQueueVersion[c] = queueVersion[c];
+            idlePoolSignature[c] = signature;
+            candidates.clear();
+            return;
+        }
+        queueVersion[c]++;
+        idleKnown[c] = false;
 
-            Mission mission = marineMissions.get(0);
-            boolean assigned = false;
+        double[] mx = new double[rows], my = new double[rows], mz = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            Mission mission = batch.get(i);
+            mx[i] = mission.getTargetX();
+            my[i] = mission.getTargetY();
+            mz[i] = mission.getTargetZ();
+        }
+        int[] match = solver.solve(rows, cols, (i, j) -> travelCost(mx[i] - ux[j], my[i] - uy[j], mz[i] - uz[j],
+                speed[j], rate[j], battery[j], energy), executor);
 
-            if (unit instanceof VehiculeSurface && mission.getTitre().contains("Surface")) {
-                unit.assignMission(mission);
-                assigned = true;
-            } else if (unit instanceof VehiculeSousMarin && mission.getTitre().contains("Underwater")) {
-                unit.assignMission(mission);
-                assigned = true;
+        for (int i = rows - 1; i >= 0; i--) {
+            if (match[i] < 0) {
+                queue.addFirst(batch.get(i)); // Reste prioritaire, dans l'ordre
             }
-
-            if (assigned) {
-                marineMissions.remove(0);
-                System.out.println("Comm: Assigned " + mission.getTitre() + " to " + unit.getId());
+        }
+        for (int i = 0; i < rows; i++) {
+            if (match[i] >= 0) {
+                ActifMobile unit = candidates.get(match[i]);
+                pool.remove(unit);
+                assign(batch.get(i), unit);
             }
         }
+        pool.addAll(stillIdle);
+        stillIdle.clear();
+        batch.clear();
+        candidates.clear();
+        SimLog.log(SimLog.Category.COMM, "Comm: Optimal assignment {}x{} in {} us", rows, cols,
+                solver.getLastSolveNanos() / 1000);
+    }
+
+    /**
+     * Coût d'un trajet pour un actif (temps ou énergie), infini si sa
+     * batterie ne suffit pas.
+     */
+    private static double travelCost(double dx, double dy, double dz, double speed, double rate, double battery,
+            boolean energy) {
+        double eta = Math.sqrt(dx * dx + dy * dy + dz * dz) / speed;
+        double needed = eta / 3600.0 * rate;
+        if (needed > battery) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return energy ? needed : eta;
+    }
+
+    private boolean isAvailable(ActifMobile unit) {
+        return unit.getState() == ActifMobile.AssetState.IDLE && fleetManager.getStore().contains(unit);
+    }
+
+    private void assign(Mission mission, ActifMobile unit) {
+        pending--;
+        unit.assignMission(mission);
+        SimLog.log(SimLog.Category.COMM, "Comm: Assigned {} to {}", mission.getTitre(), unit.getId());
+        if (unit.getState() == ActifMobile.AssetState.IDLE) {
+            stillIdle.add(unit); // Mission mise en file : candidat au prochain tick
+        }
+    }
+
+    /**
+     * Définit la politique d'affectation des missions.
+     *
+     * @param policy La politique.
+     */
+    public void setDispatchPolicy(DispatchPolicy policy) {
+        this.policy = policy;
+        Arrays.fill(idleKnown, false);
+    }
+
+    public DispatchPolicy getDispatchPolicy() {
+        return policy;
+    }
+
+    /**
+     * Définit les threads utilisés par les grandes affectations optimales.
+     *
+     * @param executor Threads des phases du moteur, ou {@code null}.
+     */
+    public void setExecutor(PhaseExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return Solveur des affectations optimales (durées de résolution).
+     */
+    public AssignmentSolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * @return Nombre de missions en attente d'un actif (hors missions sans
+     *         classe de véhicule).
+     */
+    public int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * @param capability Classe de véhicule.
+     * @return Nombre de missions en attente pour cette classe.
+     */
+    public int getPendingCount(Capability capability) {
+        return queues.get(capability).size();
+    }
+
+    /**
+     * @param capability Classe de véhicule.
+     * @return Missions en attente pour cette classe, de la plus ancienne à la
+     *         plus récente.
+     */
+    public List<Mission> getPendingMissions(Capability capability) {
+        return new ArrayList<>(queues.get(capability));
+    }
+
+    /**
+     * @return Missions qu'aucune classe de véhicule ne peut exécuter.
+     */
+    public List<Mission> getUnroutableMissions() {
+        return Collections.unmodifiableList(unroutable);
     }
 }
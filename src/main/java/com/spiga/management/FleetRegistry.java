@@ -0,0 +1,377 @@
+package com.spiga.management;
+
+import com.spiga.core.ActifMobile;
+import com.spiga.core.FleetStore;
+import com.spiga.core.SimConfig;
+import com.spiga.core.SimLog;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Registre indexé de la flotte.
+ * <p>
+ * Les actifs sont rangés dans les slots denses du {@link FleetStore} (un
+ * retrait déplace le dernier slot dans le trou) ; l'ordre de la liste est
+ * l'ordre des slots. Le registre maintient en plus :
+ * <ul>
+ * <li>un index par identifiant (recherche et suppression en O(1)) ;</li>
+ * <li>des poignées générationnelles ({@link #resolve(long)}) : une poignée
+ * d'un actif retiré ne résout plus, même si son emplacement est réutilisé
+ * ;</li>
+ * <li>des index secondaires par classe concrète et par
+ * {@link ActifMobile.EtatOperationnel}, ordonnés par numéro de série, ce
+ * dernier tenu à jour par le stockage à chaque changement d'état ;</li>
+ * <li>l'index des actifs disponibles ({@link AvailabilityIndex}).</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Les modifications se font depuis le thread de simulation. Les lectures
+ * (parcours, recherche, index) sont sûres depuis un autre thread pendant un
+ * ajout ou un retrait : elles sont faiblement cohérentes, sans
+ * {@code ConcurrentModificationException}.
+ * </p>
+ */
+public class FleetRegistry extends AbstractList<ActifMobile> {
+
+    private static final Comparator<ActifMobile> BY_SERIAL = Comparator.comparingInt(ActifMobile::getSerial);
+
+    private final FleetStore store;
+    // Rattache un nouvel actif aux services de la flotte (horloge, zones...)
+    private final Consumer<ActifMobile> binder;
+
+    private final Map<String, ActifMobile> byId = new ConcurrentHashMap<>();
+    // Actifs inscrits sous un identifiant déjà pris (toléré, hors index)
+    private int sharedIds = 0;
+    private final Map<Class<?>, ConcurrentSkipListSet<ActifMobile>> byType = new ConcurrentHashMap<>();
+    private final EnumMap<ActifMobile.EtatOperationnel, ConcurrentSkipListSet<ActifMobile>> byEtat = new EnumMap<>(
+            ActifMobile.EtatOperationnel.class);
+    private final AvailabilityIndex available = new AvailabilityIndex(this, SimConfig.AVAILABILITY_CELL_SIZE);
+
+    // Poignées : indice (32 bits bas) et génération (32 bits hauts)
+    private ActifMobile[] handles = new ActifMobile[16];
+    private int[] generations = new int[16];
+    private int[] freeHandles = new int[16];
+    private int freeCount = 0;
+    private int handleCount = 0;
+
+    /**
+     * Crée un registre adossé au stockage de la flotte.
+     *
+     * @param store Stockage partagé par les actifs inscrits.
+     */
+    public FleetRegistry(FleetStore store) {
+        this(store, actif -> {
+        });
+    }
+
+    /**
+     * Crée un registre adossé au stockage de la flotte.
+     *
+     * @param store  Stockage partagé par les actifs inscrits.
+     * @param binder Appelé une fois à l'inscription de chaque actif, quel que
+     *               soit le chemin d'ajout (liste ou gestionnaire).
+     */
+    public FleetRegistry(FleetStore store, Consumer<ActifMobile> binder) {
+        this.store = store;
+        this.binder = binder;
+        for (ActifMobile.EtatOperationnel etat : ActifMobile.EtatOperationnel.values()) {
+            byEtat.put(etat, new ConcurrentSkipListSet<>(BY_SERIAL));
+        }
+        store.setEtatListener((asset, from, to) -> {
+            byEtat.get(from).remove(asset);
+            byEtat.get(to).add(asset);
+            available.invalidate(asset);
+        });
+        store.setGroundListener(available::invalidate);
+    }
+
+    // --- LISTE ---
+
+    @Override
+    public ActifMobile get(int index) {
+        if (index < 0 || index >= store.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + store.size());
+        }
+        return store.owner(index);
+    }
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Inscrit un actif en fin de flotte (seule position possible : les slots
+     * sont denses).
+     */
+    @Override
+    public void add(int index, ActifMobile actif) {
+        if (index != size()) {
+            throw new UnsupportedOperationException("Insertion possible en fin de flotte uniquement");
+        }
+        register(actif);
+    }
+
+    @Override
+    public ActifMobile set(int index, ActifMobile actif) {
+        ActifMobile old = get(index);
+        if (old != actif) {
+            unregister(old);
+            register(actif);
+        }
+        return old;
+    }
+
+    @Override
+    public ActifMobile remove(int index) {
+        ActifMobile old = get(index);
+        unregister(old);
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof ActifMobile) || !contains(o)) {
+            return false;
+        }
+        unregister((ActifMobile) o);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof ActifMobile)) {
+            return false;
+        }
+        ActifMobile actif = (ActifMobile) o;
+        return store.contains(actif) && resolve(actif.getHandle()) == actif;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super ActifMobile> filter) {
+        List<ActifMobile> removed = new ArrayList<>();
+        for (ActifMobile actif : this) {
+            if (filter.test(actif)) {
+                removed.add(actif);
+            }
+        }
+        for (ActifMobile actif : removed) {
+            unregister(actif);
+        }
+        return !removed.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        while (store.size() > 0) {
+            unregister(store.owner(store.size() - 1));
+        }
+    }
+
+    /**
+     * Parcours faiblement cohérent : les slots libérés pendant le parcours
+     * sont sautés, un actif déplacé peut être vu deux fois ou pas du tout.
+     */
+    @Override
+    public Iterator<ActifMobile> iterator() {
+        return new Iterator<ActifMobile>() {
+            private int cursor = 0;
+            private ActifMobile next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && cursor < store.size()) {
+                    next = store.owner(cursor++);
+                }
+                return next != null;
+            }
+
+            @Override
+            public ActifMobile next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ActifMobile result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    // --- INDEX ---
+
+    /**
+     * Recherche un actif par identifiant.
+     *
+     * @param id Identifiant exact.
+     * @return L'actif, ou {@code null}.
+     */
+    public ActifMobile find(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    /**
+     * Retire tous les actifs portant un identifiant.
+     *
+     * @param id Identifiant exact.
+     * @return Nombre d'actifs retirés.
+     */
+    public int removeById(String id) {
+        int removed = 0;
+        ActifMobile actif;
+        while ((actif = find(id)) != null) {
+            unregister(actif);
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Résout une poignée générationnelle.
+     *
+     * @param handle Poignée obtenue par {@link ActifMobile#getHandle()}.
+     * @return L'actif, ou {@code null} s'il a été retiré depuis.
+     */
+    public ActifMobile resolve(long handle) {
+        if (handle < 0) {
+            return null;
+        }
+        int index = (int) handle;
+        int generation = (int) (handle >>> 32);
+        ActifMobile[] h = handles;
+        int[] g = generations;
+        if (index >= h.length || index >= g.length || (g[index] & Integer.MAX_VALUE) != generation) {
+            return null;
+        }
+        return h[index];
+    }
+
+    /**
+     * Retourne les actifs d'une classe (sous-classes comprises), par numéro
+     * de série croissant.
+     *
+     * @param <T>  Type recherché.
+     * @param type Classe (ex. {@code ActifAerien.class}).
+     * @return Nouvelle liste.
+     */
+    public <T extends ActifMobile> List<T> byType(Class<T> type) {
+        List<T> result = new ArrayList<>();
+        int classes = 0;
+        for (Map.Entry<Class<?>, ConcurrentSkipListSet<ActifMobile>> entry : byType.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                for (ActifMobile actif : entry.getValue()) {
+                    result.add(type.cast(actif));
+                }
+                classes++;
+            }
+        }
+        if (classes > 1) {
+            result.sort(BY_SERIAL);
+        }
+        return result;
+    }
+
+    /**
+     * Retourne les actifs dans un état opérationnel, par numéro de série
+     * croissant.
+     *
+     * @param etat L'état.
+     * @return Vue non modifiable, faiblement cohérente.
+     */
+    public Collection<ActifMobile> byEtat(ActifMobile.EtatOperationnel etat) {
+        return Collections.unmodifiableCollection(byEtat.get(etat));
+    }
+
+    /**
+     * @return Index des actifs disponibles de la flotte.
+     */
+    public AvailabilityIndex available() {
+        return available;
+    }
+
+    // --- INSCRIPTION ---
+
+    private void register(ActifMobile actif) {
+        if (contains(actif)) {
+            SimLog.log(SimLog.Category.ASSET, "Actif déjà dans la flotte: {}", actif.getId());
+            return;
+        }
+        binder.accept(actif);
+        store.adopt(actif, allocateHandle(actif));
+        if (byId.putIfAbsent(actif.getId(), actif) != null) {
+            sharedIds++;
+        }
+        byType.computeIfAbsent(actif.getClass(), c -> new ConcurrentSkipListSet<>(BY_SERIAL)).add(actif);
+        byEtat.get(actif.getEtat()).add(actif);
+        available.invalidate(actif);
+    }
+
+    private void unregister(ActifMobile actif) {
+        if (byId.remove(actif.getId(), actif)) {
+            if (sharedIds > 0) {
+                reindexSharedId(actif);
+            }
+        } else {
+            sharedIds--;
+        }
+        ConcurrentSkipListSet<ActifMobile> sameType = byType.get(actif.getClass());
+        if (sameType != null) {
+            sameType.remove(actif);
+        }
+        byEtat.get(actif.getEtat()).remove(actif);
+        releaseHandle(actif.getHandle());
+        store.evict(actif);
+        available.invalidate(actif);
+    }
+
+    /** Indexe un éventuel autre actif portant l'identifiant libéré. */
+    private void reindexSharedId(ActifMobile removed) {
+        for (int i = 0; i < store.size(); i++) {
+            ActifMobile other = store.owner(i);
+            if (other != removed && other.getId().equals(removed.getId())) {
+                byId.put(other.getId(), other);
+                sharedIds--;
+                return;
+            }
+        }
+    }
+
+    private long allocateHandle(ActifMobile actif) {
+        int index;
+        if (freeCount > 0) {
+            index = freeHandles[--freeCount];
+        } else {
+            index = handleCount++;
+            if (index == handles.length) {
+                generations = Arrays.copyOf(generations, index * 2);
+                handles = Arrays.copyOf(handles, index * 2);
+            }
+        }
+        handles[index] = actif;
+        return ((long) (generations[index] & Integer.MAX_VALUE) << 32) | index;
+    }
+
+    private void releaseHandle(long handle) {
+        int index = (int) handle;
+        generations[index]++; // Les poignées existantes deviennent invalides
+        handles[index] = null;
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        }
+        freeHandles[freeCount++] = index;
+    }
+}
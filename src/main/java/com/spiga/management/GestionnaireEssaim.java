@@ -1,10 +1,13 @@
 package com.spiga.management;
 
 import com.spiga.core.ActifMobile;
-import java.util.ArrayList;
+import com.spiga.core.FleetStore;
+import com.spiga.core.SimClock;
+import com.spiga.core.SimEventBus;
+import com.spiga.core.SimLog;
+import com.spiga.core.ZoneIndex;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.logging.Logger;
 
 /**
  * Gestionnaire central de la flotte d'actifs (Design Pattern
@@ -18,15 +21,22 @@ import java.util.logging.Logger;
  */
 public class GestionnaireEssaim {
 
-    // Encapsulation : Liste privée, non accessible directement de l'extérieur.
-    private List<ActifMobile> flotte;
-    private static final Logger logger = Logger.getLogger(GestionnaireEssaim.class.getName());
+    // Composants de toute la flotte en tableaux denses (voir FleetStore)
+    private final FleetStore store = new FleetStore();
+    // Encapsulation : registre privé (liste + index), exposé comme une liste.
+    private final FleetRegistry flotte = new FleetRegistry(store, this::bind);
+    // Horloge de simulation partagée par la flotte (horloge murale par défaut)
+    private SimClock clock = SimClock.SYSTEM;
+    // Zones interdites indexées partagées par la flotte
+    private ZoneIndex zones = ActifMobile.KNOWN_ZONES;
+    // Flux d'événements du moteur (null hors moteur)
+    private SimEventBus events;
+    private MissionRegistry missions;
 
     /**
      * Crée un nouveau gestionnaire de flotte vide.
      */
     public GestionnaireEssaim() {
-        this.flotte = new ArrayList<>();
     }
 
     /**
@@ -39,7 +49,18 @@ public class GestionnaireEssaim {
      */
     public void ajouterActif(ActifMobile actif) {
         flotte.add(actif);
-        logger.info("✓ Actif ajouté: " + actif.getId());
+        SimLog.log(SimLog.Category.ASSET, "✓ Actif ajouté: {}", actif.getId());
+    }
+
+    /**
+     * Rattache un actif entrant aux services de la flotte. Appelé par le
+     * registre à chaque inscription, y compris par {@code getFlotte().add}.
+     */
+    private void bind(ActifMobile actif) {
+        actif.setClock(clock);
+        actif.setZones(zones);
+        actif.setEvents(events);
+        actif.setMissions(missions);
     }
 
     /**
@@ -48,12 +69,59 @@ public class GestionnaireEssaim {
      * @param id Identifiant de l'actif à retirer.
      */
     public void supprimerActif(String id) {
-        flotte.removeIf(a -> a.getId().equals(id));
-        logger.info("✗ Actif supprimé: " + id);
+        flotte.removeById(id);
+        SimLog.log(SimLog.Category.ASSET, "✗ Actif supprimé: {}", id);
+    }
+
+    /**
+     * Recherche un actif par identifiant (index, sans parcours de la flotte).
+     *
+     * @param id Identifiant exact.
+     * @return L'actif, ou {@code null}.
+     */
+    public ActifMobile trouverActif(String id) {
+        return flotte.find(id);
+    }
+
+    /**
+     * Résout une poignée d'actif ({@link ActifMobile#getHandle()}).
+     *
+     * @param handle La poignée.
+     * @return L'actif, ou {@code null} s'il a quitté la flotte depuis.
+     */
+    public ActifMobile resoudre(long handle) {
+        return flotte.resolve(handle);
+    }
+
+    /**
+     * Retourne les actifs d'un type (sous-classes comprises).
+     *
+     * @param <T>  Type recherché.
+     * @param type Classe (ex. {@code DroneLogistique.class}).
+     * @return Actifs par ordre d'arrivée dans la flotte.
+     */
+    public <T extends ActifMobile> List<T> getActifsParType(Class<T> type) {
+        return flotte.byType(type);
+    }
+
+    /**
+     * Retourne les actifs dans un état opérationnel.
+     *
+     * @param etat L'état.
+     * @return Vue non modifiable, tenue à jour par la flotte.
+     */
+    public Collection<ActifMobile> getActifsParEtat(ActifMobile.EtatOperationnel etat) {
+        return flotte.byEtat(etat);
     }
 
     /**
      * Retourne la liste complète de la flotte.
+     * <p>
+     * Les ajouts et retraits directs sur cette liste rattachent ou détachent
+     * l'actif du stockage de la flotte. Un retrait déplace le dernier actif à
+     * la place libérée. La liste peut être lue depuis un autre thread pendant
+     * un ajout ou un retrait (parcours faiblement cohérent).
+     * </p>
      * 
      * @return Liste mutable des actifs.
      */
@@ -61,6 +129,88 @@ public class GestionnaireEssaim {
         return flotte;
     }
 
+    /**
+     * Retourne le stockage des composants de la flotte (parcouru linéairement
+     * par les systèmes du moteur).
+     * 
+     * @return Le stockage partagé par tous les actifs de la flotte.
+     */
+    public FleetStore getStore() {
+        return store;
+    }
+
+    /**
+     * Retourne l'horloge de simulation de la flotte.
+     * 
+     * @return L'horloge du moteur, ou {@link SimClock#SYSTEM} hors moteur.
+     */
+    public SimClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Rattache la flotte à une horloge de simulation (appelé par le moteur).
+     * Les actifs déjà présents sont rattachés immédiatement.
+     * 
+     * @param clock L'horloge du moteur.
+     */
+    public void setClock(SimClock clock) {
+        this.clock = clock;
+        for (ActifMobile actif : flotte) {
+            actif.setClock(clock);
+        }
+    }
+
+    public ZoneIndex getZones() {
+        return zones;
+    }
+
+    /**
+     * Rattache la flotte aux zones interdites du moteur (même index pour les
+     * contraintes du moteur et la validation des trajets).
+     * 
+     * @param zones L'index de zones du moteur.
+     */
+    public void setZones(ZoneIndex zones) {
+        this.zones = zones;
+        for (ActifMobile actif : flotte) {
+            actif.setZones(zones);
+        }
+    }
+
+    public SimEventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * Rattache la flotte au flux d'événements du moteur.
+     * 
+     * @param events Le bus du moteur.
+     */
+    public void setEvents(SimEventBus events) {
+        this.events = events;
+        for (ActifMobile actif : flotte) {
+            actif.setEvents(events);
+        }
+    }
+
+    public MissionRegistry getMissions() {
+        return missions;
+    }
+
+    /**
+     * Rattache la flotte (et ses missions) au registre des missions en cours
+     * du moteur.
+     *
+     * @param missions Le registre du moteur.
+     */
+    public void setMissions(MissionRegistry missions) {
+        this.missions = missions;
+        for (ActifMobile actif : flotte) {
+            actif.setMissions(missions);
+        }
+    }
+
     /**
      * Recherche les actifs prêts à partir en mission.
      * <p>
@@ -69,19 +219,24 @@ public class GestionnaireEssaim {
      * <li>État : AU_SOL</li>
      * <li>Batterie : > 20%</li>
      * </ul>
-     * Utilise les <strong>Java Streams</strong> pour un filtrage déclaratif.
+     * Lus dans l'index des disponibles, tenu à jour au fil des changements
+     * d'état et de batterie (voir {@link #getDisponibilites()}).
      * </p>
      * 
-     * @return Liste des candidats valides.
+     * @return Liste des candidats valides, par autonomie décroissante.
      */
     public List<ActifMobile> getActifsDisponibles() {
-        if (flotte == null) {
-            return new ArrayList<>();
-        }
-        return flotte.stream()
-                .filter(a -> a.getEtat() == ActifMobile.EtatOperationnel.AU_SOL)
-                .filter(a -> a.getAutonomieActuelle() > a.getAutonomieMax() * 0.2)
-                .collect(Collectors.toList());
+        return flotte.available().all();
+    }
+
+    /**
+     * Retourne l'index des actifs disponibles (top-k, meilleur actif d'un
+     * type près d'un point).
+     *
+     * @return L'index de la flotte.
+     */
+    public AvailabilityIndex getDisponibilites() {
+        return flotte.available();
     }
 
     /**
@@ -91,13 +246,17 @@ public class GestionnaireEssaim {
      * @param essaim  La liste des actifs participants.
      */
     public void demarrerMission(Mission mission, List<ActifMobile> essaim) {
-        logger.info("🚀 Démarrage mission: " + mission.getTitre());
+        SimLog.log(SimLog.Category.MISSION, "🚀 Démarrage mission: {}", mission.getTitre());
         mission.assignActifs(essaim);
+        if (missions != null) {
+            mission.setRegistry(missions);
+        }
         for (ActifMobile actif : essaim) {
             actif.assignMission(mission);
         }
         // Start mission clock
-        mission.start(System.currentTimeMillis() / 1000);
+        mission.setClock(clock);
+        mission.start(clock.currentTimeSeconds());
     }
 
     /**
@@ -106,10 +265,22 @@ public class GestionnaireEssaim {
      * @return L'actif optimal ou null si aucun dispo.
      */
     public ActifMobile suggererActifOptimal() {
-        return getActifsDisponibles().stream()
-                .max((a1, a2) -> Double.compare(
-                        a1.getAutonomieActuelle(),
-                        a2.getAutonomieActuelle()))
-                .orElse(null);
+        return flotte.available().best();
     }
+
+    /**
+     * Suggère l'actif disponible d'un type ayant la meilleure autonomie près
+     * d'un point.
+     *
+     * @param <T>   Type recherché (sous-classes comprises).
+     * @param type  Classe (ex. {@code DroneLogistique.class}).
+     * @param x     Point X.
+     * @param y     Point Y.
+     * @param rayon Rayon de recherche (m).
+     * @return L'actif, ou {@code null} si aucun n'est dans le rayon.
+     */
+    public <T extends ActifMobile> T suggererActifProche(Class<T> type, double x, double y, double rayon) {
+        return flotte.available().bestNear(type, x, y, rayon);
+    }
+
 }
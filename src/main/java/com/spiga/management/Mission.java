@@ -1,6 +1,12 @@
 package com.spiga.management;
 
 import com.spiga.core.ActifMobile;
+import com.spiga.core.FleetStore;
+import com.spiga.core.SimClock;
+import com.spiga.core.SimConfig;
+import com.spiga.core.SimEvent;
+import com.spiga.core.SimEventBus;
+import com.spiga.core.SimLog;
 
 /**
  * Classe abstraite représentant une Mission générique dans le système.
@@ -60,6 +66,14 @@ public abstract class Mission {
         ALL, ANY
     }
 
+    // Prochain numéro d'identifiant : part de l'heure de démarrage et passe
+    // au-delà des identifiants relus (journal, point de reprise)
+    private static final java.util.concurrent.atomic.AtomicLong NEXT_ID = new java.util.concurrent.atomic.AtomicLong(
+            System.currentTimeMillis());
+
+    /** Distance à la cible (m) en deçà de laquelle un actif est arrivé. */
+    public static final double ARRIVAL_TOLERANCE = 5.0;
+
     // Attributs de la classe (État de l'objet)
     protected String id;
     protected String titre;
@@ -83,6 +97,21 @@ public abstract class Mission {
     protected double targetY;
     protected double targetZ;
 
+    // Suivi des arrivées : un observateur par actif assigné, abonné aux
+    // déplacements de l'actif tant que la mission est en cours
+    private final java.util.Map<ActifMobile, Arrival> arrivals = new java.util.IdentityHashMap<>();
+    // Actifs dans la sphère de tolérance (mis à jour depuis les phases parallèles)
+    private final java.util.concurrent.atomic.AtomicInteger arrivedCount = new java.util.concurrent.atomic.AtomicInteger();
+    private boolean watching = false;
+
+    // Horloge utilisée par les variantes sans argument (start, complete,
+    // fail, cancel). Rattachée à l'horloge du moteur lors de l'assignation.
+    protected SimClock clock = SimClock.SYSTEM;
+
+    // Registre des missions en cours du moteur (rattaché à l'assignation)
+    private MissionRegistry registry;
+    int registrySlot = -1;
+
     /**
      * Constructeur parent.
      * 
@@ -90,7 +119,7 @@ public abstract class Mission {
      * @param type  Type catégorique.
      */
     public Mission(String titre, MissionType type) {
-        this.id = "M-" + System.currentTimeMillis(); // Génération d'ID unique basée sur le temps
+        this.id = "M-" + NEXT_ID.getAndIncrement(); // Unique, au-delà des identifiants déjà journalisés
         this.titre = titre;
         this.type = type;
         this.statut = StatutMission.PLANIFIEE;
@@ -128,6 +157,7 @@ public abstract class Mission {
         }
     }
 
+    // Dernières exécutions (les plus anciennes sont dans le journal du registre)
     protected java.util.List<MissionExecution> history = new java.util.ArrayList<>();
     protected MissionExecution currentRun = null;
     protected int runCounter = 0;
@@ -146,6 +176,7 @@ public abstract class Mission {
         // Allow Start if PLANIFIEE (created new) or if we are restarting
         if (this.statut == StatutMission.PLANIFIEE) {
             this.statut = StatutMission.EN_COURS;
+            syncRegistry();
             this.actualStartTime = simulationTime;
 
             // Create Execution Record
@@ -153,14 +184,15 @@ public abstract class Mission {
             String rId = this.id + "-RUN-" + runCounter;
             this.currentRun = new MissionExecution(rId, simulationTime, targetX, targetY, targetZ);
 
-            System.out.println("▶️ Mission démarrée: " + titre + " (Run #" + runCounter + ")");
+            SimLog.log(SimLog.Category.MISSION, "▶️ Mission démarrée: {} (Run #{})", titre, runCounter);
+            publishState();
 
             // Wake up assets and Retarget
             for (ActifMobile asset : assignedAssets) {
                 if (asset.getCurrentMission() == this) {
                     asset.setTarget(targetX, targetY, targetZ);
                     asset.setState(ActifMobile.AssetState.EXECUTING_MISSION);
-                    System.out.println("   -> Actif " + asset.getId() + " redirigé vers cible mission.");
+                    SimLog.log(SimLog.Category.MISSION, "   -> Actif {} redirigé vers cible mission.", asset.getId());
                 }
             }
         }
@@ -174,7 +206,7 @@ public abstract class Mission {
     public void restart(long simulationTime) {
         if (this.statut == StatutMission.TERMINEE || this.statut == StatutMission.ECHOUEE
                 || this.statut == StatutMission.ANNULEE) {
-            System.out.println("🔄 Restarting Mission: " + titre);
+            SimLog.log(SimLog.Category.MISSION, "🔄 Restarting Mission: {}", titre);
             this.statut = StatutMission.PLANIFIEE; // Reset to planned
             start(simulationTime);
         }
@@ -186,7 +218,9 @@ public abstract class Mission {
     public void pause() {
         if (statut == StatutMission.EN_COURS) {
             this.statut = StatutMission.PAUSED;
-            System.out.println("Mission " + titre + " PAUSED");
+            syncRegistry();
+            SimLog.log(SimLog.Category.MISSION, "Mission {} PAUSED", titre);
+            publishState();
         }
     }
 
@@ -198,39 +232,129 @@ public abstract class Mission {
     public void resume(long simulationTime) {
         if (statut == StatutMission.PAUSED) {
             this.statut = StatutMission.EN_COURS;
-            System.out.println("Mission " + titre + " RESUMED");
+            syncRegistry();
+            SimLog.log(SimLog.Category.MISSION, "Mission {} RESUMED", titre);
+            publishState();
 
             // Retarget assets to Mission Target (in case they were moved manually)
             for (ActifMobile asset : assignedAssets) {
                 if (asset.getCurrentMission() == this) {
                     asset.setTarget(targetX, targetY, targetZ);
                     asset.setState(ActifMobile.AssetState.EXECUTING_MISSION);
-                    System.out.println("   -> Actif " + asset.getId() + " reprend la mission.");
+                    SimLog.log(SimLog.Category.MISSION, "   -> Actif {} reprend la mission.", asset.getId());
                 }
             }
         }
     }
 
     /**
-     * Alias sans argument pour démarrer avec l'heure système actuelle.
+     * Alias sans argument pour démarrer à l'heure courante de l'horloge de la
+     * mission (horloge système si la mission n'est rattachée à aucun moteur).
      */
     public void start() {
-        start(System.currentTimeMillis() / 1000); // Fallback
+        start(clock.currentTimeSeconds()); // Fallback
+    }
+
+    public SimClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Publie le nouveau statut sur le flux d'événements du moteur (celui des
+     * actifs assignés ; sans effet hors moteur).
+     */
+    private void publishState() {
+        for (ActifMobile asset : assignedAssets) {
+            SimEventBus bus = asset.getEvents();
+            if (bus != null) {
+                bus.publish(SimEvent.Type.MISSION_STATE, asset, null, this, statut.ordinal(),
+                        clock.currentTimeMillis());
+                return;
+            }
+        }
+    }
+
+    public void setClock(SimClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Rattache la mission au registre des missions en cours d'un moteur. Une
+     * mission déjà en cours le rejoint immédiatement.
+     *
+     * @param registry Le registre du moteur (ou {@code null}).
+     */
+    public void setRegistry(MissionRegistry registry) {
+        if (registry == this.registry) {
+            return;
+        }
+        if (this.registry != null) {
+            this.registry.leave(this);
+        }
+        this.registry = registry;
+        syncRegistry();
+    }
+
+    public MissionRegistry getRegistry() {
+        return registry;
+    }
+
+    /** Rejoint ou quitte le registre (et le suivi des arrivées) selon le statut. */
+    private void syncRegistry() {
+        syncArrivals();
+        MissionRegistry r = registry;
+        if (r == null) {
+            return;
+        }
+        if (statut == StatutMission.EN_COURS) {
+            r.join(this);
+        } else {
+            r.leave(this);
+        }
     }
 
     public void assignActifs(java.util.List<ActifMobile> assets) {
+        for (ActifMobile asset : assignedAssets) {
+            unwatch(arrivals.get(asset));
+        }
         this.assignedAssets.clear();
-        this.assignedAssets.addAll(assets);
+        this.arrivals.clear();
+        for (ActifMobile asset : assets) {
+            addActif(asset);
+        }
         if (this.statut == null || this.statut == StatutMission.PLANIFIEE) {
             this.statut = StatutMission.PLANIFIEE;
+            syncRegistry();
         }
-        System.out.println("📋 Mission assignée à " + assets.size() + " actifs: " + titre);
+        SimLog.log(SimLog.Category.MISSION, "📋 Mission assignée à {} actifs: {}", assets.size(), titre);
     }
 
     public void addActif(ActifMobile asset) {
-        if (!this.assignedAssets.contains(asset)) {
-            this.assignedAssets.add(asset);
+        if (arrivals.containsKey(asset)) {
+            return;
+        }
+        Arrival arrival = new Arrival(asset);
+        arrivals.put(asset, arrival);
+        this.assignedAssets.add(asset);
+        if (watching) {
+            watch(arrival);
+        }
+    }
+
+    /**
+     * Retire un actif de la mission.
+     *
+     * @param asset L'actif.
+     * @return Vrai s'il était assigné.
+     */
+    public boolean removeActif(ActifMobile asset) {
+        Arrival arrival = arrivals.remove(asset);
+        if (arrival == null) {
+            return false;
         }
+        this.assignedAssets.remove(asset);
+        unwatch(arrival);
+        return true;
     }
 
     /**
@@ -251,69 +375,137 @@ public abstract class Mission {
         }
 
         // 2. Check Completion
-        int arrivedCount = 0;
-        int activeCount = 0;
+        int activeCount = assignedAssets.size();
+        if (activeCount == 0)
+            return;
+        if (ruleMet(arrivedCount.get(), activeCount)) {
+            complete(currentSimTime);
+        }
+    }
 
-        for (ActifMobile asset : assignedAssets) {
-            activeCount++;
+    /**
+     * Présence d'un actif assigné dans la sphère de tolérance
+     * ({@link #ARRIVAL_TOLERANCE} m de la cible), tenue à jour à chaque
+     * déplacement de l'actif : la complétion lit un compteur au lieu de
+     * parcourir les actifs à chaque tick.
+     */
+    private final class Arrival implements FleetStore.PositionListener {
+        final ActifMobile asset;
+        // Écrit par le seul thread qui déplace l'actif
+        boolean inside;
 
-            double dist = Math.sqrt(Math.pow(asset.getX() - targetX, 2) +
-                    Math.pow(asset.getY() - targetY, 2) +
-                    Math.pow(asset.getZ() - targetZ, 2));
-            if (dist < 5.0) { // Tolerance 5m
-                arrivedCount++;
+        Arrival(ActifMobile asset) {
+            this.asset = asset;
+        }
+
+        @Override
+        public void positionChanged(ActifMobile moved, double x, double y, double z) {
+            update(isInside(x, y, z));
+        }
+
+        void update(boolean now) {
+            if (now != inside) {
+                inside = now;
+                arrivedCount.addAndGet(now ? 1 : -1);
             }
         }
+    }
 
-        if (activeCount == 0)
+    /** Abonne ou désabonne les actifs selon le statut (en cours seulement). */
+    private void syncArrivals() {
+        boolean running = statut == StatutMission.EN_COURS;
+        if (running == watching) {
             return;
+        }
+        for (ActifMobile asset : assignedAssets) {
+            Arrival arrival = arrivals.get(asset);
+            if (running) {
+                watch(arrival);
+            } else {
+                unwatch(arrival);
+            }
+        }
+        watching = running;
+    }
+
+    private void watch(Arrival arrival) {
+        arrival.asset.addPositionListener(arrival);
+        arrival.update(isInside(arrival.asset.getX(), arrival.asset.getY(), arrival.asset.getZ()));
+    }
 
-        boolean success = false;
-        if (completionRule == CompletionRule.ANY && arrivedCount >= 1) {
-            success = true;
-        } else if (completionRule == CompletionRule.ALL && arrivedCount >= activeCount) {
-            success = true;
+    private void unwatch(Arrival arrival) {
+        if (watching) {
+            arrival.asset.removePositionListener(arrival);
         }
+        arrival.update(false);
+    }
 
-        if (success) {
-            complete(currentSimTime);
+    /** Recalcule les arrivées (cible changée, état restauré). */
+    private void recountArrivals() {
+        if (!watching) {
+            return;
         }
+        for (ActifMobile asset : assignedAssets) {
+            Arrival arrival = arrivals.get(asset);
+            arrival.update(isInside(asset.getX(), asset.getY(), asset.getZ()));
+        }
+    }
+
+    private boolean isInside(double x, double y, double z) {
+        double dx = x - targetX;
+        double dy = y - targetY;
+        double dz = z - targetZ;
+        return dx * dx + dy * dy + dz * dz < ARRIVAL_TOLERANCE * ARRIVAL_TOLERANCE;
+    }
+
+    private boolean ruleMet(int arrivedAssets, int activeCount) {
+        return completionRule == CompletionRule.ANY ? arrivedAssets >= 1 : arrivedAssets >= activeCount;
     }
 
     public void complete(long simulationTime) {
+        boolean changed = statut != StatutMission.TERMINEE;
         this.statut = StatutMission.TERMINEE;
+        syncRegistry();
         this.actualEndTime = simulationTime;
         this.results = "Mission accomplie";
 
         if (currentRun != null) {
             currentRun.endTime = simulationTime;
             currentRun.finalStatus = StatutMission.TERMINEE;
-            history.add(currentRun);
+            recordRun(currentRun);
             currentRun = null;
         }
 
         long duration = (actualEndTime - actualStartTime);
-        System.out.println(" Mission terminée: " + titre + " (durée: " + duration + "s)");
+        SimLog.log(SimLog.Category.MISSION, " Mission terminée: {} (durée: {}s)", titre, duration);
+        if (changed) {
+            publishState();
+        }
     }
 
     public void complete() {
-        complete(System.currentTimeMillis() / 1000);
+        complete(clock.currentTimeSeconds());
     }
 
     public void fail(String reason) {
+        boolean changed = statut != StatutMission.ECHOUEE;
         this.statut = StatutMission.ECHOUEE;
-        this.actualEndTime = System.currentTimeMillis() / 1000; // Approx
+        syncRegistry();
+        this.actualEndTime = clock.currentTimeSeconds(); // Approx
         this.results = "Échec: " + reason;
 
         if (currentRun != null) {
             currentRun.endTime = this.actualEndTime;
             currentRun.finalStatus = StatutMission.ECHOUEE;
             currentRun.resultNote = reason;
-            history.add(currentRun);
+            recordRun(currentRun);
             currentRun = null;
         }
 
-        System.out.println(" Mission échouée: " + titre + " - " + reason);
+        SimLog.log(SimLog.Category.MISSION, " Mission échouée: {} - {}", titre, reason);
+        if (changed) {
+            publishState();
+        }
     }
 
     public void cancel() {
@@ -321,25 +513,30 @@ public abstract class Mission {
     }
 
     public void cancel(String reason) {
+        boolean changed = statut != StatutMission.ANNULEE;
         this.statut = StatutMission.ANNULEE;
+        syncRegistry();
         this.results = "Annulée: " + reason;
-        this.actualEndTime = System.currentTimeMillis() / 1000;
+        this.actualEndTime = clock.currentTimeSeconds();
 
         if (currentRun != null) {
             currentRun.endTime = this.actualEndTime;
             currentRun.finalStatus = StatutMission.ANNULEE;
             currentRun.resultNote = reason;
-            history.add(currentRun);
+            recordRun(currentRun);
             currentRun = null;
         }
 
-        System.out.println(" Mission annulée: " + titre + " (" + reason + ")");
+        SimLog.log(SimLog.Category.MISSION, " Mission annulée: {} ({})", titre, reason);
+        if (changed) {
+            publishState();
+        }
 
         for (ActifMobile asset : assignedAssets) {
             if (asset.getCurrentMission() == this) {
                 asset.setState(ActifMobile.AssetState.IDLE);
                 asset.setTarget(asset.getX(), asset.getY(), asset.getZ());
-                System.out.println("   -> Actif " + asset.getId() + " arrêté (Mission annulée).");
+                SimLog.log(SimLog.Category.MISSION, "   -> Actif {} arrêté (Mission annulée).", asset.getId());
             }
         }
     }
@@ -351,10 +548,50 @@ public abstract class Mission {
         return currentRun;
     }
 
+    /**
+     * @return Dernières exécutions terminées (au plus
+     *         {@link SimConfig#MISSION_HISTORY_WINDOW}).
+     */
     public java.util.List<MissionExecution> getHistory() {
         return history;
     }
 
+    /**
+     * Exécutions commencées dans un intervalle, lues dans le journal du
+     * registre s'il en a un (et qu'il n'est pas arrêté), sinon dans les
+     * dernières exécutions.
+     *
+     * @param from Début minimal (inclus, s de simulation).
+     * @param to   Début maximal (inclus).
+     * @return Exécutions, par heure de début croissante.
+     */
+    public java.util.List<MissionExecution> getHistory(long from, long to) {
+        MissionJournal journal = registry != null ? registry.getJournal() : null;
+        if (journal != null && !journal.isFailed()) {
+            return journal.query(id, from, to);
+        }
+        java.util.List<MissionExecution> runs = new java.util.ArrayList<>();
+        for (MissionExecution run : history) {
+            if (run.startTime >= from && run.startTime <= to) {
+                runs.add(run);
+            }
+        }
+        runs.sort(java.util.Comparator.comparingLong(run -> run.startTime));
+        return runs;
+    }
+
+    /** Archive une exécution terminée : journal, puis fenêtre en mémoire. */
+    private void recordRun(MissionExecution run) {
+        MissionJournal journal = registry != null ? registry.getJournal() : null;
+        if (journal != null) {
+            journal.append(id, run);
+        }
+        history.add(run);
+        if (history.size() > SimConfig.MISSION_HISTORY_WINDOW) {
+            history.remove(0);
+        }
+    }
+
     public int getRunCount() {
         return runCounter;
     }
@@ -363,12 +600,30 @@ public abstract class Mission {
         this.targetX = x;
         this.targetY = y;
         this.targetZ = z;
+        recountArrivals();
     }
 
     public String getId() {
         return id;
     }
 
+    /**
+     * Écarte un identifiant déjà attribué des identifiants à venir.
+     *
+     * @param id Identifiant relu (journal, point de reprise).
+     */
+    static void reserveId(String id) {
+        if (id == null || !id.startsWith("M-")) {
+            return;
+        }
+        try {
+            long n = Long.parseLong(id.substring(2));
+            NEXT_ID.accumulateAndGet(n + 1, Math::max);
+        } catch (NumberFormatException e) {
+            // Identifiant d'un autre format : aucun conflit possible
+        }
+    }
+
     public String getTitre() {
         return titre;
     }
@@ -418,8 +673,12 @@ public abstract class Mission {
         return actualEndTime;
     }
 
+    /**
+     * @return Actifs assignés (lecture seule : voir {@link #addActif} et
+     *         {@link #removeActif}).
+     */
     public java.util.List<ActifMobile> getAssignedAssets() {
-        return assignedAssets;
+        return java.util.Collections.unmodifiableList(assignedAssets);
     }
 
     public long getElapsedSeconds(long currentSimTime) {
@@ -432,6 +691,7 @@ public abstract class Mission {
 
     public void setStatut(StatutMission statut) {
         this.statut = statut;
+        syncRegistry();
     }
 
     public void setObjectives(String objectives) {
@@ -446,6 +706,40 @@ public abstract class Mission {
         this.completionRule = rule;
     }
 
+    public CompletionRule getCompletionRule() {
+        return completionRule;
+    }
+
+    /**
+     * Restaure l'état d'exécution lu dans un point de reprise
+     * ({@link com.spiga.core.SimCheckpoint}). Le statut est appliqué tel quel,
+     * sans transition ni événement.
+     *
+     * @param id              Identifiant d'origine.
+     * @param statut          Statut.
+     * @param actualStartTime Début de l'exécution courante (s).
+     * @param actualEndTime   Fin de la dernière exécution (s).
+     * @param results         Résultat affiché.
+     * @param runCounter      Nombre d'exécutions démarrées.
+     * @param currentRun      Exécution en cours (ou {@code null}).
+     * @param history         Dernières exécutions terminées.
+     */
+    public void restore(String id, StatutMission statut, long actualStartTime, long actualEndTime, String results,
+            int runCounter, MissionExecution currentRun, java.util.List<MissionExecution> history) {
+        this.id = id;
+        reserveId(id);
+        this.actualStartTime = actualStartTime;
+        this.actualEndTime = actualEndTime;
+        this.results = results;
+        this.runCounter = runCounter;
+        this.currentRun = currentRun;
+        this.history.clear();
+        this.history.addAll(history);
+        this.statut = statut;
+        syncRegistry();
+        recountArrivals();
+    }
+
     /**
      * Méthode abstraite forçant l'implémentation d'un clonage spécifique par type.
      * 
@@ -0,0 +1,310 @@
+package com.spiga.management;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Journal des exécutions de missions, en ajout seul sur disque.
+ * <p>
+ * Chaque {@link Mission.MissionExecution} terminée est ajoutée en fin de
+ * fichier dans un format binaire compact (longueur, identifiants, horaires,
+ * statut, cible, note). Seul un index est gardé en mémoire : pour chaque
+ * enregistrement, son heure de début et sa position dans le fichier, par
+ * mission et globalement, triés par heure de début. Les requêtes (par
+ * mission et/ou par intervalle de temps) relisent les enregistrements
+ * trouvés par lectures positionnelles.
+ * </p>
+ * <p>
+ * À l'ouverture, le fichier existant est relu pour reconstruire l'index ; un
+ * dernier enregistrement incomplet (arrêt brutal) est tronqué. L'ajout est
+ * synchronisé : une mission peut se terminer dans les phases parallèles du
+ * moteur. Une erreur d'écriture est journalisée une fois et arrête le
+ * journal ({@link #isFailed()}) sans interrompre la simulation.
+ * </p>
+ */
+public class MissionJournal implements AutoCloseable {
+
+    private static final int MAGIC = 0x53504A31; // "SPJ1"
+    private static final int HEADER_BYTES = 4;
+    private static final Mission.StatutMission[] STATUTS = Mission.StatutMission.values();
+    private static final Logger logger = Logger.getLogger(MissionJournal.class.getName());
+
+    /** Tampon d'écriture réutilisé, lu sans copie. */
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        RecordBuffer() {
+            super(128);
+        }
+
+        ByteBuffer wrap() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+
+    /** Index trié par heure de début : position des enregistrements. */
+    private static final class TimeIndex {
+        long[] starts = new long[8];
+        long[] offsets = new long[8];
+        int size = 0;
+
+        void add(long start, long offset) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            // Fin des exécutions presque toujours dans l'ordre des débuts
+            int i = size;
+            while (i > 0 && starts[i - 1] > start) {
+                starts[i] = starts[i - 1];
+                offsets[i] = offsets[i - 1];
+                i--;
+            }
+            starts[i] = start;
+            offsets[i] = offset;
+            size++;
+        }
+
+        /** Premier indice dont le début est au moins {@code from}. */
+        int lowerBound(long from) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < from) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<String, TimeIndex> byMission = new HashMap<>();
+    private final TimeIndex all = new TimeIndex();
+    private final RecordBuffer bytes = new RecordBuffer();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private long end;
+    private volatile boolean failed = false;
+
+    private MissionJournal(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    /**
+     * Ouvre (ou crée) un journal et reconstruit son index.
+     *
+     * @param path Fichier du journal.
+     * @return Le journal ouvert.
+     * @throws IOException Si le fichier est illisible ou n'est pas un journal.
+     */
+    public static MissionJournal open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MissionJournal journal = new MissionJournal(path, channel);
+        try {
+            journal.load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC);
+            header.flip();
+            writeFully(header, 0);
+            end = HEADER_BYTES;
+            return;
+        }
+        ByteBuffer header = readFully(0, HEADER_BYTES);
+        if (header == null || header.getInt() != MAGIC) {
+            throw new IOException("Pas un journal de missions: " + path);
+        }
+        long pos = HEADER_BYTES;
+        while (pos < size) {
+            ByteBuffer length = readFully(pos, 4);
+            int payload = length == null ? -1 : length.getInt();
+            ByteBuffer record = payload <= 0 ? null : readFully(pos + 4, payload);
+            if (record == null) {
+                break; // Enregistrement incomplet : ignoré puis écrasé
+            }
+            DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(record.array(), 0, payload));
+            String missionId = in.readUTF();
+            Mission.reserveId(missionId);
+            in.readUTF(); // runId
+            long start = in.readLong();
+            index(missionId, start, pos);
+            pos += 4 + payload;
+        }
+        if (pos < size) {
+            channel.truncate(pos);
+        }
+        end = pos;
+    }
+
+    /**
+     * Ajoute une exécution terminée. Sans effet si le journal est arrêté.
+     *
+     * @param missionId Identifiant de la mission.
+     * @param run       L'exécution.
+     */
+    public synchronized void append(String missionId, Mission.MissionExecution run) {
+        if (failed) {
+            return;
+        }
+        try {
+            bytes.reset();
+            out.writeInt(0); // Longueur, renseignée ci-dessous
+            out.writeUTF(missionId);
+            out.writeUTF(run.runId);
+            out.writeLong(run.startTime);
+            out.writeLong(run.endTime);
+            out.writeByte(run.finalStatus.ordinal());
+            out.writeDouble(run.targetX);
+            out.writeDouble(run.targetY);
+            out.writeDouble(run.targetZ);
+            out.writeBoolean(run.resultNote != null);
+            if (run.resultNote != null) {
+                out.writeUTF(run.resultNote);
+            }
+            ByteBuffer record = bytes.wrap();
+            record.putInt(0, record.remaining() - 4);
+
+            writeFully(record, end);
+            index(missionId, run.startTime, end);
+            end += record.limit();
+        } catch (IOException e) {
+            failed = true;
+            logger.log(Level.SEVERE, "Écriture du journal impossible, journal arrêté: " + path, e);
+        }
+    }
+
+    /**
+     * @return Vrai si une erreur d'écriture a arrêté le journal (les
+     *         exécutions déjà écrites restent lisibles).
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Exécutions d'une mission commencées dans un intervalle.
+     *
+     * @param missionId Identifiant de la mission.
+     * @param from      Début minimal (inclus, s de simulation).
+     * @param to        Début maximal (inclus).
+     * @return Exécutions, par heure de début croissante.
+     */
+    public synchronized List<Mission.MissionExecution> query(String missionId, long from, long to) {
+        TimeIndex index = byMission.get(missionId);
+        return index == null ? new ArrayList<>() : read(index, from, to);
+    }
+
+    /**
+     * Exécutions de toutes les missions commencées dans un intervalle.
+     *
+     * @param from Début minimal (inclus, s de simulation).
+     * @param to   Début maximal (inclus).
+     * @return Exécutions, par heure de début croissante.
+     */
+    public synchronized List<Mission.MissionExecution> query(long from, long to) {
+        return read(all, from, to);
+    }
+
+    /**
+     * @return Nombre d'exécutions enregistrées.
+     */
+    public synchronized int size() {
+        return all.size;
+    }
+
+    /**
+     * @param missionId Identifiant de la mission.
+     * @return Nombre d'exécutions enregistrées pour cette mission.
+     */
+    public synchronized int size(String missionId) {
+        TimeIndex index = byMission.get(missionId);
+        return index == null ? 0 : index.size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void index(String missionId, long start, long offset) {
+        byMission.computeIfAbsent(missionId, k -> new TimeIndex()).add(start, offset);
+        all.add(start, offset);
+    }
+
+    private List<Mission.MissionExecution> read(TimeIndex index, long from, long to) {
+        List<Mission.MissionExecution> result = new ArrayList<>();
+        try {
+            for (int i = index.lowerBound(from); i < index.size && index.starts[i] <= to; i++) {
+                result.add(readRecord(index.offsets[i]));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du journal impossible: " + path, e);
+        }
+        return result;
+    }
+
+    private Mission.MissionExecution readRecord(long offset) throws IOException {
+        int payload = readFully(offset, 4).getInt();
+        ByteBuffer record = readFully(offset + 4, payload);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.array(), 0, payload));
+        in.readUTF(); // missionId
+        String runId = in.readUTF();
+        long start = in.readLong();
+        long endTime = in.readLong();
+        Mission.StatutMission statut = STATUTS[in.readByte()];
+        double tx = in.readDouble();
+        double ty = in.readDouble();
+        double tz = in.readDouble();
+        Mission.MissionExecution run = new Mission.MissionExecution(runId, start, tx, ty, tz);
+        run.endTime = endTime;
+        run.finalStatus = statut;
+        run.resultNote = in.readBoolean() ? in.readUTF() : null;
+        return run;
+    }
+
+    /** Lit {@code length} octets, ou {@code null} si le fichier s'arrête avant. */
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.spiga.management;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registre des missions en cours d'un moteur.
+ * <p>
+ * Une mission rattachée au registre ({@link Mission#setRegistry}) le rejoint
+ * en passant à {@link Mission.StatutMission#EN_COURS} et le quitte à la
+ * pause, la fin, l'échec ou l'annulation. Le moteur ne parcourt plus la
+ * flotte pour retrouver les missions à mettre à jour : {@link #tickAll(long)}
+ * ne visite que les missions vivantes, sans allocation.
+ * </p>
+ * <p>
+ * Les transitions peuvent survenir dans les phases parallèles du moteur
+ * (démarrage d'une mission en file) : l'inscription et le retrait sont
+ * synchronisés.
+ * </p>
+ * <p>
+ * Le registre peut porter un {@link MissionJournal} : les missions qui y sont
+ * rattachées y archivent leurs exécutions terminées.
+ * </p>
+ */
+public class MissionRegistry {
+
+    private Mission[] live = new Mission[16];
+    private int size = 0;
+    // Copie parcourue par tickAll (un tick peut retirer des missions)
+    private Mission[] ticking = new Mission[16];
+    private volatile MissionJournal journal;
+
+    synchronized void join(Mission mission) {
+        if (mission.registrySlot >= 0) {
+            return;
+        }
+        if (size == live.length) {
+            live = Arrays.copyOf(live, size * 2);
+        }
+        live[size] = mission;
+        mission.registrySlot = size++;
+    }
+
+    synchronized void leave(Mission mission) {
+        int slot = mission.registrySlot;
+        if (slot < 0) {
+            return;
+        }
+        Mission last = live[--size];
+        live[slot] = last;
+        last.registrySlot = slot;
+        live[size] = null;
+        mission.registrySlot = -1;
+    }
+
+    /**
+     * Met à jour toutes les missions en cours (délai, arrivées).
+     *
+     * @param currentSimTime Temps de simulation (s).
+     */
+    public void tickAll(long currentSimTime) {
+        int count;
+        synchronized (this) {
+            count = size;
+            if (ticking.length < count) {
+                ticking = new Mission[live.length];
+            }
+            System.arraycopy(live, 0, ticking, 0, count);
+        }
+        for (int i = 0; i < count; i++) {
+            Mission mission = ticking[i];
+            ticking[i] = null;
+            if (mission.getStatut() == Mission.StatutMission.EN_COURS) {
+                mission.tick(currentSimTime);
+            }
+        }
+    }
+
+    /**
+     * @param journal Journal des exécutions terminées (ou {@code null}).
+     */
+    public void setJournal(MissionJournal journal) {
+        this.journal = journal;
+    }
+
+    public MissionJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * @return Nombre de missions en cours.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return Copie des missions en cours.
+     */
+    public synchronized List<Mission> getActiveMissions() {
+        return new ArrayList<>(Arrays.asList(live).subList(0, size));
+    }
+}
@@ -5,6 +5,7 @@ import com.spiga.core.ActifAerien;
 import com.spiga.core.VehiculeSurface;
 import com.spiga.core.VehiculeSousMarin;
 import com.spiga.core.DroneLogistique;
+import com.spiga.core.WorldSnapshot;
 
 import javafx.scene.control.Label;
 import javafx.scene.layout.StackPane;
@@ -120,7 +121,7 @@ public class AssetNode extends StackPane {
         });
 
         // Style initial
-        updateStyle();
+        updateStyle(asset.getState(), asset.getNavigationMode(), asset.getCollisionWarning());
     }
 
     /**
@@ -177,33 +178,34 @@ public class AssetNode extends StackPane {
      * Met à jour la position et le style visuel de l'actif.
      * Appelé à chaque frame par {@link MapPane}.
      *
+     * @param frame Image de la simulation.
+     * @param i     Indice de l'actif dans l'image.
      * @param scale Le facteur d'échelle actuel de la carte pour le positionnement.
      */
-    public void update(double scale) {
+    public void update(WorldSnapshot frame, int i, double scale) {
         // Mise à jour position écran (LayoutX/Y)
-        this.setLayoutX(asset.getX() * scale);
-        this.setLayoutY(asset.getY() * scale);
+        this.setLayoutX(frame.getX(i) * scale);
+        this.setLayoutY(frame.getY(i) * scale);
 
         // Mise à jour couleurs et indicateurs
-        updateStyle();
+        updateStyle(frame.getState(i), frame.getNavigationMode(i), frame.getCollisionWarning(i));
     }
 
     /**
      * Met à jour l'apparence selon l'état de l'actif (Batterie faible, Arrêt,
      * Evitement).
      */
-    private void updateStyle() {
-        if (asset.getState() == ActifMobile.AssetState.LOW_BATTERY) {
+    private void updateStyle(ActifMobile.AssetState state, ActifMobile.NavigationMode navMode, String warning) {
+        if (state == ActifMobile.AssetState.LOW_BATTERY) {
             mainShape.setStroke(Color.ORANGE);
-        } else if (asset.getState() == ActifMobile.AssetState.STOPPED) {
+        } else if (state == ActifMobile.AssetState.STOPPED) {
             mainShape.setStroke(Color.RED);
         } else {
             mainShape.setStroke(Color.WHITE);
         }
 
         // Feedback Visuel d'Evitement
-        if (asset.getNavigationMode() == ActifMobile.NavigationMode.AVOIDING ||
-                (asset.getCollisionWarning() != null && !asset.getCollisionWarning().isEmpty())) {
+        if (navMode == ActifMobile.NavigationMode.AVOIDING || (warning != null && !warning.isEmpty())) {
             avoidanceCircle.setVisible(true);
         } else {
             avoidanceCircle.setVisible(false);
@@ -1,8 +1,14 @@
 package com.spiga.ui;
 
+import com.spiga.core.FixedStepLoop;
+import com.spiga.core.SimEvent;
+import com.spiga.core.SimEventBus;
+import com.spiga.core.SnapshotBuffer;
+import com.spiga.core.WorldSnapshot;
 import com.spiga.core.SimulationService;
 import com.spiga.core.SimConfig;
 import com.spiga.core.SwarmValidator;
+import com.spiga.core.TrajectoryReplay;
 import com.spiga.core.ActifMobile;
 import com.spiga.core.DroneReconnaissance;
 import com.spiga.core.DroneLogistique;
@@ -12,14 +18,20 @@ import com.spiga.core.VehiculeSurface;
 import com.spiga.management.Mission;
 
 import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.StackPane;
+import javafx.stage.FileChooser;
 // import javafx.scene.paint.Color; // unused
+import java.io.File;
+import java.io.IOException;
 import java.util.function.Consumer;
 // import java.util.ArrayList; // unused
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
@@ -72,6 +84,9 @@ public class MainController {
     private Slider sliderRain;
     @FXML
     private Slider sliderWaves;
+    /** Curseur de temps de la relecture (masqué en direct). */
+    @FXML
+    private Slider sliderReplay;
 
     // --- SOUS-CONTRÔLEURS (Composition UI) ---
     // JavaFX injecte aussi les contrôleurs des fichiers inclus (<fx:include>)
@@ -86,6 +101,12 @@ public class MainController {
     private SideViewPane sideViewPane; // Replaces SideViewCanvas
 
     private AnimationTimer uiUpdateTimer;
+    /** Relecture affichée à la place de la simulation en direct (ou {@code null}). */
+    private TrajectoryReplay replay;
+    /** Abonnement aux événements de la simulation (alertes du panneau). */
+    private SimEventBus.Subscription alertFeed;
+    /** Paires (actif, type) déjà signalées dans le lot courant. */
+    private final Set<Long> batchAlerts = new HashSet<>();
 
     private String pendingAssetType = null;
     private static final Logger logger = Logger.getLogger(MainController.class.getName());
@@ -103,6 +124,7 @@ public class MainController {
     public void initialize() {
         gestionnaire = new GestionnaireEssaim();
         simulationService = new SimulationService(gestionnaire);
+        alertFeed = simulationService.getEngine().getEvents().subscribe();
 
         // 1. Map Pane (Scene Graph)
         mapPane = new MapPane();
@@ -131,29 +153,41 @@ public class MainController {
 
         // Wind/Rain/Waves with Labels
         initSlider(sliderWind, 0, val -> {
-            if (simulationService.getWeather() != null)
-                simulationService.getWeather().setWindIntensity(val / 100.0);
+            simulationService.execute(() -> {
+                if (simulationService.getWeather() != null)
+                    simulationService.getWeather().setWindIntensity(val / 100.0);
+            });
             if (lblWindValue != null)
                 lblWindValue.setText(String.format("%.0f%%", val));
         });
         initSlider(sliderRain, 0, val -> {
-            if (simulationService.getWeather() != null)
-                simulationService.getWeather().setRainIntensity(val / 100.0);
+            simulationService.execute(() -> {
+                if (simulationService.getWeather() != null)
+                    simulationService.getWeather().setRainIntensity(val / 100.0);
+            });
             if (lblRainValue != null)
                 lblRainValue.setText(String.format("%.0f%%", val));
         });
         initSlider(sliderWaves, 0, val -> {
-            if (simulationService.getWeather() != null)
-                simulationService.getWeather().setWaveIntensity(val / 100.0);
+            simulationService.execute(() -> {
+                if (simulationService.getWeather() != null)
+                    simulationService.getWeather().setWaveIntensity(val / 100.0);
+            });
             if (lblWavesValue != null)
                 lblWavesValue.setText(String.format("%.0f%%", val));
         });
 
+        initSlider(sliderReplay, 0, val -> {
+            if (replay != null)
+                replay.seek(val);
+        });
+
         simulationService.startSimulation();
 
         if (sidebarController != null) {
             sidebarController.setGestionnaire(gestionnaire);
             sidebarController.setMainController(this);
+            sidebarController.setSnapshots(simulationService.getEngine().getSnapshots());
             // Setup Delete Callback
             // Setup Delete Callback (removed)
             // sidebarController.setOnDeleteAction(this::removeAsset);
@@ -215,44 +249,83 @@ public class MainController {
      * Rafraichit la carte, le profil lateral et les alertes.
      */
     private void updateUI() {
-        List<ActifMobile> assets = gestionnaire.getFlotte();
-        // Use MapPane to update (Scene Graph)
-        mapPane.update(assets, simulationService.getObstacles(), simulationService.getRestrictedZones());
+        SnapshotBuffer snapshots = replay != null ? replay.getSnapshots()
+                : simulationService.getEngine().getSnapshots();
+        if (replay == null && !simulationService.isDedicatedThread()) {
+            // Actifs ajoutés/retirés depuis le dernier pas (le thread dédié
+            // republie lui-même après ses commandes) ; lu hors d'un lot en
+            // arrière-plan
+            simulationService.execute(() -> {
+                if (snapshots.getVersion() < 0 || snapshotSize(snapshots) != gestionnaire.getFlotte().size()) {
+                    simulationService.getEngine().publishSnapshot();
+                }
+            });
+        }
+
+        // Les vues lisent la dernière image publiée, cohérente et stable
+        try (WorldSnapshot frame = snapshots.acquire()) {
+            mapPane.update(frame, simulationService.getObstacles(), simulationService.getRestrictedZones());
 
-        if (sideViewPane != null) {
-            ActifMobile selected = null;
-            if (mapPane != null && !mapPane.getSelectedAssets().isEmpty()) {
-                selected = mapPane.getSelectedAssets().get(0);
+            if (sideViewPane != null) {
+                ActifMobile selected = null;
+                if (mapPane != null && !mapPane.getSelectedAssets().isEmpty()) {
+                    selected = mapPane.getSelectedAssets().get(0);
+                }
+                sideViewPane.update(frame, simulationService.getRestrictedZones(), simulationService.getObstacles(),
+                        selected);
             }
-            sideViewPane.update(assets, simulationService.getRestrictedZones(), simulationService.getObstacles(),
-                    selected);
+
+            if (sidebarController != null)
+                sidebarController.refresh(frame);
         }
 
         // Periodic Health Check (every ~60 frames or 1 sec)
         frameCount++;
-        if (frameCount % 60 == 0) {
-            checkProximityAndAlert(assets);
+        if (frameCount % 60 == 0 && sidebarController != null) {
+            // 1b. PHYSICS/EARLY WARNING EVENTS (drained in one batch per frame)
+            drainAlerts();
+            // Les corrections d'état se font sur le thread de simulation
+            simulationService.execute(() -> checkProximityAndAlert(gestionnaire.getFlotte()));
         }
 
-        if (sidebarController != null)
-            sidebarController.refresh();
         if (missionPanelController != null)
             missionPanelController.refresh();
 
         updateStatusLabel();
     }
 
+    private static int snapshotSize(SnapshotBuffer snapshots) {
+        try (WorldSnapshot frame = snapshots.acquire()) {
+            return frame.size();
+        }
+    }
+
+    /**
+     * Transmet au panneau les événements publiés depuis la dernière frame.
+     * Un même couple (actif, type) n'est signalé qu'une fois par lot.
+     */
+    private void drainAlerts() {
+        batchAlerts.clear();
+        long missedBefore = alertFeed.getMissed();
+        simulationService.getEngine().getEvents().drain(alertFeed, e -> {
+            boolean always = e.getAsset() == null || e.getType() == SimEvent.Type.MISSION_STATE;
+            if (always || batchAlerts.add((long) e.getAsset().getSerial() << 8 | e.getType().ordinal())) {
+                sidebarController.addAlert(e.describe());
+            }
+        });
+        if (alertFeed.getMissed() > missedBefore) {
+            logger.warning((alertFeed.getMissed() - missedBefore) + " événements de simulation non affichés");
+        }
+    }
+
     /**
      * Verifie la proximite des actifs et genere des alertes.
      * Verifie collisions, limites altitude/profondeur.
+     * Appele sur le thread de simulation.
      *
      * @param assets Liste des actifs a verifier
      */
     private void checkProximityAndAlert(List<ActifMobile> assets) {
-        if (sidebarController == null) {
-            return;
-        }
-
         for (ActifMobile a1 : assets) {
             // 1. Proximity Check (SwarmValidator)
             List<ActifMobile> others = assets.stream().filter(a -> a != a1).collect(Collectors.toList());
@@ -261,13 +334,6 @@ public class MainController {
                 sidebarController.addAlert(msg);
             }
 
-            // 1b. PHYSICS/EARLY WARNING CHECK
-            if (a1.getCollisionWarning() != null) {
-                String msg = a1.getId() + ": " + a1.getCollisionWarning();
-                sidebarController.addAlert(msg);
-                a1.setCollisionWarning(null);
-            }
-
             // 2. Sea Level Alert & Block (Splashdown Protection)
             if (a1 instanceof com.spiga.core.ActifAerien) {
                 // Splashdown Check
@@ -310,6 +376,48 @@ public class MainController {
         }
     }
 
+    /**
+     * Ouvre un enregistrement de trajectoires ({@code -Dspiga.trajectory}) et
+     * affiche la relecture à la place de la simulation, au curseur de temps ;
+     * un second appui revient au direct.
+     */
+    @FXML
+    private void handleReplay() {
+        if (replay != null) {
+            closeReplay();
+            return;
+        }
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Ouvrir un enregistrement de trajectoires");
+        File file = chooser.showOpenDialog(mapContainer.getScene().getWindow());
+        if (file == null)
+            return;
+        try {
+            replay = TrajectoryReplay.open(file.toPath());
+        } catch (IOException e) {
+            showAlert("Relecture", "Enregistrement illisible: " + e.getMessage());
+            return;
+        }
+        mapPane.deselectAll();
+        sliderReplay.setMin(replay.getStartTime());
+        sliderReplay.setMax(replay.getEndTime());
+        sliderReplay.setValue(replay.getStartTime());
+        sliderReplay.setVisible(true);
+        sliderReplay.setManaged(true);
+    }
+
+    private void closeReplay() {
+        try {
+            replay.close();
+        } catch (IOException e) {
+            logger.warning("Fermeture de la relecture: " + e.getMessage());
+        }
+        replay = null;
+        mapPane.deselectAll();
+        sliderReplay.setVisible(false);
+        sliderReplay.setManaged(false);
+    }
+
     /**
      * Met a jour le label de statut en bas de l'interface.
      */
@@ -320,6 +428,12 @@ public class MainController {
         if (mapPane.isMissionTargetMode())
             return;
 
+        if (replay != null) {
+            lblStatus.setText(String.format("Relecture: %.1f s / %.1f s", sliderReplay.getValue(),
+                    replay.getEndTime()));
+            return;
+        }
+
         List<ActifMobile> selected = mapPane.getSelectedAssets();
         if (!selected.isEmpty()) {
             if (selected.size() == 1) {
@@ -335,7 +449,15 @@ public class MainController {
             String weatherInfo = String.format("Vent: %.0f km/h | Pluie: %.0f%%",
                     simulationService.getWeather().getWindSpeed(),
                     simulationService.getWeather().getRainIntensity() * 100);
-            lblStatus.setText(weatherInfo + " | Vitesse: x" + String.format("%.1f", sliderSpeed.getValue()));
+            String status = weatherInfo + " | Vitesse: x" + String.format("%.1f", sliderSpeed.getValue());
+
+            // Signale à l'opérateur que la simulation décroche (budget de pas dépassé)
+            FixedStepLoop loop = simulationService.getLoop();
+            if (loop.isFallingBehind()) {
+                status += String.format(" | ⚠ Retard: %.1fs (effectif x%.1f, perdu %.0fs)",
+                        loop.getLag(), loop.getEffectiveTimeScale(), loop.getDroppedTime());
+            }
+            lblStatus.setText(status);
         }
     }
 
@@ -371,6 +493,10 @@ public class MainController {
     }
 
     private void handleMapClicked(double[] coords) {
+        // Relecture : aucune commande sur les répliques
+        if (replay != null)
+            return;
+
         // 1. Asset Creation Mode (Priority)
         if (pendingAssetType != null) {
             createAssetAt(pendingAssetType, coords[0], coords[1]);
@@ -424,7 +550,8 @@ public class MainController {
             return;
 
         // Check if ALL assets are selected (Select All case) - skip Z dialog
-        boolean isSelectAll = selected.size() == gestionnaire.getFlotte().size() && selected.size() > 1;
+        boolean isSelectAll = selected.size() == snapshotSize(simulationService.getEngine().getSnapshots())
+                && selected.size() > 1;
 
         // Check if all selected are boats (always Z=0)
         boolean allSurface = selected.stream().allMatch(a -> a instanceof com.spiga.core.VehiculeSurface);
@@ -461,6 +588,20 @@ public class MainController {
      * Utilise pour le mode "Select All".
      */
     private void performManualMoveKeepZ(List<ActifMobile> selected, double x, double y) {
+        simulationService.submit(() -> applyManualMoveKeepZ(selected, x, y))
+                .thenAcceptAsync(violationDetected -> {
+                    if (violationDetected) {
+                        showZoneViolation();
+                    } else {
+                        String msg = String.format("Déplacement: %d actifs vers (%.0f, %.0f) [Z maintenu]",
+                                selected.size(), x, y);
+                        if (lblStatus != null)
+                            lblStatus.setText(msg);
+                    }
+                }, Platform::runLater);
+    }
+
+    private boolean applyManualMoveKeepZ(List<ActifMobile> selected, double x, double y) {
         boolean distribute = selected.size() > 1;
         double radius = 50.0;
         double angleStep = (2 * Math.PI) / selected.size();
@@ -502,23 +643,35 @@ public class MainController {
                 asset.setState(ActifMobile.AssetState.MOVING_TO_TARGET);
             }
         }
+        return violationDetected;
+    }
 
-        if (violationDetected) {
-            javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
-                    javafx.scene.control.Alert.AlertType.ERROR);
-            alert.setTitle("Zone Interdite");
-            alert.setHeaderText("Déplacement Refusé");
-            alert.setContentText("La cible se trouve dans une Zone Interdite !");
-            alert.showAndWait();
-        } else {
-            String msg = String.format("Déplacement: %d actifs vers (%.0f, %.0f) [Z maintenu]",
-                    selected.size(), x, y);
-            if (lblStatus != null)
-                lblStatus.setText(msg);
-        }
+    private void showZoneViolation() {
+        // Show POPUP as requested
+        javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
+                javafx.scene.control.Alert.AlertType.ERROR);
+        alert.setTitle("Zone Interdite");
+        alert.setHeaderText("Déplacement Refusé");
+        alert.setContentText("La cible se trouve dans une Zone Interdite !");
+        alert.showAndWait();
     }
 
     private void performManualMoveInternal(List<ActifMobile> selected, double x, double y, double z) {
+        simulationService.submit(() -> applyManualMove(selected, x, y, z))
+                .thenAcceptAsync(violationDetected -> {
+                    if (violationDetected) {
+                        showZoneViolation();
+                    } else {
+                        String msg = String.format(
+                                "Déplacement: %d actifs vers (%.0f, %.0f, %.0f) [Formation Dispersée]",
+                                selected.size(), x, y, z);
+                        if (lblStatus != null)
+                            lblStatus.setText(msg);
+                    }
+                }, Platform::runLater);
+    }
+
+    private boolean applyManualMove(List<ActifMobile> selected, double x, double y, double z) {
         boolean violationDetected = false;
 
         // SWARM LOGIC: Distribute targets if > 1 asset
@@ -562,21 +715,7 @@ public class MainController {
                 asset.setState(ActifMobile.AssetState.MOVING_TO_TARGET);
             }
         }
-
-        if (violationDetected) {
-            // Show POPUP as requested
-            javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
-                    javafx.scene.control.Alert.AlertType.ERROR);
-            alert.setTitle("Zone Interdite");
-            alert.setHeaderText("Déplacement Refusé");
-            alert.setContentText("La cible se trouve dans une Zone Interdite !");
-            alert.showAndWait();
-        } else {
-            String msg = String.format("Déplacement: %d actifs vers (%.0f, %.0f, %.0f) [Formation Dispersée]",
-                    selected.size(), x, y, z);
-            if (lblStatus != null)
-                lblStatus.setText(msg);
-        }
+        return violationDetected;
     }
 
     // Deprecated method removed
@@ -598,6 +737,12 @@ public class MainController {
             return;
         }
 
+        simulationService.execute(() -> applyZChange(eligibleAssets, targetZ));
+
+        lblStatus.setText(String.format("Altitude/Profondeur ajustée : %.0fm", targetZ));
+    }
+
+    private void applyZChange(List<ActifMobile> eligibleAssets, double targetZ) {
         for (ActifMobile asset : eligibleAssets) {
             // Check physical constraints
             if (asset instanceof com.spiga.core.VehiculeSurface) {
@@ -617,8 +762,6 @@ public class MainController {
             asset.setTarget(asset.getTargetX(), asset.getTargetY(), targetZ);
             asset.setState(ActifMobile.AssetState.MOVING_TO_TARGET);
         }
-
-        lblStatus.setText(String.format("Altitude/Profondeur ajustée : %.0fm", targetZ));
     }
 
     // --- VISUAL HELPERS ---
@@ -689,7 +832,7 @@ public class MainController {
      */
     @FXML
     private void handleSelectAll() {
-        mapPane.selectAll(gestionnaire.getFlotte());
+        mapPane.selectAll(snapshotAssets());
         lblStatus.setText("Tous les actifs sélectionnés");
     }
 
@@ -706,7 +849,20 @@ public class MainController {
             return;
         }
 
-        long simTime = System.currentTimeMillis() / 1000;
+        simulationService.submit(() -> startMissions(selected))
+                .thenAcceptAsync(actionCount -> {
+                    if (actionCount > 0) {
+                        lblStatus.setText("SM Start: " + actionCount + " missions lancées/re-lancées.");
+                        sidebarController.addAlert("SM Start: " + actionCount + " missions started/restarted.");
+                        refreshSidebar();
+                    } else {
+                        sidebarController.addAlert("Aucune mission éligible (Planifiée/Terminée) sur la sélection.");
+                    }
+                }, Platform::runLater);
+    }
+
+    private int startMissions(List<ActifMobile> selected) {
+        long simTime = gestionnaire.getClock().currentTimeSeconds();
         int actionCount = 0;
 
         for (ActifMobile asset : selected) {
@@ -731,15 +887,7 @@ public class MainController {
                 // Ignore
             }
         }
-
-        if (actionCount > 0) {
-            lblStatus.setText("SM Start: " + actionCount + " missions lancées/re-lancées.");
-            sidebarController.addAlert("SM Start: " + actionCount + " missions started/restarted.");
-            refreshSidebar(); // Assume this method exists or remove if not needed, but context implies we
-                              // should refresh sidebar
-        } else {
-            sidebarController.addAlert("Aucune mission éligible (Planifiée/Terminée) sur la sélection.");
-        }
+        return actionCount;
     }
 
     // refreshSidebar() moved to bottom of class to avoid duplicates
@@ -749,26 +897,29 @@ public class MainController {
     public void handleDemoCollision() {
         // Clear existing
         try {
-            gestionnaire.getFlotte().clear();
             mapPane.deselectAll();
             if (sidebarController != null)
                 sidebarController.clearDetails();
 
-            // Spawn 2 Drones
-            DroneReconnaissance d1 = new DroneReconnaissance("Drone Demo 1", 200, 500, 100);
-            DroneReconnaissance d2 = new DroneReconnaissance("Drone Demo 2", 800, 500, 100);
+            simulationService.execute(() -> {
+                gestionnaire.getFlotte().clear();
 
-            gestionnaire.ajouterActif(d1);
-            gestionnaire.ajouterActif(d2);
+                // Spawn 2 Drones
+                DroneReconnaissance d1 = new DroneReconnaissance("Drone Demo 1", 200, 500, 100);
+                DroneReconnaissance d2 = new DroneReconnaissance("Drone Demo 2", 800, 500, 100);
 
-            // Force Targets Head-On
-            d1.setTarget(800, 500, 100);
-            d2.setTarget(200, 500, 100);
+                gestionnaire.ajouterActif(d1);
+                gestionnaire.ajouterActif(d2);
 
-            d1.demarrer();
-            d2.demarrer();
-            d1.setState(ActifMobile.AssetState.MOVING_TO_TARGET);
-            d2.setState(ActifMobile.AssetState.MOVING_TO_TARGET);
+                // Force Targets Head-On
+                d1.setTarget(800, 500, 100);
+                d2.setTarget(200, 500, 100);
+
+                d1.demarrer();
+                d2.demarrer();
+                d1.setState(ActifMobile.AssetState.MOVING_TO_TARGET);
+                d2.setState(ActifMobile.AssetState.MOVING_TO_TARGET);
+            });
 
             lblStatus.setText("DEMO: Collision Course Engaged!");
             if (sidebarController != null)
@@ -816,7 +967,7 @@ public class MainController {
 
     private void createAssetAt(String type, double x, double y) {
         // --- SAFETY CHECK ---
-        if (!SwarmValidator.isPlacementValid(x, y, 0, gestionnaire.getFlotte())) {
+        if (!SwarmValidator.isPlacementValid(x, y, 0, snapshotAssets())) {
             String msg = "Placement Curseur refusé (Prox.)";
             if (sidebarController != null)
                 sidebarController.addAlert(msg);
@@ -833,15 +984,15 @@ public class MainController {
                 }
                 if ("DRONE_RECON".equals(type)) {
                     String id = String.format("Drone Recon %03d", countDroneRecon++);
-                    gestionnaire.ajouterActif(new DroneReconnaissance(id, x, y, z));
+                    addAsset(new DroneReconnaissance(id, x, y, z));
                 } else {
                     String id = String.format("Drone Logistique %03d", countDroneLog++);
-                    gestionnaire.ajouterActif(new DroneLogistique(id, x, y, z));
+                    addAsset(new DroneLogistique(id, x, y, z));
                 }
             });
         } else if ("BOAT".equals(type)) {
             String id = String.format("Navire %03d", countBoat++);
-            gestionnaire.ajouterActif(new VehiculeSurface(id, x, y));
+            addAsset(new VehiculeSurface(id, x, y));
         } else if ("SUB".equals(type)) {
             promptForZ("Profondeur Sous-Marin", "Entrez la profondeur (Z < 0):", -50.0).ifPresent(z -> {
                 if (z >= 0) {
@@ -849,7 +1000,7 @@ public class MainController {
                     return;
                 }
                 String id = String.format("Sous-Marin %03d", countSub++);
-                gestionnaire.ajouterActif(new SousMarinExploration(id, x, y, z));
+                addAsset(new SousMarinExploration(id, x, y, z));
             });
         }
     }
@@ -880,7 +1031,7 @@ public class MainController {
                 return;
             }
             // --- SAFETY CHECK ---
-            if (!SwarmValidator.isPlacementValid(x, y, z, gestionnaire.getFlotte())) {
+            if (!SwarmValidator.isPlacementValid(x, y, z, snapshotAssets())) {
                 String msg = "Placement refusé (Prox.): Drone vs Essaim";
                 if (sidebarController != null)
                     sidebarController.addAlert(msg);
@@ -891,24 +1042,24 @@ public class MainController {
 
             if ("DRONE_RECON".equals(type)) {
                 String id = String.format("Drone Recon %03d", countDroneRecon++);
-                gestionnaire.ajouterActif(new DroneReconnaissance(id, x, y, z));
+                addAsset(new DroneReconnaissance(id, x, y, z));
             } else {
                 String id = String.format("Drone Logistique %03d", countDroneLog++);
-                gestionnaire.ajouterActif(new DroneLogistique(id, x, y, z));
+                addAsset(new DroneLogistique(id, x, y, z));
             }
         });
     }
 
     private void promptForBoatManual() {
         promptForCoordinates("Ajouter Navire", "Surface (Z = 0)", (x, y, z) -> {
-            if (!SwarmValidator.isPlacementValid(x, y, z, gestionnaire.getFlotte())) {
+            if (!SwarmValidator.isPlacementValid(x, y, z, snapshotAssets())) {
                 if (sidebarController != null)
                     sidebarController.addAlert("Placement Navire refusé (Prox.)");
                 showAlert("Placement Invalide", "Trop proche d'un autre actif !");
                 return;
             }
             String id = String.format("Navire %03d", countBoat++);
-            gestionnaire.ajouterActif(new VehiculeSurface(id, x, y));
+            addAsset(new VehiculeSurface(id, x, y));
         });
     }
 
@@ -920,14 +1071,14 @@ public class MainController {
                 showAlert("Erreur", "Profondeur < 0 requise.");
                 return;
             }
-            if (!SwarmValidator.isPlacementValid(x, y, z, gestionnaire.getFlotte())) {
+            if (!SwarmValidator.isPlacementValid(x, y, z, snapshotAssets())) {
                 if (sidebarController != null)
                     sidebarController.addAlert("Placement Sous-Marin refusé (Prox.)");
                 showAlert("Placement Invalide", "Trop proche d'un autre actif !");
                 return;
             }
             String id = String.format("Sous-Marin %03d", countSub++);
-            gestionnaire.ajouterActif(new SousMarinExploration(id, x, y, z));
+            addAsset(new SousMarinExploration(id, x, y, z));
         });
     }
 
@@ -982,13 +1133,45 @@ public class MainController {
     public void assignMissionToSelected(Mission mission) {
         List<ActifMobile> selected = mapPane.getSelectedAssets();
         if (!selected.isEmpty()) {
-            gestionnaire.demarrerMission(mission, selected);
+            simulationService.execute(() -> gestionnaire.demarrerMission(mission, selected));
             lblStatus.setText("Mission assignée à " + selected.size() + " actifs");
         } else {
             showAlert("Attention", "Aucun actif sélectionné pour la mission.");
         }
     }
 
+    /**
+     * Ajoute à la flotte un actif créé par l'opérateur (sur le thread de
+     * simulation).
+     *
+     * @param asset Le nouvel actif.
+     */
+    private void addAsset(ActifMobile asset) {
+        simulationService.execute(() -> gestionnaire.ajouterActif(asset));
+    }
+
+    /**
+     * Transmet une modification de l'état de la simulation au thread qui la
+     * cadence (panneaux latéraux).
+     *
+     * @param command La modification.
+     */
+    public void runOnSimulation(Runnable command) {
+        simulationService.execute(command);
+    }
+
+    /**
+     * Liste des actifs de la dernière image publiée (sûre depuis le thread
+     * JavaFX, contrairement à la flotte vivante).
+     *
+     * @return Copie de la liste des actifs.
+     */
+    public List<ActifMobile> snapshotAssets() {
+        try (WorldSnapshot frame = simulationService.getEngine().getSnapshots().acquire()) {
+            return frame.getAssets();
+        }
+    }
+
     public void refreshSidebar() {
         if (sidebarController != null) {
             sidebarController.refresh();
@@ -1001,9 +1184,8 @@ public class MainController {
 
     public void removeAsset(ActifMobile asset) {
         if (asset != null && gestionnaire != null) {
-            // Use Manager to remove (SimulationService wraps it but might not expose remove
-            // directly)
-            gestionnaire.supprimerActif(asset.getId());
+            // Use Manager to remove, on the simulation thread
+            simulationService.execute(() -> gestionnaire.supprimerActif(asset.getId()));
             mapPane.deselectAll();
             if (sidebarController != null) {
                 sidebarController.refresh();
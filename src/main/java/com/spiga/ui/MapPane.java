@@ -2,6 +2,7 @@ package com.spiga.ui;
 
 import com.spiga.core.ActifMobile;
 import com.spiga.core.SimConfig;
+import com.spiga.core.WorldSnapshot;
 import com.spiga.environment.Obstacle;
 import com.spiga.environment.RestrictedZone;
 import javafx.scene.layout.Pane;
@@ -12,8 +13,10 @@ import javafx.scene.shape.Line;
 import javafx.scene.text.Text;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -169,17 +172,18 @@ public class MapPane extends Pane {
      * Met à jour l'affichage de la carte, des actifs et des éléments
      * environnementaux.
      *
-     * @param assets          Liste des actifs mobiles à afficher.
+     * @param frame           Image de la simulation (actifs à afficher).
      * @param obstacles       Liste des obstacles.
      * @param restrictedZones Liste des zones interdites.
      */
-    public void update(List<ActifMobile> assets, List<Obstacle> obstacles, List<RestrictedZone> restrictedZones) {
+    public void update(WorldSnapshot frame, List<Obstacle> obstacles, List<RestrictedZone> restrictedZones) {
         // 1. Synchronisation des Actifs
-        List<String> currentIds = new ArrayList<>();
+        Set<String> currentIds = new HashSet<>();
 
-        for (ActifMobile asset : assets) {
-            currentIds.add(asset.getId());
-            AssetNode node = assetNodes.get(asset.getId());
+        for (int i = 0; i < frame.size(); i++) {
+            ActifMobile asset = frame.getAsset(i);
+            currentIds.add(frame.getId(i));
+            AssetNode node = assetNodes.get(frame.getId(i));
 
             if (node == null) {
                 // Nouvel Actif détecté -> Création du noeud
@@ -191,11 +195,11 @@ public class MapPane extends Pane {
                     handleAssetClick(finalNode.getAsset(), e.isControlDown());
                 });
                 assetsPane.getChildren().add(node);
-                assetNodes.put(asset.getId(), node);
+                assetNodes.put(frame.getId(i), node);
             }
 
             // Mise à jour Position & État
-            node.update(scale);
+            node.update(frame, i, scale);
             node.setSelected(selectedAssets.contains(asset));
         }
 
@@ -67,6 +67,17 @@ public class MissionController {
         this.mainController = controller;
     }
 
+    /**
+     * Transmet une modification de mission au thread de simulation.
+     */
+    private void runOnSimulation(Runnable command) {
+        if (mainController != null) {
+            mainController.runOnSimulation(command);
+        } else {
+            command.run();
+        }
+    }
+
     @FXML
     public void initialize() {
         // Configuration de la liste des missions (Affichage personnalisé)
@@ -136,7 +147,7 @@ public class MissionController {
         restartItem.setOnAction(e -> {
             Mission m = listMissions.getSelectionModel().getSelectedItem();
             if (m != null) {
-                m.restart(System.currentTimeMillis() / 1000);
+                runOnSimulation(() -> m.restart(gestionnaire.getClock().currentTimeSeconds()));
                 listMissions.refresh();
                 if (mainController != null)
                     mainController.refreshSidebar();
@@ -146,7 +157,7 @@ public class MissionController {
         cancelItem.setOnAction(e -> {
             Mission m = listMissions.getSelectionModel().getSelectedItem();
             if (m != null) {
-                m.cancel();
+                runOnSimulation(m::cancel);
                 listMissions.refresh();
             }
         });
@@ -339,7 +350,8 @@ public class MissionController {
             return;
 
         // Démarrage via le Gestionnaire (qui gère l'état initial)
-        gestionnaire.demarrerMission(mission, selectedAssets);
+        Mission created = mission;
+        mainController.runOnSimulation(() -> gestionnaire.demarrerMission(created, selectedAssets));
 
         mainController.refreshSidebar(); // Mise à jour UI
         if (listMissions != null)
@@ -2,6 +2,7 @@ package com.spiga.ui;
 
 import com.spiga.core.ActifMobile;
 import com.spiga.core.SimConfig;
+import com.spiga.core.WorldSnapshot;
 import com.spiga.environment.Obstacle;
 import com.spiga.environment.RestrictedZone;
 import javafx.scene.Group;
@@ -18,8 +19,10 @@ import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -156,8 +159,13 @@ public class SideViewPane extends BorderPane {
 
     /**
      * Met à jour la vue avec les données dynamiques de la simulation.
+     *
+     * @param frame         Image de la simulation (actifs à afficher).
+     * @param zones         Zones interdites.
+     * @param obstacles     Obstacles.
+     * @param selectedAsset Actif sélectionné (ou {@code null}).
      */
-    public void update(List<ActifMobile> assets, List<RestrictedZone> zones, List<Obstacle> obstacles,
+    public void update(WorldSnapshot frame, List<RestrictedZone> zones, List<Obstacle> obstacles,
             ActifMobile selectedAsset) {
         if (drawingPane.getWidth() <= 0 || drawingPane.getHeight() <= 0)
             return;
@@ -204,19 +212,22 @@ public class SideViewPane extends BorderPane {
         }
 
         // 3. Mise à jour des Actifs Mobiles
-        List<String> currentIds = assets.stream().map(ActifMobile::getId).collect(Collectors.toList());
+        Set<String> currentIds = new HashSet<>();
+        int selectedIndex = -1;
 
-        for (ActifMobile asset : assets) {
-            javafx.scene.Node node = assetNodes.get(asset.getId());
+        for (int i = 0; i < frame.size(); i++) {
+            ActifMobile asset = frame.getAsset(i);
+            currentIds.add(frame.getId(i));
+            javafx.scene.Node node = assetNodes.get(frame.getId(i));
             if (node == null) {
                 node = createAssetNode(asset);
                 assetsLayer.getChildren().add(node);
-                assetNodes.put(asset.getId(), node);
+                assetNodes.put(frame.getId(i), node);
             }
 
             // Positionnement
-            double sx = xToScreenX(asset.getX());
-            double sy = zToScreenY(asset.getZ());
+            double sx = xToScreenX(frame.getX(i));
+            double sy = zToScreenY(frame.getZ(i));
 
             node.setTranslateX(sx);
             node.setTranslateY(sy);
@@ -224,6 +235,7 @@ public class SideViewPane extends BorderPane {
             // Mise en valeur Sélection
             Group g = (Group) node;
             if (asset == selectedAsset) {
+                selectedIndex = i;
                 g.setOpacity(1.0);
                 g.toFront();
                 // Possibilité d'agrandir ou de changer la couleur ici
@@ -243,9 +255,10 @@ public class SideViewPane extends BorderPane {
         });
 
         // 4. Mise à jour Label Statut
-        if (selectedAsset != null) {
+        if (selectedIndex >= 0) {
             coordLabel.setText(String.format("SÉLECTION: %s   |   X: %.1f   Y: %.1f   Z: %.1f",
-                    selectedAsset.getId(), selectedAsset.getX(), selectedAsset.getY(), selectedAsset.getZ()));
+                    frame.getId(selectedIndex), frame.getX(selectedIndex), frame.getY(selectedIndex),
+                    frame.getZ(selectedIndex)));
             coordLabel.setStyle(
                     "-fx-padding: 5px; -fx-background-color: #e0f7fa; -fx-border-color: #0097a7; -fx-border-width: 1 0 0 0; -fx-font-family: 'Consolas'; -fx-font-weight: bold;");
         } else {
@@ -1,6 +1,8 @@
 package com.spiga.ui;
 
 import com.spiga.core.ActifMobile;
+import com.spiga.core.SnapshotBuffer;
+import com.spiga.core.WorldSnapshot;
 import com.spiga.management.GestionnaireEssaim;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -74,6 +76,8 @@ public class SidebarController {
     private GestionnaireEssaim gestionnaire;
     private ActifMobile selectedAsset;
     private MainController mainController;
+    /** Images de la simulation (null : lecture directe des actifs). */
+    private SnapshotBuffer snapshots;
 
     /**
      * Ajoute un message d'alerte ou de notification dans le journal latéral.
@@ -113,6 +117,17 @@ public class SidebarController {
         this.mainController = controller;
     }
 
+    /**
+     * Branche le panneau sur les images publiées par le moteur : la liste et
+     * les détails sont lus dans la dernière image plutôt que sur les actifs
+     * vivants.
+     *
+     * @param snapshots Le tampon d'images du moteur.
+     */
+    public void setSnapshots(SnapshotBuffer snapshots) {
+        this.snapshots = snapshots;
+    }
+
     /**
      * Initialisation du contrôleur (appelé par JavaFX).
      * Configure les écouteurs d'événements, les convertisseurs de cellules
@@ -168,7 +183,7 @@ public class SidebarController {
 
                         List<String> selectedIds = listAssets.getSelectionModel().getSelectedItems();
                         if (gestionnaire != null && mainController != null) {
-                            List<ActifMobile> selectedAssets = gestionnaire.getFlotte().stream()
+                            List<ActifMobile> selectedAssets = mainController.snapshotAssets().stream()
                                     .filter(a -> selectedIds.contains(a.getId()))
                                     .collect(Collectors.toList());
                             mainController.onSidebarSelection(selectedAssets);
@@ -199,7 +214,7 @@ public class SidebarController {
 
                             alert.showAndWait().ifPresent(response -> {
                                 if (response == ButtonType.OK) {
-                                    gestionnaire.supprimerActif(assetId);
+                                    runOnSimulation(() -> gestionnaire.supprimerActif(assetId));
                                     getListView().getItems().remove(assetId);
                                     if (selectedAsset != null && selectedAsset.getId().equals(assetId)) {
                                         SidebarController.this.clearDetails();
@@ -266,25 +281,27 @@ public class SidebarController {
             return;
         }
 
-        long simTime = System.currentTimeMillis() / 1000;
-        switch (m.getStatut()) {
-            case PLANIFIEE:
-                m.start(simTime);
-                addAlert("Mission lancée: " + m.getTitre());
-                break;
-            case TERMINEE:
-            case ECHOUEE:
-            case ANNULEE:
-                m.restart(simTime);
-                addAlert("Mission relancée: " + m.getTitre());
-                break;
-            case PAUSED:
-                m.resume(simTime);
-                addAlert("Mission reprise: " + m.getTitre());
-                break;
-            case EN_COURS:
-                break; // Rien à faire
-        }
+        runOnSimulation(() -> {
+            long simTime = gestionnaire.getClock().currentTimeSeconds();
+            switch (m.getStatut()) {
+                case PLANIFIEE:
+                    m.start(simTime);
+                    addAlert("Mission lancée: " + m.getTitre());
+                    break;
+                case TERMINEE:
+                case ECHOUEE:
+                case ANNULEE:
+                    m.restart(simTime);
+                    addAlert("Mission relancée: " + m.getTitre());
+                    break;
+                case PAUSED:
+                    m.resume(simTime);
+                    addAlert("Mission reprise: " + m.getTitre());
+                    break;
+                case EN_COURS:
+                    break; // Rien à faire
+            }
+        });
         updateDetails(selectedAsset);
     }
 
@@ -297,7 +314,7 @@ public class SidebarController {
 
         if (m.getStatut() == com.spiga.management.Mission.StatutMission.EN_COURS ||
                 m.getStatut() == com.spiga.management.Mission.StatutMission.PAUSED) {
-            m.cancel("Arrêt Manuel (Utilisateur)");
+            runOnSimulation(() -> m.cancel("Arrêt Manuel (Utilisateur)"));
             addAlert("Mission arrêtée: " + m.getTitre());
             updateDetails(selectedAsset);
         }
@@ -305,8 +322,9 @@ public class SidebarController {
 
     private void handleRecharge() {
         if (selectedAsset != null) {
-            selectedAsset.recharger(); // Réinitialise l'autonomie et l'état
-            updateDetails(selectedAsset); // Rafraîchissement UI immédiat
+            ActifMobile asset = selectedAsset;
+            runOnSimulation(asset::recharger); // Réinitialise l'autonomie et l'état
+            updateDetails(asset); // Rafraîchissement UI (image suivante pour la batterie)
         }
     }
 
@@ -324,10 +342,50 @@ public class SidebarController {
     public void refresh() {
         if (gestionnaire == null)
             return;
+        if (snapshots == null) {
+            List<String> currentIds = gestionnaire.getFlotte().stream().map(ActifMobile::getId)
+                    .collect(Collectors.toList());
+            syncList(currentIds);
+            if (selectedAsset != null) {
+                updateDetails(selectedAsset);
+            }
+            return;
+        }
+        try (WorldSnapshot frame = snapshots.acquire()) {
+            refresh(frame);
+        }
+    }
+
+    /**
+     * Rafraîchit le panneau à partir d'une image de la simulation.
+     * La liste n'est reconstruite que si les identifiants ont changé.
+     *
+     * @param frame Image courante (détenue par l'appelant).
+     */
+    public void refresh(WorldSnapshot frame) {
+        if (gestionnaire == null || listAssets == null)
+            return;
+
+        List<String> items = listAssets.getItems();
+        boolean same = items.size() == frame.size();
+        for (int i = 0; same && i < frame.size(); i++) {
+            same = frame.getId(i).equals(items.get(i));
+        }
+        if (!same) {
+            List<String> currentIds = new java.util.ArrayList<>(frame.size());
+            for (int i = 0; i < frame.size(); i++) {
+                currentIds.add(frame.getId(i));
+            }
+            syncList(currentIds);
+        }
 
+        if (selectedAsset != null) {
+            updateDetails(selectedAsset, frame);
+        }
+    }
+
+    private void syncList(List<String> currentIds) {
         // Mise à jour de la liste si changement dans la flotte
-        List<String> currentIds = gestionnaire.getFlotte().stream().map(ActifMobile::getId)
-                .collect(Collectors.toList());
         if (!currentIds.equals(listAssets.getItems())) {
             String selected = listAssets.getSelectionModel().getSelectedItem();
             listAssets.getItems().setAll(currentIds);
@@ -335,10 +393,6 @@ public class SidebarController {
                 listAssets.getSelectionModel().select(selected);
             }
         }
-
-        if (selectedAsset != null) {
-            updateDetails(selectedAsset);
-        }
     }
 
     /**
@@ -408,11 +462,23 @@ public class SidebarController {
     private void refreshList() {
         if (gestionnaire == null || listAssets == null)
             return;
-        List<String> currentIds = gestionnaire.getFlotte().stream().map(ActifMobile::getId)
-                .collect(Collectors.toList());
+        List<ActifMobile> assets = mainController != null ? mainController.snapshotAssets() : gestionnaire.getFlotte();
+        List<String> currentIds = assets.stream().map(ActifMobile::getId).collect(Collectors.toList());
         listAssets.getItems().setAll(currentIds);
     }
 
+    /**
+     * Transmet une modification de l'état au thread de simulation (exécutée
+     * directement sans contrôleur principal).
+     */
+    private void runOnSimulation(Runnable command) {
+        if (mainController != null) {
+            mainController.runOnSimulation(command);
+        } else {
+            command.run();
+        }
+    }
+
     /**
      * Met à jour les widgets de détails avec les données de l'actif.
      *
@@ -423,7 +489,35 @@ public class SidebarController {
             clearDetails();
             return;
         }
+        if (snapshots == null) {
+            showDetails(asset, asset.getState(), asset.getBatteryPercent(), asset.getX(), asset.getY(), asset.getZ());
+            return;
+        }
+        try (WorldSnapshot frame = snapshots.acquire()) {
+            updateDetails(asset, frame);
+        }
+    }
+
+    /**
+     * Met à jour les détails à partir d'une image de la simulation (valeurs
+     * cohérentes entre elles, lues une seule fois).
+     *
+     * @param asset L'actif à afficher.
+     * @param frame Image courante.
+     */
+    private void updateDetails(ActifMobile asset, WorldSnapshot frame) {
+        int i = frame.indexOf(asset);
+        if (i < 0) {
+            // Actif pas encore publié (ajouté depuis le dernier pas)
+            showDetails(asset, asset.getState(), asset.getBatteryPercent(), asset.getX(), asset.getY(), asset.getZ());
+        } else {
+            showDetails(asset, frame.getState(i), frame.getBatteryPercent(i), frame.getX(i), frame.getY(i),
+                    frame.getZ(i));
+        }
+    }
 
+    private void showDetails(ActifMobile asset, ActifMobile.AssetState state, double battery, double x, double y,
+            double z) {
         Platform.runLater(() -> {
             if (btnRecharge != null)
                 btnRecharge.setDisable(false);
@@ -435,11 +529,11 @@ public class SidebarController {
 
             // Mise à jour État et Couleurs
             if (lblState != null) {
-                lblState.setText("Etat: " + asset.getState());
-                if (asset.getState() == ActifMobile.AssetState.LOW_BATTERY
-                        || asset.getState() == ActifMobile.AssetState.STOPPED) {
+                lblState.setText("Etat: " + state);
+                if (state == ActifMobile.AssetState.LOW_BATTERY
+                        || state == ActifMobile.AssetState.STOPPED) {
                     lblState.setStyle("-fx-text-fill: red; -fx-font-weight: bold;");
-                } else if (asset.getState() == ActifMobile.AssetState.RETURNING_TO_BASE) {
+                } else if (state == ActifMobile.AssetState.RETURNING_TO_BASE) {
                     lblState.setStyle("-fx-text-fill: orange; -fx-font-weight: bold;");
                 } else {
                     lblState.setStyle("-fx-text-fill: black;");
@@ -448,7 +542,7 @@ public class SidebarController {
 
             // Batterie
             if (progressBattery != null) {
-                double pct = asset.getBatteryPercent();
+                double pct = battery;
                 progressBattery.setProgress(pct);
 
                 if (pct > 0.5)
@@ -459,11 +553,11 @@ public class SidebarController {
                     progressBattery.setStyle("-fx-accent: red;");
             }
             if (lblBatteryPct != null) {
-                lblBatteryPct.setText(String.format("%.0f%%", asset.getBatteryPercent() * 100));
+                lblBatteryPct.setText(String.format("%.0f%%", battery * 100));
             }
 
             if (lblPosition != null) {
-                lblPosition.setText(String.format("X:%.0f Y:%.0f Z:%.0f", asset.getX(), asset.getY(), asset.getZ()));
+                lblPosition.setText(String.format("X:%.0f Y:%.0f Z:%.0f", x, y, z));
             }
 
             // Combobox Missions
@@ -0,0 +1,99 @@
+package com.spiga.core;
+
+import com.spiga.environment.RestrictedZone;
+import com.spiga.management.GestionnaireEssaim;
+
+import java.util.Random;
+import java.util.logging.LogManager;
+
+/**
+ * Micro-benchmark du noyau des zones interdites et du pas des actifs
+ * (profils de contraintes).
+ * <p>
+ * Flotte mixte (les cinq types) placée autour de zones interdites, pour que
+ * chaque pas passe par le noyau des zones (alerte, poussée, mur). Mesure le
+ * meilleur de plusieurs séries de pas, après échauffement, avec et sans
+ * zones : l'écart donne la part du noyau des zones. Hors suite de tests
+ * (pas de suffixe {@code Test}) ; à lancer à la main :
+ * </p>
+ *
+ * <pre>
+ * mvn -q test-compile
+ * java -Dspiga.log=off -cp target/classes:target/test-classes com.spiga.core.ConstraintProfileBench [actifs] [pas] [séries]
+ * </pre>
+ */
+public class ConstraintProfileBench {
+
+    public static void main(String[] args) {
+        int assets = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        LogManager.getLogManager().reset();
+
+        System.out.printf("%d actifs, meilleur de %d x %d pas%n", assets, rounds, steps);
+        double withZones = run(assets, steps, rounds, true);
+        double withoutZones = run(assets, steps, rounds, false);
+        System.out.printf("avec zones : %.3f ms/pas%n", withZones);
+        System.out.printf("sans zones : %.3f ms/pas%n", withoutZones);
+        System.out.printf("part des zones : %.3f ms/pas%n", withZones - withoutZones);
+    }
+
+    /** Meilleur temps moyen par pas (ms) sur {@code rounds} séries. */
+    private static double run(int assets, int steps, int rounds, boolean zones) {
+        double best = Double.MAX_VALUE;
+        for (int round = -1; round < rounds; round++) { // Série -1 : échauffement
+            SimulationEngine engine = buildWorld(assets, zones);
+            long t0 = System.nanoTime();
+            engine.step(steps);
+            double ms = (System.nanoTime() - t0) / 1e6 / steps;
+            if (round >= 0) {
+                best = Math.min(best, ms);
+            }
+            engine.shutdown();
+        }
+        return best;
+    }
+
+    /** Flotte mixte à graine fixe, autour de trois zones interdites. */
+    private static SimulationEngine buildWorld(int assets, boolean zones) {
+        GestionnaireEssaim manager = new GestionnaireEssaim();
+        SimulationEngine engine = new SimulationEngine(manager);
+        engine.getRestrictedZones().clear();
+        double[][] centers = { { 500, 500 }, { 1200, 800 }, { 1800, 500 } };
+        if (zones) {
+            for (int k = 0; k < centers.length; k++) {
+                engine.getRestrictedZones().add(new RestrictedZone("Z" + k, centers[k][0], centers[k][1], 150, -200, 120));
+            }
+        }
+        Random r = new Random(7);
+        for (int i = 0; i < assets; i++) {
+            double[] c = centers[i % centers.length];
+            double angle = r.nextDouble() * 2 * Math.PI;
+            double radius = 100 + r.nextDouble() * 150; // Dedans ou à portée d'alerte
+            double x = c[0] + Math.cos(angle) * radius;
+            double y = c[1] + Math.sin(angle) * radius;
+            ActifMobile asset;
+            switch (i % 5) {
+                case 0:
+                    asset = new DroneLogistique("L" + i, x, y, 50);
+                    break;
+                case 1:
+                    asset = new DroneReconnaissance("R" + i, x, y, 60);
+                    break;
+                case 2:
+                    asset = new VehiculeSurface("S" + i, x, y);
+                    break;
+                case 3:
+                    asset = new VehiculeSousMarin("U" + i, x, y, -20);
+                    break;
+                default:
+                    asset = new SousMarinExploration("X" + i, x, y, -50);
+                    break;
+            }
+            manager.ajouterActif(asset);
+            // Traverse la zone : cible diamétralement opposée
+            asset.setTarget(2 * c[0] - x, 2 * c[1] - y, asset.getZ());
+        }
+        return engine;
+    }
+}
@@ -0,0 +1,39 @@
+package com.spiga.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour les profils de contraintes par type.
+ */
+public class ConstraintProfileTest {
+
+    @Test
+    public void testProfilesPerType() {
+        assertEquals(ConstraintProfile.ZonePolicy.PASS,
+                new DroneReconnaissance("R", 0, 0, 50).getProfile().getZonePolicy());
+        assertEquals(ConstraintProfile.ZonePolicy.HARD_WALL,
+                new DroneLogistique("L", 0, 0, 50).getProfile().getZonePolicy());
+        assertEquals(ConstraintProfile.ZonePolicy.FLY_OVER,
+                new VehiculeSurface("S", 0, 0).getProfile().getZonePolicy());
+        assertTrue(new DroneLogistique("L", 0, 0, 50).getProfile().hasSeaApproachRule());
+        assertFalse(new VehiculeSousMarin("U", 0, 0, -20).getProfile().hasSeaApproachRule());
+        // Le sous-marin d'exploration hérite du profil sous-marin
+        assertSame(new VehiculeSousMarin("U", 0, 0, -20).getProfile(),
+                new SousMarinExploration("X", 0, 0, -20).getProfile());
+    }
+
+    @Test
+    public void testConstrainTargetZ() {
+        ConstraintProfile surface = new VehiculeSurface("S", 0, 0).getProfile();
+        assertEquals(0, surface.constrainTargetZ(80), 1e-9);
+        assertEquals(0, surface.constrainTargetZ(-40), 1e-9);
+
+        ConstraintProfile sub = new VehiculeSousMarin("U", 0, 0, -20).getProfile();
+        assertEquals(-1, sub.constrainTargetZ(30), 1e-9);
+        assertEquals(-60, sub.constrainTargetZ(-60), 1e-9);
+
+        assertEquals(120, ConstraintProfile.DEFAULT.constrainTargetZ(120), 1e-9);
+    }
+}
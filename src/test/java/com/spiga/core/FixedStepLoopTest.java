@@ -0,0 +1,140 @@
+package com.spiga.core;
+
+import com.spiga.management.GestionnaireEssaim;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le budget de rattrapage et les politiques de surcharge.
+ */
+public class FixedStepLoopTest {
+
+    private SimulationEngine engine;
+    private FixedStepLoop loop;
+
+    @BeforeEach
+    public void setUp() {
+        engine = new SimulationEngine(new GestionnaireEssaim());
+        loop = new FixedStepLoop(engine);
+        loop.setMaxStepsPerFrame(10);
+    }
+
+    @Test
+    public void testWithinBudget() {
+        int steps = loop.advance(0.1); // 6 pas
+        assertEquals(6, steps);
+        assertEquals(6, engine.getStepCount());
+        assertFalse(loop.isFallingBehind());
+        assertEquals(0.0, loop.getLag(), 1e-9);
+    }
+
+    @Test
+    public void testDropTimeCapsStepsAndReportsLag() {
+        loop.setTimeScale(10.0);
+        int steps = loop.advance(1.0); // 600 pas demandés
+
+        assertEquals(10, steps);
+        assertEquals(10, engine.getStepCount());
+        assertTrue(loop.isFallingBehind());
+        assertEquals(590 * SimulationEngine.FIXED_STEP, loop.getLag(), 1e-6);
+        assertEquals(loop.getLag(), loop.getDroppedTime(), 1e-9);
+        assertEquals(1, loop.getOverloadedFrames());
+
+        // Le retard n'est pas reporté sur la frame suivante
+        loop.setTimeScale(1.0);
+        assertEquals(1, loop.advance(SimulationEngine.FIXED_STEP));
+        assertFalse(loop.isFallingBehind());
+    }
+
+    @Test
+    public void testSlowDownReducesEffectiveScale() {
+        loop.setOverloadPolicy(FixedStepLoop.OverloadPolicy.SLOW_DOWN);
+        loop.setTimeScale(10.0);
+        loop.advance(1.0);
+
+        assertEquals(10, engine.getStepCount());
+        assertEquals(10 * SimulationEngine.FIXED_STEP, loop.getEffectiveTimeScale(), 1e-9);
+        assertTrue(loop.isFallingBehind());
+
+        // La frame suivante tient dans le budget à l'échelle réduite
+        int steps = loop.advance(1.0);
+        assertTrue(steps <= 10);
+        assertTrue(loop.getEffectiveTimeScale() > 10 * SimulationEngine.FIXED_STEP);
+    }
+
+    @Test
+    public void testBackgroundRunsBacklogOnWorker() {
+        loop.setOverloadPolicy(FixedStepLoop.OverloadPolicy.BACKGROUND);
+        loop.setMaxStepsPerFrame(600);
+        loop.setTimeScale(10.0);
+
+        assertEquals(0, loop.advance(1.0));
+        loop.shutdown(); // Attend la fin du lot
+
+        assertEquals(600, engine.getStepCount());
+        assertEquals(0.0, loop.getDroppedTime(), 1e-9);
+    }
+
+    @Test
+    public void testCommandsWaitForBackgroundBatch() {
+        loop.setOverloadPolicy(FixedStepLoop.OverloadPolicy.BACKGROUND);
+        loop.setMaxStepsPerFrame(600);
+        loop.setTimeScale(10.0);
+        loop.advance(1.0); // Lot de 600 pas sur le thread de travail
+
+        long[] seen = { -1 };
+        loop.execute(() -> seen[0] = engine.getStepCount());
+        loop.advance(0); // Frame suivante : commande exécutée si le lot est fini
+        loop.shutdown();
+
+        // Jamais exécutée au milieu du lot
+        assertEquals(600, seen[0]);
+    }
+
+    @Test
+    public void testBackgroundLagStaysBoundedWithSlowEngine() {
+        SimulationEngine slow = new SimulationEngine(new GestionnaireEssaim()) {
+            @Override
+            public void step() {
+                super.step();
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        FixedStepLoop background = new FixedStepLoop(slow);
+        background.setMaxStepsPerFrame(10);
+        background.setOverloadPolicy(FixedStepLoop.OverloadPolicy.BACKGROUND);
+        background.setTimeScale(10.0);
+
+        // 60 pas demandés par frame pour un budget de 10 : le moteur ne suit pas
+        double bound = 2 * FixedStepLoop.BACKGROUND_MAX_FRAMES * 10 * SimulationEngine.FIXED_STEP + 1e-9;
+        int frames = 50;
+        for (int i = 0; i < frames; i++) {
+            background.advance(0.1);
+            assertTrue(background.getLag() <= bound, "retard=" + background.getLag());
+        }
+        background.shutdown();
+        slow.shutdown();
+
+        assertTrue(slow.getStepCount() <= (long) frames * 10);
+        assertTrue(background.getDroppedTime() > 0);
+        assertTrue(background.getOverloadedFrames() > 0);
+    }
+
+    @Test
+    public void testParseOverloadPolicy() {
+        assertEquals(FixedStepLoop.OverloadPolicy.BACKGROUND, FixedStepLoop.OverloadPolicy.parse("background"));
+        assertEquals(FixedStepLoop.OverloadPolicy.SLOW_DOWN, FixedStepLoop.OverloadPolicy.parse("SLOW_DOWN"));
+        assertEquals(FixedStepLoop.OverloadPolicy.DROP_TIME, FixedStepLoop.OverloadPolicy.parse("inconnue"));
+        assertEquals(FixedStepLoop.OverloadPolicy.DROP_TIME, FixedStepLoop.OverloadPolicy.parse(null));
+    }
+
+    @Test
+    public void testInvalidBudget() {
+        assertThrows(IllegalArgumentException.class, () -> loop.setMaxStepsPerFrame(0));
+    }
+}
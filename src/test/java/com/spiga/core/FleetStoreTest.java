@@ -0,0 +1,100 @@
+package com.spiga.core;
+
+import com.spiga.management.GestionnaireEssaim;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le stockage SoA de la flotte.
+ */
+public class FleetStoreTest {
+
+    @Test
+    public void testJoiningFleetKeepsComponents() {
+        DroneLogistique d = new DroneLogistique("D1", 10, 20, 50);
+        d.setTarget(300, 400, 60);
+        d.setAutonomieActuelle(3.5);
+        d.setState(ActifMobile.AssetState.EXECUTING_MISSION);
+
+        GestionnaireEssaim gestionnaire = new GestionnaireEssaim();
+        gestionnaire.ajouterActif(d);
+
+        assertSame(gestionnaire.getStore(), d.getStore());
+        assertEquals(1, gestionnaire.getStore().size());
+        assertEquals(10, d.getX(), 1e-9);
+        assertEquals(20, d.getY(), 1e-9);
+        assertEquals(300, d.getTargetX(), 1e-9);
+        assertEquals(3.5, d.getAutonomieActuelle(), 1e-9);
+        assertEquals(ActifMobile.AssetState.EXECUTING_MISSION, d.getState());
+    }
+
+    @Test
+    public void testRemovalCompactsSlots() {
+        GestionnaireEssaim gestionnaire = new GestionnaireEssaim();
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 1, 0, 50);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 2, 0, 50);
+        DroneReconnaissance d3 = new DroneReconnaissance("D3", 3, 0, 50);
+        gestionnaire.ajouterActif(d1);
+        gestionnaire.ajouterActif(d2);
+        gestionnaire.ajouterActif(d3);
+
+        gestionnaire.getFlotte().remove(d1);
+
+        FleetStore store = gestionnaire.getStore();
+        assertEquals(2, store.size());
+        // Le dernier slot a été déplacé dans le trou
+        assertSame(d3, store.owner(d3.getSlot()));
+        assertEquals(3, d3.getX(), 1e-9);
+        assertEquals(2, d2.getX(), 1e-9);
+
+        // L'actif retiré conserve ses valeurs dans un stockage propre
+        assertNotSame(store, d1.getStore());
+        assertEquals(1, d1.getX(), 1e-9);
+    }
+
+    @Test
+    public void testDirectListAddIsAdopted() {
+        GestionnaireEssaim gestionnaire = new GestionnaireEssaim();
+        DroneReconnaissance d = new DroneReconnaissance("D1", 5, 5, 50);
+        gestionnaire.getFlotte().add(d);
+
+        assertSame(gestionnaire.getStore(), d.getStore());
+
+        gestionnaire.getFlotte().clear();
+        assertEquals(0, gestionnaire.getStore().size());
+        assertEquals(5, d.getX(), 1e-9);
+    }
+
+    @Test
+    public void testEvictRejectsForeignAsset() {
+        GestionnaireEssaim gestionnaire = new GestionnaireEssaim();
+        DroneReconnaissance inside = new DroneReconnaissance("D1", 0, 0, 50);
+        DroneReconnaissance outside = new DroneReconnaissance("D2", 0, 0, 50);
+        gestionnaire.ajouterActif(inside);
+
+        assertTrue(gestionnaire.getStore().contains(inside));
+        assertFalse(gestionnaire.getStore().contains(outside));
+        assertThrows(IllegalArgumentException.class, () -> gestionnaire.getStore().evict(outside));
+        assertTrue(gestionnaire.getFlotte().contains(inside));
+    }
+
+    @Test
+    public void testWeatherChangeReachesMotionSystem() {
+        com.spiga.environment.Weather weather = new com.spiga.environment.Weather(0, 0, 0);
+        DroneReconnaissance calm = new DroneReconnaissance("D1", 0, 0, 50);
+        DroneReconnaissance rainy = new DroneReconnaissance("D2", 0, 0, 50);
+        calm.setTarget(1000, 0, 50);
+        rainy.setTarget(1000, 0, 50);
+        GestionnaireEssaim gestionnaire = new GestionnaireEssaim(); // Un seul stockage, un seul cache
+        gestionnaire.ajouterActif(calm);
+        gestionnaire.ajouterActif(rainy);
+
+        calm.update(1.0, weather);
+        weather.setRainIntensity(1.0); // Même instance : le cache doit suivre
+        rainy.update(1.0, weather);
+
+        assertTrue(rainy.getX() < calm.getX(), "La pluie doit ralentir le drone");
+        assertTrue(rainy.getAutonomieActuelle() < calm.getAutonomieActuelle(),
+                "La pluie doit augmenter la consommation");
+    }
+}
@@ -0,0 +1,65 @@
+package com.spiga.core;
+
+import com.spiga.management.GestionnaireEssaim;
+import com.spiga.management.Mission;
+import com.spiga.management.MissionLogistique;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la partition de la flotte par mission.
+ */
+public class MissionGroupsTest {
+
+    @Test
+    public void testAssetsSharingMissionAreGrouped() {
+        GestionnaireEssaim gestionnaire = new GestionnaireEssaim();
+        DroneReconnaissance d0 = new DroneReconnaissance("D0", 0, 0, 50);
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 0, 0, 50);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 0, 0, 50);
+        DroneReconnaissance d3 = new DroneReconnaissance("D3", 0, 0, 50);
+        for (ActifMobile d : List.of(d0, d1, d2, d3)) {
+            gestionnaire.ajouterActif(d);
+        }
+
+        Mission m = new MissionLogistique("M");
+        gestionnaire.demarrerMission(m, List.of(d0, d2));
+        // D3 attend la mission M2 derrière une mission en cours
+        Mission busy = new MissionLogistique("Busy");
+        d3.assignMission(busy);
+        Mission queued = new MissionLogistique("M2");
+        d3.assignMission(queued);
+        d1.assignMission(queued);
+
+        MissionGroups groups = new MissionGroups();
+        groups.build(gestionnaire.getStore());
+
+        // {D0, D2} et {D1, D3}, numérotés par premier slot
+        assertEquals(2, groups.groupCount());
+        assertEquals(2, groups.end(0) - groups.start(0));
+        assertEquals(0, groups.slot(groups.start(0)));
+        assertEquals(2, groups.slot(groups.start(0) + 1));
+        assertEquals(1, groups.slot(groups.start(1)));
+        assertEquals(3, groups.slot(groups.start(1) + 1));
+    }
+
+    @Test
+    public void testFreeAssetsAreSingletons() {
+        GestionnaireEssaim gestionnaire = new GestionnaireEssaim();
+        for (int i = 0; i < 5; i++) {
+            gestionnaire.ajouterActif(new DroneReconnaissance("D" + i, i, 0, 50));
+        }
+
+        MissionGroups groups = new MissionGroups();
+        groups.build(gestionnaire.getStore());
+
+        assertEquals(5, groups.groupCount());
+        for (int g = 0; g < 5; g++) {
+            assertEquals(g, groups.slot(groups.start(g)));
+            assertEquals(groups.start(g) + 1, groups.end(g));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.spiga.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le lanceur de lots Monte Carlo.
+ */
+public class MonteCarloRunnerTest {
+
+    private static Map<Long, String> collect(int threads, int instances, long seed) {
+        Map<Long, String> outcomes = new HashMap<>();
+        new MonteCarloRunner(threads, seed).run(instances, o -> outcomes.put(o.getSeed(), o.toString()));
+        return outcomes;
+    }
+
+    @Test
+    public void testResultsIndependentOfThreads() {
+        Map<Long, String> sequential = collect(1, 25, 11);
+        assertEquals(25, sequential.size());
+        assertEquals(sequential, collect(3, 25, 11));
+        assertNotEquals(sequential, collect(1, 25, 12));
+    }
+
+    @Test
+    public void testInstanceReplaysFromSeed() {
+        MonteCarloRunner.Outcome[] first = new MonteCarloRunner.Outcome[1];
+        new MonteCarloRunner(2, 3).run(1, o -> first[0] = o);
+        MonteCarloRunner.Outcome replay = MonteCarloRunner.runInstance(first[0].getScenario(), first[0].getSeed());
+        assertEquals(first[0].toString(), replay.toString());
+    }
+
+    @Test
+    public void testSummaryAggregatesPerScenario() {
+        MonteCarloRunner.Summary summary = new MonteCarloRunner(2, 5).run(20, null);
+        assertEquals(20, summary.getRuns());
+        long missions = 0;
+        long completed = 0;
+        double energy = 0;
+        for (MonteCarloRunner.Scenario scenario : MonteCarloRunner.Scenario.values()) {
+            MonteCarloRunner.Summary s = summary.of(scenario);
+            assertEquals(4, s.getRuns());
+            assertNull(s.of(scenario));
+            assertTrue(s.getMissionsCompleted() + s.getMissionsFailed() <= s.getMissions());
+            missions += s.getMissions();
+            completed += s.getMissionsCompleted();
+            energy += s.getEnergyUsed();
+        }
+        assertEquals(missions, summary.getMissions());
+        assertEquals(completed, summary.getMissionsCompleted());
+        assertEquals(energy, summary.getEnergyUsed(), 1e-9);
+        assertTrue(summary.getMissions() > 0);
+        assertTrue(summary.getMeanEnergyUsed() > 0);
+        assertEquals((double) completed / missions, summary.getSuccessRate(), 1e-12);
+    }
+
+    @Test
+    public void testRejectsInvalidThreadCount() {
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloRunner(0, 1));
+    }
+}
@@ -0,0 +1,75 @@
+package com.spiga.core;
+
+import com.spiga.environment.Obstacle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le BVH des obstacles.
+ */
+public class ObstacleBVHTest {
+
+    @Test
+    public void testQueryMatchesBruteForce() {
+        Random random = new Random(3);
+        List<Obstacle> obstacles = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            obstacles.add(new Obstacle(random.nextDouble() * 5000, random.nextDouble() * 5000,
+                    0, 5 + random.nextDouble() * 60));
+        }
+        ObstacleBVH bvh = new ObstacleBVH();
+        bvh.build(obstacles);
+        CircleBVH.Cursor cursor = new CircleBVH.Cursor();
+        double margin = 300;
+
+        for (int q = 0; q < 200; q++) {
+            double x = random.nextDouble() * 5000;
+            double y = random.nextDouble() * 5000;
+            int found = bvh.query(x, y, margin, cursor);
+
+            int k = 0;
+            for (int i = 0; i < obstacles.size(); i++) {
+                Obstacle o = obstacles.get(i);
+                double dist = Math.sqrt((x - o.getX()) * (x - o.getX()) + (y - o.getY()) * (y - o.getY()));
+                if (dist - o.getRadius() < margin) {
+                    // Chaque obstacle influent est retourné, dans l'ordre de la liste
+                    while (k < found && cursor.result(k) < i) {
+                        k++;
+                    }
+                    assertTrue(k < found && cursor.result(k) == i, "Obstacle " + i + " manquant");
+                }
+            }
+            for (int r = 1; r < found; r++) {
+                assertTrue(cursor.result(r - 1) < cursor.result(r));
+            }
+        }
+    }
+
+    @Test
+    public void testObstacleListChangesRebuildIndex() {
+        SimulationEngine engine = new SimulationEngine(new com.spiga.management.GestionnaireEssaim());
+        engine.getObstacles().clear();
+        DroneReconnaissance drone = new DroneReconnaissance("D1", 0, 0, 50);
+        engine.getGestionnaire().ajouterActif(drone);
+
+        engine.step();
+        assertEquals(ActifMobile.NavigationMode.NORMAL, drone.getNavigationMode());
+
+        // Ajout après une première indexation : doit être pris en compte
+        engine.getObstacles().add(new Obstacle(100, 0, 50, 20));
+        engine.step();
+        assertEquals(ActifMobile.NavigationMode.AVOIDING, drone.getNavigationMode());
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        ObstacleBVH bvh = new ObstacleBVH();
+        bvh.build(new ArrayList<>());
+        assertEquals(0, bvh.query(0, 0, 300, new CircleBVH.Cursor()));
+    }
+}
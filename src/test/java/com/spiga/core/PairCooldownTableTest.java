@@ -0,0 +1,58 @@
+package com.spiga.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la table de cooldowns par paire.
+ */
+public class PairCooldownTableTest {
+
+    @Test
+    public void testCooldownPerPair() {
+        PairCooldownTable table = new PairCooldownTable(2000);
+        long ab = PairCooldownTable.pairKey(1, 2);
+
+        assertTrue(table.tryAcquire(ab, 0));
+        assertFalse(table.tryAcquire(ab, 1000));
+        assertFalse(table.tryAcquire(ab, 2000)); // Strictement supérieur au cooldown
+        assertTrue(table.tryAcquire(ab, 2001));
+
+        // Autre paire indépendante
+        assertTrue(table.tryAcquire(PairCooldownTable.pairKey(1, 3), 1000));
+    }
+
+    @Test
+    public void testPairKeyIsSymmetric() {
+        assertEquals(PairCooldownTable.pairKey(5, 9), PairCooldownTable.pairKey(9, 5));
+        assertNotEquals(PairCooldownTable.pairKey(5, 9), PairCooldownTable.pairKey(5, 10));
+    }
+
+    @Test
+    public void testAssetsUseDistinctSerials() {
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 0, 0, 50);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 0, 0, 50);
+        assertNotEquals(d1.getSerial(), d2.getSerial());
+
+        PairCooldownTable table = new PairCooldownTable(2000);
+        assertTrue(table.tryAcquire(d1, d2, 0));
+        assertFalse(table.tryAcquire(d2, d1, 500));
+    }
+
+    @Test
+    public void testMemoryStaysBounded() {
+        PairCooldownTable table = new PairCooldownTable(2000);
+        // Longue simulation : 1000 nouvelles paires par seconde pendant 10 min
+        for (long t = 0; t < 600_000; t += 1000) {
+            for (int i = 0; i < 1000; i++) {
+                table.tryAcquire(PairCooldownTable.pairKey((int) (t / 1000), i), t);
+            }
+        }
+        // Au plus 3000 paires actives : la table ne grossit pas au-delà
+        assertTrue(table.capacity() <= 8192, "Capacité bornée: " + table.capacity());
+        assertTrue(table.size() <= table.capacity() / 2);
+
+        table.evictExpired(1_000_000);
+        assertEquals(0, table.size());
+    }
+}
@@ -0,0 +1,152 @@
+package com.spiga.core;
+
+import com.spiga.environment.RestrictedZone;
+import com.spiga.management.GestionnaireEssaim;
+import com.spiga.management.Mission;
+import com.spiga.management.MissionLogistique;
+import com.spiga.management.MissionSurveillanceMaritime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour les points de reprise de la simulation.
+ */
+public class SimCheckpointTest {
+
+    @TempDir
+    Path dir;
+
+    /** Monde mixte : flotte dense, missions en cours, en file et en attente. */
+    private static SimulationEngine warmWorld() {
+        GestionnaireEssaim m = new GestionnaireEssaim();
+        SimulationEngine e = new SimulationEngine(m);
+        e.getRestrictedZones().add(new RestrictedZone("Z2", 600, 600, 200, -200, 120));
+        e.getWeather().setWindSpeed(35);
+        e.getWeather().setWindDirection(90);
+
+        Random r = new Random(11);
+        for (int i = 0; i < 150; i++) {
+            double x = 400 + r.nextInt(600);
+            double y = 400 + r.nextInt(600);
+            ActifMobile d;
+            switch (i % 5) {
+                case 0:
+                    d = new DroneLogistique("L" + i, x, y, 50);
+                    break;
+                case 1:
+                    d = new DroneReconnaissance("R" + i, x, y, 30);
+                    break;
+                case 2:
+                    d = new VehiculeSurface("S" + i, x, y);
+                    break;
+                case 3:
+                    d = new VehiculeSousMarin("U" + i, x, y, -20);
+                    break;
+                default:
+                    d = new SousMarinExploration("X" + i, x, y, -50);
+            }
+            m.ajouterActif(d);
+            if (i % 4 != 0) {
+                d.demarrer();
+                d.setTarget(r.nextInt(2000), r.nextInt(2000), i % 5 < 2 ? 40 : -30);
+            }
+        }
+        // Un actif retiré : les slots ne suivent plus l'ordre des séries
+        m.supprimerActif("R1");
+
+        List<ActifMobile> fleet = new ArrayList<>(m.getFlotte());
+        for (int i = 0; i + 3 <= 30; i += 3) {
+            Mission mission = new MissionLogistique("Convoi " + i);
+            mission.setTarget(fleet.get(i).getX() + 40, fleet.get(i).getY(), 50);
+            mission.setPlannedDurationSeconds(8 + r.nextInt(8));
+            m.demarrerMission(mission, fleet.subList(i, i + 3));
+        }
+        fleet.get(40).assignMission(new MissionSurveillanceMaritime("Patrouille"));
+        fleet.get(40).assignMission(new MissionLogistique("Suivante"));
+        for (int i = 0; i < 6; i++) {
+            Mission queued = new MissionSurveillanceMaritime("Surface " + i);
+            queued.setTarget(300 + i * 50, 300, 0);
+            e.getCommunication().addMission(queued, "MARINE");
+        }
+        e.getCommunication().addMission(new MissionLogistique("Sans classe"), "MARINE");
+
+        e.runUntil(6.0);
+        return e;
+    }
+
+    private static String state(SimulationEngine e) {
+        StringBuilder state = new StringBuilder();
+        state.append(e.getStepCount()).append(e.getClock().currentTimeMillis()).append(';');
+        for (ActifMobile d : e.getGestionnaire().getFlotte()) {
+            state.append(d.getId()).append(d.getX()).append(d.getY()).append(d.getZ())
+                    .append(d.getVelocityX()).append(d.getState()).append(d.getEtat())
+                    .append(d.getAutonomieActuelle()).append(d.getCollisionWarning());
+            Mission current = d.getCurrentMission();
+            if (current != null) {
+                state.append(current.getTitre()).append(current.getStatut()).append(current.getRunCount());
+            }
+            state.append(d.getMissionQueue().size()).append(';');
+        }
+        state.append(e.getMissions().size()).append(e.getCommunication().getPendingCount());
+        return state.toString();
+    }
+
+    @Test
+    public void testRestoredWorldContinuesIdentically() throws IOException {
+        SimulationEngine original = warmWorld();
+        Path file = dir.resolve("monde.ckpt");
+        SimCheckpoint.save(original, file);
+
+        SimulationEngine restored = SimCheckpoint.load(file);
+        assertEquals(state(original), state(restored));
+
+        original.runUntil(20.0);
+        restored.runUntil(20.0);
+        assertEquals(state(original), state(restored));
+        assertEquals(original.getCommunication().getUnroutableMissions().size(),
+                restored.getCommunication().getUnroutableMissions().size());
+
+        // Deux reprises du même fichier évoluent à l'identique
+        SimulationEngine fork = SimCheckpoint.load(file);
+        fork.runUntil(20.0);
+        assertEquals(state(restored), state(fork));
+    }
+
+    @Test
+    public void testRestoresEnvironment() throws IOException {
+        SimulationEngine original = warmWorld();
+        original.getObstacles().remove(0);
+        Path file = dir.resolve("env.ckpt");
+        SimCheckpoint.save(original, file);
+
+        SimulationEngine restored = SimCheckpoint.load(file);
+        assertEquals(original.getObstacles().size(), restored.getObstacles().size());
+        assertEquals(2, restored.getRestrictedZones().size());
+        assertEquals("Z2", restored.getRestrictedZones().get(1).getId());
+        assertEquals(original.getWeather().getWindSpeed(), restored.getWeather().getWindSpeed(), 1e-12);
+        assertEquals(90, restored.getWeather().getWindDirection(), 1e-12);
+        assertSame(restored.getClock(), restored.getGestionnaire().getFlotte().get(0).getClock());
+    }
+
+    @Test
+    public void testRejectsForeignOrTruncatedFiles() throws IOException {
+        Path foreign = dir.resolve("autre.bin");
+        Files.write(foreign, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        assertThrows(IOException.class, () -> SimCheckpoint.load(foreign));
+
+        Path file = dir.resolve("coupe.ckpt");
+        SimCheckpoint.save(warmWorld(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(IOException.class, () -> SimCheckpoint.load(file));
+    }
+}
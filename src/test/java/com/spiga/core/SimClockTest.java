@@ -0,0 +1,29 @@
+package com.spiga.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'horloge de simulation injectable.
+ */
+public class SimClockTest {
+
+    @Test
+    public void testAdvance() {
+        SimClock clock = new SimClock();
+        assertEquals(0, clock.currentTimeMillis());
+
+        for (int i = 0; i < 90; i++) {
+            clock.advance(SimulationEngine.FIXED_STEP);
+        }
+        assertEquals(1500, clock.currentTimeMillis());
+        assertEquals(1, clock.currentTimeSeconds());
+        assertEquals(1.5, clock.getSimTime(), 1e-6);
+    }
+
+    @Test
+    public void testSystemClockCannotAdvance() {
+        assertTrue(SimClock.SYSTEM.isWallClock());
+        assertThrows(IllegalStateException.class, () -> SimClock.SYSTEM.advance(1.0));
+    }
+}
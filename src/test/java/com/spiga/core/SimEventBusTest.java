@@ -0,0 +1,84 @@
+package com.spiga.core;
+
+import com.spiga.management.GestionnaireEssaim;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le flux d'événements typés.
+ */
+public class SimEventBusTest {
+
+    @Test
+    public void testSubscribersDrainIndependently() {
+        SimEventBus bus = new SimEventBus(16);
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 0, 0, 50);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 10, 0, 50);
+        SimEventBus.Subscription ui = bus.subscribe();
+        SimEventBus.Subscription cli = bus.subscribe();
+
+        bus.publish(SimEvent.Type.COLLISION_ALERT, d1, d2, null, 10.0, 5);
+        bus.publish(SimEvent.Type.LOW_BATTERY, d2, null, null, 12.0, 6);
+
+        List<String> seen = new ArrayList<>();
+        assertEquals(2, bus.drain(ui, e -> seen.add(e.getType() + ":" + e.getAsset().getId() + "@" + e.getTime())));
+        assertEquals(List.of("COLLISION_ALERT:D1@5", "LOW_BATTERY:D2@6"), seen);
+        assertEquals(0, bus.drain(ui, e -> fail("déjà drainé")));
+
+        // Le second abonné voit les mêmes événements, à son rythme
+        bus.publish(SimEvent.Type.AVOIDANCE, d1, null, null, 0, 7);
+        assertEquals(3, bus.drain(cli, e -> {
+        }));
+        assertEquals(1, bus.drain(ui, e -> assertEquals(SimEvent.Type.AVOIDANCE, e.getType())));
+    }
+
+    @Test
+    public void testLaggingSubscriberCountsOverwrittenEvents() {
+        SimEventBus bus = new SimEventBus(8);
+        DroneReconnaissance d = new DroneReconnaissance("D", 0, 0, 50);
+        SimEventBus.Subscription sub = bus.subscribe();
+        for (int i = 0; i < 20; i++) {
+            bus.publish(SimEvent.Type.ZONE_WARNING, d, null, null, i, i);
+        }
+
+        List<Double> values = new ArrayList<>();
+        assertEquals(8, bus.drain(sub, e -> values.add(e.getValue())));
+        assertEquals(12, sub.getMissed());
+        assertEquals(12.0, values.get(0), 1e-9); // Les plus récents sont conservés
+        assertEquals(19.0, values.get(7), 1e-9);
+    }
+
+    @Test
+    public void testEnginePublishesProximityAlert() {
+        GestionnaireEssaim manager = new GestionnaireEssaim();
+        SimulationEngine engine = new SimulationEngine(manager);
+        engine.getObstacles().clear();
+        engine.getRestrictedZones().clear();
+        SimEventBus.Subscription sub = engine.getEvents().subscribe();
+
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 510, 500, 100);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 530, 500, 100);
+        manager.ajouterActif(d1);
+        manager.ajouterActif(d2);
+        d1.demarrer();
+        d2.demarrer();
+        d1.setTarget(600, 500, 100);
+        d2.setTarget(600, 500, 100);
+
+        engine.step();
+
+        List<SimEvent.Type> types = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        engine.getEvents().drain(sub, e -> {
+            types.add(e.getType());
+            messages.add(e.describe());
+        });
+        assertTrue(types.contains(SimEvent.Type.COLLISION_ALERT), types.toString());
+        assertTrue(types.contains(SimEvent.Type.AVOIDANCE), types.toString());
+        assertTrue(messages.contains("D1 <-> D2: Trop Proche! (Avoidance Active)"), messages.toString());
+    }
+}
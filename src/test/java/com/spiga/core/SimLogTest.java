@@ -0,0 +1,66 @@
+package com.spiga.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le journal asynchrone.
+ */
+public class SimLogTest {
+
+    private static String[] lines(ByteArrayOutputStream bytes) {
+        String text = bytes.toString(StandardCharsets.UTF_8).trim();
+        return text.isEmpty() ? new String[0] : text.split("\\R");
+    }
+
+    @Test
+    public void testLazyFormattingKeepsOrder() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SimLog log = new SimLog(64, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        log.publish(SimLog.Category.COMMAND, "{}: Rejet cible Z={}", "D1", 200.0, null);
+        log.publish(SimLog.Category.MISSION, "Mission {} PAUSED", "M1", null, null);
+        log.publish(SimLog.Category.COMM, "sans argument {}", null, null, null);
+        log.drain();
+
+        assertArrayEquals(new String[] { "D1: Rejet cible Z=200.0", "Mission M1 PAUSED", "sans argument null" },
+                lines(bytes));
+    }
+
+    @Test
+    public void testRateLimitPerCategory() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SimLog log = new SimLog(1024, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        log.setRateLimit(SimLog.Category.COLLISION, 10);
+        for (int i = 0; i < 100; i++) {
+            log.publish(SimLog.Category.COLLISION, "alerte {}", i, null, null);
+        }
+        log.publish(SimLog.Category.MISSION, "autre catégorie", null, null, null);
+        log.drain();
+
+        assertEquals(11, lines(bytes).length);
+        assertEquals(90, log.getSuppressed(SimLog.Category.COLLISION));
+    }
+
+    @Test
+    public void testDisabledAndFullQueue() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SimLog log = new SimLog(64, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        log.setActive(false);
+        log.publish(SimLog.Category.ASSET, "ignoré", null, null, null);
+        log.drain();
+        assertEquals(0, lines(bytes).length);
+
+        // Une rafale plus grande que la file ne bloque jamais l'appelant
+        log.setActive(true);
+        for (int i = 0; i < 10_000; i++) {
+            log.publish(SimLog.Category.ASSET, "message {}", i, null, null);
+        }
+        log.drain();
+        assertTrue(lines(bytes).length <= SimLog.DEFAULT_RATE_LIMIT + 1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.spiga.core;
+
+import com.spiga.management.GestionnaireEssaim;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le branchement des sorties fichier du moteur.
+ */
+public class SimOutputsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testHeadlessEngineHasNoOutputs() {
+        SimulationEngine engine = new SimulationEngine(new GestionnaireEssaim());
+
+        assertNull(engine.getMissions().getJournal());
+        assertNull(engine.getTrajectoryRecorder());
+        assertNull(engine.getTelemetryExporter());
+    }
+
+    @Test
+    public void testAttachAndDetachAll() throws Exception {
+        GestionnaireEssaim manager = new GestionnaireEssaim();
+        manager.ajouterActif(new DroneReconnaissance("D1", 100, 100, 50));
+        SimulationEngine engine = new SimulationEngine(manager);
+        Path traj = dir.resolve("run.traj");
+        Path tlm = dir.resolve("run.tlm");
+
+        assertTrue(SimOutputs.attachJournal(engine, dir.resolve("missions.journal")));
+        assertTrue(SimOutputs.attachTrajectory(engine, traj));
+        assertTrue(SimOutputs.attachTelemetry(engine, tlm));
+        engine.step(5);
+        engine.shutdown();
+
+        assertNull(engine.getMissions().getJournal());
+        assertNull(engine.getTrajectoryRecorder());
+        assertNull(engine.getTelemetryExporter());
+        assertTrue(Files.size(traj) > 0);
+        assertTrue(Files.size(tlm) > 0);
+    }
+
+    @Test
+    public void testUnusableFileIsSkipped() {
+        SimulationEngine engine = new SimulationEngine(new GestionnaireEssaim());
+        Path missing = dir.resolve("absent").resolve("run.traj");
+
+        assertFalse(SimOutputs.attachTrajectory(engine, missing));
+        assertNull(engine.getTrajectoryRecorder());
+        engine.step(); // La simulation continue sans sortie
+    }
+}
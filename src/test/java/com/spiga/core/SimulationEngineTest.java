@@ -0,0 +1,140 @@
+package com.spiga.core;
+
+import com.spiga.management.GestionnaireEssaim;
+import com.spiga.management.Mission;
+import com.spiga.management.MissionLogistique;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le moteur headless (sans JavaFX).
+ */
+public class SimulationEngineTest {
+
+    private GestionnaireEssaim manager;
+    private SimulationEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        manager = new GestionnaireEssaim();
+        engine = new SimulationEngine(manager);
+    }
+
+    @Test
+    public void testInitialState() {
+        assertEquals(0, engine.getStepCount());
+        assertEquals(0.0, engine.getSimTime(), 1e-9);
+        assertNotNull(engine.getObstacles());
+        assertNotNull(engine.getRestrictedZones());
+        assertNotNull(engine.getWeather());
+        assertNotNull(engine.getCommunication());
+    }
+
+    @Test
+    public void testSingleStep() {
+        engine.step();
+        assertEquals(1, engine.getStepCount());
+        assertEquals(SimulationEngine.FIXED_STEP, engine.getSimTime(), 1e-9);
+    }
+
+    @Test
+    public void testStepN() {
+        engine.step(120);
+        assertEquals(120, engine.getStepCount());
+        assertEquals(2.0, engine.getSimTime(), 1e-9);
+    }
+
+    @Test
+    public void testRunUntil() {
+        engine.runUntil(1.0);
+        assertEquals(60, engine.getStepCount());
+
+        // Already reached: no-op
+        engine.runUntil(0.5);
+        assertEquals(60, engine.getStepCount());
+    }
+
+    @Test
+    public void testStepMovesAssetTowardsTarget() {
+        DroneReconnaissance drone = new DroneReconnaissance("D1", 100, 100, 50);
+        manager.ajouterActif(drone);
+        drone.demarrer();
+        drone.setTarget(400, 100, 50);
+
+        engine.runUntil(1.0);
+
+        assertTrue(drone.getX() > 100, "Drone should have moved towards its target");
+    }
+
+    @Test
+    public void testClockAdvancesWithSteps() {
+        engine.step(120);
+        assertEquals(2000, engine.getClock().currentTimeMillis());
+        assertSame(engine.getClock(), manager.getClock());
+    }
+
+    @Test
+    public void testAvoidanceExpiresOnSimulatedTime() {
+        DroneReconnaissance drone = new DroneReconnaissance("D1", 700, 650, 50);
+        manager.ajouterActif(drone);
+        assertSame(engine.getClock(), drone.getClock());
+
+        drone.engageAvoidance(710, 650, 50, 1.0);
+        // Loin de tout obstacle : seul le minuteur d'évitement joue
+        engine.runUntil(0.5);
+        assertEquals(ActifMobile.NavigationMode.AVOIDING, drone.getNavigationMode());
+
+        // Indépendant de l'horloge murale : 1s simulée suffit
+        engine.runUntil(1.1);
+        assertEquals(ActifMobile.NavigationMode.NORMAL, drone.getNavigationMode());
+    }
+
+    @Test
+    public void testParallelPhasesMatchSequential() {
+        assertEquals(runScenario(1), runScenario(4));
+    }
+
+    /**
+     * Petit scénario avec missions partagées (fin, échec, file d'attente) ;
+     * retourne l'état final de la flotte et des missions.
+     */
+    private static String runScenario(int threads) {
+        GestionnaireEssaim m = new GestionnaireEssaim();
+        SimulationEngine e = new SimulationEngine(m);
+        e.setParallelism(threads);
+        e.setParallelThreshold(0);
+
+        java.util.Random r = new java.util.Random(7);
+        for (int i = 0; i < 120; i++) {
+            ActifMobile d = (i % 3 == 0)
+                    ? new DroneLogistique("L" + i, r.nextInt(3000), r.nextInt(2000), 50)
+                    : new DroneReconnaissance("R" + i, r.nextInt(3000), r.nextInt(2000), 50);
+            m.ajouterActif(d);
+            d.demarrer();
+            d.setTarget(r.nextInt(3000), r.nextInt(2000), 50);
+        }
+        java.util.List<ActifMobile> fleet = new java.util.ArrayList<>(m.getFlotte());
+        java.util.List<Mission> missions = new java.util.ArrayList<>();
+        for (int i = 0; i + 4 <= fleet.size() / 2; i += 4) {
+            Mission mission = new MissionLogistique("M" + i);
+            mission.setTarget(fleet.get(i).getX() + 20, fleet.get(i).getY() + 20, 50);
+            mission.setPlannedDurationSeconds(5 + r.nextInt(10));
+            m.demarrerMission(mission, fleet.subList(i, i + 4));
+            missions.add(mission);
+        }
+
+        e.runUntil(15.0);
+        e.shutdown();
+
+        StringBuilder state = new StringBuilder();
+        for (ActifMobile d : m.getFlotte()) {
+            state.append(d.getX()).append(d.getY()).append(d.getZ()).append(d.getState())
+                    .append(d.getAutonomieActuelle()).append(';');
+        }
+        for (Mission mission : missions) {
+            state.append(mission.getStatut()).append(mission.getActualEndTime()).append(';');
+        }
+        return state.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package com.spiga.core;
+
+import com.spiga.management.GestionnaireEssaim;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le thread de simulation dédié.
+ */
+public class SimulationThreadTest {
+
+    private GestionnaireEssaim manager;
+    private SimulationEngine engine;
+    private SimulationThread simThread;
+
+    @BeforeEach
+    public void setUp() {
+        manager = new GestionnaireEssaim();
+        engine = new SimulationEngine(manager);
+        engine.getObstacles().clear();
+        engine.getRestrictedZones().clear();
+        FixedStepLoop loop = new FixedStepLoop(engine);
+        loop.setTimeScale(10.0);
+        simThread = new SimulationThread(engine, loop, 5);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        simThread.stop();
+        engine.shutdown();
+    }
+
+    @Test
+    public void testCommandsRunOnSimulationThread() throws Exception {
+        simThread.start();
+        DroneReconnaissance drone = new DroneReconnaissance("D1", 500, 500, 100);
+
+        String thread = simThread.submit(() -> {
+            manager.ajouterActif(drone);
+            drone.demarrer();
+            drone.setTarget(900, 500, 100);
+            return Thread.currentThread().getName();
+        }).get(5, TimeUnit.SECONDS);
+        assertEquals("spiga-sim", thread);
+
+        // L'image publiée finit par montrer l'actif en mouvement
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        double x = 500;
+        while (System.nanoTime() < deadline && x <= 500) {
+            Thread.sleep(10);
+            try (WorldSnapshot frame = engine.getSnapshots().acquire()) {
+                if (frame.size() == 1) {
+                    x = frame.getX(0);
+                }
+            }
+        }
+        assertTrue(x > 500, "x=" + x);
+        assertTrue(engine.getStepCount() > 0);
+    }
+
+    @Test
+    public void testStoppedThreadRunsCommandsInline() {
+        DroneReconnaissance drone = new DroneReconnaissance("D1", 500, 500, 100);
+        simThread.execute(() -> manager.ajouterActif(drone));
+        assertEquals(1, manager.getFlotte().size());
+
+        simThread.start();
+        simThread.stop();
+        assertFalse(simThread.isRunning());
+        simThread.execute(() -> manager.supprimerActif("D1"));
+        assertTrue(manager.getFlotte().isEmpty());
+    }
+
+    @Test
+    public void testFailingCommandDoesNotStopTicks() throws Exception {
+        simThread.start();
+        simThread.execute(() -> {
+            throw new IllegalStateException("commande invalide");
+        });
+        long before = simThread.getTickCount();
+        assertEquals(Boolean.TRUE, simThread.submit(() -> true).get(5, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline && simThread.getTickCount() <= before + 2) {
+            Thread.sleep(5);
+        }
+        assertTrue(simThread.getTickCount() > before + 2);
+    }
+
+    @Test
+    public void testCommandsSentDuringStopAllRun() throws Exception {
+        AtomicInteger ran = new AtomicInteger();
+        int sent = 0;
+        for (int round = 0; round < 50; round++) {
+            simThread.start();
+            CountDownLatch go = new CountDownLatch(1);
+            Thread[] senders = new Thread[4];
+            for (int t = 0; t < senders.length; t++) {
+                senders[t] = new Thread(() -> {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int k = 0; k < 2000; k++) {
+                        simThread.execute(ran::incrementAndGet);
+                    }
+                });
+                senders[t].start();
+            }
+            go.countDown();
+            Thread.sleep(1);
+            simThread.stop();
+            for (Thread sender : senders) {
+                sender.join(5000);
+            }
+            sent += senders.length * 2000;
+            // Aucune commande perdue entre le test d'état et la mise en file
+            assertEquals(sent, ran.get(), "tour " + round);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.spiga.core;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la grille de hachage spatial (broad phase).
+ */
+public class SpatialHashTest {
+
+    @Test
+    public void testQueryMatchesBruteForce() {
+        double radius = 25.0;
+        int n = 2000;
+        Random rnd = new Random(7);
+        double[] x = new double[n], y = new double[n], z = new double[n];
+        SpatialHash hash = new SpatialHash(radius);
+        hash.clear(n);
+        for (int i = 0; i < n; i++) {
+            x[i] = rnd.nextDouble() * 1000 - 200; // Inclut des coordonnées négatives
+            y[i] = rnd.nextDouble() * 1000;
+            z[i] = rnd.nextDouble() * 300 - 150;
+            hash.insert(i, x[i], y[i], z[i]);
+        }
+
+        for (int i = 0; i < n; i++) {
+            List<Integer> expected = new ArrayList<>();
+            for (int j = i + 1; j < n; j++) {
+                double dx = x[i] - x[j], dy = y[i] - y[j], dz = z[i] - z[j];
+                if (Math.sqrt(dx * dx + dy * dy + dz * dz) < radius) {
+                    expected.add(j);
+                }
+            }
+
+            List<Integer> found = new ArrayList<>();
+            int count = hash.queryAbove(x[i], y[i], z[i], i);
+            int previous = i;
+            for (int k = 0; k < count; k++) {
+                int j = hash.result(k);
+                assertTrue(j > previous, "Candidats triés et > i");
+                previous = j;
+                double dx = x[i] - x[j], dy = y[i] - y[j], dz = z[i] - z[j];
+                if (Math.sqrt(dx * dx + dy * dy + dz * dz) < radius) {
+                    found.add(j);
+                }
+            }
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    public void testMoveAndRemove() {
+        SpatialHash hash = new SpatialHash(2.0);
+        hash.clear(3);
+        hash.insert(0, 0, 0, 0);
+        hash.insert(1, 1, 0, 0);
+        hash.insert(2, 100, 100, 0);
+
+        assertEquals(1, hash.queryAbove(0, 0, 0, 0));
+        assertEquals(1, hash.result(0));
+
+        hash.move(2, 0.5, 0, 0);
+        assertEquals(2, hash.queryAbove(0, 0, 0, 0));
+
+        hash.remove(1);
+        assertEquals(1, hash.queryAbove(0, 0, 0, 0));
+        assertEquals(2, hash.result(0));
+
+        // Reconstruction : la grille est vidée
+        hash.clear(3);
+        assertEquals(0, hash.queryAbove(0, 0, 0, -1));
+    }
+}
@@ -0,0 +1,145 @@
+package com.spiga.core;
+
+import com.spiga.management.GestionnaireEssaim;
+import com.spiga.management.Mission;
+import com.spiga.management.MissionSurveillanceMaritime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'export en colonnes de la télémétrie.
+ */
+public class TelemetryExporterTest {
+
+    private static final int ASSETS = 30;
+
+    @TempDir
+    Path dir;
+
+    private GestionnaireEssaim manager;
+    private SimulationEngine engine;
+    /** Lignes attendues : pas, identifiant, x, vz, charge, état, mission. */
+    private final List<Object[]> rows = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        manager = new GestionnaireEssaim();
+        engine = new SimulationEngine(manager);
+        Random r = new Random(9);
+        for (int i = 0; i < ASSETS; i++) {
+            ActifMobile a = i % 2 == 0
+                    ? new DroneReconnaissance("D" + i, 300 + r.nextInt(300), 300 + r.nextInt(300), 40)
+                    : new VehiculeSurface("S" + i, 300 + r.nextInt(300), 300 + r.nextInt(300));
+            manager.ajouterActif(a);
+            a.demarrer();
+            a.setTarget(r.nextInt(1000), r.nextInt(1000), i % 2 == 0 ? 60 : 0);
+        }
+        Mission patrol = new MissionSurveillanceMaritime("Patrouille");
+        patrol.setTarget(800, 200, 0);
+        manager.getStore().owner(3).assignMission(patrol);
+        manager.getStore().owner(5).assignMission(patrol);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    private void run(int steps, int interval) {
+        for (int k = 0; k < steps; k++) {
+            engine.step();
+            long step = engine.getStepCount();
+            if (step % interval != 0) {
+                continue;
+            }
+            FleetStore s = manager.getStore();
+            for (int i = 0; i < s.size(); i++) {
+                ActifMobile a = s.owner(i);
+                Mission m = a.getCurrentMission();
+                rows.add(new Object[] { step, a.getId(), s.px[i], s.vz[i], a.getBatteryPercent(),
+                        s.state[i], m == null ? null : m.getId() });
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTripAcrossRowGroups() throws IOException {
+        Path file = dir.resolve("run.tlm");
+        TelemetryExporter exporter = TelemetryExporter.open(file, 1, 300);
+        engine.setTelemetryExporter(exporter);
+        run(50, 1);
+        engine.shutdown();
+        assertEquals(0, exporter.getDroppedRows());
+
+        try (TelemetryReader reader = TelemetryReader.open(file)) {
+            assertEquals(TelemetryExporter.COLUMNS, reader.getColumns());
+            assertEquals(50 * ASSETS, reader.getTotalRows());
+            // Pas jamais coupés : 10 pas par groupe (file d'écriture jamais pleine)
+            assertEquals(5, reader.getRowGroupCount());
+            int row = 0;
+            for (int g = 0; g < reader.getRowGroupCount(); g++) {
+                assertEquals(0, reader.getRowCount(g) % ASSETS);
+                long[] tick = reader.readLongs(g, "tick");
+                int[] asset = reader.readInts(g, "asset");
+                double[] x = reader.readDoubles(g, "x");
+                double[] vz = reader.readDoubles(g, "vz");
+                double[] battery = reader.readDoubles(g, "battery");
+                byte[] state = reader.readBytes(g, "state");
+                int[] mission = reader.readInts(g, "mission");
+                for (int i = 0; i < reader.getRowCount(g); i++, row++) {
+                    Object[] expected = rows.get(row);
+                    assertEquals(expected[0], tick[i]);
+                    assertEquals(expected[1], reader.getAssetId(asset[i]));
+                    assertEquals(expected[2], x[i]);
+                    assertEquals(expected[3], vz[i]);
+                    assertEquals((double) expected[4], battery[i], 1e-12);
+                    assertEquals(expected[5], state[i]);
+                    assertEquals(expected[6], reader.getMissionId(mission[i]));
+                }
+            }
+            assertEquals(rows.size(), row);
+        }
+    }
+
+    @Test
+    public void testRowGroupStatisticsBoundValues() throws IOException {
+        Path file = dir.resolve("stats.tlm");
+        engine.setTelemetryExporter(TelemetryExporter.open(file, 5, 1000));
+        run(100, 5);
+        engine.shutdown();
+
+        try (TelemetryReader reader = TelemetryReader.open(file)) {
+            assertEquals(rows.size(), reader.getTotalRows());
+            for (int g = 0; g < reader.getRowGroupCount(); g++) {
+                long[] tick = reader.readLongs(g, "tick");
+                assertEquals(tick[0], (long) reader.getMin(g, "tick"));
+                assertEquals(tick[tick.length - 1], (long) reader.getMax(g, "tick"));
+                assertEquals(0, tick[0] % 5);
+                double[] x = reader.readDoubles(g, "x");
+                for (double v : x) {
+                    assertTrue(v >= reader.getMin(g, "x") && v <= reader.getMax(g, "x"));
+                }
+            }
+            assertThrows(IllegalArgumentException.class, () -> reader.readInts(0, "x"));
+            assertThrows(IllegalArgumentException.class, () -> reader.getMin(0, "inconnue"));
+        }
+    }
+
+    @Test
+    public void testRejectsForeignFile() throws IOException {
+        Path foreign = dir.resolve("autre.bin");
+        Files.write(foreign, new byte[64]);
+        assertThrows(IOException.class, () -> TelemetryReader.open(foreign));
+    }
+}
@@ -0,0 +1,163 @@
+package com.spiga.core;
+
+import com.spiga.management.GestionnaireEssaim;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'enregistrement et la relecture des trajectoires.
+ */
+public class TrajectoryRecorderTest {
+
+    /** Écart de position maximal de la relecture (tolérance + arrondi). */
+    private static final double MAX_ERROR = (TrajectoryRecorder.TOLERANCE + 1) * TrajectoryRecorder.QUANTUM;
+
+    @TempDir
+    Path dir;
+
+    private GestionnaireEssaim manager;
+    private SimulationEngine engine;
+    private final List<String> frames = new ArrayList<>();
+    private final List<double[]> positions = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        manager = new GestionnaireEssaim();
+        engine = new SimulationEngine(manager);
+        Random r = new Random(5);
+        for (int i = 0; i < 40; i++) {
+            double x = 300 + r.nextInt(300);
+            double y = 300 + r.nextInt(300);
+            ActifMobile a;
+            switch (i % 3) {
+                case 0:
+                    a = new DroneReconnaissance("D" + i, x, y, 40);
+                    break;
+                case 1:
+                    a = new VehiculeSurface("S" + i, x, y);
+                    break;
+                default:
+                    a = new VehiculeSousMarin("U" + i, x, y, -30);
+            }
+            manager.ajouterActif(a);
+            if (i % 4 != 0) {
+                a.demarrer();
+                a.setTarget(r.nextInt(1000), r.nextInt(1000), i % 3 == 0 ? 60 : (i % 3 == 1 ? 0 : -40));
+            }
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    /** Fait avancer le moteur en gardant, à chaque pas, l'image publiée. */
+    private void run(int steps) {
+        for (int k = 0; k < steps; k++) {
+            engine.step();
+            try (WorldSnapshot frame = engine.getSnapshots().acquire()) {
+                frames.add(discrete(frame));
+                double[] xyz = new double[frame.size() * 3];
+                for (int i = 0; i < frame.size(); i++) {
+                    xyz[3 * i] = frame.getX(i);
+                    xyz[3 * i + 1] = frame.getY(i);
+                    xyz[3 * i + 2] = frame.getZ(i);
+                }
+                positions.add(xyz);
+            }
+        }
+    }
+
+    /** Champs restitués exactement (à la quantification près). */
+    private static String discrete(WorldSnapshot frame) {
+        StringBuilder s = new StringBuilder().append(frame.getVersion()).append(';');
+        for (int i = 0; i < frame.size(); i++) {
+            s.append(frame.getId(i)).append(frame.getState(i)).append(frame.getEtat(i))
+                    .append(frame.getNavigationMode(i)).append(frame.getCollisionWarning(i))
+                    .append(Math.round(frame.getTargetX(i) * 1000)).append(Math.round(frame.getTargetZ(i) * 1000))
+                    .append(Math.round(frame.getBatteryPercent(i) * 1000)).append(';');
+        }
+        return s.toString();
+    }
+
+    private void assertFrame(TrajectoryReplay replay, long step) {
+        replay.seekStep(step);
+        try (WorldSnapshot frame = replay.getSnapshots().acquire()) {
+            assertEquals(frames.get((int) step - 1), discrete(frame), "pas " + step);
+            double[] xyz = positions.get((int) step - 1);
+            for (int i = 0; i < frame.size(); i++) {
+                assertEquals(xyz[3 * i], frame.getX(i), MAX_ERROR);
+                assertEquals(xyz[3 * i + 1], frame.getY(i), MAX_ERROR);
+                assertEquals(xyz[3 * i + 2], frame.getZ(i), MAX_ERROR);
+            }
+        }
+    }
+
+    @Test
+    public void testReplaySeeksAnyStepWithinTolerance() throws IOException {
+        Path file = dir.resolve("run.traj");
+        engine.setTrajectoryRecorder(TrajectoryRecorder.open(file, 50));
+        run(170);
+        // Changement de flotte : nouvelle image clé hors période
+        manager.supprimerActif("S1");
+        manager.ajouterActif(new DroneLogistique("L99", 500, 500, 50));
+        run(60);
+        engine.shutdown();
+
+        try (TrajectoryReplay replay = TrajectoryReplay.open(file)) {
+            assertEquals(SimulationEngine.FIXED_STEP, replay.getStartTime(), 1e-9);
+            assertEquals(230 * SimulationEngine.FIXED_STEP, replay.getEndTime(), 1e-9);
+            for (long step = 1; step <= 230; step++) {
+                assertFrame(replay, step);
+            }
+            // Retours en arrière et sauts dans d'autres segments
+            for (long step : new long[] { 229, 3, 171, 120, 50, 51, 200, 1 }) {
+                assertFrame(replay, step);
+            }
+            replay.seek(2.0);
+            assertEquals(120, replay.getStep());
+            try (WorldSnapshot frame = replay.getSnapshots().acquire()) {
+                assertTrue(frame.getAsset(0) instanceof DroneReconnaissance);
+                assertNull(frame.getCurrentMission(0));
+            }
+            replay.seekStep(230);
+            assertFalse(replay.next());
+        }
+    }
+
+    @Test
+    public void testUnclosedRecordingIsReplayable() throws IOException {
+        Path file = dir.resolve("crash.traj");
+        TrajectoryRecorder recorder = TrajectoryRecorder.open(file, 30);
+        engine.setTrajectoryRecorder(recorder);
+        run(100);
+        assertEquals(100, recorder.getRecordedSteps());
+
+        // Index final absent : reconstruit en parcourant le fichier
+        try (TrajectoryReplay replay = TrajectoryReplay.open(file)) {
+            assertFrame(replay, 100);
+            assertFrame(replay, 45);
+            assertTrue(replay.next());
+            assertEquals(46, replay.getStep());
+        }
+    }
+
+    @Test
+    public void testRejectsForeignFile() throws IOException {
+        Path foreign = dir.resolve("autre.bin");
+        Files.write(foreign, new byte[64]);
+        assertThrows(IOException.class, () -> TrajectoryReplay.open(foreign));
+    }
+}
@@ -0,0 +1,79 @@
+package com.spiga.core;
+
+import com.spiga.management.GestionnaireEssaim;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour les images de la flotte publiées par le moteur.
+ */
+public class WorldSnapshotTest {
+
+    private GestionnaireEssaim manager;
+    private SimulationEngine engine;
+    private DroneReconnaissance drone;
+
+    @BeforeEach
+    public void setUp() {
+        manager = new GestionnaireEssaim();
+        engine = new SimulationEngine(manager);
+        engine.getObstacles().clear();
+        engine.getRestrictedZones().clear();
+        drone = new DroneReconnaissance("D1", 500, 500, 100);
+        manager.ajouterActif(drone);
+        drone.demarrer();
+        drone.setTarget(900, 500, 100);
+    }
+
+    @Test
+    public void testSnapshotMatchesEngineAfterStep() {
+        engine.step();
+
+        try (WorldSnapshot frame = engine.getSnapshots().acquire()) {
+            assertEquals(1, frame.getVersion());
+            assertEquals(1, frame.size());
+            assertEquals(0, frame.indexOf(drone));
+            assertEquals("D1", frame.getId(0));
+            assertEquals(drone.getX(), frame.getX(0), 1e-9);
+            assertEquals(drone.getY(), frame.getY(0), 1e-9);
+            assertEquals(900, frame.getTargetX(0), 1e-9);
+            assertEquals(drone.getState(), frame.getState(0));
+            assertEquals(drone.getBatteryPercent(), frame.getBatteryPercent(0), 1e-9);
+        }
+    }
+
+    @Test
+    public void testPinnedSnapshotIsNotOverwritten() {
+        engine.step();
+        WorldSnapshot pinned = engine.getSnapshots().acquire();
+        double x = pinned.getX(0);
+
+        for (int i = 0; i < 10; i++) {
+            engine.step();
+        }
+
+        // Le moteur a publié ailleurs : l'image détenue reste celle du pas 1
+        assertEquals(1, pinned.getVersion());
+        assertEquals(x, pinned.getX(0), 1e-9);
+        assertNotEquals(x, drone.getX(), 1e-9);
+        pinned.close();
+
+        try (WorldSnapshot frame = engine.getSnapshots().acquire()) {
+            assertEquals(11, frame.getVersion());
+            assertEquals(drone.getX(), frame.getX(0), 1e-9);
+        }
+    }
+
+    @Test
+    public void testPoolStaysSmallWithOneReaderPerStep() {
+        for (int i = 0; i < 100; i++) {
+            engine.step();
+            try (WorldSnapshot frame = engine.getSnapshots().acquire()) {
+                assertEquals(i + 1, frame.getVersion());
+            }
+        }
+        assertTrue(engine.getSnapshots().poolSize() <= 3, "pool=" + engine.getSnapshots().poolSize());
+    }
+}
@@ -0,0 +1,86 @@
+package com.spiga.core;
+
+import com.spiga.environment.RestrictedZone;
+import com.spiga.management.GestionnaireEssaim;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'index des zones interdites.
+ */
+public class ZoneIndexTest {
+
+    @Test
+    public void testSegmentQueryMatchesBruteForce() {
+        Random random = new Random(11);
+        ZoneIndex zones = new ZoneIndex();
+        for (int i = 0; i < 300; i++) {
+            zones.add(new RestrictedZone("Z" + i, random.nextDouble() * 10000, random.nextDouble() * 10000,
+                    20 + random.nextDouble() * 200, 0, 120));
+        }
+        CircleBVH.Cursor cursor = new CircleBVH.Cursor();
+        double padding = 40;
+
+        for (int q = 0; q < 200; q++) {
+            double ax = random.nextDouble() * 10000;
+            double ay = random.nextDouble() * 10000;
+            double bx = random.nextDouble() * 10000;
+            double by = random.nextDouble() * 10000;
+            int found = zones.querySegment(ax, ay, bx, by, padding, cursor);
+
+            int k = 0;
+            for (int i = 0; i < zones.size(); i++) {
+                RestrictedZone z = zones.get(i);
+                if (segmentDistance(ax, ay, bx, by, z.getX(), z.getY()) < z.getRadius() + padding) {
+                    while (k < found && zones.result(cursor, k) != z) {
+                        k++;
+                    }
+                    assertTrue(k < found, "Zone " + z.getId() + " manquante");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNearQueryAfterModification() {
+        ZoneIndex zones = new ZoneIndex();
+        CircleBVH.Cursor cursor = new CircleBVH.Cursor();
+        assertEquals(0, zones.queryNear(0, 0, 50, cursor));
+
+        RestrictedZone zone = new RestrictedZone("Z", 100, 0, 60, 0, 120);
+        zones.add(zone);
+        assertEquals(1, zones.queryNear(0, 0, 50, cursor)); // 40 m du bord
+        assertSame(zone, zones.result(cursor, 0));
+        assertEquals(0, zones.queryNear(-20, 0, 50, cursor)); // 60 m du bord
+
+        zones.remove(zone);
+        assertEquals(0, zones.queryNear(0, 0, 50, cursor));
+    }
+
+    @Test
+    public void testFleetUsesEngineZones() {
+        GestionnaireEssaim gestionnaire = new GestionnaireEssaim();
+        SimulationEngine engine = new SimulationEngine(gestionnaire);
+        DroneLogistique drone = new DroneLogistique("LOG-1", 0, 0, 50);
+        gestionnaire.ajouterActif(drone);
+        assertSame(engine.getRestrictedZones(), drone.getZones());
+
+        engine.getRestrictedZones().add(new RestrictedZone("Z", 500, 0, 100, 0, 200));
+        drone.setTarget(1000, 0, 50);
+        // Le trajet traverse la zone : waypoint de contournement
+        assertNotEquals(0, drone.getTargetY(), 1e-9);
+    }
+
+    private static double segmentDistance(double ax, double ay, double bx, double by, double cx, double cy) {
+        double abx = bx - ax;
+        double aby = by - ay;
+        double lenSq = abx * abx + aby * aby;
+        double t = lenSq == 0 ? 0 : Math.max(0, Math.min(1, ((cx - ax) * abx + (cy - ay) * aby) / lenSq));
+        double px = ax + t * abx - cx;
+        double py = ay + t * aby - cy;
+        return Math.sqrt(px * px + py * py);
+    }
+}
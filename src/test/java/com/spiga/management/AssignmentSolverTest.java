@@ -0,0 +1,96 @@
+package com.spiga.management;
+
+import com.spiga.core.PhaseExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le solveur d'affectation optimale.
+ */
+public class AssignmentSolverTest {
+
+    @Test
+    public void testMatchesBruteForceOnRandomInstances() {
+        Random random = new Random(42);
+        AssignmentSolver solver = new AssignmentSolver(Integer.MAX_VALUE);
+        for (int trial = 0; trial < 200; trial++) {
+            int rows = 1 + random.nextInt(5);
+            int cols = rows + random.nextInt(3);
+            double[][] cost = new double[rows][cols];
+            for (double[] row : cost) {
+                for (int j = 0; j < cols; j++) {
+                    row[j] = random.nextInt(100);
+                }
+            }
+
+            int[] match = solver.solve(rows, cols, (i, j) -> cost[i][j], null);
+            double total = 0;
+            boolean[] taken = new boolean[cols];
+            for (int i = 0; i < rows; i++) {
+                assertFalse(taken[match[i]], "colonne affectée deux fois");
+                taken[match[i]] = true;
+                total += cost[i][match[i]];
+            }
+            assertEquals(bruteForce(cost, 0, new boolean[cols]), total, 1e-9);
+        }
+        assertEquals(200, solver.getSolveCount());
+        assertTrue(solver.getTotalSolveNanos() > 0);
+    }
+
+    @Test
+    public void testInfeasiblePairsAreNeverAssigned() {
+        double inf = Double.POSITIVE_INFINITY;
+        double[][] cost = {
+                { 1, inf, inf },
+                { 2, inf, inf },
+                { inf, 5, 3 },
+        };
+        AssignmentSolver solver = new AssignmentSolver(Integer.MAX_VALUE);
+        int[] match = solver.solve(3, 3, (i, j) -> cost[i][j], null);
+
+        // Une seule des deux premières lignes peut être servie
+        assertEquals(0, match[0]);
+        assertEquals(-1, match[1]);
+        assertEquals(2, match[2]);
+    }
+
+    @Test
+    public void testParallelScanGivesSameAssignment() {
+        Random random = new Random(7);
+        int rows = 60;
+        int cols = 400;
+        double[][] cost = new double[rows][cols];
+        for (double[] row : cost) {
+            for (int j = 0; j < cols; j++) {
+                row[j] = random.nextInt(50); // Nombreuses égalités
+            }
+        }
+
+        int[] sequential = new AssignmentSolver(Integer.MAX_VALUE).solve(rows, cols, (i, j) -> cost[i][j], null);
+        PhaseExecutor executor = new PhaseExecutor(4);
+        try {
+            int[] parallel = new AssignmentSolver(1).solve(rows, cols, (i, j) -> cost[i][j], executor);
+            assertArrayEquals(sequential, parallel);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static double bruteForce(double[][] cost, int row, boolean[] taken) {
+        if (row == cost.length) {
+            return 0;
+        }
+        double best = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < taken.length; j++) {
+            if (!taken[j]) {
+                taken[j] = true;
+                best = Math.min(best, cost[row][j] + bruteForce(cost, row + 1, taken));
+                taken[j] = false;
+            }
+        }
+        return best;
+    }
+}
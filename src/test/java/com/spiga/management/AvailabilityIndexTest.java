@@ -0,0 +1,97 @@
+package com.spiga.management;
+
+import com.spiga.core.ActifAerien;
+import com.spiga.core.DroneLogistique;
+import com.spiga.core.DroneReconnaissance;
+import com.spiga.core.VehiculeSurface;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'index des actifs disponibles.
+ */
+public class AvailabilityIndexTest {
+
+    private GestionnaireEssaim manager;
+    private AvailabilityIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        manager = new GestionnaireEssaim();
+        index = manager.getDisponibilites();
+    }
+
+    @Test
+    public void testOrderFollowsBatteryChanges() {
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 0, 0, 100);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 0, 0, 100);
+        DroneReconnaissance d3 = new DroneReconnaissance("D3", 0, 0, 100);
+        manager.ajouterActif(d1);
+        manager.ajouterActif(d2);
+        manager.ajouterActif(d3);
+        assertEquals(List.of(d1, d2, d3), index.top(3));
+
+        d1.setAutonomieActuelle(d1.getAutonomieMax() * 0.5);
+        d2.setAutonomieActuelle(d2.getAutonomieMax() * 0.1); // Sous le seuil
+        assertEquals(List.of(d3, d1), index.all());
+        assertSame(d3, manager.suggererActifOptimal());
+
+        d2.recharger();
+        assertEquals(List.of(d2, d3), index.top(2));
+    }
+
+    @Test
+    public void testStateChangesAndRemovalLeaveIndex() {
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 0, 0, 100);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 0, 0, 100);
+        manager.ajouterActif(d1);
+        manager.ajouterActif(d2);
+
+        d1.demarrer();
+        assertEquals(List.of(d2), index.all());
+        d1.eteindre();
+        assertEquals(2, index.size());
+
+        manager.supprimerActif("D2");
+        assertEquals(List.of(d1), index.all());
+        // Un actif retiré ne revient pas en changeant d'état
+        d2.demarrer();
+        d2.eteindre();
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testBestOfTypeNearPoint() {
+        DroneLogistique far = new DroneLogistique("L1", 1500, 1500, 100);
+        DroneLogistique near = new DroneLogistique("L2", 120, 80, 100);
+        DroneLogistique nearLow = new DroneLogistique("L3", 90, 110, 100);
+        DroneReconnaissance recon = new DroneReconnaissance("R1", 100, 100, 100);
+        VehiculeSurface boat = new VehiculeSurface("B1", 100, 100);
+        manager.ajouterActif(far);
+        manager.ajouterActif(near);
+        manager.ajouterActif(nearLow);
+        manager.ajouterActif(recon);
+        manager.ajouterActif(boat);
+        nearLow.setAutonomieActuelle(nearLow.getAutonomieMax() * 0.6);
+
+        assertSame(near, manager.suggererActifProche(DroneLogistique.class, 100, 100, 200));
+        assertNull(manager.suggererActifProche(DroneLogistique.class, 800, 800, 100));
+        assertSame(far, manager.suggererActifProche(DroneLogistique.class, 1450, 1450, 100));
+        assertSame(boat, manager.suggererActifProche(VehiculeSurface.class, 100, 100, 10));
+
+        // Déplacé hors du rayon : l'index suit la nouvelle position
+        near.setX(1000);
+        assertSame(nearLow, manager.suggererActifProche(DroneLogistique.class, 100, 100, 200));
+
+        List<ActifAerien> aerial = index.top(ActifAerien.class, 10);
+        assertEquals(4, aerial.size());
+        assertFalse(aerial.contains(boat));
+        for (int i = 1; i < aerial.size(); i++) {
+            assertTrue(aerial.get(i - 1).getAutonomieActuelle() >= aerial.get(i).getAutonomieActuelle());
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.spiga.management;
 import com.spiga.core.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -145,4 +148,125 @@ public class CommunicationTest {
 
         comm.handleMissions();
     }
+
+    @Test
+    public void testUnmatchedHeadDoesNotBlockQueue() {
+        DroneReconnaissance drone = new DroneReconnaissance("RECON-1", 0, 0, 50);
+        fleetManager.ajouterActif(drone);
+
+        Mission logistics = new MissionLogistique("Logistique Delivery");
+        Mission surveillance = new MissionSurveillanceMaritime("Surveillance 1");
+        comm.addMission(logistics, "AERIAL");
+        comm.addMission(surveillance, "AERIAL");
+
+        comm.handleMissions();
+
+        // Aucun drone logistique : la mission de tête attend sans bloquer l'autre
+        assertSame(surveillance, drone.getCurrentMission());
+        assertEquals(1, comm.getPendingCount(Communication.Capability.LOGISTICS_DRONE));
+        assertEquals(0, comm.getPendingCount(Communication.Capability.RECON_DRONE));
+    }
+
+    @Test
+    public void testAssetBecomingIdleReceivesPendingMission() {
+        VehiculeSurface navire = new VehiculeSurface("NAVIRE-1", 0, 0);
+        fleetManager.ajouterActif(navire);
+        navire.setState(ActifMobile.AssetState.MOVING_TO_TARGET);
+
+        Mission mission = new MissionSurveillanceMaritime("Surface Patrol");
+        comm.addMission(mission, "MARINE");
+        comm.handleMissions();
+        assertNull(navire.getCurrentMission());
+        assertEquals(1, comm.getPendingCount());
+
+        navire.setState(ActifMobile.AssetState.IDLE);
+        comm.handleMissions();
+        assertSame(mission, navire.getCurrentMission());
+        assertEquals(0, comm.getPendingCount());
+    }
+
+    @Test
+    public void testRemovedAssetIsNotAssigned() {
+        DroneReconnaissance drone1 = new DroneReconnaissance("RECON-1", 0, 0, 50);
+        DroneReconnaissance drone2 = new DroneReconnaissance("RECON-2", 100, 0, 50);
+        fleetManager.ajouterActif(drone1);
+        fleetManager.ajouterActif(drone2);
+        fleetManager.supprimerActif("RECON-1");
+
+        Mission mission = new MissionSurveillanceMaritime("Surveillance 1");
+        comm.addMission(mission, "AERIAL");
+        comm.handleMissions();
+
+        assertNull(drone1.getCurrentMission());
+        assertSame(mission, drone2.getCurrentMission());
+    }
+
+    @Test
+    public void testMinEtaAssignsNearestDrones() {
+        comm.setDispatchPolicy(Communication.DispatchPolicy.MIN_ETA);
+        DroneReconnaissance west = new DroneReconnaissance("RECON-W", 0, 0, 50);
+        DroneReconnaissance east = new DroneReconnaissance("RECON-E", 1000, 0, 50);
+        fleetManager.ajouterActif(west);
+        fleetManager.ajouterActif(east);
+
+        // En FIFO, la première mission (à l'est) irait au premier drone (ouest)
+        Mission eastMission = new MissionSurveillanceMaritime("Surveillance Est");
+        eastMission.setTarget(950, 0, 50);
+        Mission westMission = new MissionSurveillanceMaritime("Surveillance Ouest");
+        westMission.setTarget(50, 0, 50);
+        comm.addMission(eastMission, "AERIAL");
+        comm.addMission(westMission, "AERIAL");
+        comm.handleMissions();
+
+        assertSame(eastMission, east.getCurrentMission());
+        assertSame(westMission, west.getCurrentMission());
+        assertEquals(0, comm.getPendingCount());
+        assertEquals(1, comm.getSolver().getSolveCount());
+        assertEquals(2, comm.getSolver().getLastRows());
+    }
+
+    @Test
+    public void testOptimalDispatchSkipsUnreachableMission() {
+        comm.setDispatchPolicy(Communication.DispatchPolicy.MIN_ENERGY);
+        DroneReconnaissance drone = new DroneReconnaissance("RECON-1", 0, 0, 50);
+        fleetManager.ajouterActif(drone);
+        drone.setAutonomieActuelle(drone.getAutonomieMax() * 0.01);
+
+        Mission far = new MissionSurveillanceMaritime("Surveillance Loin");
+        far.setTarget(100000, 0, 50);
+        Mission near = new MissionSurveillanceMaritime("Surveillance Proche");
+        near.setTarget(10, 0, 50);
+        comm.addMission(far, "AERIAL");
+        comm.addMission(near, "AERIAL");
+
+        comm.handleMissions();
+        // La mission hors de portée ne bloque pas la suivante
+        assertSame(near, drone.getCurrentMission());
+        assertEquals(1, comm.getPendingCount());
+        assertEquals(List.of(far), comm.getPendingMissions(Communication.Capability.RECON_DRONE));
+    }
+
+    @Test
+    public void testUnreachableMissionIsNotResolvedAgain() {
+        comm.setDispatchPolicy(Communication.DispatchPolicy.MIN_ETA);
+        DroneReconnaissance drone = new DroneReconnaissance("RECON-1", 0, 0, 50);
+        fleetManager.ajouterActif(drone);
+        drone.setAutonomieActuelle(drone.getAutonomieMax() * 0.01);
+
+        Mission far = new MissionSurveillanceMaritime("Surveillance Loin");
+        far.setTarget(100000, 0, 50);
+        comm.addMission(far, "AERIAL");
+        for (int tick = 0; tick < 10; tick++) {
+            comm.handleMissions();
+        }
+        // Rien d'atteignable : aucune résolution lancée, la file reste en l'état
+        assertNull(drone.getCurrentMission());
+        assertEquals(0, comm.getSolver().getSolveCount());
+
+        // Recharge de l'actif libre : la mission devient atteignable
+        drone.recharger();
+        comm.handleMissions();
+        assertSame(far, drone.getCurrentMission());
+        assertEquals(1, comm.getSolver().getSolveCount());
+    }
 }
@@ -0,0 +1,130 @@
+package com.spiga.management;
+
+import com.spiga.core.ActifAerien;
+import com.spiga.core.ActifMobile;
+import com.spiga.core.DroneLogistique;
+import com.spiga.core.DroneReconnaissance;
+import com.spiga.core.VehiculeSurface;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le registre indexé de la flotte.
+ */
+public class FleetRegistryTest {
+
+    private GestionnaireEssaim manager;
+
+    @BeforeEach
+    public void setUp() {
+        manager = new GestionnaireEssaim();
+    }
+
+    @Test
+    public void testStaleHandleDoesNotResolveAfterSlotReuse() {
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 0, 0, 100);
+        manager.ajouterActif(d1);
+        long handle = d1.getHandle();
+        assertSame(d1, manager.resoudre(handle));
+
+        manager.supprimerActif("D1");
+        assertEquals(-1, d1.getHandle());
+        assertNull(manager.resoudre(handle));
+
+        // Le nouvel actif reprend l'emplacement, pas la poignée
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 0, 0, 100);
+        manager.ajouterActif(d2);
+        assertEquals((int) handle, (int) d2.getHandle());
+        assertNotEquals(handle, d2.getHandle());
+        assertNull(manager.resoudre(handle));
+        assertSame(d2, manager.resoudre(d2.getHandle()));
+    }
+
+    @Test
+    public void testFindAndRemoveById() {
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 0, 0, 100);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 0, 0, 100);
+        DroneReconnaissance d3 = new DroneReconnaissance("D3", 0, 0, 100);
+        manager.ajouterActif(d1);
+        manager.ajouterActif(d2);
+        manager.ajouterActif(d3);
+
+        assertSame(d2, manager.trouverActif("D2"));
+        assertNull(manager.trouverActif("d2"));
+
+        manager.supprimerActif("D1");
+        assertNull(manager.trouverActif("D1"));
+        assertSame(d3, manager.trouverActif("D3"));
+        assertEquals(2, manager.getFlotte().size());
+        assertTrue(manager.getFlotte().contains(d3));
+        assertFalse(manager.getFlotte().contains(d1));
+    }
+
+    @Test
+    public void testDuplicateIdIsReindexedOnRemoval() {
+        DroneReconnaissance first = new DroneReconnaissance("D1", 0, 0, 100);
+        DroneReconnaissance second = new DroneReconnaissance("D1", 10, 0, 100);
+        manager.ajouterActif(first);
+        manager.ajouterActif(second);
+
+        assertSame(first, manager.trouverActif("D1"));
+        manager.getFlotte().remove(first);
+        assertSame(second, manager.trouverActif("D1"));
+    }
+
+    @Test
+    public void testEtatIndexFollowsStateChanges() {
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 0, 0, 100);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 0, 0, 100);
+        manager.ajouterActif(d1);
+        manager.ajouterActif(d2);
+        assertEquals(2, manager.getActifsParEtat(ActifMobile.EtatOperationnel.AU_SOL).size());
+
+        d1.demarrer();
+        assertEquals(List.of(d2), List.copyOf(manager.getActifsParEtat(ActifMobile.EtatOperationnel.AU_SOL)));
+        assertTrue(manager.getActifsParEtat(ActifMobile.EtatOperationnel.EN_MISSION).contains(d1));
+
+        manager.supprimerActif("D1");
+        assertTrue(manager.getActifsParEtat(ActifMobile.EtatOperationnel.EN_MISSION).isEmpty());
+    }
+
+    @Test
+    public void testTypeIndexIncludesSubclasses() {
+        DroneReconnaissance recon = new DroneReconnaissance("R1", 0, 0, 100);
+        VehiculeSurface boat = new VehiculeSurface("B1", 0, 0);
+        DroneLogistique cargo = new DroneLogistique("L1", 0, 0, 100);
+        manager.ajouterActif(recon);
+        manager.ajouterActif(boat);
+        manager.ajouterActif(cargo);
+
+        assertEquals(List.of(cargo), manager.getActifsParType(DroneLogistique.class));
+        assertEquals(List.of(recon, cargo), manager.getActifsParType(ActifAerien.class));
+        assertEquals(3, manager.getActifsParType(ActifMobile.class).size());
+    }
+
+    @Test
+    public void testRemovingWhileIteratingDoesNotThrow() {
+        for (int i = 0; i < 10; i++) {
+            manager.ajouterActif(new DroneReconnaissance("D" + i, 0, 0, 100));
+        }
+
+        int seen = 0;
+        for (ActifMobile actif : manager.getFlotte()) {
+            seen++;
+            if (seen == 3) {
+                manager.supprimerActif("D0");
+                manager.supprimerActif("D9");
+            }
+        }
+        assertTrue(seen >= 8, "seen=" + seen);
+        assertEquals(8, manager.getFlotte().size());
+
+        manager.getFlotte().removeIf(a -> a.getId().compareTo("D5") < 0);
+        assertEquals(4, manager.getFlotte().size());
+        assertNull(manager.trouverActif("D1"));
+    }
+}
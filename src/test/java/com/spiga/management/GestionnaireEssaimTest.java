@@ -2,6 +2,7 @@ package com.spiga.management;
 
 import com.spiga.core.DroneReconnaissance;
 import com.spiga.core.ActifMobile;
+import com.spiga.core.SimulationEngine;
 import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,6 +17,20 @@ public class GestionnaireEssaimTest {
         assertEquals(1, manager.getFlotte().size());
     }
 
+    @Test
+    public void testDirectListAddIsBoundToEngine() {
+        GestionnaireEssaim manager = new GestionnaireEssaim();
+        SimulationEngine engine = new SimulationEngine(manager);
+        DroneReconnaissance drone = new DroneReconnaissance("D1", 0, 0, 100);
+
+        manager.getFlotte().add(drone); // Sans ajouterActif ni pas du moteur
+
+        assertSame(engine.getClock(), drone.getClock());
+        assertSame(manager.getZones(), drone.getZones());
+        assertSame(engine.getEvents(), drone.getEvents());
+        assertSame(engine.getMissions(), drone.getMissions());
+    }
+
     @Test
     public void testAvailableAssets() {
         GestionnaireEssaim manager = new GestionnaireEssaim();
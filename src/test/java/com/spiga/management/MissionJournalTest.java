@@ -0,0 +1,142 @@
+package com.spiga.management;
+
+import com.spiga.core.SimConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le journal des exécutions de missions.
+ */
+public class MissionJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static Mission.MissionExecution run(String runId, long start, Mission.StatutMission statut, String note) {
+        Mission.MissionExecution run = new Mission.MissionExecution(runId, start, 1, 2, 3);
+        run.endTime = start + 5;
+        run.finalStatus = statut;
+        run.resultNote = note;
+        return run;
+    }
+
+    @Test
+    public void testQueriesSurviveReopenAndTornTail() throws IOException {
+        Path file = dir.resolve("missions.journal");
+        try (MissionJournal journal = MissionJournal.open(file)) {
+            journal.append("M-1", run("R1", 10, Mission.StatutMission.TERMINEE, null));
+            journal.append("M-2", run("R1", 20, Mission.StatutMission.ECHOUEE, "Zone interdite"));
+            journal.append("M-1", run("R2", 30, Mission.StatutMission.ANNULEE, "test"));
+        }
+        // Écriture interrompue : quelques octets d'un enregistrement
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[] { 0, 0, 0, 40, 1 }));
+        }
+
+        try (MissionJournal journal = MissionJournal.open(file)) {
+            assertEquals(3, journal.size());
+            assertEquals(2, journal.size("M-1"));
+
+            List<Mission.MissionExecution> m1 = journal.query("M-1", 0, 100);
+            assertEquals("R1", m1.get(0).runId);
+            assertEquals("R2", m1.get(1).runId);
+            assertEquals(Mission.StatutMission.ANNULEE, m1.get(1).finalStatus);
+            assertEquals(35, m1.get(1).endTime);
+            assertEquals(3.0, m1.get(1).targetZ);
+
+            List<Mission.MissionExecution> window = journal.query(15, 30);
+            assertEquals(2, window.size());
+            assertEquals("Zone interdite", window.get(0).resultNote);
+            assertTrue(journal.query("M-3", 0, 100).isEmpty());
+
+            journal.append("M-2", run("R2", 40, Mission.StatutMission.TERMINEE, null));
+        }
+        try (MissionJournal journal = MissionJournal.open(file)) {
+            assertEquals(List.of("R1", "R2"),
+                    journal.query("M-2", 0, 100).stream().map(r -> r.runId).toList());
+        }
+    }
+
+    @Test
+    public void testMissionKeepsBoundedWindowAndJournalsEveryRun() throws IOException {
+        try (MissionJournal journal = MissionJournal.open(dir.resolve("runs.journal"))) {
+            MissionRegistry registry = new MissionRegistry();
+            registry.setJournal(journal);
+            Mission mission = new MissionLogistique("Navette");
+            mission.setRegistry(registry);
+
+            int runs = SimConfig.MISSION_HISTORY_WINDOW + 4;
+            mission.start(0);
+            mission.complete(1);
+            for (int i = 1; i < runs; i++) {
+                mission.restart(i * 10L);
+                mission.complete(i * 10L + 1);
+            }
+
+            assertEquals(SimConfig.MISSION_HISTORY_WINDOW, mission.getHistory().size());
+            assertEquals(runs, journal.size(mission.getId()));
+            assertEquals(runs, mission.getHistory(0, Long.MAX_VALUE).size());
+            assertEquals(2, mission.getHistory(10, 20).size());
+        }
+    }
+
+    @Test
+    public void testMissionsCreatedBackToBackKeepSeparateRuns() throws IOException {
+        Path file = dir.resolve("ids.journal");
+        String firstId;
+        try (MissionJournal journal = MissionJournal.open(file)) {
+            MissionRegistry registry = new MissionRegistry();
+            registry.setJournal(journal);
+            Mission first = new MissionLogistique("Navette A");
+            Mission second = new MissionLogistique("Navette B");
+            assertNotEquals(first.getId(), second.getId());
+            first.setRegistry(registry);
+            second.setRegistry(registry);
+
+            first.start(0);
+            first.complete(1);
+            second.start(2);
+            second.fail("test");
+            assertEquals(1, first.getHistory(0, 10).size());
+            assertEquals(Mission.StatutMission.ECHOUEE, second.getHistory(0, 10).get(0).finalStatus);
+            firstId = first.getId();
+        }
+        // Journal écrit par un processus qui a créé beaucoup de missions
+        long ahead = Long.parseLong(firstId.substring(2)) + 1_000_000;
+        try (MissionJournal journal = MissionJournal.open(file)) {
+            journal.append("M-" + ahead, run("R1", 5, Mission.StatutMission.TERMINEE, null));
+        }
+
+        // Après réouverture, les nouvelles missions ne reprennent pas un identifiant journalisé
+        try (MissionJournal journal = MissionJournal.open(file)) {
+            assertEquals(1, journal.size(firstId));
+            Mission later = new MissionLogistique("Navette C");
+            assertTrue(Long.parseLong(later.getId().substring(2)) > ahead);
+        }
+    }
+
+    @Test
+    public void testWriteErrorStopsJournalWithoutThrowing() throws IOException {
+        MissionJournal journal = MissionJournal.open(dir.resolve("broken.journal"));
+        MissionRegistry registry = new MissionRegistry();
+        registry.setJournal(journal);
+        Mission mission = new MissionLogistique("Navette");
+        mission.setRegistry(registry);
+        journal.close(); // Toute écriture échoue désormais
+
+        mission.start(0);
+        assertDoesNotThrow(() -> mission.complete(1));
+        assertTrue(journal.isFailed());
+        assertEquals(Mission.StatutMission.TERMINEE, mission.getStatut());
+        // L'historique retombe sur les dernières exécutions en mémoire
+        assertEquals(1, mission.getHistory(0, 10).size());
+    }
+}
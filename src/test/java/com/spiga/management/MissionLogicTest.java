@@ -1,6 +1,7 @@
 package com.spiga.management;
 
 import com.spiga.core.DroneReconnaissance;
+import com.spiga.core.SimulationEngine;
 import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import static org.junit.jupiter.api.Assertions.*;
@@ -81,4 +82,107 @@ public class MissionLogicTest {
         // ALL -> 2/2 arrived -> Done
         assertEquals(Mission.StatutMission.TERMINEE, m.getStatut());
     }
+
+    @Test
+    public void testArrivalsFollowMovesAcrossTicks() {
+        Mission m = new MissionSurveillanceMaritime("Test Arrivals");
+        m.setCompletionRule(Mission.CompletionRule.ALL);
+        m.setTarget(100, 100, 50);
+        m.setPlannedDurationSeconds(60);
+
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 100, 100, 50);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 0, 0, 50);
+        m.assignActifs(Arrays.asList(d1, d2));
+        m.start(0);
+
+        m.tick(1);
+        assertEquals(Mission.StatutMission.EN_COURS, m.getStatut());
+
+        // D1 ressort de la sphère pendant que D2 y entre : toujours pas ALL
+        d1.setX(104);
+        d1.setY(104);
+        d2.setX(100);
+        d2.setY(103);
+        m.tick(2);
+        assertEquals(Mission.StatutMission.EN_COURS, m.getStatut());
+
+        d1.setX(100);
+        m.tick(3);
+        assertEquals(Mission.StatutMission.TERMINEE, m.getStatut());
+    }
+
+    @Test
+    public void testArrivalsResetWhenTargetChanges() {
+        Mission m = new MissionSurveillanceMaritime("Test Retarget");
+        m.setCompletionRule(Mission.CompletionRule.ALL);
+        m.setTarget(100, 100, 50);
+        m.setPlannedDurationSeconds(60);
+
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 100, 100, 50);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 0, 0, 50);
+        m.assignActifs(Arrays.asList(d1, d2));
+        m.start(0);
+        m.tick(1);
+
+        // Nouvelle cible sur D2 : D1 n'est plus arrivé, sans avoir bougé
+        m.setTarget(0, 0, 50);
+        d1.setX(100);
+        d1.setY(100);
+        d2.setX(0);
+        d2.setY(0);
+        m.tick(2);
+        assertEquals(Mission.StatutMission.EN_COURS, m.getStatut());
+
+        // Liste réduite à D2 : ALL est atteint
+        m.removeActif(d1);
+        m.tick(3);
+        assertEquals(Mission.StatutMission.TERMINEE, m.getStatut());
+    }
+
+    @Test
+    public void testArrivalsFollowAssetReplacedInList() {
+        Mission m = new MissionSurveillanceMaritime("Test Replace");
+        m.setCompletionRule(Mission.CompletionRule.ALL);
+        m.setTarget(100, 100, 50);
+        m.setPlannedDurationSeconds(60);
+
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 100, 100, 50);
+        DroneReconnaissance d2 = new DroneReconnaissance("D2", 0, 0, 50);
+        m.assignActifs(Arrays.asList(d1, d2));
+        m.start(0);
+        m.tick(1);
+        assertEquals(Mission.StatutMission.EN_COURS, m.getStatut());
+
+        // D2 remplacé par un actif déjà sur la cible
+        m.removeActif(d2);
+        m.addActif(new DroneReconnaissance("D3", 100, 102, 50));
+        m.tick(2);
+        assertEquals(Mission.StatutMission.TERMINEE, m.getStatut());
+    }
+
+    @Test
+    public void testEngineMovesDriveArrivals() {
+        GestionnaireEssaim manager = new GestionnaireEssaim();
+        SimulationEngine engine = new SimulationEngine(manager);
+        engine.getObstacles().clear();
+        engine.getRestrictedZones().clear();
+
+        Mission m = new MissionSurveillanceMaritime("Test Moteur");
+        m.setCompletionRule(Mission.CompletionRule.ALL);
+        m.setTarget(300, 200, 50);
+        m.setPlannedDurationSeconds(600);
+        DroneReconnaissance d1 = new DroneReconnaissance("D1", 200, 200, 50);
+        manager.ajouterActif(d1);
+        d1.assignMission(m);
+        m.assignActifs(Arrays.asList(d1));
+        m.start(engine.getClock().currentTimeSeconds());
+
+        // Arrivées signalées par les déplacements du pas cinématique
+        for (int i = 0; i < 3000 && m.getStatut() == Mission.StatutMission.EN_COURS; i++) {
+            engine.step();
+        }
+        engine.shutdown();
+        assertEquals(Mission.StatutMission.TERMINEE, m.getStatut());
+        assertTrue(Math.abs(d1.getX() - 300) < Mission.ARRIVAL_TOLERANCE);
+    }
 }
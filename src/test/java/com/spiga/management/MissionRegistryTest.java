@@ -0,0 +1,74 @@
+package com.spiga.management;
+
+import com.spiga.core.DroneReconnaissance;
+import com.spiga.core.SimulationEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le registre des missions en cours.
+ */
+public class MissionRegistryTest {
+
+    private MissionRegistry registry;
+    private Mission mission;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new MissionRegistry();
+        mission = new MissionSurveillanceMaritime("Patrouille");
+        mission.setRegistry(registry);
+    }
+
+    @Test
+    public void testStatusTransitionsJoinAndLeave() {
+        assertEquals(0, registry.size());
+
+        mission.start(0);
+        assertEquals(List.of(mission), registry.getActiveMissions());
+        mission.pause();
+        assertEquals(0, registry.size());
+        mission.resume(10);
+        assertEquals(1, registry.size());
+        mission.complete(20);
+        assertEquals(0, registry.size());
+
+        mission.restart(30);
+        assertEquals(1, registry.size());
+        mission.cancel("test");
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testTickAllDropsTimedOutMission() {
+        Mission other = new MissionLogistique("Livraison");
+        other.setRegistry(registry);
+        mission.setPlannedDurationSeconds(5);
+        mission.start(0);
+        other.start(0);
+
+        registry.tickAll(10);
+        assertEquals(Mission.StatutMission.ECHOUEE, mission.getStatut());
+        assertEquals(List.of(other), registry.getActiveMissions());
+    }
+
+    @Test
+    public void testRunningMissionJoinsEngineOnAssignment() {
+        GestionnaireEssaim manager = new GestionnaireEssaim();
+        SimulationEngine engine = new SimulationEngine(manager);
+        DroneReconnaissance drone = new DroneReconnaissance("D1", 0, 0, 50);
+        manager.ajouterActif(drone);
+
+        Mission running = new MissionSurveillanceMaritime("Déjà en cours");
+        running.start(0);
+        drone.assignMission(running);
+
+        assertSame(engine.getMissions(), running.getRegistry());
+        assertEquals(List.of(running), engine.getMissions().getActiveMissions());
+        engine.shutdown();
+    }
+}